@@ -142,7 +142,7 @@ CREATE TABLE `repairs` (
   `exit_date` date DEFAULT NULL,
   `exit_time` time(6) DEFAULT NULL,
   `repair_cost` decimal(38,2) NOT NULL,
-  `status` varchar(255) COLLATE utf8mb3_bin DEFAULT NULL,
+  `status` varchar(1) COLLATE utf8mb3_bin DEFAULT NULL,
   `repair_type_id` bigint NOT NULL,
   `vehicle_id` bigint NOT NULL,
   PRIMARY KEY (`repair_id`),
@@ -159,7 +159,7 @@ CREATE TABLE `repairs` (
 
 LOCK TABLES `repairs` WRITE;
 /*!40000 ALTER TABLE `repairs` DISABLE KEYS */;
-INSERT INTO `repairs` VALUES (1,'2023-01-16','10:00:00.000000','2023-01-15','08:00:00.000000','2023-01-15','10:00:00.000000',120000.00,'Completed',1,1),(2,'2023-02-21','11:00:00.000000','2023-02-20','09:00:00.000000','2023-02-20','11:00:00.000000',130000.00,'Completed',2,2),(3,'2023-03-26','12:00:00.000000','2023-03-25','10:00:00.000000','2023-03-25','12:00:00.000000',700000.00,'In Progress',3,3),(4,'2023-04-02','12:00:00.000000','2023-04-01','10:00:00.000000','2023-04-01','12:00:00.000000',210000.00,'Completed',4,1),(5,'2023-04-11','12:00:00.000000','2023-04-10','10:00:00.000000','2023-04-10','12:00:00.000000',150000.00,'Completed',5,1);
+INSERT INTO `repairs` VALUES (1,'2023-01-16','10:00:00.000000','2023-01-15','08:00:00.000000','2023-01-15','10:00:00.000000',120000.00,'C',1,1),(2,'2023-02-21','11:00:00.000000','2023-02-20','09:00:00.000000','2023-02-20','11:00:00.000000',130000.00,'C',2,2),(3,'2023-03-26','12:00:00.000000','2023-03-25','10:00:00.000000','2023-03-25','12:00:00.000000',700000.00,'I',3,3),(4,'2023-04-02','12:00:00.000000','2023-04-01','10:00:00.000000','2023-04-01','12:00:00.000000',210000.00,'C',4,1),(5,'2023-04-11','12:00:00.000000','2023-04-10','10:00:00.000000','2023-04-10','12:00:00.000000',150000.00,'C',5,1);
 /*!40000 ALTER TABLE `repairs` ENABLE KEYS */;
 UNLOCK TABLES;
 
@@ -173,13 +173,13 @@ DROP TABLE IF EXISTS `vehicles`;
 CREATE TABLE `vehicles` (
   `vehicle_id` bigint NOT NULL AUTO_INCREMENT,
   `brand` varchar(255) COLLATE utf8mb3_bin NOT NULL,
-  `engine_type` varchar(255) COLLATE utf8mb3_bin NOT NULL,
+  `engine_type` varchar(1) COLLATE utf8mb3_bin NOT NULL,
   `license_plate_number` varchar(255) COLLATE utf8mb3_bin NOT NULL,
   `manufacture_year` int NOT NULL,
   `mileage` int NOT NULL,
   `model` varchar(255) COLLATE utf8mb3_bin NOT NULL,
   `seat_count` int NOT NULL,
-  `type` varchar(255) COLLATE utf8mb3_bin NOT NULL,
+  `type` varchar(1) COLLATE utf8mb3_bin NOT NULL,
   PRIMARY KEY (`vehicle_id`),
   UNIQUE KEY `UK_g7mbknasd4vv22tsr4jfj4qbf` (`license_plate_number`)
 ) ENGINE=InnoDB AUTO_INCREMENT=6 DEFAULT CHARSET=utf8mb3 COLLATE=utf8mb3_bin;
@@ -191,7 +191,7 @@ CREATE TABLE `vehicles` (
 
 LOCK TABLES `vehicles` WRITE;
 /*!40000 ALTER TABLE `vehicles` DISABLE KEYS */;
-INSERT INTO `vehicles` VALUES (1,'Toyota','Gasoline','ABC123',2020,12000,'Corolla',5,'Sedan'),(2,'Ford','Diesel','DEF456',2019,5000,'Fiesta',5,'Hatchback'),(3,'Hyundai','Hybrid','GHI789',2021,20000,'Sonata',5,'Sedan'),(4,'Honda','Electric','JKL012',2018,15000,'Civic',5,'Sedan'),(5,'Toyota','Gasoline','MNO345',2017,30000,'Camry',5,'Sedan');
+INSERT INTO `vehicles` VALUES (1,'Toyota','G','ABC123',2020,12000,'Corolla',5,'S'),(2,'Ford','D','DEF456',2019,5000,'Fiesta',5,'H'),(3,'Hyundai','H','GHI789',2021,20000,'Sonata',5,'S'),(4,'Honda','E','JKL012',2018,15000,'Civic',5,'S'),(5,'Toyota','G','MNO345',2017,30000,'Camry',5,'S');
 /*!40000 ALTER TABLE `vehicles` ENABLE KEYS */;
 UNLOCK TABLES;
 /*!40103 SET TIME_ZONE=@OLD_TIME_ZONE */;
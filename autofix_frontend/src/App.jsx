@@ -6,6 +6,7 @@ import VehicleList from './components/VehicleList';
 import AddEditVehicle from './components/AddEditVehicle';
 import RepairList from './components/RepairList';
 import AddEditRepair from './components/AddEditRepair';
+import WorkQueue from './components/WorkQueue';
 import BonusList from './components/BonusList';
 import AddEditBonus from './components/AddEditBonus';
 import RepairCostsReport from './components/RepairCostsReport'; // R1
@@ -30,6 +31,7 @@ function App() {
           <Route path="/repairs" element={<RepairList />} />
           <Route path="/repairs/create" element={<AddEditRepair />} />
           <Route path="/repairs/edit/:id" element={<AddEditRepair />} />
+          <Route path="/repairs/work-queue" element={<WorkQueue />} />
 
           <Route path="/bonuses" element={<BonusList />} />
           <Route path="/bonuses/create" element={<AddEditBonus />} />
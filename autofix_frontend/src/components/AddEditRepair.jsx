@@ -15,6 +15,8 @@ import { DatePicker, TimePicker, LocalizationProvider } from '@mui/x-date-picker
 import { AdapterDayjs } from '@mui/x-date-pickers/AdapterDayjs';
 import Dayjs from 'dayjs';
 
+const repairStatuses = ["Pending", "In Progress", "Completed", "Delivered", "Other"];
+
 const AddEditRepair = () => {
     const [entryDate, setEntryDate] = useState(null);
     const [exitDate, setExitDate] = useState(null);
@@ -157,7 +159,9 @@ const AddEditRepair = () => {
                 />
             </LocalizationProvider>
             <FormControl fullWidth sx={{ mt: 2 }}>
-                <TextField label="Estado" value={status} onChange={e => setStatus(e.target.value)} sx={{ mb: 1 }} />
+                <TextField select label="Estado" value={status} onChange={e => setStatus(e.target.value)} sx={{ mb: 1 }}>
+                    {repairStatuses.map(option => <MenuItem key={option} value={option}>{option}</MenuItem>)}
+                </TextField>
             </FormControl>
             <FormControl fullWidth sx={{ mt: 2 }}>
                 <InputLabel id="repair-type-label">Tipo de Reparación</InputLabel>
@@ -5,8 +5,12 @@ import Box from "@mui/material/Box";
 import TextField from "@mui/material/TextField";
 import Button from "@mui/material/Button";
 import FormControl from "@mui/material/FormControl";
+import MenuItem from "@mui/material/MenuItem";
 import SaveIcon from "@mui/icons-material/Save";
 
+const vehicleTypes = ["Sedan", "Hatchback", "SUV", "Pickup", "Furgoneta", "Other"];
+const engineTypes = ["Gasoline", "Diesel", "Hybrid", "Electric", "Other"];
+
 const AddEditVehicle = () => {
   const [licensePlateNumber, setLicensePlateNumber] = useState("");
   const [brand, setBrand] = useState("");
@@ -95,13 +99,17 @@ const AddEditVehicle = () => {
         <TextField label="Modelo" value={model} onChange={e => setModel(e.target.value)} sx={{ mb: 1 }} />
       </FormControl>
       <FormControl fullWidth>
-        <TextField label="Tipo" value={type} onChange={e => setType(e.target.value)} sx={{ mb: 1 }}  />
+        <TextField select label="Tipo" value={type} onChange={e => setType(e.target.value)} sx={{ mb: 1 }}>
+          {vehicleTypes.map(option => <MenuItem key={option} value={option}>{option}</MenuItem>)}
+        </TextField>
       </FormControl>
       <FormControl fullWidth>
         <TextField label="Año" value={manufactureYear} onChange={e => setManufactureYear(e.target.value)} sx={{ mb: 1 }} />
       </FormControl>
       <FormControl fullWidth>
-        <TextField label="Tipo de Motor" value={engineType} onChange={e => setEngineType(e.target.value)} sx={{ mb: 1 }} />
+        <TextField select label="Tipo de Motor" value={engineType} onChange={e => setEngineType(e.target.value)} sx={{ mb: 1 }}>
+          {engineTypes.map(option => <MenuItem key={option} value={option}>{option}</MenuItem>)}
+        </TextField>
       </FormControl>
       <FormControl fullWidth>
         <TextField label="Kilometraje" type="number" value={mileage} onChange={e => setMileage(e.target.value)} sx={{ mb: 1 }} />
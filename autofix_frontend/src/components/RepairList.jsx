@@ -95,6 +95,7 @@ const RepairList = () => {
             <TableCell align="left" sx={{ fontWeight: "bold" }}>Tipo de Reparación</TableCell>
             <TableCell align="left" sx={{ fontWeight: "bold" }}>Costo Base</TableCell>
             <TableCell align="left" sx={{ fontWeight: "bold" }}>Estado</TableCell>
+            <TableCell align="left" sx={{ fontWeight: "bold" }}>Bahía</TableCell>
             <TableCell align="left" sx={{ fontWeight: "bold" }}>Operaciones</TableCell>
           </TableRow>
         </TableHead>
@@ -109,6 +110,7 @@ const RepairList = () => {
                 <TableCell align="left">{repair.repairType.description}</TableCell>
                 <TableCell align="left">{repair.repairCost}</TableCell>
                 <TableCell align="left">{repair.status}</TableCell>
+                <TableCell align="left">{repair.bay}</TableCell>
                 <TableCell>
                   <Button
                     variant="contained"
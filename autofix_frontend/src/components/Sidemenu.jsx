@@ -12,6 +12,7 @@ import BuildIcon from "@mui/icons-material/Build";
 import ReportIcon from "@mui/icons-material/Report";
 import LoyaltyIcon from "@mui/icons-material/Loyalty";
 import SummarizeIcon from '@mui/icons-material/Summarize';
+import PendingActionsIcon from '@mui/icons-material/PendingActions';
 import { useNavigate } from "react-router-dom";
 
 export default function Sidemenu({ open, toggleDrawer }) {
@@ -53,6 +54,13 @@ export default function Sidemenu({ open, toggleDrawer }) {
           <ListItemText primary="Reparaciones" />
         </ListItemButton>
 
+        <ListItemButton onClick={() => handleNavigation("/repairs/work-queue")}>
+          <ListItemIcon>
+            <PendingActionsIcon />
+          </ListItemIcon>
+          <ListItemText primary="Cola de Trabajo" />
+        </ListItemButton>
+
         <ListItemButton onClick={() => handleNavigation("/bonuses")}>
           <ListItemIcon>
             <LoyaltyIcon />
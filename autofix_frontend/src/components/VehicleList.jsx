@@ -73,6 +73,8 @@ const VehicleList = () => {
             <TableCell align="left" sx={{ fontWeight: "bold" }}>Tipo</TableCell>
             <TableCell align="left" sx={{ fontWeight: "bold" }}>Año</TableCell>
             <TableCell align="left" sx={{ fontWeight: "bold" }}>Motor</TableCell>
+            <TableCell align="left" sx={{ fontWeight: "bold" }}>Reparaciones</TableCell>
+            <TableCell align="left" sx={{ fontWeight: "bold" }}>Último ingreso</TableCell>
             <TableCell align="left" sx={{ fontWeight: "bold" }}>Operaciones</TableCell>
           </TableRow>
         </TableHead>
@@ -85,6 +87,8 @@ const VehicleList = () => {
               <TableCell align="left">{vehicle.type}</TableCell>
               <TableCell align="left">{vehicle.manufactureYear}</TableCell>
               <TableCell align="left">{vehicle.engineType}</TableCell>
+              <TableCell align="left">{vehicle.history?.repairCount ?? 0}</TableCell>
+              <TableCell align="left">{vehicle.history?.lastEntryDate ?? "-"}</TableCell>
               <TableCell>
                 <Button
                   variant="contained"
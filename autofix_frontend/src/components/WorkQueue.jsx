@@ -0,0 +1,107 @@
+import React, { useState, useEffect } from "react";
+import repairService from "../services/repair.service";
+import Table from "@mui/material/Table";
+import TableBody from "@mui/material/TableBody";
+import TableCell from "@mui/material/TableCell";
+import TableContainer from "@mui/material/TableContainer";
+import TableHead from "@mui/material/TableHead";
+import TableRow from "@mui/material/TableRow";
+import Paper from "@mui/material/Paper";
+import Chip from "@mui/material/Chip";
+import Stack from "@mui/material/Stack";
+
+const statusLabels = {
+  PENDING: "Pendiente",
+  IN_PROGRESS: "En progreso",
+  COMPLETED: "Esperando retiro"
+};
+
+const WorkQueue = () => {
+  const [queue, setQueue] = useState(null);
+  const [status, setStatus] = useState(null);
+
+  useEffect(() => {
+    let active = true;
+    const params = { page: 0, size: 50, ...(status ? { status } : {}) };
+
+    // Carga la cola y luego espera cambios con long polling, sin volver a pedir la tabla completa
+    const poll = version => {
+      repairService.awaitWorkQueueChange({ ...params, since: version })
+        .then(response => {
+          if (!active) return;
+          if (response.status === 200) {
+            setQueue(response.data);
+            poll(response.data.version);
+          } else {
+            poll(version);
+          }
+        })
+        .catch(error => {
+          console.log("Error al esperar cambios en la cola de trabajo.", error);
+          if (active) setTimeout(() => poll(version), 5000);
+        });
+    };
+
+    repairService.getWorkQueue(params)
+      .then(response => {
+        if (!active) return;
+        setQueue(response.data);
+        poll(response.data.version);
+      })
+      .catch(error => {
+        console.log("Error al mostrar la cola de trabajo.", error);
+      });
+
+    return () => {
+      active = false;
+    };
+  }, [status]);
+
+  return (
+    <TableContainer component={Paper}>
+      <br />
+      <Stack direction="row" spacing={1} sx={{ ml: 2 }}>
+        <Chip
+          label={`Todas (${queue ? queue.totalMatches : 0})`}
+          color={status === null ? "primary" : "default"}
+          onClick={() => setStatus(null)}
+        />
+        {Object.keys(statusLabels).map(key => (
+          <Chip
+            key={key}
+            label={`${statusLabels[key]} (${queue && queue.statusCounts ? queue.statusCounts[key] || 0 : 0})`}
+            color={status === key ? "primary" : "default"}
+            onClick={() => setStatus(key)}
+          />
+        ))}
+      </Stack>
+      <br />
+      <Table sx={{ minWidth: 650 }} aria-label="cola de trabajo">
+        <TableHead>
+          <TableRow>
+            <TableCell align="left" sx={{ fontWeight: "bold" }}>Reparación</TableCell>
+            <TableCell align="left" sx={{ fontWeight: "bold" }}>Marca</TableCell>
+            <TableCell align="left" sx={{ fontWeight: "bold" }}>Tipo de Reparación</TableCell>
+            <TableCell align="left" sx={{ fontWeight: "bold" }}>Fecha de Entrada</TableCell>
+            <TableCell align="left" sx={{ fontWeight: "bold" }}>Hora de Entrada</TableCell>
+            <TableCell align="left" sx={{ fontWeight: "bold" }}>Estado</TableCell>
+          </TableRow>
+        </TableHead>
+        <TableBody>
+          {queue && queue.repairs.map(repair => (
+            <TableRow key={repair.repairId}>
+              <TableCell align="left">{repair.repairId}</TableCell>
+              <TableCell align="left">{repair.brand}</TableCell>
+              <TableCell align="left">{repair.repairType}</TableCell>
+              <TableCell align="left">{repair.entryDate}</TableCell>
+              <TableCell align="left">{repair.entryTime}</TableCell>
+              <TableCell align="left">{repair.status}</TableCell>
+            </TableRow>
+          ))}
+        </TableBody>
+      </Table>
+    </TableContainer>
+  );
+};
+
+export default WorkQueue;
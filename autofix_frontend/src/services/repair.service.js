@@ -24,4 +24,16 @@ const getTotalRepairCost = id => {
     return httpClient.get(`/api/v1/repairs/${id}/total-cost`);
 }
 
-export default { getAll, create, get, update, remove, getTotalRepairCost };
+const getWorkQueue = params => {
+    return httpClient.get('/api/v1/work-queue', { params });
+}
+
+// Espera en el servidor hasta que la cola cambie; responde 304 si no hubo cambios dentro del plazo
+const awaitWorkQueueChange = params => {
+    return httpClient.get('/api/v1/work-queue/changes', {
+        params,
+        validateStatus: status => status === 200 || status === 304
+    });
+}
+
+export default { getAll, create, get, update, remove, getTotalRepairCost, getWorkQueue, awaitWorkQueueChange };
@@ -16,9 +16,29 @@ const generateRepairTypesEngineSummary = () => {
     return httpClient.get('/api/v1/reports/repair-types-engine-summary');
 }
 
+const getTimeSeries = params => {
+    return httpClient.get('/api/v1/reports/time-series', { params });
+}
+
+const getTurnaroundPercentiles = params => {
+    return httpClient.get('/api/v1/reports/turnaround-percentiles', { params });
+}
+
+const getTopSpenders = params => {
+    return httpClient.get('/api/v1/reports/top-spenders', { params });
+}
+
+const queryRepairCube = query => {
+    return httpClient.post('/api/v1/reports/cube/query', query);
+}
+
 export default {
     generateRepairCostReport,
     generateRepairTypeSummaryReport,
     generateAverageRepairTimesReport,
-    generateRepairTypesEngineSummary
+    generateRepairTypesEngineSummary,
+    getTimeSeries,
+    getTurnaroundPercentiles,
+    getTopSpenders,
+    queryRepairCube
 };
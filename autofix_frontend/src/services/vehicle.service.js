@@ -20,4 +20,8 @@ const remove = id => {
     return httpClient.delete(`/api/v1/vehicles/${id}`);
 }
 
-export default { getAll, create, get, update, remove };
\ No newline at end of file
+const search = (q, limit) => {
+    return httpClient.get('/api/v1/vehicles/search', { params: { q, limit } });
+}
+
+export default { getAll, create, get, update, remove, search };
\ No newline at end of file
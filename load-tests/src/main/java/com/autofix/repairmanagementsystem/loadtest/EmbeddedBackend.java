@@ -0,0 +1,49 @@
+package com.autofix.repairmanagementsystem.loadtest;
+
+import com.autofix.repairmanagementsystem.AutoFixRepairManagementSystemApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Levanta el backend en este mismo proceso sobre H2 en memoria, en un puerto libre, y lo llena con
+// SyntheticDataLoader. Las propiedades van como argumentos para que tengan prioridad sobre application.properties.
+// Cliente y servidor comparten la máquina, así que las cifras sirven para comparar commits entre sí, no para
+// dimensionar producción.
+public class EmbeddedBackend implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedBackend(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    public static EmbeddedBackend start(LoadTestOptions options) throws Exception {
+        Path snapshotDirectory = Files.createTempDirectory("autofix-load-snapshot");
+        ConfigurableApplicationContext context = SpringApplication.run(AutoFixRepairManagementSystemApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:autofix-load;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.main.banner-mode=off",
+                "--logging.level.com.autofix=WARN",
+                "--autofix.snapshot.directory=" + snapshotDirectory,
+                "--autofix.synthetic-data.seed=" + options.getSeed(),
+                "--autofix.synthetic-data.vehicles=" + options.getVehicles(),
+                "--autofix.synthetic-data.repairs=" + options.getRepairs());
+        return new EmbeddedBackend(context);
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,106 @@
+package com.autofix.repairmanagementsystem.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Modelo abierto: las solicitudes salen a tasa constante, cada una en su instante previsto, sin esperar a que
+// terminen las anteriores (hasta maxInFlight en curso). Si el servidor o el cliente se atrasan, la latencia se sigue
+// midiendo desde el instante previsto, como la viviría un cliente que llegó a esa hora.
+public class LoadGenerator {
+
+    private final HttpClient client;
+    private final LoadScenarios scenarios;
+    private final double rate;
+    private final int maxInFlight;
+    private final Duration timeout;
+
+    public static final class Result {
+        private final long elapsedNanos;
+        private final long scheduled;
+        private final long unfinished;
+
+        private Result(long elapsedNanos, long scheduled, long unfinished) {
+            this.elapsedNanos = elapsedNanos;
+            this.scheduled = scheduled;
+            this.unfinished = unfinished;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public long getScheduled() {
+            return scheduled;
+        }
+
+        // Solicitudes que seguían en curso al agotarse la espera final; no entran en los histogramas
+        public long getUnfinished() {
+            return unfinished;
+        }
+    }
+
+    public LoadGenerator(HttpClient client, LoadScenarios scenarios, double rate, int maxInFlight, Duration timeout) {
+        this.client = client;
+        this.scenarios = scenarios;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+        this.timeout = timeout;
+    }
+
+    public Result run(Random random, Duration duration, LoadRecorder recorder) throws InterruptedException {
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long scheduled = 0;
+
+        while (true) {
+            long intended = start + (long) (scheduled * intervalNanos);
+            if (intended - end >= 0) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            LoadScenarios.Call call = scenarios.next(random);
+            // Con el límite alcanzado el envío se atrasa, pero el atraso queda dentro de la latencia medida
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            client.sendAsync(call.getRequest(), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        long done = System.nanoTime();
+                        inFlight.release();
+                        boolean success = error == null && (response.statusCode() / 100 == 2 || response.statusCode() == 304);
+                        String outcome = error == null ? String.valueOf(response.statusCode()) : rootCause(error);
+                        recorder.record(call.getOperation(), done - intended, done - sent, outcome, success);
+                        if (success && call.getOnSuccess() != null) {
+                            try {
+                                call.getOnSuccess().accept(response.body());
+                            } catch (RuntimeException e) {
+                                // Una respuesta que no se puede leer solo deja de aportar ids a la corrida
+                            }
+                        }
+                    });
+            scheduled++;
+        }
+
+        // Cada solicitud termina a más tardar en su timeout, así que basta esperar eso y un margen
+        boolean drained = inFlight.tryAcquire(maxInFlight, timeout.toMillis() + 5000, TimeUnit.MILLISECONDS);
+        long elapsed = System.nanoTime() - start;
+        return new Result(elapsed, scheduled, drained ? 0 : maxInFlight - inFlight.availablePermits());
+    }
+
+    private static String rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getClass().getSimpleName();
+    }
+}
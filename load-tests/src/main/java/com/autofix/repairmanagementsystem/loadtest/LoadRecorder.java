@@ -0,0 +1,84 @@
+package com.autofix.repairmanagementsystem.loadtest;
+
+import com.autofix.repairmanagementsystem.utils.ConcurrentHistogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Acumula las respuestas por operación, por escenario y en total. Cada respuesta registra dos tiempos en
+// microsegundos: latency, desde el instante en que la solicitud debía salir según la tasa (corrige la omisión
+// coordinada), y serviceTime, desde que salió de verdad. Si el servidor se atrasa, la diferencia entre ambos es la
+// cola que habría quedado oculta midiendo solo el segundo.
+public class LoadRecorder {
+
+    public static final String TOTAL = "total";
+
+    private final Map<String, Stats> operations = new ConcurrentHashMap<>();
+    private final Map<String, Stats> scenarios = new ConcurrentHashMap<>();
+    private final Stats total = new Stats();
+
+    public static final class Stats {
+        private final ConcurrentHistogram latency = new ConcurrentHistogram();
+        private final ConcurrentHistogram serviceTime = new ConcurrentHistogram();
+        private final LongAdder successes = new LongAdder();
+        private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+        private void record(long latencyNanos, long serviceNanos, String outcome, boolean success) {
+            latency.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+            serviceTime.record(TimeUnit.NANOSECONDS.toMicros(serviceNanos));
+            if (success) {
+                successes.increment();
+            }
+            outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        }
+
+        public ConcurrentHistogram getLatency() {
+            return latency;
+        }
+
+        public ConcurrentHistogram getServiceTime() {
+            return serviceTime;
+        }
+
+        public long getRequests() {
+            return latency.getCount();
+        }
+
+        public long getSuccesses() {
+            return successes.sum();
+        }
+
+        // Código HTTP de cada respuesta, o el tipo de excepción si no hubo respuesta
+        public Map<String, Long> getOutcomes() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            outcomes.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> counts.put(entry.getKey(), entry.getValue().sum()));
+            return counts;
+        }
+    }
+
+    public void record(LoadScenarios.Operation operation, long latencyNanos, long serviceNanos, String outcome,
+                       boolean success) {
+        operations.computeIfAbsent(operation.getName(), key -> new Stats())
+                .record(latencyNanos, serviceNanos, outcome, success);
+        scenarios.computeIfAbsent(operation.getScenario(), key -> new Stats())
+                .record(latencyNanos, serviceNanos, outcome, success);
+        total.record(latencyNanos, serviceNanos, outcome, success);
+    }
+
+    public Map<String, Stats> getOperations() {
+        return operations;
+    }
+
+    public Map<String, Stats> getScenarios() {
+        return scenarios;
+    }
+
+    public Stats getTotal() {
+        return total;
+    }
+}
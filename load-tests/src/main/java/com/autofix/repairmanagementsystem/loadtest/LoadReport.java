@@ -0,0 +1,148 @@
+package com.autofix.repairmanagementsystem.loadtest;
+
+import com.autofix.repairmanagementsystem.utils.ConcurrentHistogram;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Reporte en JSON con la misma forma en todas las corridas, para compararlas entre commits o entre el backend
+// embebido y docker-compose. Los tiempos van en milisegundos y el throughput en respuestas exitosas por segundo.
+public class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] PERCENTILE_KEYS = {"p50", "p90", "p99", "p999"};
+
+    private final Map<String, Object> content = new LinkedHashMap<>();
+
+    public LoadReport(LoadTestOptions options, String target, Instant startedAt, LoadGenerator.Result result,
+                      LoadRecorder recorder) {
+        double seconds = result.getElapsedNanos() / 1e9;
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("rate", options.getRate());
+        config.put("durationSeconds", options.getDuration().getSeconds());
+        config.put("warmupSeconds", options.getWarmup().getSeconds());
+        config.put("maxInFlight", options.getMaxInFlight());
+        config.put("timeoutSeconds", options.getTimeout().getSeconds());
+        config.put("seed", options.getSeed());
+        config.put("vehicles", options.getVehicles());
+        config.put("repairs", options.getRepairs());
+        config.put("mix", options.getMix());
+
+        content.put("label", options.getLabel());
+        content.put("target", target);
+        content.put("startedAt", startedAt.toString());
+        content.put("config", config);
+        content.put("elapsedSeconds", round(seconds));
+        content.put("scheduled", result.getScheduled());
+        content.put("unfinished", result.getUnfinished());
+        content.put(LoadRecorder.TOTAL, stats(recorder.getTotal(), seconds));
+        content.put("scenarios", statsByName(recorder.getScenarios(), seconds));
+        content.put("operations", statsByName(recorder.getOperations(), seconds));
+    }
+
+    public void write(ObjectMapper objectMapper, Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), content);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void print(PrintStream out) {
+        out.printf("%-30s %9s %8s %10s %10s %10s %10s %10s%n",
+                "", "requests", "errors", "ok/s", "p50 ms", "p99 ms", "p999 ms", "svc p99");
+        printRow(out, LoadRecorder.TOTAL, (Map<String, Object>) content.get(LoadRecorder.TOTAL));
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) content.get("scenarios")).entrySet()) {
+            printRow(out, "  " + entry.getKey(), (Map<String, Object>) entry.getValue());
+        }
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) content.get("operations")).entrySet()) {
+            printRow(out, "    " + entry.getKey(), (Map<String, Object>) entry.getValue());
+        }
+        if ((long) content.get("unfinished") > 0) {
+            out.printf("%d requests were still in flight at the end and are not in the histograms%n",
+                    (long) content.get("unfinished"));
+        }
+    }
+
+    // Compara el total y cada escenario con un reporte anterior: throughput y percentiles corregidos.
+    @SuppressWarnings("unchecked")
+    public void printComparison(ObjectMapper objectMapper, Path baselinePath, PrintStream out) throws IOException {
+        JsonNode baseline = objectMapper.readTree(baselinePath.toFile());
+        out.printf("%nCompared with %s (%s)%n", baseline.path("label").asText(), baselinePath);
+        out.printf("%-30s %21s %21s %21s %21s%n", "", "ok/s", "p50 ms", "p99 ms", "p999 ms");
+        compareRow(out, LoadRecorder.TOTAL, baseline.path(LoadRecorder.TOTAL),
+                (Map<String, Object>) content.get(LoadRecorder.TOTAL));
+        for (Map.Entry<String, Object> entry : ((Map<String, Object>) content.get("scenarios")).entrySet()) {
+            compareRow(out, "  " + entry.getKey(), baseline.path("scenarios").path(entry.getKey()),
+                    (Map<String, Object>) entry.getValue());
+        }
+    }
+
+    private static Map<String, Object> statsByName(Map<String, LoadRecorder.Stats> statsByName, double seconds) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        new TreeMap<>(statsByName).forEach((name, stats) -> result.put(name, stats(stats, seconds)));
+        return result;
+    }
+
+    private static Map<String, Object> stats(LoadRecorder.Stats stats, double seconds) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requests", stats.getRequests());
+        result.put("errors", stats.getRequests() - stats.getSuccesses());
+        result.put("throughput", round(stats.getSuccesses() / seconds));
+        result.put("outcomes", stats.getOutcomes());
+        result.put("latency", percentiles(stats.getLatency()));
+        result.put("serviceTime", percentiles(stats.getServiceTime()));
+        return result;
+    }
+
+    private static Map<String, Object> percentiles(ConcurrentHistogram histogram) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("mean", histogram.getCount() == 0 ? 0 : round(histogram.getSum() / 1000.0 / histogram.getCount()));
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            result.put(PERCENTILE_KEYS[i], round(histogram.valueAtPercentile(PERCENTILES[i]) / 1000.0));
+        }
+        result.put("max", round(histogram.getMax() / 1000.0));
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printRow(PrintStream out, String name, Map<String, Object> stats) {
+        Map<String, Object> latency = (Map<String, Object>) stats.get("latency");
+        Map<String, Object> serviceTime = (Map<String, Object>) stats.get("serviceTime");
+        out.printf("%-30s %9d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", name, stats.get("requests"),
+                stats.get("errors"), stats.get("throughput"), latency.get("p50"), latency.get("p99"),
+                latency.get("p999"), serviceTime.get("p99"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void compareRow(PrintStream out, String name, JsonNode before, Map<String, Object> after) {
+        if (before.isMissingNode()) {
+            out.printf("%-30s (not in baseline)%n", name);
+            return;
+        }
+        Map<String, Object> latency = (Map<String, Object>) after.get("latency");
+        out.printf("%-30s %21s %21s %21s %21s%n", name,
+                change(before.path("throughput").asDouble(), (double) after.get("throughput")),
+                change(before.path("latency").path("p50").asDouble(), (double) latency.get("p50")),
+                change(before.path("latency").path("p99").asDouble(), (double) latency.get("p99")),
+                change(before.path("latency").path("p999").asDouble(), (double) latency.get("p999")));
+    }
+
+    private static String change(double before, double after) {
+        String delta = before == 0 ? "n/a" : String.format("%+.1f%%", (after - before) / before * 100);
+        return String.format("%.2f→%.2f %s", before, after, delta);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
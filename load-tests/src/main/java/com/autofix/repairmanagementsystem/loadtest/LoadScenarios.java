@@ -0,0 +1,308 @@
+package com.autofix.repairmanagementsystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Operaciones que se reproducen, agrupadas en escenarios con peso relativo:
+//  - front-desk: registro de vehículos y reparaciones, entrega al cliente, consultas por id y búsqueda.
+//  - total-cost: costo total de una reparación, al día o a una fecha.
+//  - reports: los reportes agregados y de series. Se omite repair-costs, que recorre todas las reparaciones.
+// La secuencia de operaciones depende solo de la semilla; los ids creados durante la corrida se suman a los
+// existentes a medida que llegan las respuestas.
+public class LoadScenarios {
+
+    public static final String FRONT_DESK = "front-desk";
+    public static final String TOTAL_COST = "total-cost";
+    public static final String REPORTS = "reports";
+    public static final List<String> SCENARIOS = List.of(FRONT_DESK, TOTAL_COST, REPORTS);
+
+    // Cuatro reparaciones por hora entre las 8:00 y las 18:00, una por bahía
+    private static final int SLOTS_PER_DAY = 40;
+
+    private static final String[][] VEHICLES = {
+            {"Toyota", "Corolla", "Sedan"}, {"Toyota", "Hilux", "Pickup"}, {"Hyundai", "Tucson", "SUV"},
+            {"Kia", "Rio", "Sedan"}, {"Chevrolet", "Spark", "Hatchback"}, {"Nissan", "Navara", "Pickup"},
+            {"Suzuki", "Swift", "Hatchback"}, {"Peugeot", "Partner", "Furgoneta"}, {"Ford", "Ranger", "Pickup"},
+            {"Mazda", "CX-5", "SUV"},
+    };
+    private static final String[] ENGINES = {"Gasoline", "Gasoline", "Gasoline", "Diesel", "Hybrid", "Electric"};
+
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final LocalDate today;
+    private final LocalDate slotBase;
+    private final String platePrefix;
+    private final List<Long> repairTypeIds;
+    private final IdPool vehicleIds;
+    private final IdPool repairIds;
+    private final Deque<ObjectNode> awaitingPickup = new ArrayDeque<>();
+    private final List<Operation> operations = new ArrayList<>();
+    private double[] cumulativeWeights;
+    private long registrations;
+    private long plates;
+
+    public static final class Call {
+        private final Operation operation;
+        private final HttpRequest request;
+        private final Consumer<String> onSuccess;
+
+        private Call(Operation operation, HttpRequest request, Consumer<String> onSuccess) {
+            this.operation = operation;
+            this.request = request;
+            this.onSuccess = onSuccess;
+        }
+
+        public Operation getOperation() {
+            return operation;
+        }
+
+        public HttpRequest getRequest() {
+            return request;
+        }
+
+        public Consumer<String> getOnSuccess() {
+            return onSuccess;
+        }
+    }
+
+    public static final class Operation {
+        private final String name;
+        private final String scenario;
+        private final int weight;
+        private final Function<Random, Call> factory;
+
+        private Operation(String name, String scenario, int weight, Function<Random, Call> factory) {
+            this.name = name;
+            this.scenario = scenario;
+            this.weight = weight;
+            this.factory = factory;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getScenario() {
+            return scenario;
+        }
+    }
+
+    // Ids existentes 1..preloaded más los que se crean durante la corrida.
+    static final class IdPool {
+        private final long preloaded;
+        private final List<Long> created = new ArrayList<>();
+
+        IdPool(long preloaded) {
+            this.preloaded = preloaded;
+        }
+
+        synchronized void add(long id) {
+            created.add(id);
+        }
+
+        synchronized long pick(Random random) {
+            long total = preloaded + created.size();
+            if (total == 0) {
+                return -1;
+            }
+            long index = random.nextLong(total);
+            return index < preloaded ? index + 1 : created.get((int) (index - preloaded));
+        }
+    }
+
+    // Las reparaciones nuevas se ubican en días propios de la corrida (slotBase) para no chocar en las bahías con
+    // las existentes ni, en lo posible, con las de corridas anteriores contra el mismo servidor.
+    public LoadScenarios(ObjectMapper objectMapper, String baseUrl, Duration timeout, LocalDate today,
+                         LocalDate slotBase, String platePrefix, List<Long> repairTypeIds, int vehicles, int repairs,
+                         Map<String, Integer> mix) {
+        if (repairTypeIds.isEmpty()) {
+            throw new IllegalArgumentException("El servidor no tiene tipos de reparación registrados.");
+        }
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.today = today;
+        this.slotBase = slotBase;
+        this.platePrefix = platePrefix;
+        this.repairTypeIds = repairTypeIds;
+        this.vehicleIds = new IdPool(vehicles);
+        this.repairIds = new IdPool(repairs);
+
+        add(FRONT_DESK, "register-vehicle", 2, this::registerVehicle);
+        add(FRONT_DESK, "register-repair", 3, this::registerRepair);
+        add(FRONT_DESK, "pickup-repair", 2, this::pickupRepair);
+        add(FRONT_DESK, "get-repair", 6, random -> getById("/api/v1/repairs/", repairIds.pick(random), ""));
+        add(FRONT_DESK, "get-vehicle", 4, random -> getById("/api/v1/vehicles/", vehicleIds.pick(random), ""));
+        add(FRONT_DESK, "search-vehicles", 3, random -> get("/api/v1/vehicles/search?q="
+                + encode(VEHICLES[random.nextInt(VEHICLES.length)][0].substring(0, 3).toLowerCase()) + "&limit=10"));
+        add(TOTAL_COST, "total-cost", 8, random -> getById("/api/v1/repairs/", repairIds.pick(random), "/total-cost"));
+        add(TOTAL_COST, "total-cost-as-of", 2, random -> getById("/api/v1/repairs/", repairIds.pick(random),
+                "/total-cost?asOf=" + today.minusDays(random.nextInt(365))));
+        add(REPORTS, "repair-type-summary", 3, random -> get("/api/v1/reports/repair-type-summary"));
+        add(REPORTS, "average-repair-times", 2, random -> get("/api/v1/reports/average-repair-times"));
+        add(REPORTS, "repair-types-engine-summary", 2, random -> get("/api/v1/reports/repair-types-engine-summary"));
+        add(REPORTS, "time-series", 3, random -> get("/api/v1/reports/time-series?start=" + today.minusDays(90)
+                + "&end=" + today + "&granularity=" + (random.nextBoolean() ? "DAY" : "WEEK")));
+        add(REPORTS, "turnaround-percentiles", 1, random -> get("/api/v1/reports/turnaround-percentiles?start="
+                + today.minusYears(1) + "&end=" + today + "&groupBy=" + (random.nextBoolean() ? "BRAND" : "REPAIR_TYPE")));
+        add(REPORTS, "top-spenders", 1, random -> get("/api/v1/reports/top-spenders?start=" + today.minusYears(1)
+                + "&end=" + today + "&limit=10"));
+        computeWeights(mix);
+    }
+
+    public List<Operation> getOperations() {
+        return operations;
+    }
+
+    // Elige una operación según los pesos; si la elegida no se puede armar todavía (no hay reparaciones por
+    // entregar o no hay ids), se vuelve a elegir.
+    public Call next(Random random) {
+        while (true) {
+            double point = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+            int index = 0;
+            while (cumulativeWeights[index] <= point) {
+                index++;
+            }
+            Operation operation = operations.get(index);
+            Call call = operation.factory.apply(random);
+            if (call != null) {
+                return new Call(operation, call.request, call.onSuccess);
+            }
+        }
+    }
+
+    private void add(String scenario, String name, int weight, Function<Random, Call> factory) {
+        operations.add(new Operation(name, scenario, weight, factory));
+    }
+
+    // El peso de un escenario se reparte entre sus operaciones en proporción a sus pesos.
+    private void computeWeights(Map<String, Integer> mix) {
+        cumulativeWeights = new double[operations.size()];
+        double cumulative = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            Operation operation = operations.get(i);
+            int scenarioTotal = 0;
+            for (Operation other : operations) {
+                if (other.scenario.equals(operation.scenario)) {
+                    scenarioTotal += other.weight;
+                }
+            }
+            cumulative += (double) mix.getOrDefault(operation.scenario, 0) * operation.weight / scenarioTotal;
+            cumulativeWeights[i] = cumulative;
+        }
+        if (cumulative <= 0) {
+            throw new IllegalArgumentException("La mezcla debe dar peso a algún escenario.");
+        }
+    }
+
+    private Call registerVehicle(Random random) {
+        String[] vehicle = VEHICLES[random.nextInt(VEHICLES.length)];
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("licensePlateNumber", platePrefix + Long.toString(plates++, 36).toUpperCase())
+                .put("brand", vehicle[0])
+                .put("model", vehicle[1])
+                .put("type", vehicle[2])
+                .put("manufactureYear", today.getYear() - random.nextInt(20))
+                .put("engineType", ENGINES[random.nextInt(ENGINES.length)])
+                .put("mileage", random.nextInt(250_000))
+                .put("seatCount", "Pickup".equals(vehicle[2]) ? 2 + 3 * random.nextInt(2) : 5);
+        return send("POST", "/api/v1/vehicles", body, response -> vehicleIds.add(read(response).path("vehicleId").asLong()));
+    }
+
+    private Call registerRepair(Random random) {
+        long vehicleId = vehicleIds.pick(random);
+        if (vehicleId < 0) {
+            return null;
+        }
+        long slot = registrations++;
+        LocalDate date = slotBase.plusDays(slot / SLOTS_PER_DAY);
+        LocalTime entry = LocalTime.of(8 + (int) (slot % SLOTS_PER_DAY) / 4, 0);
+        ObjectNode body = objectMapper.createObjectNode();
+        body.putObject("vehicle").put("vehicleId", vehicleId);
+        body.putObject("repairType").put("repairTypeId", repairTypeIds.get(random.nextInt(repairTypeIds.size())));
+        body.put("entryDate", date.toString())
+                .put("entryTime", entry.toString() + ":00")
+                .put("exitDate", date.toString())
+                .put("exitTime", entry.plusMinutes(50).toString() + ":00")
+                .put("status", "Completed")
+                .put("repairCost", 50_000 + 10_000 * random.nextInt(40));
+        return send("POST", "/api/v1/repairs", body, response -> {
+            JsonNode saved = read(response);
+            repairIds.add(saved.path("repairId").asLong());
+            // El vehículo no viene en la respuesta; la entrega reenvía el cuerpo original con el id y la bahía
+            body.put("repairId", saved.path("repairId").asLong());
+            body.set("bay", saved.path("bay"));
+            synchronized (awaitingPickup) {
+                awaitingPickup.add(body);
+            }
+        });
+    }
+
+    private Call pickupRepair(Random random) {
+        ObjectNode repair;
+        synchronized (awaitingPickup) {
+            repair = awaitingPickup.poll();
+        }
+        if (repair == null) {
+            return null;
+        }
+        LocalDate exitDate = LocalDate.parse(repair.path("exitDate").asText());
+        repair.put("status", "Delivered")
+                .put("customerPickupDate", exitDate.plusDays(random.nextInt(3)).toString())
+                .put("customerPickupTime", "18:30:00");
+        return send("PUT", "/api/v1/repairs/" + repair.path("repairId").asLong(), repair, null);
+    }
+
+    private Call getById(String prefix, long id, String suffix) {
+        return id < 0 ? null : get(prefix + id + suffix);
+    }
+
+    private Call get(String path) {
+        return new Call(null, HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout).GET().build(), null);
+    }
+
+    private Call send(String method, String path, ObjectNode body, Consumer<String> onSuccess) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+            return new Call(null, request, onSuccess);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonNode read(String response) {
+        try {
+            return objectMapper.readTree(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,151 @@
+package com.autofix.repairmanagementsystem.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Opciones en formato --nombre=valor. Sin --target se levanta el backend embebido con H2 y datos sintéticos;
+// con --target se usa una instancia ya levantada (por ejemplo http://localhost, el nginx de docker-compose), que
+// debe tener cargados los mismos datos: ids 1..vehicles y 1..repairs.
+public class LoadTestOptions {
+
+    private String target;
+    private double rate = 100;
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(15);
+    private Duration timeout = Duration.ofSeconds(30);
+    private int maxInFlight = 256;
+    private int vehicles = 2000;
+    private int repairs = 20000;
+    private long seed = 42;
+    private String label = "run";
+    private String report = "target/load-report.json";
+    private String baseline;
+    private Map<String, Integer> mix = parseMix("front-desk=60,total-cost=30,reports=10");
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Opción no reconocida: " + arg + ". Se espera --nombre=valor.");
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions();
+        options.target = values.remove("target");
+        if (values.containsKey("rate")) {
+            options.rate = Double.parseDouble(values.remove("rate"));
+        }
+        if (values.containsKey("duration")) {
+            options.duration = Duration.ofSeconds(Long.parseLong(values.remove("duration")));
+        }
+        if (values.containsKey("warmup")) {
+            options.warmup = Duration.ofSeconds(Long.parseLong(values.remove("warmup")));
+        }
+        if (values.containsKey("timeout")) {
+            options.timeout = Duration.ofSeconds(Long.parseLong(values.remove("timeout")));
+        }
+        if (values.containsKey("max-in-flight")) {
+            options.maxInFlight = Integer.parseInt(values.remove("max-in-flight"));
+        }
+        if (values.containsKey("vehicles")) {
+            options.vehicles = Integer.parseInt(values.remove("vehicles"));
+        }
+        if (values.containsKey("repairs")) {
+            options.repairs = Integer.parseInt(values.remove("repairs"));
+        }
+        if (values.containsKey("seed")) {
+            options.seed = Long.parseLong(values.remove("seed"));
+        }
+        if (values.containsKey("label")) {
+            options.label = values.remove("label");
+        }
+        if (values.containsKey("report")) {
+            options.report = values.remove("report");
+        }
+        options.baseline = values.remove("baseline");
+        if (values.containsKey("mix")) {
+            options.mix = parseMix(values.remove("mix"));
+        }
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Opciones no reconocidas: " + values.keySet());
+        }
+        if (options.rate <= 0 || options.maxInFlight <= 0 || options.duration.isZero()) {
+            throw new IllegalArgumentException("La tasa, la duración y max-in-flight deben ser mayores que cero.");
+        }
+        return options;
+    }
+
+    // Pesos relativos por escenario, por ejemplo front-desk=60,total-cost=30,reports=10
+    static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2 || !LoadScenarios.SCENARIOS.contains(parts[0].trim())) {
+                throw new IllegalArgumentException("Escenario no reconocido en la mezcla: " + entry
+                        + ". Escenarios disponibles: " + LoadScenarios.SCENARIOS);
+            }
+            mix.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+
+    public boolean isEmbedded() {
+        return target == null;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getVehicles() {
+        return vehicles;
+    }
+
+    public int getRepairs() {
+        return repairs;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getReport() {
+        return report;
+    }
+
+    public String getBaseline() {
+        return baseline;
+    }
+
+    public Map<String, Integer> getMix() {
+        return mix;
+    }
+}
@@ -0,0 +1,89 @@
+package com.autofix.repairmanagementsystem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Prueba de carga de extremo a extremo por HTTP. Por ejemplo:
+//   java -jar target/load-tests.jar --rate=200 --duration=120 --repairs=100000 --label=antes
+//   java -jar target/load-tests.jar --rate=200 --duration=120 --repairs=100000 --label=despues --baseline=target/antes.json
+//   java -jar target/load-tests.jar --target=http://localhost --vehicles=10000 --repairs=100000
+// El calentamiento usa la misma mezcla y se descarta; el reporte queda en --report (target/load-report.json).
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        EmbeddedBackend backend = options.isEmbedded() ? EmbeddedBackend.start(options) : null;
+        try {
+            run(options, backend != null ? backend.getBaseUrl() : options.getTarget());
+        } finally {
+            if (backend != null) {
+                backend.close();
+            }
+        }
+    }
+
+    private static void run(LoadTestOptions options, String baseUrl) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        // Placas y fechas propias de la corrida: las placas sintéticas no llevan guiones y los días de las
+        // reparaciones nuevas quedan décadas atrás, fuera de la planificación de bahías que se recarga.
+        long runMinute = Instant.now().getEpochSecond() / 60;
+        LocalDate today = LocalDate.now();
+        LoadScenarios scenarios = new LoadScenarios(objectMapper, baseUrl, options.getTimeout(), today,
+                today.minusYears(40).plusDays(Math.floorMod(runMinute * 37, 3650)),
+                "LT-" + Long.toString(runMinute, 36).toUpperCase() + "-", fetchRepairTypeIds(client, objectMapper, baseUrl),
+                options.getVehicles(), options.getRepairs(), options.getMix());
+        LoadGenerator generator = new LoadGenerator(client, scenarios, options.getRate(), options.getMaxInFlight(),
+                options.getTimeout());
+        Random random = new Random(options.getSeed());
+
+        System.out.printf("Load test against %s: %.1f req/s for %ds after %ds of warmup%n", baseUrl,
+                options.getRate(), options.getDuration().getSeconds(), options.getWarmup().getSeconds());
+        if (!options.getWarmup().isZero()) {
+            generator.run(random, options.getWarmup(), new LoadRecorder());
+        }
+        Instant startedAt = Instant.now();
+        LoadRecorder recorder = new LoadRecorder();
+        LoadGenerator.Result result = generator.run(random, options.getDuration(), recorder);
+
+        LoadReport report = new LoadReport(options, options.isEmbedded() ? "embedded-h2" : baseUrl, startedAt,
+                result, recorder);
+        report.write(objectMapper, Path.of(options.getReport()));
+        report.print(System.out);
+        if (options.getBaseline() != null) {
+            report.printComparison(objectMapper, Path.of(options.getBaseline()), System.out);
+        }
+        System.out.printf("Report written to %s%n", options.getReport());
+    }
+
+    private static List<Long> fetchRepairTypeIds(HttpClient client, ObjectMapper objectMapper, String baseUrl)
+            throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/repair-types"))
+                .timeout(Duration.ofSeconds(30)).GET().build(), HttpResponse.BodyHandlers.ofString());
+        List<Long> ids = new ArrayList<>();
+        if (response.statusCode() == 200) {
+            for (JsonNode repairType : objectMapper.readTree(response.body())) {
+                ids.add(repairType.path("repairTypeId").asLong());
+            }
+        } else if (response.statusCode() != 204) {
+            throw new IllegalStateException("No se pudieron leer los tipos de reparación: HTTP " + response.statusCode());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,93 @@
+package com.autofix.repairmanagementsystem.benchmarks;
+
+import com.autofix.repairmanagementsystem.dto.RepairQuoteDTO;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Rendimiento de cada componente del precio y del cálculo completo del costo total. Cada invocación toma el
+// siguiente vehículo o reparación de las tablas de PricingFixtures, para no medir siempre el mismo tramo.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PricingBenchmark {
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        int next() {
+            return next++ & (PricingFixtures.SIZE - 1);
+        }
+    }
+
+    // Costo de una consulta al repositorio en memoria, para descontarlo de los demás resultados
+    @Benchmark
+    public Optional<VehicleEntity> stubbedLookup(PricingFixtures fixtures, Cursor cursor) {
+        return fixtures.vehicleRepository.findById(fixtures.vehicles[cursor.next()].getVehicleId());
+    }
+
+    @Benchmark
+    public BigDecimal mileageCharge(PricingFixtures fixtures, Cursor cursor) {
+        return fixtures.chargeService.determineMileageChargePercentage(fixtures.vehicles[cursor.next()].getVehicleId());
+    }
+
+    @Benchmark
+    public BigDecimal antiquityCharge(PricingFixtures fixtures, Cursor cursor) {
+        return fixtures.chargeService.determineAntiquityChargePercentage(fixtures.vehicles[cursor.next()].getVehicleId());
+    }
+
+    // Con historial: parte de los vehículos resuelve el tramo sin contar reparaciones
+    @Benchmark
+    public BigDecimal discount(PricingFixtures fixtures, Cursor cursor) {
+        return fixtures.discountService.determineDiscountPercentage(fixtures.vehicles[cursor.next()]);
+    }
+
+    @Benchmark
+    public BigDecimal discountAsOf(PricingFixtures fixtures, Cursor cursor) {
+        int index = cursor.next();
+        return fixtures.discountService.determineDiscountPercentage(fixtures.vehicles[index], fixtures.asOfDates[index]);
+    }
+
+    @Benchmark
+    public BigDecimal bonus(PricingFixtures fixtures, Cursor cursor) {
+        return fixtures.bonusService.calculateBonusForVehicle(fixtures.vehicles[cursor.next()].getVehicleId());
+    }
+
+    @Benchmark
+    public BigDecimal pickupDelayCharge(PricingFixtures fixtures, Cursor cursor) {
+        return fixtures.repairService.calculatePickupDelayCharge(fixtures.repairs[cursor.next()]);
+    }
+
+    @Benchmark
+    public RepairQuoteDTO itemize(PricingFixtures fixtures, Cursor cursor) {
+        RepairEntity repair = fixtures.repairs[cursor.next()];
+        return fixtures.repairService.itemizeRepairCost(repair.getRepairCost(), BigDecimal.TEN, new BigDecimal("7"),
+                BigDecimal.ZERO, new BigDecimal("12"), BigDecimal.ZERO);
+    }
+
+    @Benchmark
+    public BigDecimal totalRepairCost(PricingFixtures fixtures, Cursor cursor) {
+        return fixtures.repairService.calculateTotalRepairCost(fixtures.repairs[cursor.next()]);
+    }
+
+    @Benchmark
+    public BigDecimal totalRepairCostAsOf(PricingFixtures fixtures, Cursor cursor) {
+        int index = cursor.next();
+        return fixtures.repairService.calculateTotalRepairCost(fixtures.repairs[index], fixtures.asOfDates[index]);
+    }
+}
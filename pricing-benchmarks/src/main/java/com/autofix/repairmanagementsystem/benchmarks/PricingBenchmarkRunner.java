@@ -0,0 +1,29 @@
+package com.autofix.repairmanagementsystem.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Ejecuta los benchmarks con el perfilador de GC (gc.alloc.rate.norm: bytes por operación) y deja los resultados
+// en JSON para compararlos entre commits. Acepta las mismas opciones que el jar de JMH, por ejemplo:
+//   java -jar target/pricing-benchmarks.jar totalRepairCost -rff target/jmh-before.json
+public class PricingBenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            builder.include(PricingBenchmark.class.getSimpleName());
+        }
+        Options options = builder
+                .addProfiler(GCProfiler.class)
+                .resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(commandLine.getResult().orElse("target/jmh-result.json"))
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,191 @@
+package com.autofix.repairmanagementsystem.benchmarks;
+
+import com.autofix.repairmanagementsystem.entities.BonusEntity;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleHistory;
+import com.autofix.repairmanagementsystem.repositories.BonusRepository;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
+import com.autofix.repairmanagementsystem.services.BonusService;
+import com.autofix.repairmanagementsystem.services.ChargeService;
+import com.autofix.repairmanagementsystem.services.DiscountService;
+import com.autofix.repairmanagementsystem.services.RepairService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+// Flota y reparaciones sintéticas con distribuciones parecidas a las del taller, y los servicios de precios
+// armados a mano sobre repositorios en memoria. La semilla fija hace que dos ejecuciones midan los mismos datos.
+@State(Scope.Benchmark)
+public class PricingFixtures {
+
+    // Potencia de dos, para recorrer los datos con una máscara
+    public static final int SIZE = 4096;
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 14);
+    private static final VehicleEntity.VehicleType[] TYPES = weighted(VehicleEntity.VehicleType.class,
+            new VehicleEntity.VehicleType[]{VehicleEntity.VehicleType.SEDAN, VehicleEntity.VehicleType.HATCHBACK,
+                    VehicleEntity.VehicleType.SUV, VehicleEntity.VehicleType.PICKUP, VehicleEntity.VehicleType.VAN},
+            new int[]{40, 15, 25, 12, 8});
+    private static final VehicleEntity.EngineType[] ENGINES = weighted(VehicleEntity.EngineType.class,
+            new VehicleEntity.EngineType[]{VehicleEntity.EngineType.GASOLINE, VehicleEntity.EngineType.DIESEL,
+                    VehicleEntity.EngineType.HYBRID, VehicleEntity.EngineType.ELECTRIC},
+            new int[]{55, 25, 12, 8});
+    private static final String[] BRANDS = weighted(String.class,
+            new String[]{"Toyota", "Chevrolet", "Hyundai", "Kia", "Nissan", "Suzuki", "Ford", "Peugeot"},
+            new int[]{22, 18, 15, 12, 11, 9, 8, 5});
+
+    @Param("42")
+    public long seed;
+
+    VehicleEntity[] vehicles;
+    RepairEntity[] repairs;
+    LocalDate[] asOfDates;
+
+    ChargeService chargeService;
+    DiscountService discountService;
+    BonusService bonusService;
+    RepairService repairService;
+    VehicleRepository vehicleRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(seed);
+        Map<Long, VehicleEntity> vehiclesById = new HashMap<>();
+        Map<Long, Long> recentRepairsById = new HashMap<>();
+        Map<Long, Optional<BonusEntity>> bonusesByVehicle = new HashMap<>();
+
+        vehicles = new VehicleEntity[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            VehicleEntity vehicle = vehicle(random, (long) i + 1);
+            long recentRepairs = recentRepairs(random);
+            vehicle.setHistory(history(random, recentRepairs));
+            vehicles[i] = vehicle;
+            vehiclesById.put(vehicle.getVehicleId(), vehicle);
+            recentRepairsById.put(vehicle.getVehicleId(), recentRepairs);
+            // Uno de cada diez vehículos tiene un bono de su marca aplicado
+            bonusesByVehicle.put(vehicle.getVehicleId(), random.nextInt(10) == 0 ? Optional.of(bonus(random, vehicle))
+                    : Optional.empty());
+        }
+
+        repairs = new RepairEntity[SIZE];
+        asOfDates = new LocalDate[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            repairs[i] = repair(random, vehicles[random.nextInt(SIZE)]);
+            asOfDates[i] = TODAY.minusDays(random.nextInt(365));
+        }
+
+        Clock clock = Clock.fixed(TODAY.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        vehicleRepository = RepositoryStubs.of(VehicleRepository.class)
+                .answer("findById", args -> Optional.ofNullable(vehiclesById.get((Long) args[0])))
+                .build();
+        RepairRepository repairRepository = RepositoryStubs.of(RepairRepository.class)
+                .answer("countRepairsByVehicleIdAndDateRange", args -> recentRepairsById.getOrDefault((Long) args[0], 0L))
+                .answer("countRepairsByVehicleIdBetween", args -> recentRepairsById.getOrDefault((Long) args[0], 0L))
+                .build();
+        BonusRepository bonusRepository = RepositoryStubs.of(BonusRepository.class)
+                .answer("findByVehicle_VehicleId", args -> bonusesByVehicle.get((Long) args[0]))
+                .build();
+
+        chargeService = new ChargeService(null, vehicleRepository, clock);
+        discountService = new DiscountService(null, repairRepository, clock);
+        bonusService = new BonusService(bonusRepository, vehicleRepository);
+        // El costo total no toca los resúmenes, el historial ni las bahías
+        repairService = new RepairService(repairRepository, vehicleRepository, null, discountService, chargeService,
+                bonusService, null, null, null, null, clock);
+    }
+
+    private static VehicleEntity vehicle(Random random, long vehicleId) {
+        VehicleEntity vehicle = new VehicleEntity();
+        vehicle.setVehicleId(vehicleId);
+        vehicle.setLicensePlateNumber(String.format("BM%04d", vehicleId));
+        vehicle.setBrand(pick(random, BRANDS));
+        vehicle.setModel("Modelo " + vehicleId % 7);
+        vehicle.setType(pick(random, TYPES));
+        vehicle.setEngineType(pick(random, ENGINES));
+        // Antigüedad entre 0 y 20 años, más densa en los autos nuevos
+        int age = (int) Math.min(20, Math.floor(-Math.log(1 - random.nextDouble()) * 6));
+        vehicle.setManufactureYear(TODAY.getYear() - age);
+        // Kilometraje proporcional a la antigüedad, con dispersión; cubre todos los tramos de recargo
+        vehicle.setMileage((int) Math.max(0, (age + 0.5) * 9000 * (0.4 + random.nextDouble() * 1.2)));
+        vehicle.setSeatCount(vehicle.getType() == VehicleEntity.VehicleType.VAN ? 8 : 5);
+        return vehicle;
+    }
+
+    // Reparaciones del último año: la mayoría viene una o dos veces, unos pocos clientes frecuentes muchas más
+    private static long recentRepairs(Random random) {
+        double roll = random.nextDouble();
+        if (roll < 0.30) {
+            return 0;
+        } else if (roll < 0.70) {
+            return 1 + random.nextInt(2);
+        } else if (roll < 0.90) {
+            return 3 + random.nextInt(3);
+        } else if (roll < 0.97) {
+            return 6 + random.nextInt(4);
+        }
+        return 10 + random.nextInt(6);
+    }
+
+    private static VehicleHistory history(Random random, long recentRepairs) {
+        long olderRepairs = random.nextInt(4);
+        LocalDate lastEntry = recentRepairs > 0 ? TODAY.minusDays(random.nextInt(365))
+                : olderRepairs > 0 ? TODAY.minusDays(366 + random.nextInt(700)) : null;
+        return new VehicleHistory(recentRepairs + olderRepairs, BigDecimal.ZERO, lastEntry, 0L);
+    }
+
+    private static BonusEntity bonus(Random random, VehicleEntity vehicle) {
+        BonusEntity bonus = new BonusEntity();
+        bonus.setBrand(vehicle.getBrand());
+        bonus.setVehicle(vehicle);
+        bonus.setAmount(new BigDecimal(50000 + random.nextInt(5) * 10000));
+        return bonus;
+    }
+
+    private static RepairEntity repair(Random random, VehicleEntity vehicle) {
+        RepairEntity repair = new RepairEntity();
+        repair.setVehicle(vehicle);
+        repair.setRepairCost(new BigDecimal(60000 + random.nextInt(60) * 10000));
+        repair.setEntryDate(TODAY.minusDays(random.nextInt(120)));
+        repair.setEntryTime(LocalTime.of(8 + random.nextInt(10), random.nextInt(4) * 15));
+        // Un tercio sigue en el taller; del resto, la mayoría se retira a tiempo y algunos se atrasan semanas
+        if (random.nextInt(3) > 0) {
+            repair.setExitDate(repair.getEntryDate().plusDays(random.nextInt(6)));
+            int delay = random.nextInt(10) < 7 ? random.nextInt(2) : 2 + random.nextInt(30);
+            LocalDate pickup = repair.getExitDate().plusDays(delay);
+            repair.setCustomerPickupDate(pickup.isAfter(TODAY) ? null : pickup);
+        }
+        return repair;
+    }
+
+    private static <T> T pick(Random random, T[] table) {
+        return table[random.nextInt(table.length)];
+    }
+
+    // Tabla de 100 casillas con cada valor repetido según su peso
+    @SuppressWarnings("unchecked")
+    private static <T> T[] weighted(Class<T> type, T[] values, int[] weights) {
+        T[] table = (T[]) Array.newInstance(type, 100);
+        int slot = 0;
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < weights[i]; j++) {
+                table[slot++] = values[i];
+            }
+        }
+        return table;
+    }
+}
@@ -0,0 +1,55 @@
+package com.autofix.repairmanagementsystem.benchmarks;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+// Repositorios de Spring Data respondidos desde memoria, para que los benchmarks midan solo el cálculo. Cada
+// llamada pasa por un proxy dinámico; su costo se mide aparte en PricingBenchmark.stubbedLookup.
+public final class RepositoryStubs<T> {
+
+    private final Class<T> repositoryType;
+    private final Map<String, Function<Object[], Object>> answers = new HashMap<>();
+
+    private RepositoryStubs(Class<T> repositoryType) {
+        this.repositoryType = repositoryType;
+    }
+
+    public static <T> RepositoryStubs<T> of(Class<T> repositoryType) {
+        return new RepositoryStubs<>(repositoryType);
+    }
+
+    // Los métodos se identifican por nombre; las sobrecargas de un repositorio comparten la respuesta.
+    public RepositoryStubs<T> answer(String methodName, Function<Object[], Object> answer) {
+        answers.put(methodName, answer);
+        return this;
+    }
+
+    public T build() {
+        Map<String, Function<Object[], Object>> table = new HashMap<>(answers);
+        Object stub = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> invoke(table, proxy, method, args));
+        return repositoryType.cast(stub);
+    }
+
+    private Object invoke(Map<String, Function<Object[], Object>> table, Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "stub of " + repositoryType.getSimpleName();
+            default:
+                break;
+        }
+        Function<Object[], Object> answer = table.get(method.getName());
+        if (answer == null) {
+            throw new UnsupportedOperationException(repositoryType.getSimpleName() + "." + method.getName()
+                    + " no está disponible en el benchmark.");
+        }
+        return answer.apply(args);
+    }
+}
@@ -0,0 +1,65 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.config.BulkheadFilter.EndpointClass;
+import com.autofix.repairmanagementsystem.utils.Bulkhead;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Compartimentos por clase de endpoint (autofix.bulkhead.<clase>.*). Los cupos de las tres clases se reparten
+// el pool de conexiones: si suman más que su tamaño, una clase puede volver a dejar sin conexiones a las otras.
+@Configuration
+public class BulkheadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadConfig.class);
+
+    @Bean
+    public Map<EndpointClass, Bulkhead> endpointBulkheads(Environment environment,
+                                                          @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        Map<EndpointClass, Bulkhead> bulkheads = new EnumMap<>(EndpointClass.class);
+        int totalConcurrent = 0;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String prefix = prefix(endpointClass);
+            Bulkhead bulkhead = new Bulkhead(endpointClass.name().toLowerCase(Locale.ROOT),
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, 5),
+                    environment.getProperty(prefix + "max-queue", Integer.class, 50),
+                    environment.getProperty(prefix + "max-wait-ms", Long.class, 1000L));
+            bulkheads.put(endpointClass, bulkhead);
+            totalConcurrent += bulkhead.getMaxConcurrent();
+        }
+        if (totalConcurrent > poolSize) {
+            logger.warn("Bulkheads allow {} concurrent requests but the connection pool only has {} connections",
+                    totalConcurrent, poolSize);
+        }
+        return bulkheads;
+    }
+
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(Map<EndpointClass, Bulkhead> endpointBulkheads,
+                                                                 Environment environment) {
+        Map<EndpointClass, Long> retryAfterSeconds = new EnumMap<>(EndpointClass.class);
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            retryAfterSeconds.put(endpointClass,
+                    environment.getProperty(prefix(endpointClass) + "retry-after-seconds", Long.class, 1L));
+        }
+        FilterRegistrationBean<BulkheadFilter> registration =
+                new FilterRegistrationBean<>(new BulkheadFilter(endpointBulkheads, retryAfterSeconds));
+        registration.addUrlPatterns("/api/*");
+        // Se rechaza antes de que la petición espere un cupo del pool en DataSourceLimitFilter
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static String prefix(EndpointClass endpointClass) {
+        return "autofix.bulkhead." + endpointClass.name().toLowerCase(Locale.ROOT) + ".";
+    }
+}
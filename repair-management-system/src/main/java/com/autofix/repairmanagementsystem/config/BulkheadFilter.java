@@ -0,0 +1,74 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.utils.Bulkhead;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Separa el tráfico de la API en clases con su propio compartimento, para que un reporte pesado no deje sin
+// conexiones al mostrador. Una clase saturada responde 429 con Retry-After sin afectar a las demás.
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    public enum EndpointClass {
+        REPORTS, PRICING, CRUD
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadFilter.class);
+    private static final Pattern TOTAL_COST = Pattern.compile("^/api/v1/repairs/[^/]+/total-cost$");
+
+    private final Map<EndpointClass, Bulkhead> bulkheads;
+    private final Map<EndpointClass, Long> retryAfterSeconds;
+
+    public BulkheadFilter(Map<EndpointClass, Bulkhead> bulkheads, Map<EndpointClass, Long> retryAfterSeconds) {
+        this.bulkheads = new EnumMap<>(bulkheads);
+        this.retryAfterSeconds = new EnumMap<>(retryAfterSeconds);
+    }
+
+    public static EndpointClass classify(String path) {
+        if (path.startsWith("/api/v1/reports")) {
+            return EndpointClass.REPORTS;
+        }
+        if (path.startsWith("/api/v1/quotes") || path.startsWith("/api/v1/bonuses/apply")
+                || TOTAL_COST.matcher(path).matches()) {
+            return EndpointClass.PRICING;
+        }
+        return EndpointClass.CRUD;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request.getRequestURI().substring(request.getContextPath().length()));
+        Bulkhead bulkhead = bulkheads.get(endpointClass);
+        boolean entered;
+        try {
+            entered = bulkhead.tryEnter();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entered = false;
+        }
+        if (!entered) {
+            logger.debug("Rejected {} {}: {} bulkhead is saturated", request.getMethod(), request.getRequestURI(),
+                    bulkhead.getName());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds.get(endpointClass)));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value());
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.exit();
+        }
+    }
+}
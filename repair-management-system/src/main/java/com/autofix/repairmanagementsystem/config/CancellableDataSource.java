@@ -0,0 +1,209 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.services.MetricsService;
+import com.autofix.repairmanagementsystem.utils.CancellationToken;
+import com.autofix.repairmanagementsystem.utils.QueryCancellation;
+import com.autofix.repairmanagementsystem.utils.QueryCancellationMetrics;
+import com.autofix.repairmanagementsystem.utils.RequestTrace;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+// Antes de cada ejecución fija el timeout de la sentencia según QueryCancellation y la registra en la petición en
+// curso, de modo que cancelar la petición llega hasta Statement.cancel() en el driver. También mide la espera por
+// una conexión del pool y, en las peticiones trazadas, abre un tramo por ejecución con las filas leídas o escritas.
+public class CancellableDataSource extends DelegatingDataSource {
+
+    private final int defaultTimeoutSeconds;
+    private final QueryCancellationMetrics metrics;
+    private final MetricsService.Meter connectionWait;
+
+    public CancellableDataSource(DataSource target, int defaultTimeoutSeconds, QueryCancellationMetrics metrics,
+                                 MetricsService metricsService) {
+        super(target);
+        this.defaultTimeoutSeconds = defaultTimeoutSeconds;
+        this.metrics = metrics;
+        this.connectionWait = metricsService.timer("db.connection.acquire");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection();
+        connectionWait.record(System.nanoTime() - start);
+        return wrap(connection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = super.getConnection(username, password);
+        connectionWait.record(System.nanoTime() - start);
+        return wrap(connection);
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(CancellableDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    // Hibernate guarda sentencias y conexiones en mapas, así que el proxy debe ser igual solo a sí mismo
+    private static boolean isIdentityMethod(Method method) {
+        return method.getName().equals("equals") && method.getParameterCount() == 1
+                || method.getName().equals("hashCode") && method.getParameterCount() == 0;
+    }
+
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return method.getName().equals("equals") ? proxy == args[0] : System.identityHashCode(proxy);
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement && method.getReturnType().isInterface()) {
+                // prepareStatement y prepareCall reciben la sentencia; createStatement la recibe al ejecutar
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                StatementHandler handler = new StatementHandler((Statement) result, (Connection) proxy, sql);
+                return Proxy.newProxyInstance(CancellableDataSource.class.getClassLoader(),
+                        new Class<?>[]{method.getReturnType()}, handler);
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final Connection connection;
+        private final String sql;
+
+        private StatementHandler(Statement target, Connection connection, String sql) {
+            this.target = target;
+            this.connection = connection;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            if (method.getName().equals("getConnection")) {
+                return connection;
+            }
+            if (!method.getName().startsWith("execute")) {
+                return invokeTarget(target, method, args);
+            }
+            QueryCancellation.checkpoint();
+            int timeoutSeconds = QueryCancellation.effectiveTimeoutSeconds(defaultTimeoutSeconds);
+            if (timeoutSeconds > 0) {
+                target.setQueryTimeout(timeoutSeconds);
+            }
+            CancellationToken token = QueryCancellation.current();
+            if (token != null) {
+                token.register(target);
+            }
+            RequestTrace.Span span = RequestTrace.isActive() ? RequestTrace.span(RequestTrace.JDBC, sqlOf(args)) : null;
+            try {
+                Object result = invokeTarget(target, method, args);
+                return span == null ? result : traced(result, span);
+            } catch (SQLTimeoutException e) {
+                metrics.recordTimedOutQuery();
+                fail(span);
+                throw e;
+            } catch (Throwable e) {
+                fail(span);
+                throw e;
+            } finally {
+                if (token != null) {
+                    token.unregister(target);
+                }
+                if (span != null) {
+                    span.close();
+                }
+            }
+        }
+
+        private String sqlOf(Object[] args) {
+            String statement = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+            return statement == null ? "batch" : RequestTrace.sqlName(statement);
+        }
+    }
+
+    private static void fail(RequestTrace.Span span) {
+        if (span != null) {
+            span.fail();
+        }
+    }
+
+    // Filas afectadas de una actualización; las de una consulta se cuentan a medida que se recorre el ResultSet.
+    private static Object traced(Object result, RequestTrace.Span span) {
+        if (result instanceof ResultSet) {
+            return Proxy.newProxyInstance(CancellableDataSource.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                    new RowCountingHandler((ResultSet) result, span));
+        }
+        if (result instanceof Integer || result instanceof Long) {
+            span.setRows(((Number) result).longValue());
+        } else if (result instanceof int[]) {
+            for (int count : (int[]) result) {
+                span.addRows(Math.max(count, 0));
+            }
+        } else if (result instanceof long[]) {
+            for (long count : (long[]) result) {
+                span.addRows(Math.max(count, 0));
+            }
+        }
+        return result;
+    }
+
+    private static class RowCountingHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final RequestTrace.Span span;
+
+        private RowCountingHandler(ResultSet target, RequestTrace.Span span) {
+            this.target = target;
+            this.span = span;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isIdentityMethod(method)) {
+                return identity(proxy, method, args);
+            }
+            Object result = invokeTarget(target, method, args);
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                span.addRows(1);
+            }
+            return result;
+        }
+    }
+}
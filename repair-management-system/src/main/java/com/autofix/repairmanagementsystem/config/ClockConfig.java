@@ -0,0 +1,17 @@
+package com.autofix.repairmanagementsystem.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+// Fuente de tiempo compartida por los servicios que dependen de la fecha actual, para poder fijarla en pruebas
+// y reproducir cálculos a una fecha dada.
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -0,0 +1,48 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.utils.ConcurrencyLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Deja pasar a la vez tantas peticiones como conexiones tiene el pool; el resto espera su turno aquí, donde
+// esperar es barato, en vez de acumularse dentro de Hikari. Si el turno no llega a tiempo se responde 503.
+public class DataSourceLimitFilter extends OncePerRequestFilter {
+
+    private final ConcurrencyLimiter limiter;
+    private final long timeoutMs;
+
+    public DataSourceLimitFilter(ConcurrencyLimiter limiter, long timeoutMs) {
+        this.limiter = limiter;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = limiter.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.utils.ConcurrencyLimiter;
+import com.autofix.repairmanagementsystem.utils.VirtualThreads;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Modo de ejecución de las peticiones (autofix.execution.mode): "platform" usa el pool de hilos de Tomcat y
+// "virtual" atiende cada petición y cada tarea interna en un hilo virtual. El modo virtual necesita una JVM 21 o
+// superior; en Java 17 se registra una advertencia y se sigue con hilos de plataforma. En modo virtual la
+// concurrencia real la acota el pool de conexiones, así que un filtro limita las peticiones en curso a su tamaño.
+@Configuration
+public class ExecutionConfig implements WebMvcConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionConfig.class);
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final boolean virtual;
+    private final int platformThreads;
+
+    public ExecutionConfig(@Value("${autofix.execution.mode:platform}") String mode,
+                           @Value("${autofix.execution.platform-threads:8}") int platformThreads) {
+        boolean virtualRequested = "virtual".equalsIgnoreCase(mode.trim());
+        if (virtualRequested && !VirtualThreads.isSupported()) {
+            logger.warn("Virtual thread mode requested but Java {} does not support it, using platform threads",
+                    Runtime.version().feature());
+        }
+        this.virtual = virtualRequested && VirtualThreads.isSupported();
+        this.platformThreads = platformThreads;
+        logger.info("Request execution mode: {}", virtual ? "virtual threads" : "platform threads");
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    // Ejecutor para tareas internas (trabajos de reportes, cálculos por lotes y peticiones asíncronas de MVC)
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService autofixTaskExecutor() {
+        if (virtual) {
+            return VirtualThreads.newPerTaskExecutor();
+        }
+        return Executors.newFixedThreadPool(platformThreads, new CustomizableThreadFactory("autofix-task-"));
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(autofixTaskExecutor()));
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (virtual) {
+                protocolHandler.setExecutor(VirtualThreads.newPerTaskExecutor());
+            }
+        };
+    }
+
+    // Un cupo por conexión del pool, salvo que autofix.execution.db-permits indique otra cantidad
+    @Bean
+    public ConcurrencyLimiter dataSourceLimiter(DataSource dataSource,
+                                                @Value("${autofix.execution.db-permits:0}") int permits) {
+        int limit = permits > 0 ? permits : poolSize(dataSource);
+        logger.info("Data source concurrency limit: {} requests", limit);
+        return new ConcurrencyLimiter(limit);
+    }
+
+    @Bean
+    public FilterRegistrationBean<DataSourceLimitFilter> dataSourceLimitFilter(
+            ConcurrencyLimiter dataSourceLimiter,
+            @Value("${autofix.execution.db-permit-timeout-ms:5000}") long timeoutMs) {
+        FilterRegistrationBean<DataSourceLimitFilter> registration =
+                new FilterRegistrationBean<>(new DataSourceLimitFilter(dataSourceLimiter, timeoutMs));
+        registration.addUrlPatterns("/api/*");
+        // Con hilos de plataforma el pool de Tomcat ya acota la concurrencia
+        registration.setEnabled(virtual);
+        return registration;
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not read the connection pool size: {}", e.getMessage());
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
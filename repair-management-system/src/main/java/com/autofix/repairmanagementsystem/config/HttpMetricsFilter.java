@@ -0,0 +1,50 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.services.MetricsService;
+import com.autofix.repairmanagementsystem.utils.SqlStatementLog;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Latencia por endpoint (método, patrón de la ruta y clase de estado) y sentencias SQL ejecutadas por petición.
+// Las peticiones rechazadas antes de llegar a un controlador se agrupan en la ruta UNMATCHED.
+public class HttpMetricsFilter extends OncePerRequestFilter {
+
+    private final MetricsService metricsService;
+    private final Map<String, MetricsService.Meter[]> meters = new ConcurrentHashMap<>();
+
+    public HttpMetricsFilter(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        SqlStatementLog.Scope scope = SqlStatementLog.open("http");
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            long statements = scope.getCount();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNMATCHED" : pattern.toString();
+            String status = (response.getStatus() / 100) + "xx";
+            MetricsService.Meter[] endpoint = meters.computeIfAbsent(request.getMethod() + " " + uri + " " + status,
+                    key -> new MetricsService.Meter[]{
+                            metricsService.timer("http.server.requests", "method", request.getMethod(), "uri", uri,
+                                    "status", status),
+                            metricsService.distribution("http.server.sql.statements", "method", request.getMethod(),
+                                    "uri", uri, "status", status)});
+            endpoint[0].record(System.nanoTime() - start, response.getStatus() >= 500);
+            endpoint[1].record(statements);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.config.BulkheadFilter.EndpointClass;
+import com.autofix.repairmanagementsystem.services.MetricsService;
+import com.autofix.repairmanagementsystem.utils.Bulkhead;
+import com.autofix.repairmanagementsystem.utils.QueryCancellationMetrics;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+
+@Configuration
+public class MetricsConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsConfig.class);
+
+    private final MetricsService metricsService;
+    private final DataSource dataSource;
+    private final QueryCancellationMetrics queryCancellationMetrics;
+    private final Map<EndpointClass, Bulkhead> endpointBulkheads;
+
+    public MetricsConfig(MetricsService metricsService, DataSource dataSource,
+                         QueryCancellationMetrics queryCancellationMetrics,
+                         Map<EndpointClass, Bulkhead> endpointBulkheads) {
+        this.metricsService = metricsService;
+        this.dataSource = dataSource;
+        this.queryCancellationMetrics = queryCancellationMetrics;
+        this.endpointBulkheads = endpointBulkheads;
+    }
+
+    @Bean
+    public static TimedBeanPostProcessor timedBeanPostProcessor(ObjectProvider<MetricsService> metricsService) {
+        return new TimedBeanPostProcessor(metricsService);
+    }
+
+    @Bean
+    public FilterRegistrationBean<HttpMetricsFilter> httpMetricsFilter() {
+        FilterRegistrationBean<HttpMetricsFilter> registration =
+                new FilterRegistrationBean<>(new HttpMetricsFilter(metricsService));
+        registration.addUrlPatterns("/api/*");
+        // Después del plazo de la petición y antes de los compartimentos, para contar también los 429
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+
+    // Indicadores que se leen al consultar: pool de conexiones, compartimentos y trabajo cancelado
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerGauges() {
+        registerPoolGauges();
+        metricsService.gauge("db.requests.abandoned", queryCancellationMetrics::getAbandonedRequests);
+        metricsService.gauge("db.queries.cancelled", queryCancellationMetrics::getCancelledQueries);
+        metricsService.gauge("db.queries.timed.out", queryCancellationMetrics::getTimedOutQueries);
+        for (Bulkhead bulkhead : endpointBulkheads.values()) {
+            metricsService.gauge("bulkhead.in.flight", bulkhead::getInFlight, "class", bulkhead.getName());
+            metricsService.gauge("bulkhead.queued", bulkhead::getQueued, "class", bulkhead.getName());
+            metricsService.gauge("bulkhead.rejected", bulkhead::getRejected, "class", bulkhead.getName());
+        }
+    }
+
+    private void registerPoolGauges() {
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return;
+            }
+            HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            if (pool == null) {
+                return;
+            }
+            metricsService.gauge("db.pool.active", pool::getActiveConnections);
+            metricsService.gauge("db.pool.idle", pool::getIdleConnections);
+            metricsService.gauge("db.pool.pending", pool::getThreadsAwaitingConnection);
+            metricsService.gauge("db.pool.total", pool::getTotalConnections);
+        } catch (SQLException e) {
+            logger.warn("Could not register connection pool gauges: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.utils.QueryCancellationMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class QueryCancellationConfig {
+
+    @Bean
+    public static QueryTimeoutPostProcessor queryTimeoutPostProcessor() {
+        return new QueryTimeoutPostProcessor();
+    }
+
+    @Bean
+    public QueryCancellationMetrics queryCancellationMetrics(QueryTimeoutPostProcessor queryTimeoutPostProcessor) {
+        return queryTimeoutPostProcessor.getMetrics();
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestDeadlineFilter> requestDeadlineFilter(
+            QueryCancellationMetrics queryCancellationMetrics,
+            @Value("${autofix.request-deadline-ms:55000}") long deadlineMs) {
+        FilterRegistrationBean<RequestDeadlineFilter> registration = new FilterRegistrationBean<>(
+                new RequestDeadlineFilter(deadlineMs, queryCancellationMetrics));
+        registration.addUrlPatterns("/api/*");
+        // El plazo empieza a correr al llegar, incluida la espera en los compartimentos
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
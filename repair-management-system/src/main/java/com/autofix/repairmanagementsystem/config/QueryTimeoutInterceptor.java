@@ -0,0 +1,48 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.utils.QueryCancellation;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.env.Environment;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Timeout por método de repositorio: autofix.query-timeout.<Repositorio>.<método>=segundos. Los métodos sin
+// propiedad usan autofix.query-timeout.default-seconds cuando corren dentro de una petición. Antes de llamar al
+// método se comprueba la cancelación.
+public class QueryTimeoutInterceptor implements MethodInterceptor {
+
+    private static final int NOT_CONFIGURED = -1;
+
+    private final String repositoryName;
+    private final Environment environment;
+    private final Map<Method, Integer> timeouts = new ConcurrentHashMap<>();
+
+    public QueryTimeoutInterceptor(Class<?> repositoryInterface, Environment environment) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+        this.environment = environment;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        QueryCancellation.checkpoint();
+        int timeoutSeconds = timeouts.computeIfAbsent(invocation.getMethod(), this::lookupTimeout);
+        if (timeoutSeconds == NOT_CONFIGURED) {
+            return invocation.proceed();
+        }
+        Integer previous = QueryCancellation.getTimeoutSeconds();
+        QueryCancellation.setTimeoutSeconds(timeoutSeconds);
+        try {
+            return invocation.proceed();
+        } finally {
+            QueryCancellation.setTimeoutSeconds(previous);
+        }
+    }
+
+    private int lookupTimeout(Method method) {
+        return environment.getProperty("autofix.query-timeout." + repositoryName + "." + method.getName(),
+                Integer.class, NOT_CONFIGURED);
+    }
+}
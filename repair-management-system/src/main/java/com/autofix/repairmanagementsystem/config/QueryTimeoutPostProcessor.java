@@ -0,0 +1,63 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.services.MetricsService;
+import com.autofix.repairmanagementsystem.utils.QueryCancellationMetrics;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import javax.sql.DataSource;
+
+// Envuelve el DataSource para que las sentencias respeten timeouts y cancelaciones, y añade a cada repositorio de
+// Spring Data el interceptor que aplica el timeout configurado para cada método, el que mide su latencia y el que
+// abre su tramo en las peticiones trazadas.
+public class QueryTimeoutPostProcessor implements BeanPostProcessor, EnvironmentAware, BeanFactoryAware {
+
+    private final QueryCancellationMetrics metrics = new QueryCancellationMetrics();
+    private Environment environment;
+    private BeanFactory beanFactory;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    public QueryCancellationMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport) {
+            ObjectProvider<MetricsService> metricsService = beanFactory.getBeanProvider(MetricsService.class);
+            ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(
+                    factory -> factory.addRepositoryProxyPostProcessor((proxyFactory, information) -> {
+                        proxyFactory.addAdvice(TracingInterceptor.forRepository(information.getRepositoryInterface()));
+                        proxyFactory.addAdvice(
+                                TimedInterceptor.forRepository(metricsService, information.getRepositoryInterface()));
+                        proxyFactory.addAdvice(
+                                new QueryTimeoutInterceptor(information.getRepositoryInterface(), environment));
+                    }));
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof CancellableDataSource)) {
+            int defaultSeconds = environment.getProperty("autofix.query-timeout.default-seconds", Integer.class, 0);
+            return new CancellableDataSource((DataSource) bean, defaultSeconds, metrics,
+                    beanFactory.getBean(MetricsService.class));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,64 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.utils.CancellationToken;
+import com.autofix.repairmanagementsystem.utils.QueryCancellation;
+import com.autofix.repairmanagementsystem.utils.QueryCancellationMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Da a cada petición un plazo algo menor que el proxy_read_timeout de nginx. Al vencer, nginx ya respondió 504 al
+// cliente, así que se cancela la sentencia en curso y los bucles de reportes abandonan el trabajo restante.
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestDeadlineFilter.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final long deadlineMs;
+    private final QueryCancellationMetrics metrics;
+
+    public RequestDeadlineFilter(long deadlineMs, QueryCancellationMetrics metrics) {
+        // Hilo propio: no se expone como bean para que @Scheduled no lo tome como planificador
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("request-deadline-");
+        threadFactory.setDaemon(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        this.deadlineMs = deadlineMs;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CancellationToken token = new CancellationToken(deadlineMs);
+        String target = request.getMethod() + " " + request.getRequestURI();
+        ScheduledFuture<?> timer = scheduler.schedule(() -> {
+            int cancelledStatements = token.cancel();
+            metrics.recordAbandonedRequest(cancelledStatements);
+            logger.warn("Abandoned {} after {} ms, cancelled {} running statements", target, deadlineMs,
+                    cancelledStatements);
+        }, deadlineMs, TimeUnit.MILLISECONDS);
+        QueryCancellation.bind(token);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            timer.cancel(false);
+            QueryCancellation.unbind();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+}
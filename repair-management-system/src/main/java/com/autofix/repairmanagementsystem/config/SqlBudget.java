@@ -0,0 +1,16 @@
+package com.autofix.repairmanagementsystem.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Presupuesto de sentencias SQL de un método de servicio, de un endpoint o de una prueba. maxStatements limita el
+// total y maxRepeats las repeticiones de una misma forma (el síntoma de un N+1); -1 usa el valor por defecto.
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+    int maxStatements() default -1;
+
+    int maxRepeats() default -1;
+}
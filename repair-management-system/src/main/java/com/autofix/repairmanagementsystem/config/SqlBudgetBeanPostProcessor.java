@@ -0,0 +1,26 @@
+package com.autofix.repairmanagementsystem.config;
+
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Controller;
+
+// Envuelve en un proxy los servicios con @SqlBudget. Los controladores quedan fuera: su presupuesto lo aplica
+// SqlBudgetFilter sobre la petición completa, que incluye la serialización de la respuesta.
+public class SqlBudgetBeanPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public SqlBudgetBeanPostProcessor(ObjectProvider<SqlBudgetPolicy> policy) {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(SqlBudget.class, true))
+                .union(new AnnotationMatchingPointcut(null, SqlBudget.class, true));
+        this.advisor = new DefaultPointcutAdvisor(pointcut, new SqlBudgetInterceptor(policy));
+        setProxyTargetClass(true);
+    }
+
+    @Override
+    protected boolean isEligible(Class<?> targetClass) {
+        return !AnnotatedElementUtils.hasAnnotation(targetClass, Controller.class) && super.isEligible(targetClass);
+    }
+}
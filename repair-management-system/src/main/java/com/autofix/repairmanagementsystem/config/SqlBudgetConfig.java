@@ -0,0 +1,38 @@
+package com.autofix.repairmanagementsystem.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Locale;
+
+// Presupuestos de sentencias SQL (autofix.sql-budget.*). Las sentencias las cuenta SqlStatementInspector, registrado
+// en la configuración de Hibernate; aquí se fijan los límites por petición y el modo (warn o fail).
+@Configuration
+public class SqlBudgetConfig {
+
+    @Bean
+    public SqlBudgetPolicy sqlBudgetPolicy(@Value("${autofix.sql-budget.mode:warn}") String mode,
+                                           @Value("${autofix.sql-budget.request-max-statements:50}") int maxStatements,
+                                           @Value("${autofix.sql-budget.max-repeats:10}") int maxRepeats) {
+        return new SqlBudgetPolicy(SqlBudgetPolicy.Mode.valueOf(mode.toUpperCase(Locale.ROOT)), maxStatements,
+                maxRepeats);
+    }
+
+    @Bean
+    public static SqlBudgetBeanPostProcessor sqlBudgetBeanPostProcessor(ObjectProvider<SqlBudgetPolicy> policy) {
+        return new SqlBudgetBeanPostProcessor(policy);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter(SqlBudgetPolicy policy) {
+        FilterRegistrationBean<SqlBudgetFilter> registration = new FilterRegistrationBean<>(new SqlBudgetFilter(policy));
+        registration.addUrlPatterns("/api/*");
+        // Después de las métricas y antes de los compartimentos, igual que el plazo de la petición
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 7);
+        return registration;
+    }
+}
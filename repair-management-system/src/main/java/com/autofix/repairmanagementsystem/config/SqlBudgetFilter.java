@@ -0,0 +1,42 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.utils.SqlStatementLog;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Presupuesto de sentencias SQL de cada petición, incluida la carga perezosa durante la serialización. Se usan los
+// valores por defecto de la política salvo que el método del controlador (o su clase) declare @SqlBudget.
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private final SqlBudgetPolicy policy;
+
+    public SqlBudgetFilter(SqlBudgetPolicy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (SqlStatementLog.Scope scope = SqlStatementLog.open(request.getMethod() + " " + request.getRequestURI())) {
+            filterChain.doFilter(request, response);
+            policy.check(scope, budgetOf(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE)));
+        }
+    }
+
+    static SqlBudget budgetOf(Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return null;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        SqlBudget budget = handlerMethod.getMethodAnnotation(SqlBudget.class);
+        return budget != null ? budget : AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), SqlBudget.class);
+    }
+}
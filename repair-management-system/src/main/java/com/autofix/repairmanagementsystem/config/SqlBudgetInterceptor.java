@@ -0,0 +1,39 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.utils.SqlStatementLog;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+
+// Abre un ámbito por llamada a un método con @SqlBudget y lo compara con su presupuesto al terminar. Si el método
+// lanzó una excepción se conserva esa y no se evalúa el presupuesto.
+public class SqlBudgetInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<SqlBudgetPolicy> policy;
+
+    public SqlBudgetInterceptor(ObjectProvider<SqlBudgetPolicy> policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Class<?> targetClass = invocation.getThis() == null ? invocation.getMethod().getDeclaringClass()
+                : AopUtils.getTargetClass(invocation.getThis());
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        SqlBudget budget = AnnotatedElementUtils.findMergedAnnotation(method, SqlBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(targetClass, SqlBudget.class);
+        }
+
+        Object result;
+        try (SqlStatementLog.Scope scope = SqlStatementLog.open(targetClass.getSimpleName() + "." + method.getName())) {
+            result = invocation.proceed();
+            policy.getObject().check(scope, budget);
+        }
+        return result;
+    }
+}
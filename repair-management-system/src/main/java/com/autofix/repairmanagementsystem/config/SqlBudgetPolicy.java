@@ -0,0 +1,59 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.utils.SqlStatementLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Compara un ámbito con su presupuesto. En producción solo se registra una advertencia; en las pruebas
+// (autofix.sql-budget.mode=fail) se lanza una excepción para que la regresión rompa el build.
+public class SqlBudgetPolicy {
+
+    public enum Mode {WARN, FAIL}
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlBudgetPolicy.class);
+
+    private final Mode mode;
+    private final int defaultMaxStatements;
+    private final int defaultMaxRepeats;
+
+    public SqlBudgetPolicy(Mode mode, int defaultMaxStatements, int defaultMaxRepeats) {
+        this.mode = mode;
+        this.defaultMaxStatements = defaultMaxStatements;
+        this.defaultMaxRepeats = defaultMaxRepeats;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void check(SqlStatementLog.Scope scope, SqlBudget budget) {
+        int maxStatements = budget == null || budget.maxStatements() < 0 ? defaultMaxStatements : budget.maxStatements();
+        int maxRepeats = budget == null || budget.maxRepeats() < 0 ? defaultMaxRepeats : budget.maxRepeats();
+        check(scope, maxStatements, maxRepeats);
+    }
+
+    public void check(SqlStatementLog.Scope scope, int maxStatements, int maxRepeats) {
+        String violation = violation(scope, maxStatements, maxRepeats);
+        if (violation == null) {
+            return;
+        }
+        if (mode == Mode.FAIL) {
+            throw new IllegalStateException(violation);
+        }
+        logger.warn("SQL budget exceeded in {}: {} statements (budget {}), {} repeats of [{}] (budget {})",
+                scope.getName(), scope.getCount(), maxStatements, scope.getMaxRepeats(),
+                scope.getMostRepeatedShape(), maxRepeats);
+    }
+
+    // Mensaje de la infracción, o null si el ámbito cabe en el presupuesto. Un límite negativo no se aplica.
+    public static String violation(SqlStatementLog.Scope scope, int maxStatements, int maxRepeats) {
+        if (maxRepeats >= 0 && scope.getMaxRepeats() > maxRepeats) {
+            return scope.getName() + " repitió " + scope.getMaxRepeats() + " veces la sentencia ["
+                    + scope.getMostRepeatedShape() + "] (máximo " + maxRepeats + "), posible N+1.";
+        }
+        if (maxStatements >= 0 && scope.getCount() > maxStatements) {
+            return scope.getName() + " ejecutó " + scope.getCount() + " sentencias SQL (máximo " + maxStatements + ").";
+        }
+        return null;
+    }
+}
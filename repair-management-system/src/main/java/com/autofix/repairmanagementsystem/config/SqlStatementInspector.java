@@ -0,0 +1,15 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.utils.SqlStatementLog;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hibernate lo invoca con cada sentencia que prepara; se anota en los ámbitos abiertos del hilo sin modificarla.
+// Se registra en spring.jpa.properties.hibernate.session_factory.statement_inspector.
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementLog.record(sql);
+        return sql;
+    }
+}
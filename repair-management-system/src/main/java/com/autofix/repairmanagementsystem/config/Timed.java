@@ -0,0 +1,14 @@
+package com.autofix.repairmanagementsystem.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Mide la latencia de los métodos públicos anotados (o de todos los de la clase) en la métrica indicada, con el
+// nombre del método como etiqueta. Como cualquier proxy de Spring, no mide las llamadas dentro del mismo bean.
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Timed {
+    String value();
+}
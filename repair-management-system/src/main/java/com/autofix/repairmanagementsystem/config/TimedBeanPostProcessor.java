@@ -0,0 +1,20 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.services.MetricsService;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+
+// Envuelve en un proxy los beans con @Timed, igual que Spring hace con @Async o @Validated.
+public class TimedBeanPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public TimedBeanPostProcessor(ObjectProvider<MetricsService> metricsService) {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Timed.class, true))
+                .union(new AnnotationMatchingPointcut(null, Timed.class, true));
+        this.advisor = new DefaultPointcutAdvisor(pointcut, TimedInterceptor.forAnnotations(metricsService));
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+}
@@ -0,0 +1,70 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.services.MetricsService;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Registra la duración de cada llamada en un temporizador por método. El temporizador se resuelve una sola vez por
+// método, así que cada medición cuesta dos lecturas del reloj y una búsqueda en un mapa.
+public class TimedInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<MetricsService> metricsService;
+    private final String name;
+    private final String[] tags;
+    private final Map<Method, MetricsService.Meter> meters = new ConcurrentHashMap<>();
+
+    private TimedInterceptor(ObjectProvider<MetricsService> metricsService, String name, String... tags) {
+        this.metricsService = metricsService;
+        this.name = name;
+        this.tags = tags;
+    }
+
+    // El nombre de la métrica sale de @Timed en el método o en su clase.
+    public static TimedInterceptor forAnnotations(ObjectProvider<MetricsService> metricsService) {
+        return new TimedInterceptor(metricsService, null);
+    }
+
+    public static TimedInterceptor forRepository(ObjectProvider<MetricsService> metricsService,
+                                                 Class<?> repositoryInterface) {
+        return new TimedInterceptor(metricsService, "repository", "repository", repositoryInterface.getSimpleName());
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MetricsService.Meter meter = meters.computeIfAbsent(invocation.getMethod(), method -> createMeter(invocation));
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            meter.record(System.nanoTime() - start, failed);
+        }
+    }
+
+    private MetricsService.Meter createMeter(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        String metricName = name;
+        if (metricName == null) {
+            Timed timed = AnnotatedElementUtils.findMergedAnnotation(method, Timed.class);
+            if (timed == null && invocation.getThis() != null) {
+                Class<?> targetClass = AopUtils.getTargetClass(invocation.getThis());
+                timed = AnnotatedElementUtils.findMergedAnnotation(targetClass, Timed.class);
+            }
+            metricName = timed == null ? "method" : timed.value();
+        }
+        String[] meterTags = new String[tags.length + 2];
+        System.arraycopy(tags, 0, meterTags, 0, tags.length);
+        meterTags[tags.length] = "method";
+        meterTags[tags.length + 1] = method.getName();
+        return metricsService.getObject().timer(metricName, meterTags);
+    }
+}
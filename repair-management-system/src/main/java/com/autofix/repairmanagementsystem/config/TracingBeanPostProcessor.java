@@ -0,0 +1,30 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.services.MetricsService;
+import com.autofix.repairmanagementsystem.services.TracingService;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Service;
+
+// Envuelve en un proxy los controladores y servicios para abrir sus tramos en las peticiones muestreadas. Va antes
+// de los demás advisors, así que el tramo de un servicio incluye su transacción y el flush al confirmarla.
+// Quedan fuera los servicios que solo registran métricas y trazas.
+public class TracingBeanPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public TracingBeanPostProcessor() {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(Controller.class, true))
+                .union(new AnnotationMatchingPointcut(Service.class, true));
+        this.advisor = new DefaultPointcutAdvisor(pointcut, TracingInterceptor.forBeans());
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+
+    @Override
+    protected boolean isEligible(Class<?> targetClass) {
+        return !MetricsService.class.isAssignableFrom(targetClass) && !TracingService.class.isAssignableFrom(targetClass)
+                && super.isEligible(targetClass);
+    }
+}
@@ -0,0 +1,27 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.services.TracingService;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Trazas por petición (autofix.tracing.*): el filtro las abre, TracingBeanPostProcessor añade los tramos de
+// controladores y servicios, QueryTimeoutPostProcessor los de repositorios y CancellableDataSource los de JDBC.
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public static TracingBeanPostProcessor tracingBeanPostProcessor() {
+        return new TracingBeanPostProcessor();
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(TracingService tracingService) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(tracingService));
+        registration.addUrlPatterns("/api/*");
+        // Dentro de las métricas y fuera de los compartimentos, para que la traza incluya la espera por cupo
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 6);
+        return registration;
+    }
+}
@@ -0,0 +1,53 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.services.TracingService;
+import com.autofix.repairmanagementsystem.utils.RequestTrace;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Abre la traza de las peticiones muestreadas, o de las que traen X-Autofix-Trace: true, y devuelve su id en la
+// respuesta. La espera en los compartimentos queda dentro de la traza, antes del tramo del controlador. Forzar la
+// traza solo vale en las llamadas directas a la réplica: las que pasan por nginx llegan con X-Forwarded-For.
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String TRACE_HEADER = "X-Autofix-Trace";
+    public static final String TRACE_ID_HEADER = "X-Autofix-Trace-Id";
+    public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private final TracingService tracingService;
+
+    public TracingFilter(TracingService tracingService) {
+        this.tracingService = tracingService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean forced = !isProxied(request) && "true".equalsIgnoreCase(request.getHeader(TRACE_HEADER));
+        if (!tracingService.shouldSample(forced)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        // Sin la consulta: los parámetros de búsqueda pueden traer placas
+        RequestTrace trace = tracingService.begin(request.getMethod() + " " + request.getRequestURI(),
+                request.getRequestURI());
+        response.setHeader(TRACE_ID_HEADER, trace.getId());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            trace.end(pattern == null ? trace.getName() : request.getMethod() + " " + pattern, response.getStatus());
+            tracingService.complete(trace, forced);
+        }
+    }
+
+    public static boolean isProxied(HttpServletRequest request) {
+        return request.getHeader(FORWARDED_FOR_HEADER) != null;
+    }
+}
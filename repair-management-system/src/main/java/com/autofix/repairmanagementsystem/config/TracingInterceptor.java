@@ -0,0 +1,85 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.utils.RequestTrace;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Controller;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Abre un tramo por llamada cuando la petición está muestreada. Los repositorios anotan además las filas que
+// devuelven: el tamaño de la lista o de la página, o 0 o 1 para un Optional.
+public class TracingInterceptor implements MethodInterceptor {
+
+    private final String repositoryName;
+    private final Map<Method, String[]> spans = new ConcurrentHashMap<>();
+
+    private TracingInterceptor(String repositoryName) {
+        this.repositoryName = repositoryName;
+    }
+
+    // El tipo de tramo sale de la clase: controller para los controladores, service para el resto.
+    public static TracingInterceptor forBeans() {
+        return new TracingInterceptor(null);
+    }
+
+    public static TracingInterceptor forRepository(Class<?> repositoryInterface) {
+        return new TracingInterceptor(repositoryInterface.getSimpleName());
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!RequestTrace.isActive()) {
+            return invocation.proceed();
+        }
+        String[] kindAndName = spans.computeIfAbsent(invocation.getMethod(), method -> describe(invocation));
+        RequestTrace.Span span = RequestTrace.span(kindAndName[0], kindAndName[1]);
+        if (span == null) {
+            return invocation.proceed();
+        }
+        try {
+            Object result = invocation.proceed();
+            if (repositoryName != null) {
+                span.setRows(rowsOf(result));
+            }
+            return result;
+        } catch (Throwable e) {
+            span.fail();
+            throw e;
+        } finally {
+            span.close();
+        }
+    }
+
+    private String[] describe(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        if (repositoryName != null) {
+            return new String[]{RequestTrace.REPOSITORY, repositoryName + "." + method.getName()};
+        }
+        Class<?> targetClass = invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis()) : method.getDeclaringClass();
+        String kind = AnnotatedElementUtils.hasAnnotation(targetClass, Controller.class)
+                ? RequestTrace.CONTROLLER : RequestTrace.SERVICE;
+        return new String[]{kind, targetClass.getSimpleName() + "." + method.getName()};
+    }
+
+    static long rowsOf(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,72 @@
+package com.autofix.repairmanagementsystem.controllers;
+
+import com.autofix.repairmanagementsystem.dto.BayBookingDTO;
+import com.autofix.repairmanagementsystem.dto.BaySlotDTO;
+import com.autofix.repairmanagementsystem.services.BaySchedulerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/bays")
+@CrossOrigin("*")
+public class BayController {
+
+    private final BaySchedulerService baySchedulerService;
+
+    @Autowired
+    public BayController(BaySchedulerService baySchedulerService) {
+        this.baySchedulerService = baySchedulerService;
+    }
+
+    @GetMapping("/free-slots")
+    public ResponseEntity<List<BaySlotDTO>> getFreeSlots(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "bay", required = false) Integer bay) {
+        try {
+            List<BaySlotDTO> slots = baySchedulerService.findFreeSlots(from, to, bay);
+            if (slots.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok(slots);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/jobs")
+    public ResponseEntity<List<BayBookingDTO>> getJobsAt(
+            @RequestParam("at") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        List<BayBookingDTO> jobs = baySchedulerService.findJobsAt(at);
+        if (jobs.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(jobs);
+    }
+
+    @GetMapping("/earliest-slot")
+    public ResponseEntity<BaySlotDTO> getEarliestSlot(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("durationMinutes") long durationMinutes) {
+        try {
+            return ResponseEntity.ok(baySchedulerService.findEarliestSlot(from, durationMinutes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Integer> rebuildBaySchedule() {
+        return ResponseEntity.ok(baySchedulerService.rebuild());
+    }
+}
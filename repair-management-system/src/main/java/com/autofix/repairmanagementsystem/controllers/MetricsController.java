@@ -0,0 +1,48 @@
+package com.autofix.repairmanagementsystem.controllers;
+
+import com.autofix.repairmanagementsystem.config.TracingFilter;
+import com.autofix.repairmanagementsystem.dto.MetricDTO;
+import com.autofix.repairmanagementsystem.services.MetricsService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// Métricas de esta réplica; Prometheus debe consultar cada réplica directamente, no a través de nginx. Las
+// peticiones que llegan por nginx reciben 404 aunque el proxy no las bloquee.
+@RestController
+@RequestMapping("/api/v1/metrics")
+@CrossOrigin("*")
+public class MetricsController {
+
+    private static final MediaType PROMETHEUS_TEXT = MediaType.parseMediaType("text/plain;version=0.0.4;charset=utf-8");
+
+    private final MetricsService metricsService;
+
+    @Autowired
+    public MetricsController(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<MetricDTO>> getMetrics(HttpServletRequest request) {
+        if (TracingFilter.isProxied(request)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(metricsService.snapshot());
+    }
+
+    @GetMapping("/prometheus")
+    public ResponseEntity<String> scrapeMetrics(HttpServletRequest request) {
+        if (TracingFilter.isProxied(request)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().contentType(PROMETHEUS_TEXT).body(metricsService.scrape());
+    }
+}
@@ -0,0 +1,35 @@
+package com.autofix.repairmanagementsystem.controllers;
+
+import com.autofix.repairmanagementsystem.dto.RepairQuoteDTO;
+import com.autofix.repairmanagementsystem.dto.RepairQuoteRequestDTO;
+import com.autofix.repairmanagementsystem.services.RepairQuoteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/quotes")
+@CrossOrigin("*")
+public class QuoteController {
+
+    private final RepairQuoteService repairQuoteService;
+
+    @Autowired
+    public QuoteController(RepairQuoteService repairQuoteService) {
+        this.repairQuoteService = repairQuoteService;
+    }
+
+    // Cotización sin guardar nada; se usa POST solo para recibir la reparación hipotética en el cuerpo.
+    @PostMapping
+    public ResponseEntity<RepairQuoteDTO> quoteRepair(@RequestBody RepairQuoteRequestDTO request) {
+        try {
+            return ResponseEntity.ok(repairQuoteService.quote(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -3,11 +3,13 @@ package com.autofix.repairmanagementsystem.controllers;
 import com.autofix.repairmanagementsystem.entities.RepairEntity;
 import com.autofix.repairmanagementsystem.services.RepairService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -74,9 +76,12 @@ public class RepairController {
     }
 
     @GetMapping("/{id}/total-cost")
-    public ResponseEntity<BigDecimal> getRepairTotalCost(@PathVariable("id") Long id) {
+    public ResponseEntity<BigDecimal> getRepairTotalCost(@PathVariable("id") Long id,
+            @RequestParam(value = "asOf", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
         try {
-            BigDecimal totalCost = repairService.calculateTotalRepairCost(id);
+            BigDecimal totalCost = asOf == null
+                    ? repairService.calculateTotalRepairCost(id)
+                    : repairService.calculateTotalRepairCost(id, asOf);
             return new ResponseEntity<>(totalCost, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
@@ -1,17 +1,32 @@
 package com.autofix.repairmanagementsystem.controllers;
 
 import com.autofix.repairmanagementsystem.dto.AverageRepairTimeDTO;
+import com.autofix.repairmanagementsystem.dto.CubeQueryDTO;
+import com.autofix.repairmanagementsystem.dto.CubeRowDTO;
+import com.autofix.repairmanagementsystem.dto.RepairTimeSeriesPointDTO;
 import com.autofix.repairmanagementsystem.dto.RepairTypeMotorSummaryDTO;
 import com.autofix.repairmanagementsystem.dto.RepairTypeSummaryDTO;
+import com.autofix.repairmanagementsystem.dto.TopSpendersReportDTO;
+import com.autofix.repairmanagementsystem.dto.TurnaroundPercentilesDTO;
+import com.autofix.repairmanagementsystem.services.RepairRollupService;
 import com.autofix.repairmanagementsystem.services.ReportService;
+import com.autofix.repairmanagementsystem.services.TopSpendersService;
+import com.autofix.repairmanagementsystem.services.TurnaroundAnalyticsService;
 import com.autofix.repairmanagementsystem.dto.RepairCostReportDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -19,6 +34,8 @@ import java.util.List;
 @CrossOrigin("*")
 public class ReportController {
 
+    private static final Logger logger = LoggerFactory.getLogger(ReportController.class);
+
     private final ReportService reportService;
 
     @Autowired
@@ -27,15 +44,18 @@ public class ReportController {
     }
 
     @GetMapping("/repair-costs")
-    public ResponseEntity<List<RepairCostReportDTO>> getRepairCostReport() {
+    public ResponseEntity<List<RepairCostReportDTO>> getRepairCostReport(
+            @RequestParam(value = "asOf", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
         try {
-            List<RepairCostReportDTO> reports = reportService.generateRepairCostReport();
+            List<RepairCostReportDTO> reports = asOf == null
+                    ? reportService.generateRepairCostReport()
+                    : reportService.generateRepairCostReport(asOf);
             if (reports.isEmpty()) {
                 return ResponseEntity.noContent().build();
             }
             return ResponseEntity.ok(reports);
         } catch (Exception e) {
-            System.err.println("Error retrieving repair cost reports: " + e.getMessage());
+            logger.error("Error retrieving repair cost reports", e);
             return ResponseEntity.internalServerError().body(null);
         }
     }
@@ -49,7 +69,7 @@ public class ReportController {
             }
             return ResponseEntity.ok(reports);
         } catch (Exception e) {
-            System.err.println("Error retrieving repair type summary reports: " + e.getMessage());
+            logger.error("Error retrieving repair type summary reports", e);
             return ResponseEntity.internalServerError().body(null);
         }
     }
@@ -71,4 +91,138 @@ public class ReportController {
         }
         return ResponseEntity.ok(report);
     }
+
+    @GetMapping("/time-series")
+    public ResponseEntity<List<RepairTimeSeriesPointDTO>> getTimeSeriesReport(
+            @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(value = "granularity", defaultValue = "DAY") RepairRollupService.Granularity granularity,
+            @RequestParam(value = "brand", required = false) String brand,
+            @RequestParam(value = "repairTypeId", required = false) Long repairTypeId) {
+        try {
+            List<RepairTimeSeriesPointDTO> series = reportService.generateTimeSeriesReport(start, end, granularity, brand, repairTypeId);
+            if (series.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok(series);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving time series report", e);
+            return ResponseEntity.internalServerError().body(null);
+        }
+    }
+
+    @GetMapping("/turnaround-percentiles")
+    public ResponseEntity<List<TurnaroundPercentilesDTO>> getTurnaroundPercentilesReport(
+            @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(value = "groupBy", defaultValue = "BRAND") TurnaroundAnalyticsService.GroupBy groupBy) {
+        try {
+            List<TurnaroundPercentilesDTO> report = reportService.generateTurnaroundPercentilesReport(start, end, groupBy);
+            if (report.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving turnaround percentiles report", e);
+            return ResponseEntity.internalServerError().body(null);
+        }
+    }
+
+    @GetMapping("/top-spenders")
+    public ResponseEntity<TopSpendersReportDTO> getTopSpendersReport(
+            @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            @RequestParam(value = "pricing", defaultValue = "TOTAL") TopSpendersService.Pricing pricing) {
+        try {
+            TopSpendersReportDTO report = reportService.generateTopSpendersReport(start, end, limit, pricing);
+            if (report.getVehicles().isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error retrieving top spenders report", e);
+            return ResponseEntity.internalServerError().body(null);
+        }
+    }
+
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Integer> rebuildDailyRollups() {
+        try {
+            return ResponseEntity.ok(reportService.rebuildDailyRollups());
+        } catch (Exception e) {
+            logger.error("Error rebuilding daily rollups", e);
+            return ResponseEntity.internalServerError().body(null);
+        }
+    }
+
+    @PostMapping("/cube/query")
+    public ResponseEntity<List<CubeRowDTO>> queryRepairCube(@RequestBody CubeQueryDTO query) {
+        try {
+            List<CubeRowDTO> rows = reportService.queryRepairCube(query);
+            if (rows.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok(rows);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error querying repair cube", e);
+            return ResponseEntity.internalServerError().body(null);
+        }
+    }
+
+    @PostMapping("/cube/rebuild")
+    public ResponseEntity<Integer> rebuildRepairCube() {
+        try {
+            return ResponseEntity.ok(reportService.rebuildRepairCube());
+        } catch (Exception e) {
+            logger.error("Error rebuilding repair cube", e);
+            return ResponseEntity.internalServerError().body(null);
+        }
+    }
+
+    @GetMapping("/snapshot/repair-type-summary")
+    public ResponseEntity<List<RepairTypeSummaryDTO>> getSnapshotRepairTypeSummaryReport() {
+        List<RepairTypeSummaryDTO> report = reportService.generateSnapshotRepairTypeSummaryReport();
+        if (report.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping("/snapshot/average-repair-times")
+    public ResponseEntity<List<AverageRepairTimeDTO>> getSnapshotAverageRepairTimesReport() {
+        List<AverageRepairTimeDTO> report = reportService.generateSnapshotAverageRepairTimeReport();
+        if (report.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    @PostMapping("/snapshot/refresh")
+    public ResponseEntity<Integer> refreshRepairSnapshot() {
+        try {
+            return ResponseEntity.ok(reportService.refreshRepairSnapshot());
+        } catch (Exception e) {
+            logger.error("Error refreshing repair snapshot", e);
+            return ResponseEntity.internalServerError().body(null);
+        }
+    }
+
+    @PostMapping("/snapshot/rebuild")
+    public ResponseEntity<Integer> rebuildRepairSnapshot() {
+        try {
+            return ResponseEntity.ok(reportService.rebuildRepairSnapshot());
+        } catch (Exception e) {
+            logger.error("Error rebuilding repair snapshot", e);
+            return ResponseEntity.internalServerError().body(null);
+        }
+    }
 }
\ No newline at end of file
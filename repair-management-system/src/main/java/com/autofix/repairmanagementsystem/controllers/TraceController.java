@@ -0,0 +1,56 @@
+package com.autofix.repairmanagementsystem.controllers;
+
+import com.autofix.repairmanagementsystem.config.TracingFilter;
+import com.autofix.repairmanagementsystem.dto.TraceDTO;
+import com.autofix.repairmanagementsystem.services.TracingService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// Trazas lentas de esta réplica; igual que las métricas, se consultan en cada réplica directamente, no por nginx.
+// Las peticiones que llegan por nginx reciben 404 aunque el proxy no las bloquee.
+@RestController
+@RequestMapping("/api/v1/traces")
+@CrossOrigin("*")
+public class TraceController {
+
+    private final TracingService tracingService;
+
+    @Autowired
+    public TraceController(TracingService tracingService) {
+        this.tracingService = tracingService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<TraceDTO>> getTraces(@RequestParam(value = "minMillis", defaultValue = "0") long minMillis,
+                                                    @RequestParam(value = "name", required = false) String name,
+                                                    @RequestParam(value = "limit", defaultValue = "20") int limit,
+                                                    HttpServletRequest request) {
+        if (TracingFilter.isProxied(request)) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(tracingService.findTraces(minMillis, name, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<TraceDTO> getTrace(@PathVariable("id") String id, HttpServletRequest request) {
+        if (TracingFilter.isProxied(request)) {
+            return ResponseEntity.notFound().build();
+        }
+        return tracingService.findTrace(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
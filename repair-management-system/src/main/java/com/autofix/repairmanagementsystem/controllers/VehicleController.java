@@ -1,6 +1,11 @@
 package com.autofix.repairmanagementsystem.controllers;
 
+import com.autofix.repairmanagementsystem.dto.VehicleFilterDTO;
+import com.autofix.repairmanagementsystem.dto.VehicleFilterResultDTO;
+import com.autofix.repairmanagementsystem.dto.VehicleSearchResultDTO;
 import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.services.VehicleFilterService;
+import com.autofix.repairmanagementsystem.services.VehicleSearchService;
 import com.autofix.repairmanagementsystem.services.VehicleService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,10 +23,15 @@ public class VehicleController {
 
     private static final Logger logger = LoggerFactory.getLogger(VehicleController.class);
     private final VehicleService vehicleService;
+    private final VehicleFilterService vehicleFilterService;
+    private final VehicleSearchService vehicleSearchService;
 
     @Autowired
-    public VehicleController(VehicleService vehicleService) {
+    public VehicleController(VehicleService vehicleService, VehicleFilterService vehicleFilterService,
+                             VehicleSearchService vehicleSearchService) {
         this.vehicleService = vehicleService;
+        this.vehicleFilterService = vehicleFilterService;
+        this.vehicleSearchService = vehicleSearchService;
     }
 
     @PostMapping
@@ -45,6 +55,31 @@ public class VehicleController {
         return ResponseEntity.ok(vehicles);
     }
 
+    @PostMapping("/filter")
+    public ResponseEntity<VehicleFilterResultDTO> filterVehicles(@RequestBody VehicleFilterDTO filter,
+                                                                 @RequestParam(value = "page", defaultValue = "0") int page,
+                                                                 @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(vehicleFilterService.filter(filter, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<VehicleSearchResultDTO>> searchVehicles(@RequestParam("q") String query,
+                                                                       @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        try {
+            List<VehicleSearchResultDTO> results = vehicleSearchService.search(query, limit);
+            if (results.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<VehicleEntity> getVehicleById(@PathVariable("id") Long id) {
         try {
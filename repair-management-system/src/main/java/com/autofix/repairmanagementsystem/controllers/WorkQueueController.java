@@ -0,0 +1,59 @@
+package com.autofix.repairmanagementsystem.controllers;
+
+import com.autofix.repairmanagementsystem.dto.WorkQueuePageDTO;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.services.RepairWorkQueueService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/v1/work-queue")
+@CrossOrigin("*")
+public class WorkQueueController {
+
+    private final RepairWorkQueueService repairWorkQueueService;
+    private final long pollTimeoutMs;
+
+    @Autowired
+    public WorkQueueController(RepairWorkQueueService repairWorkQueueService,
+                               @Value("${autofix.work-queue.poll-timeout-ms:25000}") long pollTimeoutMs) {
+        this.repairWorkQueueService = repairWorkQueueService;
+        this.pollTimeoutMs = pollTimeoutMs;
+    }
+
+    @GetMapping
+    public ResponseEntity<WorkQueuePageDTO> getWorkQueue(@RequestParam(value = "status", required = false) RepairEntity.Status status,
+                                                         @RequestParam(value = "page", defaultValue = "0") int page,
+                                                         @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(repairWorkQueueService.getPage(status, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Long polling: responde en cuanto la cola deja de estar en la versión indicada, o con 304 si vence el plazo.
+    @GetMapping("/changes")
+    public DeferredResult<ResponseEntity<WorkQueuePageDTO>> awaitWorkQueueChange(
+            @RequestParam("since") long sinceVersion,
+            @RequestParam(value = "status", required = false) RepairEntity.Status status,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        DeferredResult<ResponseEntity<WorkQueuePageDTO>> result =
+                new DeferredResult<>(pollTimeoutMs, ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        CompletableFuture<Long> change = repairWorkQueueService.awaitChange(sinceVersion);
+        result.onCompletion(() -> change.cancel(false));
+        change.thenRun(() -> result.setResult(getWorkQueue(status, page, size)));
+        return result;
+    }
+}
@@ -0,0 +1,39 @@
+package com.autofix.repairmanagementsystem.converters;
+
+import com.autofix.repairmanagementsystem.entities.CodedEnum;
+import jakarta.persistence.AttributeConverter;
+
+// Guarda la enumeración como su código. Al leer también acepta el texto libre anterior a la migración, y lo que no
+// se reconoce se lee como el valor de respaldo para no romper la carga de la entidad.
+public abstract class CodedEnumConverter<E extends Enum<E> & CodedEnum> implements AttributeConverter<E, String> {
+
+    private final Class<E> type;
+    private final E fallback;
+
+    protected CodedEnumConverter(Class<E> type, E fallback) {
+        this.type = type;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(E value) {
+        return value == null ? null : value.getCode();
+    }
+
+    @Override
+    public E convertToEntityAttribute(String dbValue) {
+        if (dbValue == null) {
+            return null;
+        }
+        E value = CodedEnum.fromCode(type, dbValue);
+        if (value != null) {
+            return value;
+        }
+        try {
+            value = CodedEnum.parse(type, dbValue);
+            return value == null ? fallback : value;
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.autofix.repairmanagementsystem.converters;
+
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import jakarta.persistence.Converter;
+
+@Converter
+public class EngineTypeConverter extends CodedEnumConverter<VehicleEntity.EngineType> {
+
+    public EngineTypeConverter() {
+        super(VehicleEntity.EngineType.class, VehicleEntity.EngineType.OTHER);
+    }
+}
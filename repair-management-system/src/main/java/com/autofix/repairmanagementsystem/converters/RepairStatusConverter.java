@@ -0,0 +1,12 @@
+package com.autofix.repairmanagementsystem.converters;
+
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import jakarta.persistence.Converter;
+
+@Converter
+public class RepairStatusConverter extends CodedEnumConverter<RepairEntity.Status> {
+
+    public RepairStatusConverter() {
+        super(RepairEntity.Status.class, RepairEntity.Status.OTHER);
+    }
+}
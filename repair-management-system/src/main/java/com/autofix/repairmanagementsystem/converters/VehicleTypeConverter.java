@@ -0,0 +1,12 @@
+package com.autofix.repairmanagementsystem.converters;
+
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import jakarta.persistence.Converter;
+
+@Converter
+public class VehicleTypeConverter extends CodedEnumConverter<VehicleEntity.VehicleType> {
+
+    public VehicleTypeConverter() {
+        super(VehicleEntity.VehicleType.class, VehicleEntity.VehicleType.OTHER);
+    }
+}
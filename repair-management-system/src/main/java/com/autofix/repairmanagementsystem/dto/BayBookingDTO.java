@@ -0,0 +1,20 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BayBookingDTO {
+    private Long repairId;
+    private Integer bay;
+    private LocalDate entryDate;
+    private LocalTime entryTime;
+    private LocalDate exitDate;
+    private LocalTime exitTime;
+}
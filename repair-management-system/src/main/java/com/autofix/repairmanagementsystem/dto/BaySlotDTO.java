@@ -0,0 +1,16 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BaySlotDTO {
+    private Integer bay;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
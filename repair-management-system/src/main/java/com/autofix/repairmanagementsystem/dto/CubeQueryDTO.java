@@ -0,0 +1,19 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import com.autofix.repairmanagementsystem.utils.RepairCube;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+// Consulta sobre el cubo: dimensiones por las que agrupar y, por dimensión, los valores permitidos.
+// Los meses se expresan como "yyyy-MM" y los valores ausentes como "N/A".
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CubeQueryDTO {
+    private List<RepairCube.Dimension> groupBy;
+    private Map<RepairCube.Dimension, List<String>> filters;
+}
@@ -0,0 +1,18 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import com.autofix.repairmanagementsystem.utils.RepairCube;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CubeRowDTO {
+    private Map<RepairCube.Dimension, String> dimensions;
+    private long repairCount;
+    private BigDecimal totalRepairCost;
+}
@@ -0,0 +1,26 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// Los temporizadores se informan en milisegundos y las distribuciones en su propia unidad; los indicadores solo
+// usan value.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricDTO {
+    private String name;
+    private String type;
+    private Map<String, String> tags;
+    private long count;
+    private long errors;
+    private double mean;
+    private double max;
+    private double p50;
+    private double p99;
+    private double p999;
+    private double value;
+}
@@ -0,0 +1,51 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Vista plana de una reparación con los atributos de su vehículo y tipo, para estructuras analíticas en memoria.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepairFactDTO {
+    private Long repairId;
+    private Long vehicleId;
+    private Long repairTypeId;
+    private String repairType;
+    private String brand;
+    private VehicleEntity.VehicleType vehicleType;
+    private VehicleEntity.EngineType engineType;
+    private RepairEntity.Status status;
+    private LocalDate entryDate;
+    private LocalTime entryTime;
+    private LocalDate exitDate;
+    private LocalTime exitTime;
+    private BigDecimal repairCost;
+    private LocalDate customerPickupDate;
+
+    public static RepairFactDTO of(RepairEntity repair) {
+        return new RepairFactDTO(
+                repair.getRepairId(),
+                repair.getVehicle().getVehicleId(),
+                repair.getRepairType().getRepairTypeId(),
+                repair.getRepairType().getDescription(),
+                repair.getVehicle().getBrand(),
+                repair.getVehicle().getType(),
+                repair.getVehicle().getEngineType(),
+                repair.getStatus(),
+                repair.getEntryDate(),
+                repair.getEntryTime(),
+                repair.getExitDate(),
+                repair.getExitTime(),
+                repair.getRepairCost(),
+                repair.getCustomerPickupDate()
+        );
+    }
+}
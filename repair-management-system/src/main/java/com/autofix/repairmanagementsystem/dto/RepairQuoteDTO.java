@@ -0,0 +1,23 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Desglose del precio de una reparación: montos de cada descuento y recargo, subtotal antes de IVA, IVA y total.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepairQuoteDTO {
+    private BigDecimal baseCost;
+    private BigDecimal dayOfWeekDiscount;
+    private BigDecimal repairCountDiscount;
+    private BigDecimal bonusDiscount;
+    private BigDecimal mileageCharge;
+    private BigDecimal pickupDelayCharge;
+    private BigDecimal subtotal;
+    private BigDecimal tax;
+    private BigDecimal total;
+}
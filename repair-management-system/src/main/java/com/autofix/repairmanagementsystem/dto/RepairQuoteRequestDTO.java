@@ -0,0 +1,28 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Reparación hipotética a cotizar. El vehículo se indica por vehicleId o con sus atributos (tipo, motor, año y
+// kilometraje); la salida y el retiro son opcionales y solo sirven para estimar el recargo por retraso.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepairQuoteRequestDTO {
+    private Long vehicleId;
+    private String brand;
+    private VehicleEntity.VehicleType vehicleType;
+    private VehicleEntity.EngineType engineType;
+    private Integer manufactureYear;
+    private Integer mileage;
+    private Long repairTypeId;
+    private LocalDate entryDate;
+    private LocalTime entryTime;
+    private LocalDate exitDate;
+    private LocalDate customerPickupDate;
+}
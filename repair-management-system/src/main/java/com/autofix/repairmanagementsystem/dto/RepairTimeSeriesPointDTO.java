@@ -0,0 +1,20 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepairTimeSeriesPointDTO {
+    private LocalDate periodStart;
+    private String repairType;
+    private String brand;
+    private long repairCount;
+    private BigDecimal totalRevenue;
+    private double averageTurnaroundHours;
+}
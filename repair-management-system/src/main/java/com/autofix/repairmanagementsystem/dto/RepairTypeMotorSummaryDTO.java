@@ -1,5 +1,6 @@
 package com.autofix.repairmanagementsystem.dto;
 
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -7,7 +8,7 @@ import lombok.Data;
 @AllArgsConstructor
 public class RepairTypeMotorSummaryDTO {
     private String repairTypeDescription;
-    private String engineType;
+    private VehicleEntity.EngineType engineType;
     private Long vehicleCount;
     private Long totalCost;
 }
\ No newline at end of file
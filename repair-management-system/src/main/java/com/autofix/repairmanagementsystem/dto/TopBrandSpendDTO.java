@@ -0,0 +1,16 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopBrandSpendDTO {
+    private String brand;
+    private BigDecimal totalSpend;
+    private Long numberOfRepairs;
+}
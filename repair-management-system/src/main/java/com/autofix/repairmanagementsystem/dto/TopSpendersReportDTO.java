@@ -0,0 +1,15 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopSpendersReportDTO {
+    private List<TopVehicleSpendDTO> vehicles;
+    private List<TopBrandSpendDTO> brands;
+}
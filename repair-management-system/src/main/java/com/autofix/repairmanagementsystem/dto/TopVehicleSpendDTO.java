@@ -0,0 +1,17 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopVehicleSpendDTO {
+    private Long vehicleId;
+    private String vehicleDetails;
+    private BigDecimal totalSpend;
+    private Long numberOfRepairs;
+}
@@ -0,0 +1,24 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+// Traza de una petición lenta o forzada. name es el método con el patrón de la ruta; path, la ruta pedida sin la consulta.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TraceDTO {
+    private String id;
+    private String name;
+    private String path;
+    private int status;
+    private Instant startedAt;
+    private double durationMillis;
+    private int spanCount;
+    private int droppedSpans;
+    private List<TraceSpanDTO> spans;
+}
@@ -0,0 +1,21 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// startMillis se mide desde el inicio de la petición; rows es null cuando no se conoce.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TraceSpanDTO {
+    private String kind;
+    private String name;
+    private double startMillis;
+    private double durationMillis;
+    private Long rows;
+    private boolean error;
+    private List<TraceSpanDTO> children;
+}
@@ -0,0 +1,16 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TurnaroundPercentilesDTO {
+    private String group;
+    private long repairCount;
+    private long p50Hours;
+    private long p90Hours;
+    private long p99Hours;
+}
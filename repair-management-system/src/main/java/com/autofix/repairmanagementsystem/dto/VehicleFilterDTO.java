@@ -0,0 +1,19 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import com.autofix.repairmanagementsystem.utils.VehicleBitmapIndex;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+// Filtro de flota: los valores de un mismo atributo se combinan con OR; los atributos entre sí con AND
+// (matchAll) o con OR. Los tramos se escriben como "2015-2019" (año) y "12001-25000" o "40001+" (kilometraje).
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleFilterDTO {
+    private Map<VehicleBitmapIndex.Attribute, List<String>> filters;
+    private boolean matchAll = true;
+}
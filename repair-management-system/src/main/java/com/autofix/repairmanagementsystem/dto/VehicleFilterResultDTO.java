@@ -0,0 +1,18 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleFilterResultDTO {
+    private long totalMatches;
+    private int page;
+    private int size;
+    private List<VehicleEntity> vehicles;
+}
@@ -0,0 +1,13 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleRepairCountDTO {
+    private Long vehicleId;
+    private Long repairCount;
+}
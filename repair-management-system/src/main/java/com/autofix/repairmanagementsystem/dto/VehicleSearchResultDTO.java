@@ -0,0 +1,16 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleSearchResultDTO {
+    private Long vehicleId;
+    private String licensePlateNumber;
+    private String brand;
+    private String model;
+    private double score;
+}
@@ -0,0 +1,24 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkQueueItemDTO {
+    private Long repairId;
+    private Long vehicleId;
+    private String brand;
+    private String repairType;
+    private RepairEntity.Status status;
+    private LocalDate entryDate;
+    private LocalTime entryTime;
+    private LocalDate exitDate;
+    private LocalTime exitTime;
+}
@@ -0,0 +1,22 @@
+package com.autofix.repairmanagementsystem.dto;
+
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+// La versión cambia con cada modificación de la cola; el cliente la devuelve en el long polling.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkQueuePageDTO {
+    private long version;
+    private Map<RepairEntity.Status, Integer> statusCounts;
+    private long totalMatches;
+    private int page;
+    private int size;
+    private List<WorkQueueItemDTO> repairs;
+}
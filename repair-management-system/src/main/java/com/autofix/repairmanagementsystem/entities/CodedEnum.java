@@ -0,0 +1,54 @@
+package com.autofix.repairmanagementsystem.entities;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+
+// Enumeración que se guarda en la base de datos como un código corto y se expone en la API con su etiqueta.
+// Los alias permiten leer los valores de texto libre que se guardaban antes.
+public interface CodedEnum {
+
+    String getCode();
+
+    String getLabel();
+
+    List<String> getAliases();
+
+    static <E extends Enum<E> & CodedEnum> E fromCode(Class<E> type, String code) {
+        for (E constant : type.getEnumConstants()) {
+            if (constant.getCode().equals(code)) {
+                return constant;
+            }
+        }
+        return null;
+    }
+
+    // Acepta el nombre, la etiqueta, un alias o el código, sin distinguir mayúsculas, tildes ni separadores.
+    static <E extends Enum<E> & CodedEnum> E parse(Class<E> type, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String key = normalize(value);
+        for (E constant : type.getEnumConstants()) {
+            if (key.equals(constant.name()) || key.equals(normalize(constant.getLabel()))
+                    || key.equals(normalize(constant.getCode()))) {
+                return constant;
+            }
+            for (String alias : constant.getAliases()) {
+                if (key.equals(normalize(alias))) {
+                    return constant;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Valor no válido para " + type.getSimpleName() + ": " + value);
+    }
+
+    static String labelOf(CodedEnum value) {
+        return value == null ? null : value.getLabel();
+    }
+
+    private static String normalize(String value) {
+        String withoutAccents = Normalizer.normalize(value.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return withoutAccents.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]+", "_");
+    }
+}
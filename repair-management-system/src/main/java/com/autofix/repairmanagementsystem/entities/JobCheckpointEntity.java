@@ -0,0 +1,37 @@
+package com.autofix.repairmanagementsystem.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Estado de un proceso por lotes compartido entre las réplicas: el cursor permite retomarlo tras una caída y el
+// candado con vencimiento (lockedBy, lockedUntil) evita que dos réplicas lo ejecuten a la vez.
+@Entity
+@Table(name = "job_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobCheckpointEntity {
+    @Id
+    @Column(name = "job_name", length = 64)
+    private String jobName;
+
+    @Column(name = "run_date")
+    private LocalDate runDate;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId;
+
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+
+    @Column(name = "locked_by")
+    private String lockedBy;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+}
@@ -0,0 +1,56 @@
+package com.autofix.repairmanagementsystem.entities;
+
+import com.autofix.repairmanagementsystem.converters.EngineTypeConverter;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "repair_daily_rollups",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"rollup_date", "repair_type_id", "brand", "engine_type"}),
+        indexes = @Index(name = "idx_repair_daily_rollups_date", columnList = "rollup_date"))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepairDailyRollupEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long rollupId;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "repair_type_id", nullable = false)
+    private RepairTypeEntity repairType;
+
+    @Column(name = "brand", nullable = false)
+    private String brand;
+
+    @Convert(converter = EngineTypeConverter.class)
+    @Column(name = "engine_type", nullable = false, length = 1)
+    private VehicleEntity.EngineType engineType;
+
+    @Column(name = "repair_count", nullable = false)
+    private Long repairCount;
+
+    @Column(name = "total_repair_cost", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalRepairCost;
+
+    // Reparaciones con fecha y hora de salida, usadas para el tiempo promedio de reparación.
+    @Column(name = "completed_count", nullable = false)
+    private Long completedCount;
+
+    @Column(name = "total_turnaround_hours", nullable = false)
+    private Long totalTurnaroundHours;
+
+    // Histograma serializado de los tiempos de reparación del día (ver TurnaroundHistogram).
+    @Column(name = "turnaround_histogram", length = 8192)
+    private byte[] turnaroundHistogram;
+}
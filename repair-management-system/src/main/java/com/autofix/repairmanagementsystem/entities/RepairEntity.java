@@ -1,18 +1,26 @@
 package com.autofix.repairmanagementsystem.entities;
 
+import com.autofix.repairmanagementsystem.converters.RepairStatusConverter;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonValue;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
 @Entity
-@Table(name = "repairs")
+// El índice por bahía acota la lectura con bloqueo de BaySchedulerService a las filas de la bahía elegida
+@Table(name = "repairs",
+        indexes = {@Index(name = "idx_repairs_status_entry_date", columnList = "status, entry_date"),
+                @Index(name = "idx_repairs_bay_entry_date", columnList = "bay, entry_date")})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Data
 @NoArgsConstructor
@@ -30,8 +38,9 @@ public class RepairEntity {
     @Column(name = "entry_date", nullable = false)
     private LocalDate entryDate;
 
-    @Column(name = "status")
-    private String status;
+    @Convert(converter = RepairStatusConverter.class)
+    @Column(name = "status", length = 1)
+    private Status status;
 
     @Column(name = "entry_time", nullable = false)
     private LocalTime entryTime;
@@ -54,4 +63,41 @@ public class RepairEntity {
 
     @Column(name = "customer_pickup_time", nullable = true)
     private LocalTime customerPickupTime;
-}
\ No newline at end of file
+
+    // Bahía del taller asignada por BaySchedulerService; null en las reparaciones anteriores a la planificación.
+    @Column(name = "bay", nullable = true)
+    private Integer bay;
+
+    // Recargo por retraso acumulado a la fecha delayChargeAsOf, calculado por PickupDelaySnapshotService. Solo lo
+    // escriben las sentencias de RepairRepository, por eso no se inserta ni actualiza al guardar la reparación.
+    @Column(name = "accrued_delay_charge", precision = 19, scale = 4, insertable = false, updatable = false)
+    private BigDecimal accruedDelayCharge;
+
+    @Column(name = "delay_charge_as_of", insertable = false, updatable = false)
+    private LocalDate delayChargeAsOf;
+
+    @Getter
+    public enum Status implements CodedEnum {
+        PENDING("P", "Pending", "Pendiente"),
+        IN_PROGRESS("I", "In Progress", "En progreso", "En proceso"),
+        COMPLETED("C", "Completed", "Completada", "Completado", "Terminada"),
+        DELIVERED("D", "Delivered", "Entregada", "Entregado"),
+        OTHER("O", "Other", "Otro"); // Valores de texto libre que no se reconocieron al migrar.
+
+        private final String code;
+        @JsonValue
+        private final String label;
+        private final List<String> aliases;
+
+        Status(String code, String label, String... aliases) {
+            this.code = code;
+            this.label = label;
+            this.aliases = List.of(aliases);
+        }
+
+        @JsonCreator
+        public static Status fromValue(String value) {
+            return CodedEnum.parse(Status.class, value);
+        }
+    }
+}
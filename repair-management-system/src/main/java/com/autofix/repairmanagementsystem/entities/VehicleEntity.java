@@ -1,10 +1,15 @@
 package com.autofix.repairmanagementsystem.entities;
 
+import com.autofix.repairmanagementsystem.converters.EngineTypeConverter;
+import com.autofix.repairmanagementsystem.converters.VehicleTypeConverter;
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonValue;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
@@ -30,14 +35,16 @@ public class VehicleEntity {
     @Column(nullable = false)
     private String model;
 
-    @Column(nullable = false)
-    private String type;
+    @Convert(converter = VehicleTypeConverter.class)
+    @Column(nullable = false, length = 1)
+    private VehicleType type;
 
     @Column(name = "manufacture_year", nullable = false)
     private Integer manufactureYear;
 
-    @Column(name = "engine_type", nullable = false)
-    private String engineType;
+    @Convert(converter = EngineTypeConverter.class)
+    @Column(name = "engine_type", nullable = false, length = 1)
+    private EngineType engineType;
 
     @Column(nullable = false)
     private Integer mileage;
@@ -45,6 +52,9 @@ public class VehicleEntity {
     @Column(name = "seat_count", nullable = false)
     private Integer seatCount;
 
+    @Embedded
+    private VehicleHistory history = new VehicleHistory();
+
     @OneToMany(mappedBy = "vehicle", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonManagedReference("vehicle-repair")
     private List<RepairEntity> repairs = new ArrayList<>();
@@ -52,4 +62,55 @@ public class VehicleEntity {
     @OneToMany(mappedBy = "vehicle", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonManagedReference("vehicle-bonus")
     private List<BonusEntity> bonuses = new ArrayList<>();
-}
\ No newline at end of file
+
+    @Getter
+    public enum VehicleType implements CodedEnum {
+        SEDAN("S", "Sedan"),
+        HATCHBACK("H", "Hatchback"),
+        SUV("U", "SUV"),
+        PICKUP("P", "Pickup", "Camioneta"),
+        VAN("F", "Furgoneta", "Van"),
+        OTHER("O", "Other", "Otro"); // Valores de texto libre que no se reconocieron al migrar.
+
+        private final String code;
+        @JsonValue
+        private final String label;
+        private final List<String> aliases;
+
+        VehicleType(String code, String label, String... aliases) {
+            this.code = code;
+            this.label = label;
+            this.aliases = List.of(aliases);
+        }
+
+        @JsonCreator
+        public static VehicleType fromValue(String value) {
+            return CodedEnum.parse(VehicleType.class, value);
+        }
+    }
+
+    @Getter
+    public enum EngineType implements CodedEnum {
+        GASOLINE("G", "Gasoline", "Gasolina", "Bencina"),
+        DIESEL("D", "Diesel"),
+        HYBRID("H", "Hybrid", "Híbrido"),
+        ELECTRIC("E", "Electric", "Eléctrico"),
+        OTHER("O", "Other", "Otro"); // Valores de texto libre que no se reconocieron al migrar.
+
+        private final String code;
+        @JsonValue
+        private final String label;
+        private final List<String> aliases;
+
+        EngineType(String code, String label, String... aliases) {
+            this.code = code;
+            this.label = label;
+            this.aliases = List.of(aliases);
+        }
+
+        @JsonCreator
+        public static EngineType fromValue(String value) {
+            return CodedEnum.parse(EngineType.class, value);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.autofix.repairmanagementsystem.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Contadores acumulados de las reparaciones de un vehículo. Solo los modifican las sentencias atómicas de
+// VehicleRepository, por eso no se insertan ni actualizan al guardar el vehículo.
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleHistory {
+    @ColumnDefault("0")
+    @Column(name = "repair_count", nullable = false, insertable = false, updatable = false)
+    private Long repairCount = 0L;
+
+    @ColumnDefault("0")
+    @Column(name = "total_base_cost", nullable = false, insertable = false, updatable = false)
+    private BigDecimal totalBaseCost = BigDecimal.ZERO;
+
+    @Column(name = "last_entry_date", insertable = false, updatable = false)
+    private LocalDate lastEntryDate;
+
+    @ColumnDefault("0")
+    @Column(name = "open_repair_count", nullable = false, insertable = false, updatable = false)
+    private Long openRepairCount = 0L;
+}
@@ -0,0 +1,14 @@
+package com.autofix.repairmanagementsystem.events;
+
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Se publica al registrar, actualizar o eliminar una reparación. previous es null en un alta y current es null
+// en una eliminación. Los oyentes en memoria lo reciben después del commit (@TransactionalEventListener).
+@Getter
+@AllArgsConstructor
+public class RepairChangedEvent {
+    private final RepairFactDTO previous;
+    private final RepairFactDTO current;
+}
@@ -0,0 +1,14 @@
+package com.autofix.repairmanagementsystem.events;
+
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Se publica al registrar, actualizar o eliminar un vehículo; en una eliminación, vehicle es el vehículo borrado.
+// Los oyentes solo deben leer los atributos simples del vehículo, porque lo reciben después del commit.
+@Getter
+@AllArgsConstructor
+public class VehicleChangedEvent {
+    private final VehicleEntity vehicle;
+    private final boolean deleted;
+}
@@ -2,8 +2,11 @@ package com.autofix.repairmanagementsystem.repositories;
 
 import com.autofix.repairmanagementsystem.entities.BonusEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +14,10 @@ public interface BonusRepository extends JpaRepository<BonusEntity, Long> {
     Optional<BonusEntity> findFirstByBrandAndVehicleIsNull(String brand);
 
     Optional<BonusEntity> findByVehicle_VehicleId(Long vehicleId);
+
+    @Query("SELECT b FROM BonusEntity b JOIN FETCH b.vehicle")
+    List<BonusEntity> findAssigned();
+
+    @Query("SELECT b FROM BonusEntity b JOIN FETCH b.vehicle v WHERE v.vehicleId IN :vehicleIds")
+    List<BonusEntity> findByVehicleIds(@Param("vehicleIds") List<Long> vehicleIds);
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.autofix.repairmanagementsystem.repositories;
+
+import com.autofix.repairmanagementsystem.entities.JobCheckpointEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpointEntity, String> {
+    // Toma el candado si está libre, vencido o ya es de esta instancia; al ser una sola sentencia, dos réplicas
+    // no pueden obtenerlo a la vez
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobCheckpointEntity j SET j.lockedBy = :owner, j.lockedUntil = :until " +
+            "WHERE j.jobName = :jobName AND (j.lockedBy IS NULL OR j.lockedBy = :owner OR j.lockedUntil < :now)")
+    int acquireLock(@Param("jobName") String jobName, @Param("owner") String owner,
+                    @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobCheckpointEntity j SET j.lockedBy = NULL, j.lockedUntil = NULL " +
+            "WHERE j.jobName = :jobName AND j.lockedBy = :owner")
+    int releaseLock(@Param("jobName") String jobName, @Param("owner") String owner);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobCheckpointEntity j SET j.runDate = :runDate, j.lastId = 0, j.completed = false " +
+            "WHERE j.jobName = :jobName AND j.lockedBy = :owner")
+    int startRun(@Param("jobName") String jobName, @Param("owner") String owner, @Param("runDate") LocalDate runDate);
+
+    // Avanza el cursor y renueva el candado; devuelve 0 si otra réplica tomó el candado vencido
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobCheckpointEntity j SET j.lastId = :lastId, j.lockedUntil = :until " +
+            "WHERE j.jobName = :jobName AND j.lockedBy = :owner")
+    int advanceCursor(@Param("jobName") String jobName, @Param("owner") String owner,
+                      @Param("lastId") Long lastId, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobCheckpointEntity j SET j.completed = true WHERE j.jobName = :jobName AND j.lockedBy = :owner")
+    int completeRun(@Param("jobName") String jobName, @Param("owner") String owner);
+
+    // Bloqueo compartido de la fila: varias transacciones lo toman a la vez, pero esperan a la que la bloquee
+    // para escritura
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT j FROM JobCheckpointEntity j WHERE j.jobName = :jobName")
+    Optional<JobCheckpointEntity> findForShare(@Param("jobName") String jobName);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM JobCheckpointEntity j WHERE j.jobName = :jobName")
+    Optional<JobCheckpointEntity> findForUpdate(@Param("jobName") String jobName);
+}
@@ -0,0 +1,51 @@
+package com.autofix.repairmanagementsystem.repositories;
+
+import com.autofix.repairmanagementsystem.entities.RepairDailyRollupEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RepairDailyRollupRepository extends JpaRepository<RepairDailyRollupEntity, Long> {
+
+    // Bloquea la fila del día para que dos escrituras concurrentes no pierdan incrementos
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RepairDailyRollupEntity r " +
+            "WHERE r.rollupDate = :rollupDate AND r.repairType.repairTypeId = :repairTypeId " +
+            "AND r.brand = :brand AND r.engineType = :engineType")
+    Optional<RepairDailyRollupEntity> findForUpdate(@Param("rollupDate") LocalDate rollupDate,
+                                                    @Param("repairTypeId") Long repairTypeId,
+                                                    @Param("brand") String brand,
+                                                    @Param("engineType") VehicleEntity.EngineType engineType);
+
+    // Filas del rango de fechas, con filtros opcionales por marca y tipo de reparación. Se omiten las filas en cero
+    // que quedan cuando se revierte el registro que las creó
+    @Query("SELECT r FROM RepairDailyRollupEntity r JOIN FETCH r.repairType rt " +
+            "WHERE r.rollupDate BETWEEN :start AND :end AND r.repairCount > 0 " +
+            "AND (:brand IS NULL OR r.brand = :brand) " +
+            "AND (:repairTypeId IS NULL OR rt.repairTypeId = :repairTypeId) " +
+            "ORDER BY r.rollupDate ASC")
+    List<RepairDailyRollupEntity> findForRange(@Param("start") LocalDate start,
+                                               @Param("end") LocalDate end,
+                                               @Param("brand") String brand,
+                                               @Param("repairTypeId") Long repairTypeId);
+
+    @Query("SELECT MIN(r.rollupDate) FROM RepairDailyRollupEntity r")
+    LocalDate findFirstRollupDate();
+
+    @Query("SELECT MAX(r.rollupDate) FROM RepairDailyRollupEntity r")
+    LocalDate findLastRollupDate();
+
+    @Modifying
+    @Query("DELETE FROM RepairDailyRollupEntity r WHERE r.rollupDate BETWEEN :start AND :end")
+    int deleteForRange(@Param("start") LocalDate start, @Param("end") LocalDate end);
+}
@@ -1,14 +1,26 @@
 package com.autofix.repairmanagementsystem.repositories;
 
 import com.autofix.repairmanagementsystem.dto.AverageRepairTimeDTO;
+import com.autofix.repairmanagementsystem.dto.BayBookingDTO;
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
 import com.autofix.repairmanagementsystem.dto.RepairTypeMotorSummaryDTO;
 import com.autofix.repairmanagementsystem.dto.RepairTypeSummaryDTO;
+import com.autofix.repairmanagementsystem.dto.TopBrandSpendDTO;
+import com.autofix.repairmanagementsystem.dto.TopVehicleSpendDTO;
+import com.autofix.repairmanagementsystem.dto.VehicleRepairCountDTO;
 import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -20,6 +32,121 @@ public interface RepairRepository extends JpaRepository<RepairEntity, Long> {
     // Método para encontrar reparaciones por el ID del vehículo
     List<RepairEntity> findByVehicleVehicleId(Long vehicleId);
 
+    boolean existsByVehicleVehicleId(Long vehicleId);
+
+    // Recorre por lotes ordenados por ID las reparaciones que ingresaron en el rango de fechas, cargando vehículo y
+    // tipo de reparación en la misma consulta
+    @Query("SELECT r FROM RepairEntity r JOIN FETCH r.vehicle JOIN FETCH r.repairType " +
+            "WHERE r.entryDate BETWEEN :start AND :end AND r.repairId > :afterId ORDER BY r.repairId ASC")
+    List<RepairEntity> findBatchEnteredBetween(@Param("start") LocalDate start, @Param("end") LocalDate end,
+                                               @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT MIN(r.entryDate) FROM RepairEntity r")
+    LocalDate findFirstEntryDate();
+
+    @Query("SELECT MAX(r.entryDate) FROM RepairEntity r")
+    LocalDate findLastEntryDate();
+
+    // Recorre las reparaciones por lotes ordenados por ID, proyectadas a RepairFactDTO para no materializar entidades
+    @Query("SELECT new com.autofix.repairmanagementsystem.dto.RepairFactDTO(" +
+            "r.repairId, v.vehicleId, rt.repairTypeId, rt.description, v.brand, v.type, v.engineType, r.status, " +
+            "r.entryDate, r.entryTime, r.exitDate, r.exitTime, r.repairCost, r.customerPickupDate) " +
+            "FROM RepairEntity r JOIN r.vehicle v JOIN r.repairType rt " +
+            "WHERE r.repairId > :afterId ORDER BY r.repairId ASC")
+    List<RepairFactDTO> findFactBatchAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Reparaciones de un estado que el cliente aún no retira, recorridas con el índice (status, entry_date)
+    @Query("SELECT new com.autofix.repairmanagementsystem.dto.RepairFactDTO(" +
+            "r.repairId, v.vehicleId, rt.repairTypeId, rt.description, v.brand, v.type, v.engineType, r.status, " +
+            "r.entryDate, r.entryTime, r.exitDate, r.exitTime, r.repairCost, r.customerPickupDate) " +
+            "FROM RepairEntity r JOIN r.vehicle v JOIN r.repairType rt " +
+            "WHERE r.status = :status AND r.customerPickupDate IS NULL " +
+            "ORDER BY r.entryDate ASC, r.repairId ASC")
+    List<RepairFactDTO> findOpenFactsByStatus(@Param("status") RepairEntity.Status status);
+
+    // Reparaciones ingresadas desde la fecha indicada
+    @Query("SELECT new com.autofix.repairmanagementsystem.dto.RepairFactDTO(" +
+            "r.repairId, v.vehicleId, rt.repairTypeId, rt.description, v.brand, v.type, v.engineType, r.status, " +
+            "r.entryDate, r.entryTime, r.exitDate, r.exitTime, r.repairCost, r.customerPickupDate) " +
+            "FROM RepairEntity r JOIN r.vehicle v JOIN r.repairType rt " +
+            "WHERE r.entryDate >= :from")
+    List<RepairFactDTO> findFactsEnteredFrom(@Param("from") LocalDate from);
+
+    // Reparaciones registradas sin estado que el cliente aún no retira
+    @Query("SELECT new com.autofix.repairmanagementsystem.dto.RepairFactDTO(" +
+            "r.repairId, v.vehicleId, rt.repairTypeId, rt.description, v.brand, v.type, v.engineType, r.status, " +
+            "r.entryDate, r.entryTime, r.exitDate, r.exitTime, r.repairCost, r.customerPickupDate) " +
+            "FROM RepairEntity r JOIN r.vehicle v JOIN r.repairType rt " +
+            "WHERE r.status IS NULL AND r.customerPickupDate IS NULL " +
+            "ORDER BY r.entryDate ASC, r.repairId ASC")
+    List<RepairFactDTO> findOpenFactsWithoutStatus();
+
+    // Reparaciones con bahía asignada que siguen en el taller desde la fecha indicada, para la planificación
+    @Query("SELECT new com.autofix.repairmanagementsystem.dto.BayBookingDTO(" +
+            "r.repairId, r.bay, r.entryDate, r.entryTime, r.exitDate, r.exitTime) " +
+            "FROM RepairEntity r WHERE r.bay IS NOT NULL AND r.exitDate >= :from")
+    List<BayBookingDTO> findBayBookingsFrom(@Param("from") LocalDate from);
+
+    // Lectura con bloqueo: ve las reservas confirmadas aunque la transacción ya tenga una instantánea anterior
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT r FROM RepairEntity r WHERE r.bay = :bay AND (:repairId IS NULL OR r.repairId <> :repairId) " +
+            "AND r.entryDate <= :exitDate AND r.exitDate >= :entryDate")
+    List<RepairEntity> findBayBookingsBetweenForShare(@Param("bay") Integer bay, @Param("repairId") Long repairId,
+                                                      @Param("entryDate") LocalDate entryDate,
+                                                      @Param("exitDate") LocalDate exitDate);
+
+    // Reparaciones que el cliente aún no retira, por lotes ordenados por ID
+    @Query("SELECT r FROM RepairEntity r WHERE r.customerPickupDate IS NULL AND r.repairId > :afterId " +
+            "ORDER BY r.repairId ASC")
+    List<RepairEntity> findUncollectedBatchAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Guarda el recargo por retraso acumulado. Solo escribe si la reparación sigue sin retirar y conserva el costo y
+    // la fecha de salida con que se calculó: una modificación confirmada mientras tanto ya descartó el recargo y no se
+    // vuelve a pisar con valores viejos. Tampoco reemplaza un recargo calculado a una fecha posterior.
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE repairs SET accrued_delay_charge = :charge, delay_charge_as_of = :asOf " +
+            "WHERE repair_id = :repairId AND customer_pickup_date IS NULL AND repair_cost = :repairCost " +
+            "AND (exit_date = :exitDate OR (exit_date IS NULL AND CAST(:exitDate AS DATE) IS NULL)) " +
+            "AND (delay_charge_as_of IS NULL OR delay_charge_as_of <= :asOf)", nativeQuery = true)
+    int saveDelayChargeSnapshot(@Param("repairId") Long repairId, @Param("repairCost") BigDecimal repairCost,
+                                @Param("exitDate") LocalDate exitDate, @Param("charge") BigDecimal charge,
+                                @Param("asOf") LocalDate asOf);
+
+    // Descarta el recargo acumulado de una reparación modificada, que se recalcula completo hasta el próximo proceso
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = "UPDATE repairs SET accrued_delay_charge = NULL, delay_charge_as_of = NULL " +
+            "WHERE repair_id = :repairId", nativeQuery = true)
+    int clearDelayChargeSnapshot(@Param("repairId") Long repairId);
+
+    // Reparaciones de un lote de vehículos dentro de un rango de fechas de entrada
+    @Query("SELECT r FROM RepairEntity r JOIN FETCH r.repairType " +
+            "WHERE r.vehicle.vehicleId IN :vehicleIds AND r.entryDate BETWEEN :start AND :end " +
+            "ORDER BY r.repairId ASC")
+    List<RepairEntity> findByVehicleIdsAndEntryDateBetween(@Param("vehicleIds") List<Long> vehicleIds,
+                                                           @Param("start") LocalDate start,
+                                                           @Param("end") LocalDate end);
+
+    // Vehículos con mayor costo base acumulado en el rango; el límite se aplica en la base de datos
+    @Query("SELECT new com.autofix.repairmanagementsystem.dto.TopVehicleSpendDTO(" +
+            "v.vehicleId, CONCAT(v.brand, ' ', v.model), SUM(r.repairCost), COUNT(r)) " +
+            "FROM RepairEntity r JOIN r.vehicle v " +
+            "WHERE r.entryDate BETWEEN :start AND :end " +
+            "GROUP BY v.vehicleId, v.brand, v.model " +
+            "ORDER BY SUM(r.repairCost) DESC")
+    List<TopVehicleSpendDTO> findTopVehiclesByBaseCost(@Param("start") LocalDate start, @Param("end") LocalDate end,
+                                                       Pageable pageable);
+
+    // Marcas con mayor costo base acumulado en el rango
+    @Query("SELECT new com.autofix.repairmanagementsystem.dto.TopBrandSpendDTO(v.brand, SUM(r.repairCost), COUNT(r)) " +
+            "FROM RepairEntity r JOIN r.vehicle v " +
+            "WHERE r.entryDate BETWEEN :start AND :end " +
+            "GROUP BY v.brand " +
+            "ORDER BY SUM(r.repairCost) DESC")
+    List<TopBrandSpendDTO> findTopBrandsByBaseCost(@Param("start") LocalDate start, @Param("end") LocalDate end,
+                                                   Pageable pageable);
+
     // Obtener el costo total de las reparaciones para un vehículo específico
     @Query("SELECT SUM(r.repairCost) FROM RepairEntity r WHERE r.vehicle.vehicleId = :vehicleId")
     Double findTotalRepairCostByVehicleId(Long vehicleId);
@@ -28,6 +155,18 @@ public interface RepairRepository extends JpaRepository<RepairEntity, Long> {
     @Query("SELECT COUNT(r) FROM RepairEntity r WHERE r.vehicle.vehicleId = :vehicleId AND r.entryDate >= :startDate")
     Long countRepairsByVehicleIdAndDateRange(@Param("vehicleId") Long vehicleId, @Param("startDate") LocalDate startDate);
 
+    // Lo mismo para un lote de vehículos; los que no tienen reparaciones desde esa fecha no aparecen
+    @Query("SELECT new com.autofix.repairmanagementsystem.dto.VehicleRepairCountDTO(r.vehicle.vehicleId, COUNT(r)) " +
+            "FROM RepairEntity r WHERE r.vehicle.vehicleId IN :vehicleIds AND r.entryDate >= :startDate " +
+            "GROUP BY r.vehicle.vehicleId")
+    List<VehicleRepairCountDTO> countRepairsByVehicleIdsSince(@Param("vehicleIds") List<Long> vehicleIds,
+                                                              @Param("startDate") LocalDate startDate);
+
+    @Query("SELECT COUNT(r) FROM RepairEntity r WHERE r.vehicle.vehicleId = :vehicleId " +
+            "AND r.entryDate >= :startDate AND r.entryDate <= :endDate")
+    Long countRepairsByVehicleIdBetween(@Param("vehicleId") Long vehicleId, @Param("startDate") LocalDate startDate,
+                                        @Param("endDate") LocalDate endDate);
+
     @Query("SELECT new com.autofix.repairmanagementsystem.dto.RepairTypeSummaryDTO(rt.description, COUNT(DISTINCT v.type), SUM(r.repairCost)) " +
             "FROM RepairEntity r " +
             "JOIN r.vehicle v " +
@@ -45,20 +184,29 @@ public interface RepairRepository extends JpaRepository<RepairEntity, Long> {
     @Query("SELECT new com.autofix.repairmanagementsystem.dto.RepairTypeMotorSummaryDTO(" +
             "rt.description, v.engineType, COUNT(v), " +
             "CAST(SUM(CASE " +
-            "WHEN v.engineType = 'Gasoline' THEN rt.baseCostGasoline " +
-            "WHEN v.engineType = 'Diesel' THEN rt.baseCostDiesel " +
-            "WHEN v.engineType = 'Hybrid' THEN rt.baseCostHybrid " +
-            "WHEN v.engineType = 'Electric' THEN rt.baseCostElectric " +
+            "WHEN v.engineType = :gasoline THEN rt.baseCostGasoline " +
+            "WHEN v.engineType = :diesel THEN rt.baseCostDiesel " +
+            "WHEN v.engineType = :hybrid THEN rt.baseCostHybrid " +
+            "WHEN v.engineType = :electric THEN rt.baseCostElectric " +
             "ELSE 0 END) AS Long)) " +
             "FROM RepairEntity r " +
             "JOIN r.vehicle v " +
             "JOIN r.repairType rt " +
             "GROUP BY rt.description, v.engineType " +
             "ORDER BY SUM(CASE " +
-            "WHEN v.engineType = 'Gasoline' THEN rt.baseCostGasoline " +
-            "WHEN v.engineType = 'Diesel' THEN rt.baseCostDiesel " +
-            "WHEN v.engineType = 'Hybrid' THEN rt.baseCostHybrid " +
-            "WHEN v.engineType = 'Electric' THEN rt.baseCostElectric " +
+            "WHEN v.engineType = :gasoline THEN rt.baseCostGasoline " +
+            "WHEN v.engineType = :diesel THEN rt.baseCostDiesel " +
+            "WHEN v.engineType = :hybrid THEN rt.baseCostHybrid " +
+            "WHEN v.engineType = :electric THEN rt.baseCostElectric " +
             "ELSE 0 END) DESC")
-    List<RepairTypeMotorSummaryDTO> findRepairTypesAndEngineSummary();
+    List<RepairTypeMotorSummaryDTO> findRepairTypesAndEngineSummary(@Param("gasoline") VehicleEntity.EngineType gasoline,
+                                                                    @Param("diesel") VehicleEntity.EngineType diesel,
+                                                                    @Param("hybrid") VehicleEntity.EngineType hybrid,
+                                                                    @Param("electric") VehicleEntity.EngineType electric);
+
+    // Los tipos de motor se pasan como parámetros para que la comparación use el código almacenado por el conversor
+    default List<RepairTypeMotorSummaryDTO> findRepairTypesAndEngineSummary() {
+        return findRepairTypesAndEngineSummary(VehicleEntity.EngineType.GASOLINE, VehicleEntity.EngineType.DIESEL,
+                VehicleEntity.EngineType.HYBRID, VehicleEntity.EngineType.ELECTRIC);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.autofix.repairmanagementsystem.repositories;
+
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+// Crea filas en cero solo si aún no existen, dentro de la transacción en curso. Si otra transacción inserta la
+// misma clave al mismo tiempo, la sentencia espera a que confirme y no hace nada, en lugar de fallar con la
+// restricción única y dejar la transacción marcada para revertir.
+@Repository
+public class RowSeedRepository {
+
+    private static final String MYSQL_CHECKPOINT =
+            "INSERT INTO job_checkpoints (job_name, last_id, completed) VALUES (?, 0, TRUE) " +
+            "ON DUPLICATE KEY UPDATE job_name = job_name";
+    private static final String MERGE_CHECKPOINT =
+            "MERGE INTO job_checkpoints t USING (VALUES (CAST(? AS VARCHAR(64)))) s (job_name) " +
+            "ON t.job_name = s.job_name " +
+            "WHEN NOT MATCHED THEN INSERT (job_name, last_id, completed) VALUES (s.job_name, 0, TRUE)";
+    private static final String MYSQL_ROLLUP =
+            "INSERT INTO repair_daily_rollups (rollup_date, repair_type_id, brand, engine_type, repair_count, " +
+            "total_repair_cost, completed_count, total_turnaround_hours) VALUES (?, ?, ?, ?, 0, 0, 0, 0) " +
+            "ON DUPLICATE KEY UPDATE repair_count = repair_count";
+    private static final String MERGE_ROLLUP =
+            "MERGE INTO repair_daily_rollups t USING (VALUES (CAST(? AS DATE), CAST(? AS BIGINT), " +
+            "CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(1)))) s (rollup_date, repair_type_id, brand, engine_type) " +
+            "ON t.rollup_date = s.rollup_date AND t.repair_type_id = s.repair_type_id " +
+            "AND t.brand = s.brand AND t.engine_type = s.engine_type " +
+            "WHEN NOT MATCHED THEN INSERT (rollup_date, repair_type_id, brand, engine_type, repair_count, " +
+            "total_repair_cost, completed_count, total_turnaround_hours) " +
+            "VALUES (s.rollup_date, s.repair_type_id, s.brand, s.engine_type, 0, 0, 0, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean mysql;
+
+    @Autowired
+    public RowSeedRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void seedJobCheckpoint(String jobName) {
+        jdbcTemplate.update(isMySql() ? MYSQL_CHECKPOINT : MERGE_CHECKPOINT, jobName);
+    }
+
+    public void seedRollup(LocalDate rollupDate, Long repairTypeId, String brand, VehicleEntity.EngineType engineType) {
+        jdbcTemplate.update(isMySql() ? MYSQL_ROLLUP : MERGE_ROLLUP,
+                Date.valueOf(rollupDate), repairTypeId, brand, engineType.getCode());
+    }
+
+    // MySQL no admite MERGE; el resto de las bases usadas (H2 en pruebas) sí
+    private boolean isMySql() {
+        Boolean result = mysql;
+        if (result == null) {
+            result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "MySQL".equals(connection.getMetaData().getDatabaseProductName()));
+            mysql = result;
+        }
+        return result;
+    }
+}
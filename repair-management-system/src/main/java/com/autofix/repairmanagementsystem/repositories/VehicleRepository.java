@@ -1,13 +1,68 @@
 package com.autofix.repairmanagementsystem.repositories;
 
 import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface VehicleRepository extends JpaRepository<VehicleEntity, Long> {
     // Buscar vehículos por número de placa
     Optional<VehicleEntity> findByLicensePlateNumber(String licensePlateNumber);
-}
\ No newline at end of file
+
+    // Recorre los vehículos por lotes ordenados por marca e ID, de modo que cada marca quede contigua
+    @Query("SELECT v FROM VehicleEntity v " +
+            "WHERE v.brand > :brand OR (v.brand = :brand AND v.vehicleId > :vehicleId) " +
+            "ORDER BY v.brand ASC, v.vehicleId ASC")
+    List<VehicleEntity> findBatchAfter(@Param("brand") String brand, @Param("vehicleId") Long vehicleId, Pageable pageable);
+
+    // Recorre los vehículos por lotes en orden de ID, para reconstruir los índices en memoria
+    List<VehicleEntity> findByVehicleIdGreaterThanOrderByVehicleIdAsc(Long vehicleId, Pageable pageable);
+
+    @Query("SELECT MAX(v.vehicleId) FROM VehicleEntity v")
+    Long findMaxVehicleId();
+
+    // Suma una reparación al historial del vehículo con una única sentencia sobre su fila
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE vehicles SET repair_count = repair_count + 1, " +
+            "total_base_cost = total_base_cost + :repairCost, " +
+            "open_repair_count = open_repair_count + :open, " +
+            "last_entry_date = CASE WHEN last_entry_date IS NULL OR last_entry_date < :entryDate " +
+            "THEN :entryDate ELSE last_entry_date END " +
+            "WHERE vehicle_id = :vehicleId", nativeQuery = true)
+    int addRepairToHistory(@Param("vehicleId") Long vehicleId, @Param("repairCost") BigDecimal repairCost,
+                           @Param("entryDate") LocalDate entryDate, @Param("open") int open);
+
+    // Resta una reparación del historial; la última fecha de ingreso se recalcula con las reparaciones restantes
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = "UPDATE vehicles SET repair_count = repair_count - 1, " +
+            "total_base_cost = total_base_cost - :repairCost, " +
+            "open_repair_count = open_repair_count - :open, " +
+            "last_entry_date = (SELECT MAX(r.entry_date) FROM repairs r WHERE r.vehicle_id = :vehicleId) " +
+            "WHERE vehicle_id = :vehicleId", nativeQuery = true)
+    int removeRepairFromHistory(@Param("vehicleId") Long vehicleId, @Param("repairCost") BigDecimal repairCost,
+                                @Param("open") int open);
+
+    // Recalcula el historial de un rango de vehículos a partir de la tabla de reparaciones
+    @Modifying(flushAutomatically = true)
+    @Transactional
+    @Query(value = "UPDATE vehicles v SET " +
+            "repair_count = (SELECT COUNT(*) FROM repairs r WHERE r.vehicle_id = v.vehicle_id), " +
+            "total_base_cost = (SELECT COALESCE(SUM(r.repair_cost), 0) FROM repairs r WHERE r.vehicle_id = v.vehicle_id), " +
+            "open_repair_count = (SELECT COUNT(*) FROM repairs r " +
+            "WHERE r.vehicle_id = v.vehicle_id AND r.customer_pickup_date IS NULL), " +
+            "last_entry_date = (SELECT MAX(r.entry_date) FROM repairs r WHERE r.vehicle_id = v.vehicle_id) " +
+            "WHERE v.vehicle_id > :afterId AND v.vehicle_id <= :upToId", nativeQuery = true)
+    int reconcileHistory(@Param("afterId") Long afterId, @Param("upToId") Long upToId);
+}
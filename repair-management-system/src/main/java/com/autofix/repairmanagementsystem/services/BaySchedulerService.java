@@ -0,0 +1,428 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.BayBookingDTO;
+import com.autofix.repairmanagementsystem.dto.BaySlotDTO;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.events.RepairChangedEvent;
+import com.autofix.repairmanagementsystem.repositories.JobCheckpointRepository;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import com.autofix.repairmanagementsystem.repositories.RowSeedRepository;
+import com.autofix.repairmanagementsystem.utils.IntervalTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Mantiene un árbol de intervalos por bahía con las estadías de las reparaciones (entrada a salida) para
+// responder huecos libres, trabajos en curso y primer hueco disponible sin recorrer todas las reparaciones.
+@Service
+public class BaySchedulerService {
+
+    // Prefijo de las filas de job_checkpoints que ordenan las asignaciones de cada bahía entre las réplicas
+    static final String ASSIGNMENT_GUARD_PREFIX = "bay-assignment-";
+
+    private static final Logger logger = LoggerFactory.getLogger(BaySchedulerService.class);
+
+    private final RepairRepository repairRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final RowSeedRepository rowSeedRepository;
+    private final int bayCount;
+    private final int historyDays;
+    private final Clock clock;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private List<IntervalTree<BayBookingDTO>> bays;
+    private Map<Long, BayBookingDTO> bookings = new HashMap<>();
+    // Reservas de esta réplica cuya transacción aún no termina: la lectura de la reconstrucción no las ve
+    private final Map<Long, BayBookingDTO> unconfirmed = new HashMap<>();
+    // Cambios ocurridos durante una reconstrucción, por reparación; null indica que la reparación ya no ocupa bahía
+    private Map<Long, BayBookingDTO> changedDuringRebuild;
+
+    @Autowired
+    public BaySchedulerService(RepairRepository repairRepository, JobCheckpointRepository jobCheckpointRepository,
+                               RowSeedRepository rowSeedRepository,
+                               @Value("${autofix.bays.count:4}") int bayCount,
+                               @Value("${autofix.bays.history-days:30}") int historyDays,
+                               Clock clock) {
+        this.repairRepository = repairRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.rowSeedRepository = rowSeedRepository;
+        this.bayCount = bayCount;
+        this.historyDays = historyDays;
+        this.clock = clock;
+        this.bays = emptyBays();
+    }
+
+    // Se reconstruye al arrancar y periódicamente para recoger las asignaciones hechas en las otras réplicas. Los
+    // árboles solo filtran de antemano: reserveBay confirma cada reserva contra la base de datos.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${autofix.bays.refresh-interval-ms:60000}",
+            fixedDelayString = "${autofix.bays.refresh-interval-ms:60000}")
+    public synchronized int rebuild() {
+        withWriteLock(() -> changedDuringRebuild = new HashMap<>());
+        try {
+            List<IntervalTree<BayBookingDTO>> freshBays = emptyBays();
+            Map<Long, BayBookingDTO> freshBookings = new HashMap<>();
+            for (BayBookingDTO booking : repairRepository.findBayBookingsFrom(LocalDate.now(clock).minusDays(historyDays))) {
+                if (booking.getBay() < 1 || booking.getBay() > bayCount) {
+                    logger.warn("Repair {} is booked on bay {}, outside the configured {} bays", booking.getRepairId(),
+                            booking.getBay(), bayCount);
+                    continue;
+                }
+                insert(freshBays, booking);
+                freshBookings.put(booking.getRepairId(), booking);
+            }
+
+            lock.writeLock().lock();
+            try {
+                for (BayBookingDTO booking : unconfirmed.values()) {
+                    replace(freshBays, freshBookings, booking.getRepairId(), booking);
+                }
+                for (Map.Entry<Long, BayBookingDTO> change : changedDuringRebuild.entrySet()) {
+                    replace(freshBays, freshBookings, change.getKey(), change.getValue());
+                }
+                bays = freshBays;
+                bookings = freshBookings;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Bay schedule rebuilt with {} bookings", freshBookings.size());
+            return freshBookings.size();
+        } finally {
+            withWriteLock(() -> changedDuringRebuild = null);
+        }
+    }
+
+    // Elige la bahía de una reparación antes de guardarla y la deja en repair.bay. Si trae bahía, esa bahía debe
+    // estar libre; si no, se prefiere la bahía anterior y luego la primera libre. Las réplicas no ven al instante las
+    // reservas de las demás: cada bahía tiene su registro bloqueado hasta el fin de la transacción y la elección se
+    // confirma en la base de datos. Los registros se toman en orden creciente de bahía (tras un choque solo se prueban
+    // bahías mayores), así dos asignaciones nunca se esperan en círculo.
+    public void reserveBay(RepairEntity repair, Integer preferredBay) {
+        long start = startOf(repair.getEntryDate(), repair.getEntryTime());
+        long end = endOf(start, repair.getExitDate(), repair.getExitTime());
+        Integer requestedBay = repair.getBay();
+        int firstBay = 1;
+        while (true) {
+            Integer bay;
+            lock.readLock().lock();
+            try {
+                bay = requestedBay != null ? requestedBay : findFreeBay(start, end, preferredBay, firstBay, repair.getRepairId());
+                if (bay == null || bay < firstBay || bay > bayCount || !isFree(bay, start, end, repair.getRepairId())) {
+                    throw new IllegalArgumentException(rejectionMessage(requestedBay, start, end));
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            lockAssignmentGuard(bay);
+            List<BayBookingDTO> conflicts = findStoredConflicts(bay, repair, start, end);
+            if (conflicts.isEmpty()) {
+                repair.setBay(bay);
+                return;
+            }
+            // Los árboles estaban desactualizados: se aprenden las reservas que chocan y se busca otra bahía
+            withWriteLock(() -> {
+                for (BayBookingDTO conflict : conflicts) {
+                    replace(bays, bookings, conflict.getRepairId(), conflict);
+                }
+            });
+            if (requestedBay != null) {
+                throw new IllegalArgumentException(rejectionMessage(requestedBay, start, end));
+            }
+            firstBay = bay + 1;
+        }
+    }
+
+    // Registra en los árboles la bahía ya reservada de una reparación guardada. Si la transacción se revierte, la
+    // planificación vuelve a su estado previo.
+    public void assignBay(RepairEntity repair) {
+        BayBookingDTO booking = new BayBookingDTO(repair.getRepairId(), repair.getBay(), repair.getEntryDate(),
+                repair.getEntryTime(), repair.getExitDate(), repair.getExitTime());
+        BayBookingDTO previous;
+        lock.writeLock().lock();
+        try {
+            previous = bookings.get(repair.getRepairId());
+            replace(bays, bookings, booking.getRepairId(), booking);
+            track(booking.getRepairId(), booking);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            withWriteLock(() -> unconfirmed.put(booking.getRepairId(), booking));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        rollback(booking, previous);
+                    } else {
+                        withWriteLock(() -> unconfirmed.remove(booking.getRepairId(), booking));
+                    }
+                }
+            });
+        }
+    }
+
+    private void lockAssignmentGuard(int bay) {
+        String guard = assignmentGuard(bay);
+        if (jobCheckpointRepository.findForUpdate(guard).isPresent()) {
+            return;
+        }
+        rowSeedRepository.seedJobCheckpoint(guard);
+        jobCheckpointRepository.findForUpdate(guard).orElseThrow(() -> new IllegalStateException(
+                "No existe el registro del proceso " + guard));
+    }
+
+    static String assignmentGuard(int bay) {
+        return ASSIGNMENT_GUARD_PREFIX + bay;
+    }
+
+    // Reservas guardadas en la bahía que se cruzan con la reparación, incluidas las de otras réplicas.
+    private List<BayBookingDTO> findStoredConflicts(int bay, RepairEntity repair, long start, long end) {
+        List<BayBookingDTO> conflicts = new ArrayList<>();
+        for (RepairEntity stored : repairRepository.findBayBookingsBetweenForShare(bay, repair.getRepairId(),
+                repair.getEntryDate(), repair.getExitDate())) {
+            long storedStart = startOf(stored.getEntryDate(), stored.getEntryTime());
+            if (storedStart < end && endOf(storedStart, stored.getExitDate(), stored.getExitTime()) > start) {
+                conflicts.add(new BayBookingDTO(stored.getRepairId(), stored.getBay(), stored.getEntryDate(),
+                        stored.getEntryTime(), stored.getExitDate(), stored.getExitTime()));
+            }
+        }
+        return conflicts;
+    }
+
+    // Se llama bajo el candado de lectura. La reserva actual de la misma reparación no cuenta como choque.
+    private boolean isFree(int bay, long start, long end, Long repairId) {
+        for (IntervalTree.Interval<BayBookingDTO> interval : bays.get(bay - 1).overlapping(start, end)) {
+            if (!interval.getValue().getRepairId().equals(repairId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Integer findFreeBay(long start, long end, Integer preferredBay, int firstBay, Long repairId) {
+        if (preferredBay != null && preferredBay >= firstBay && preferredBay <= bayCount
+                && isFree(preferredBay, start, end, repairId)) {
+            return preferredBay;
+        }
+        for (int bay = firstBay; bay <= bayCount; bay++) {
+            if (isFree(bay, start, end, repairId)) {
+                return bay;
+            }
+        }
+        return null;
+    }
+
+    private String rejectionMessage(Integer requestedBay, long start, long end) {
+        if (requestedBay == null) {
+            return "No hay bahías libres entre " + toDateTime(start) + " y " + toDateTime(end) + ".";
+        }
+        if (requestedBay < 1 || requestedBay > bayCount) {
+            return "La bahía debe estar entre 1 y " + bayCount + ".";
+        }
+        return "La bahía " + requestedBay + " ya está ocupada entre " + toDateTime(start) + " y " + toDateTime(end) + ".";
+    }
+
+    private void rollback(BayBookingDTO booking, BayBookingDTO previous) {
+        lock.writeLock().lock();
+        try {
+            unconfirmed.remove(booking.getRepairId(), booking);
+            if (bookings.remove(booking.getRepairId(), booking)) {
+                remove(bays, booking);
+            }
+            if (previous != null && !bookings.containsKey(previous.getRepairId())) {
+                insert(bays, previous);
+                bookings.put(previous.getRepairId(), previous);
+            }
+            track(booking.getRepairId(), bookings.get(booking.getRepairId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRepairChanged(RepairChangedEvent event) {
+        if (event.getCurrent() != null || event.getPrevious() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            BayBookingDTO booking = bookings.remove(event.getPrevious().getRepairId());
+            if (booking != null) {
+                remove(bays, booking);
+            }
+            track(event.getPrevious().getRepairId(), null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Se llama bajo el candado de escritura.
+    private void restore(BayBookingDTO previous) {
+        if (previous != null) {
+            insert(bays, previous);
+            bookings.put(previous.getRepairId(), previous);
+        }
+    }
+
+    // Se llama bajo el candado de escritura.
+    private void track(Long repairId, BayBookingDTO booking) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(repairId, booking);
+        }
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Huecos libres de una bahía, o de todas si bay es null, dentro de [from, to).
+    public List<BaySlotDTO> findFreeSlots(LocalDateTime from, LocalDateTime to, Integer bay) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("La fecha final debe ser posterior a la fecha inicial.");
+        }
+        validateBay(bay);
+        List<BaySlotDTO> slots = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (int current = 1; current <= bayCount; current++) {
+                if (bay != null && bay != current) {
+                    continue;
+                }
+                for (long[] slot : bays.get(current - 1).freeSlots(toMinutes(from), toMinutes(to))) {
+                    slots.add(new BaySlotDTO(current, toDateTime(slot[0]), toDateTime(slot[1])));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return slots;
+    }
+
+    // Reparaciones que ocupan alguna bahía en el instante indicado.
+    public List<BayBookingDTO> findJobsAt(LocalDateTime at) {
+        long minute = toMinutes(at);
+        List<BayBookingDTO> jobs = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (IntervalTree<BayBookingDTO> tree : bays) {
+                for (IntervalTree.Interval<BayBookingDTO> interval : tree.overlapping(minute, minute + 1)) {
+                    jobs.add(interval.getValue());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return jobs;
+    }
+
+    // Primer hueco de la duración pedida desde from, considerando todas las bahías.
+    public BaySlotDTO findEarliestSlot(LocalDateTime from, long durationMinutes) {
+        if (durationMinutes <= 0) {
+            throw new IllegalArgumentException("La duración debe ser mayor que cero.");
+        }
+        long start = toMinutes(from);
+        Integer bestBay = null;
+        long bestStart = Long.MAX_VALUE;
+        lock.readLock().lock();
+        try {
+            for (int bay = 1; bay <= bayCount; bay++) {
+                long candidate = bays.get(bay - 1).earliestGap(start, durationMinutes);
+                if (candidate < bestStart) {
+                    bestStart = candidate;
+                    bestBay = bay;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new BaySlotDTO(bestBay, toDateTime(bestStart), toDateTime(bestStart + durationMinutes));
+    }
+
+    public int getBayCount() {
+        return bayCount;
+    }
+
+    private void validateBay(Integer bay) {
+        if (bay != null && (bay < 1 || bay > bayCount)) {
+            throw new IllegalArgumentException("La bahía debe estar entre 1 y " + bayCount + ".");
+        }
+    }
+
+    private List<IntervalTree<BayBookingDTO>> emptyBays() {
+        List<IntervalTree<BayBookingDTO>> trees = new ArrayList<>(bayCount);
+        for (int bay = 0; bay < bayCount; bay++) {
+            trees.add(new IntervalTree<>());
+        }
+        return trees;
+    }
+
+    private static void insert(List<IntervalTree<BayBookingDTO>> trees, BayBookingDTO booking) {
+        long start = startOf(booking.getEntryDate(), booking.getEntryTime());
+        trees.get(booking.getBay() - 1).insert(start, endOf(start, booking.getExitDate(), booking.getExitTime()),
+                booking.getRepairId(), booking);
+    }
+
+    private static void remove(List<IntervalTree<BayBookingDTO>> trees, BayBookingDTO booking) {
+        trees.get(booking.getBay() - 1).remove(startOf(booking.getEntryDate(), booking.getEntryTime()), booking.getRepairId());
+    }
+
+    // Deja a la reparación con la reserva indicada, o sin ninguna si es null.
+    private void replace(List<IntervalTree<BayBookingDTO>> trees, Map<Long, BayBookingDTO> index, Long repairId,
+                         BayBookingDTO booking) {
+        BayBookingDTO current = index.remove(repairId);
+        if (current != null) {
+            remove(trees, current);
+        }
+        if (booking != null && booking.getBay() >= 1 && booking.getBay() <= bayCount) {
+            insert(trees, booking);
+            index.put(repairId, booking);
+        }
+    }
+
+    // Los instantes se manejan como minutos desde la época; la zona es irrelevante porque solo se comparan entre sí.
+    static long toMinutes(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    static LocalDateTime toDateTime(long minutes) {
+        return LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC);
+    }
+
+    static long startOf(LocalDate entryDate, LocalTime entryTime) {
+        return toMinutes(LocalDateTime.of(entryDate, entryTime == null ? LocalTime.MIDNIGHT : entryTime));
+    }
+
+    // Sin hora de salida, la reparación ocupa la bahía hasta el final del día de salida.
+    static long endOf(long start, LocalDate exitDate, LocalTime exitTime) {
+        long end = exitTime == null
+                ? toMinutes(exitDate.plusDays(1).atStartOfDay())
+                : toMinutes(LocalDateTime.of(exitDate, exitTime));
+        return Math.max(end, start + 1);
+    }
+}
@@ -1,5 +1,6 @@
 package com.autofix.repairmanagementsystem.services;
 
+import com.autofix.repairmanagementsystem.config.Timed;
 import com.autofix.repairmanagementsystem.entities.BonusEntity;
 import com.autofix.repairmanagementsystem.entities.VehicleEntity;
 import com.autofix.repairmanagementsystem.repositories.BonusRepository;
@@ -77,6 +78,7 @@ public class BonusService {
         bonus.setVehicle(vehicle);
         return bonusRepository.save(bonus);
     }
+    @Timed("pricing.bonus")
     public BigDecimal calculateBonusForVehicle(Long vehicleId) {
         Optional<BonusEntity> bonus = bonusRepository.findByVehicle_VehicleId(vehicleId);
         if (bonus.isPresent()) {
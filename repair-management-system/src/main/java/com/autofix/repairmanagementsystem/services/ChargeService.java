@@ -1,27 +1,42 @@
 package com.autofix.repairmanagementsystem.services;
 
+import com.autofix.repairmanagementsystem.config.Timed;
 import com.autofix.repairmanagementsystem.entities.ChargeEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
 import com.autofix.repairmanagementsystem.repositories.ChargeRepository;
 import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
+import com.autofix.repairmanagementsystem.utils.DateBucketCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.Year;
+import java.time.Clock;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class ChargeService {
 
+    // Sedán y hatchback comparten recargos; SUV, pickup y furgoneta usan la tabla de vehículos utilitarios
+    private static final BigDecimal[] PASSENGER_MILEAGE_CHARGES = percentages("0.0", "3.0", "7.0", "12.0", "20.0");
+    private static final BigDecimal[] UTILITY_MILEAGE_CHARGES = percentages("0.0", "5.0", "9.0", "12.0", "20.0");
+    private static final BigDecimal[] PASSENGER_ANTIQUITY_CHARGES = percentages("0.0", "5.0", "9.0", "15.0");
+    private static final BigDecimal[] UTILITY_ANTIQUITY_CHARGES = percentages("0.0", "7.0", "11.0", "20.0");
+
     private final ChargeRepository chargeRepository;
     private final VehicleRepository vehicleRepository;
+    private final Clock clock;
+    // Tramo de antigüedad por año de fabricación; solo cambia con la fecha, así que se memoriza por día
+    private final DateBucketCache<Integer, Integer> antiquityTiers;
 
     @Autowired
-    public ChargeService(ChargeRepository chargeRepository, VehicleRepository vehicleRepository) {
+    public ChargeService(ChargeRepository chargeRepository, VehicleRepository vehicleRepository, Clock clock) {
         this.chargeRepository = chargeRepository;
         this.vehicleRepository = vehicleRepository;
+        this.clock = clock;
+        this.antiquityTiers = new DateBucketCache<>(clock);
     }
 
     @Transactional
@@ -53,142 +68,93 @@ public class ChargeService {
         chargeRepository.deleteById(id);
     }
 
+    @Timed("pricing.charges")
     public BigDecimal determineMileageChargePercentage(Long vehicleId) {
-        Integer mileage = vehicleRepository.findById(vehicleId)
-                .orElseThrow(() -> new RuntimeException("Vehículo no encontrado con el ID: " + vehicleId))
-                .getMileage();
-        String vehicleType = vehicleRepository.findById(vehicleId)
-                .orElseThrow(() -> new RuntimeException("Vehículo no encontrado con el ID: " + vehicleId))
-                .getType();
-        BigDecimal mileageChargePercentage = BigDecimal.ZERO;
-
-        if (vehicleType.equalsIgnoreCase("Sedan")) {
-            if (mileage >= 0 && mileage <= 5000) {
-                mileageChargePercentage = new BigDecimal("0.0");
-            } else if (mileage >= 5001 && mileage <= 12000) {
-                mileageChargePercentage = new BigDecimal("3.0");
-            } else if (mileage >= 12001 && mileage <= 25000) {
-                mileageChargePercentage = new BigDecimal("7.0");
-            } else if (mileage >= 25001 && mileage <= 40000) {
-                mileageChargePercentage = new BigDecimal("12.0");
-            } else if (mileage >= 40000) {
-                mileageChargePercentage = new BigDecimal("20.0");
-            }
-
-        } else if (vehicleType.equalsIgnoreCase("Hatchback")) {
-            if (mileage >= 0 && mileage <= 5000) {
-                mileageChargePercentage = new BigDecimal("0.0");
-            } else if (mileage >= 5001 && mileage <= 12000) {
-                mileageChargePercentage = new BigDecimal("3.0");
-            } else if (mileage >= 12001 && mileage <= 25000) {
-                mileageChargePercentage = new BigDecimal("7.0");
-            } else if (mileage >= 25001 && mileage <= 40000) {
-                mileageChargePercentage = new BigDecimal("12.0");
-            } else if (mileage >= 40000) {
-                mileageChargePercentage = new BigDecimal("20.0");
-            }
-        } else if (vehicleType.equalsIgnoreCase("SUV")) {
-            if (mileage >= 0 && mileage <= 5000) {
-                mileageChargePercentage = new BigDecimal("0.0");
-            } else if (mileage >= 5001 && mileage <= 12000) {
-                mileageChargePercentage = new BigDecimal("5.0");
-            } else if (mileage >= 12001 && mileage <= 25000) {
-                mileageChargePercentage = new BigDecimal("9.0");
-            } else if (mileage >= 25001 && mileage <= 40000) {
-                mileageChargePercentage = new BigDecimal("12.0");
-            } else if (mileage >= 40000) {
-                mileageChargePercentage = new BigDecimal("20.0");
-            }
-        } else if (vehicleType.equalsIgnoreCase("Pickup")) {
-            if (mileage >= 0 && mileage <= 5000) {
-                mileageChargePercentage = new BigDecimal("0.0");
-            } else if (mileage >= 5001 && mileage <= 12000) {
-                mileageChargePercentage = new BigDecimal("5.0");
-            } else if (mileage >= 12001 && mileage <= 25000) {
-                mileageChargePercentage = new BigDecimal("9.0");
-            } else if (mileage >= 25001 && mileage <= 40000) {
-                mileageChargePercentage = new BigDecimal("12.0");
-            } else if (mileage >= 40000) {
-                mileageChargePercentage = new BigDecimal("20.0");
-            }
-        } else if (vehicleType.equalsIgnoreCase("Furgoneta")) {
-            if (mileage >= 0 && mileage <= 5000) {
-                mileageChargePercentage = new BigDecimal("0.0");
-            } else if (mileage >= 5001 && mileage <= 12000) {
-                mileageChargePercentage = new BigDecimal("5.0");
-            } else if (mileage >= 12001 && mileage <= 25000) {
-                mileageChargePercentage = new BigDecimal("9.0");
-            } else if (mileage >= 25001 && mileage <= 40000) {
-                mileageChargePercentage = new BigDecimal("12.0");
-            } else if (mileage >= 40000) {
-                mileageChargePercentage = new BigDecimal("20.0");
-            }
+        VehicleEntity vehicle = vehicleRepository.findById(vehicleId)
+                .orElseThrow(() -> new RuntimeException("Vehículo no encontrado con el ID: " + vehicleId));
+        return mileageChargePercentage(vehicle.getType(), vehicle.getMileage());
+    }
+
+    public BigDecimal mileageChargePercentage(VehicleEntity.VehicleType type, int mileage) {
+        if (mileage < 0) {
+            return BigDecimal.ZERO;
+        }
+
+        // Tramos de kilometraje: 0-5.000, 5.001-12.000, 12.001-25.000, 25.001-40.000 y más de 40.000
+        int tier;
+        if (mileage <= 5000) {
+            tier = 0;
+        } else if (mileage <= 12000) {
+            tier = 1;
+        } else if (mileage <= 25000) {
+            tier = 2;
+        } else if (mileage <= 40000) {
+            tier = 3;
+        } else {
+            tier = 4;
+        }
+
+        switch (type) {
+            case SEDAN:
+            case HATCHBACK:
+                return PASSENGER_MILEAGE_CHARGES[tier];
+            case SUV:
+            case PICKUP:
+            case VAN:
+                return UTILITY_MILEAGE_CHARGES[tier];
+            default:
+                return BigDecimal.ZERO;
         }
-        return mileageChargePercentage;
     }
 
+    @Timed("pricing.charges")
     public BigDecimal determineAntiquityChargePercentage(Long vehicleId) {
-        Integer manufactureYear = vehicleRepository.findById(vehicleId)
-                .orElseThrow(() -> new RuntimeException("Vehículo no encontrado con el ID: " + vehicleId))
-                .getManufactureYear();
-        String vehicleType = vehicleRepository.findById(vehicleId)
-                .orElseThrow(() -> new RuntimeException("Vehículo no encontrado con el ID: " + vehicleId))
-                .getType();
-        int currentYear = Year.now().getValue();
-        int vehicleAge = currentYear - manufactureYear;
-        BigDecimal antiquityChargePercentage = BigDecimal.ZERO;
-
-        if (vehicleType.equalsIgnoreCase("Sedan")) {
-            if (vehicleAge >= 0 && vehicleAge <= 5) {
-                antiquityChargePercentage = new BigDecimal("0.0");
-            } else if (vehicleAge >= 6 && vehicleAge <= 10) {
-                antiquityChargePercentage = new BigDecimal("5.0");
-            } else if (vehicleAge >= 11 && vehicleAge <= 15) {
-                antiquityChargePercentage = new BigDecimal("9.0");
-            } else if (vehicleAge >= 16) {
-                antiquityChargePercentage = new BigDecimal("15.0");
-            }
-        } else if (vehicleType.equalsIgnoreCase("Hatchback")) {
-            if (vehicleAge >= 0 && vehicleAge <= 5) {
-                antiquityChargePercentage = new BigDecimal("0.0");
-            } else if (vehicleAge >= 6 && vehicleAge <= 10) {
-                antiquityChargePercentage = new BigDecimal("5.0");
-            } else if (vehicleAge >= 11 && vehicleAge <= 15) {
-                antiquityChargePercentage = new BigDecimal("9.0");
-            } else if (vehicleAge >= 16) {
-                antiquityChargePercentage = new BigDecimal("15.0");
-            }
-        } else if (vehicleType.equalsIgnoreCase("SUV")) {
-            if (vehicleAge >= 0 && vehicleAge <= 5) {
-                antiquityChargePercentage = new BigDecimal("0.0");
-            } else if (vehicleAge >= 6 && vehicleAge <= 10) {
-                antiquityChargePercentage = new BigDecimal("7.0");
-            } else if (vehicleAge >= 11 && vehicleAge <= 15) {
-                antiquityChargePercentage = new BigDecimal("11.0");
-            } else if (vehicleAge >= 16) {
-                antiquityChargePercentage = new BigDecimal("20.0");
-            }
-        } else if (vehicleType.equalsIgnoreCase("Pickup")) {
-            if (vehicleAge >= 0 && vehicleAge <= 5) {
-                antiquityChargePercentage = new BigDecimal("0.0");
-            } else if (vehicleAge >= 6 && vehicleAge <= 10) {
-                antiquityChargePercentage = new BigDecimal("7.0");
-            } else if (vehicleAge >= 11 && vehicleAge <= 15) {
-                antiquityChargePercentage = new BigDecimal("11.0");
-            } else if (vehicleAge >= 16) {
-                antiquityChargePercentage = new BigDecimal("20.0");
-            }
-        } else if (vehicleType.equalsIgnoreCase("Furgoneta")) {
-            if (vehicleAge >= 0 && vehicleAge <= 5) {
-                antiquityChargePercentage = new BigDecimal("0.0");
-            } else if (vehicleAge >= 6 && vehicleAge <= 10) {
-                antiquityChargePercentage = new BigDecimal("7.0");
-            } else if (vehicleAge >= 11 && vehicleAge <= 15) {
-                antiquityChargePercentage = new BigDecimal("11.0");
-            } else if (vehicleAge >= 16) {
-                antiquityChargePercentage = new BigDecimal("20.0");
-            }
+        return determineAntiquityChargePercentage(vehicleId, LocalDate.now(clock));
+    }
+
+    // Recargo por antigüedad que correspondía en la fecha indicada.
+    @Timed("pricing.charges")
+    public BigDecimal determineAntiquityChargePercentage(Long vehicleId, LocalDate asOf) {
+        VehicleEntity vehicle = vehicleRepository.findById(vehicleId)
+                .orElseThrow(() -> new RuntimeException("Vehículo no encontrado con el ID: " + vehicleId));
+        int tier = antiquityTiers.get(asOf, vehicle.getManufactureYear(),
+                (date, year) -> antiquityTier(date.getYear() - year));
+        if (tier < 0) {
+            return BigDecimal.ZERO;
+        }
+
+        switch (vehicle.getType()) {
+            case SEDAN:
+            case HATCHBACK:
+                return PASSENGER_ANTIQUITY_CHARGES[tier];
+            case SUV:
+            case PICKUP:
+            case VAN:
+                return UTILITY_ANTIQUITY_CHARGES[tier];
+            default:
+                return BigDecimal.ZERO;
+        }
+    }
+
+    // Tramos de antigüedad: 0-5, 6-10, 11-15 y 16 o más años; -1 si el año de fabricación es posterior
+    private static int antiquityTier(int vehicleAge) {
+        if (vehicleAge < 0) {
+            return -1;
+        } else if (vehicleAge <= 5) {
+            return 0;
+        } else if (vehicleAge <= 10) {
+            return 1;
+        } else if (vehicleAge <= 15) {
+            return 2;
+        }
+        return 3;
+    }
+
+    private static BigDecimal[] percentages(String... values) {
+        BigDecimal[] percentages = new BigDecimal[values.length];
+        for (int i = 0; i < values.length; i++) {
+            percentages[i] = new BigDecimal(values[i]);
         }
-        return antiquityChargePercentage;
+        return percentages;
     }
 }
\ No newline at end of file
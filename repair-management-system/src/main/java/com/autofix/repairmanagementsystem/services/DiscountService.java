@@ -1,13 +1,18 @@
 package com.autofix.repairmanagementsystem.services;
 
+import com.autofix.repairmanagementsystem.config.Timed;
 import com.autofix.repairmanagementsystem.entities.DiscountEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleHistory;
 import com.autofix.repairmanagementsystem.repositories.DiscountRepository;
 import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import com.autofix.repairmanagementsystem.utils.DateBucketCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -15,14 +20,24 @@ import java.util.Optional;
 @Service
 public class DiscountService {
 
+    private static final BigDecimal[] GASOLINE_DISCOUNTS = percentages("5", "10", "15", "20");
+    private static final BigDecimal[] DIESEL_DISCOUNTS = percentages("7", "12", "17", "22");
+    private static final BigDecimal[] HYBRID_DISCOUNTS = percentages("10", "15", "20", "25");
+    private static final BigDecimal[] ELECTRIC_DISCOUNTS = percentages("8", "13", "18", "23");
+    private static final int REPAIR_COUNT_WINDOW_MONTHS = 12;
+
     private final DiscountRepository discountRepository;
     private final RepairRepository repairRepository;
-
+    private final Clock clock;
+    // Inicio del periodo del descuento por número de reparaciones; solo cambia con la fecha, así que se memoriza por día
+    private final DateBucketCache<Integer, LocalDate> windowStarts;
 
     @Autowired
-    public DiscountService(DiscountRepository discountRepository, RepairRepository repairRepository) {
+    public DiscountService(DiscountRepository discountRepository, RepairRepository repairRepository, Clock clock) {
         this.discountRepository = discountRepository;
         this.repairRepository = repairRepository;
+        this.clock = clock;
+        this.windowStarts = new DateBucketCache<>(clock);
     }
 
     @Transactional
@@ -56,54 +71,86 @@ public class DiscountService {
         discountRepository.delete(discount);
     }
 
-    public BigDecimal determineDiscountPercentage(Long vehicleId, String engineType) {
-        LocalDate startDate = LocalDate.now().minusMonths(12);
-        Long repairCount = repairRepository.countRepairsByVehicleIdAndDateRange(vehicleId, startDate);
-
-        BigDecimal discountPercentage = BigDecimal.ZERO;
-
-        if (engineType.equalsIgnoreCase("GASOLINE")) {
-            if (repairCount >= 1 && repairCount <= 2) {
-                discountPercentage = new BigDecimal("5");
-            } else if (repairCount >= 3 && repairCount <= 5) {
-                discountPercentage = new BigDecimal("10");
-            } else if (repairCount >= 6 && repairCount <= 9) {
-                discountPercentage = new BigDecimal("15");
-            } else if (repairCount >= 10) {
-                discountPercentage = new BigDecimal("20");
-            }
-        } else if (engineType.equalsIgnoreCase("DIESEL")) {
-            if (repairCount >= 1 && repairCount <= 2) {
-                discountPercentage = new BigDecimal("7");
-            } else if (repairCount >= 3 && repairCount <= 5) {
-                discountPercentage = new BigDecimal("12");
-            } else if (repairCount >= 6 && repairCount <= 9) {
-                discountPercentage = new BigDecimal("17");
-            } else if (repairCount >= 10) {
-                discountPercentage = new BigDecimal("22");
+    // Con el historial del vehículo se omite la consulta cuando el número de reparaciones del último año no puede
+    // cambiar el tramo: sin ingresos en el periodo, o con un total histórico en el mismo tramo que una sola reparación.
+    @Timed("pricing.discounts")
+    public BigDecimal determineDiscountPercentage(VehicleEntity vehicle) {
+        VehicleHistory history = vehicle.getHistory();
+        if (history != null) {
+            LocalDate startDate = repairCountWindowStart();
+            if (history.getRepairCount() == 0 || history.getLastEntryDate() == null
+                    || history.getLastEntryDate().isBefore(startDate)) {
+                return discountForRepairCount(vehicle.getEngineType(), 0L);
             }
-        } else if (engineType.equalsIgnoreCase("HYBRID")) {
-            if (repairCount >= 1 && repairCount <= 2) {
-                discountPercentage = new BigDecimal("10");
-            } else if (repairCount >= 3 && repairCount <= 5) {
-                discountPercentage = new BigDecimal("15");
-            } else if (repairCount >= 6 && repairCount <= 9) {
-                discountPercentage = new BigDecimal("20");
-            } else if (repairCount >= 10) {
-                discountPercentage = new BigDecimal("25");
-            }
-        } else if (engineType.equalsIgnoreCase("ELECTRIC")) {
-            if (repairCount >= 1 && repairCount <= 2) {
-                discountPercentage = new BigDecimal("8");
-            } else if (repairCount >= 3 && repairCount <= 5) {
-                discountPercentage = new BigDecimal("13");
-            } else if (repairCount >= 6 && repairCount <= 9) {
-                discountPercentage = new BigDecimal("18");
-            } else if (repairCount >= 10) {
-                discountPercentage = new BigDecimal("23");
+            BigDecimal singleRepairDiscount = discountForRepairCount(vehicle.getEngineType(), 1L);
+            if (singleRepairDiscount.compareTo(discountForRepairCount(vehicle.getEngineType(), history.getRepairCount())) == 0) {
+                return singleRepairDiscount;
             }
         }
+        return determineDiscountPercentage(vehicle.getVehicleId(), vehicle.getEngineType());
+    }
+
+    @Timed("pricing.discounts")
+    public BigDecimal determineDiscountPercentage(Long vehicleId, VehicleEntity.EngineType engineType) {
+        Long repairCount = repairRepository.countRepairsByVehicleIdAndDateRange(vehicleId, repairCountWindowStart());
+        return discountForRepairCount(engineType, repairCount);
+    }
+
+    // Descuento que correspondía en la fecha indicada: cuenta las reparaciones de los 12 meses anteriores a ella.
+    // El historial del vehículo refleja el presente, por lo que aquí no sirve para omitir la consulta.
+    @Timed("pricing.discounts")
+    public BigDecimal determineDiscountPercentage(VehicleEntity vehicle, LocalDate asOf) {
+        if (asOf.equals(LocalDate.now(clock))) {
+            return determineDiscountPercentage(vehicle);
+        }
+        Long repairCount = repairRepository.countRepairsByVehicleIdBetween(vehicle.getVehicleId(),
+                repairCountWindowStart(asOf), asOf);
+        return discountForRepairCount(vehicle.getEngineType(), repairCount);
+    }
+
+    // Primer día de los 12 meses que cuenta el descuento por número de reparaciones.
+    public LocalDate repairCountWindowStart() {
+        return windowStarts.get(REPAIR_COUNT_WINDOW_MONTHS, (date, months) -> date.minusMonths(months));
+    }
+
+    public LocalDate repairCountWindowStart(LocalDate asOf) {
+        return windowStarts.get(asOf, REPAIR_COUNT_WINDOW_MONTHS, (date, months) -> date.minusMonths(months));
+    }
+
+    public BigDecimal discountForRepairCount(VehicleEntity.EngineType engineType, Long repairCount) {
+        // Tramos por número de reparaciones del último año: 1-2, 3-5, 6-9 y 10 o más
+        int tier;
+        if (repairCount >= 10) {
+            tier = 3;
+        } else if (repairCount >= 6) {
+            tier = 2;
+        } else if (repairCount >= 3) {
+            tier = 1;
+        } else if (repairCount >= 1) {
+            tier = 0;
+        } else {
+            return BigDecimal.ZERO;
+        }
 
-        return discountPercentage;
+        switch (engineType) {
+            case GASOLINE:
+                return GASOLINE_DISCOUNTS[tier];
+            case DIESEL:
+                return DIESEL_DISCOUNTS[tier];
+            case HYBRID:
+                return HYBRID_DISCOUNTS[tier];
+            case ELECTRIC:
+                return ELECTRIC_DISCOUNTS[tier];
+            default:
+                return BigDecimal.ZERO;
+        }
+    }
+
+    private static BigDecimal[] percentages(String... values) {
+        BigDecimal[] percentages = new BigDecimal[values.length];
+        for (int i = 0; i < values.length; i++) {
+            percentages[i] = new BigDecimal(values[i]);
+        }
+        return percentages;
     }
 }
\ No newline at end of file
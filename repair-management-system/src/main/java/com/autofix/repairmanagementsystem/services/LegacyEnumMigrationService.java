@@ -0,0 +1,106 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.entities.CodedEnum;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.List;
+
+// Migra los tipos de vehículo, tipos de motor y estados de reparación guardados como texto libre a los códigos
+// cortos de sus enumeraciones, y en MySQL reduce el ancho de las columnas. Es idempotente y se ejecuta al arrancar,
+// antes de que los servicios en memoria lean las tablas.
+@Service
+public class LegacyEnumMigrationService implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LegacyEnumMigrationService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RepairRollupService repairRollupService;
+
+    @Autowired
+    public LegacyEnumMigrationService(JdbcTemplate jdbcTemplate, RepairRollupService repairRollupService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.repairRollupService = repairRollupService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int migrated = normalizeColumn("vehicles", "type", VehicleEntity.VehicleType.class, VehicleEntity.VehicleType.OTHER)
+                + normalizeColumn("vehicles", "engine_type", VehicleEntity.EngineType.class, VehicleEntity.EngineType.OTHER)
+                + normalizeColumn("repairs", "status", RepairEntity.Status.class, RepairEntity.Status.OTHER);
+        // Al unificar valores dos filas del resumen diario podrían coincidir, así que se reconstruye completo
+        if (hasLegacyValues("repair_daily_rollups", "engine_type", VehicleEntity.EngineType.class)) {
+            repairRollupService.rebuildRollups();
+        }
+        narrowColumn("vehicles", "type", false);
+        narrowColumn("vehicles", "engine_type", false);
+        narrowColumn("repairs", "status", true);
+        narrowColumn("repair_daily_rollups", "engine_type", false);
+        if (migrated > 0) {
+            logger.info("Migrated {} legacy enum values to compact codes", migrated);
+        }
+    }
+
+    // Reemplaza cada valor distinto que no sea un código; lo que no se reconoce queda como OTHER.
+    <E extends Enum<E> & CodedEnum> int normalizeColumn(String table, String column, Class<E> type, E fallback) {
+        int migrated = 0;
+        for (String value : distinctValues(table, column)) {
+            if (value == null || CodedEnum.fromCode(type, value) != null) {
+                continue;
+            }
+            E parsed;
+            try {
+                parsed = CodedEnum.parse(type, value);
+            } catch (IllegalArgumentException e) {
+                parsed = null;
+            }
+            if (parsed == null) {
+                logger.warn("Unrecognized {}.{} value '{}' migrated as {}", table, column, value, fallback);
+                parsed = fallback;
+            }
+            migrated += jdbcTemplate.update("UPDATE " + table + " SET " + column + " = ? WHERE " + column + " = ?",
+                    parsed.getCode(), value);
+        }
+        return migrated;
+    }
+
+    <E extends Enum<E> & CodedEnum> boolean hasLegacyValues(String table, String column, Class<E> type) {
+        for (String value : distinctValues(table, column)) {
+            if (value != null && CodedEnum.fromCode(type, value) == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<String> distinctValues(String table, String column) {
+        return jdbcTemplate.queryForList("SELECT DISTINCT " + column + " FROM " + table, String.class);
+    }
+
+    // ddl-auto=update no reduce columnas existentes; en MySQL se ajustan al ancho de un código.
+    private void narrowColumn(String table, String column, boolean nullable) {
+        Boolean wide = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            if (!"MySQL".equals(metaData.getDatabaseProductName())) {
+                return false;
+            }
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, table, column)) {
+                return columns.next() && columns.getInt("COLUMN_SIZE") > 1;
+            }
+        });
+        if (Boolean.TRUE.equals(wide)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " MODIFY " + column + " VARCHAR(1)" + (nullable ? " NULL" : " NOT NULL"));
+            logger.info("Narrowed column {}.{} to a single-character code", table, column);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.MetricDTO;
+import com.autofix.repairmanagementsystem.utils.ConcurrentHistogram;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Registro de métricas en memoria de la réplica: temporizadores y distribuciones con histograma, e indicadores
+// que se leen al consultar. Los valores se acumulan desde el arranque; quien los recoge calcula las tasas.
+@Service
+public class MetricsService {
+
+    public static final String TIMER = "timer";
+    public static final String DISTRIBUTION = "distribution";
+    public static final String GAUGE = "gauge";
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String[] QUANTILES = {"0.5", "0.9", "0.99", "0.999"};
+
+    private final Map<String, Meter> meters = new ConcurrentSkipListMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+
+    public static final class Meter {
+        private final String name;
+        private final String type;
+        private final Map<String, String> tags;
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        private Meter(String name, String type, Map<String, String> tags) {
+            this.name = name;
+            this.type = type;
+            this.tags = tags;
+        }
+
+        // Los temporizadores reciben nanosegundos y guardan microsegundos.
+        public void record(long value) {
+            histogram.record(TIMER.equals(type) ? TimeUnit.NANOSECONDS.toMicros(value) : value);
+        }
+
+        public void record(long value, boolean error) {
+            record(value);
+            if (error) {
+                errors.increment();
+            }
+        }
+
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public ConcurrentHistogram getHistogram() {
+            return histogram;
+        }
+    }
+
+    private static final class Gauge {
+        private final String name;
+        private final Map<String, String> tags;
+        private final LongSupplier supplier;
+
+        private Gauge(String name, Map<String, String> tags, LongSupplier supplier) {
+            this.name = name;
+            this.tags = tags;
+            this.supplier = supplier;
+        }
+    }
+
+    // Las etiquetas se pasan como pares clave, valor. Conviene guardar el Meter devuelto en vez de pedirlo
+    // en cada medición.
+    public Meter timer(String name, String... tags) {
+        return meter(name, TIMER, tags);
+    }
+
+    public Meter distribution(String name, String... tags) {
+        return meter(name, DISTRIBUTION, tags);
+    }
+
+    public void gauge(String name, LongSupplier supplier, String... tags) {
+        Map<String, String> tagMap = toTags(tags);
+        gauges.put(id(name, tagMap), new Gauge(name, tagMap, supplier));
+    }
+
+    private Meter meter(String name, String type, String... tags) {
+        Map<String, String> tagMap = toTags(tags);
+        Meter meter = meters.computeIfAbsent(id(name, tagMap), id -> new Meter(name, type, tagMap));
+        if (!meter.type.equals(type)) {
+            throw new IllegalArgumentException("La métrica " + name + " ya está registrada como " + meter.type + ".");
+        }
+        return meter;
+    }
+
+    public List<MetricDTO> snapshot() {
+        List<MetricDTO> metrics = new ArrayList<>();
+        for (Meter meter : meters.values()) {
+            ConcurrentHistogram histogram = meter.histogram;
+            double scale = TIMER.equals(meter.type) ? 1000.0 : 1.0;
+            long count = histogram.getCount();
+            metrics.add(new MetricDTO(meter.name, meter.type, meter.tags, count, meter.getErrors(),
+                    count == 0 ? 0 : histogram.getSum() / scale / count, histogram.getMax() / scale,
+                    histogram.valueAtPercentile(50) / scale, histogram.valueAtPercentile(99) / scale,
+                    histogram.valueAtPercentile(99.9) / scale, 0));
+        }
+        for (Gauge gauge : new TreeMap<>(gauges).values()) {
+            metrics.add(new MetricDTO(gauge.name, GAUGE, gauge.tags, 0, 0, 0, 0, 0, 0, 0,
+                    gauge.supplier.getAsLong()));
+        }
+        return metrics;
+    }
+
+    // Formato de texto de Prometheus: temporizadores y distribuciones como summary (cuantiles, _sum y _count), con
+    // los tiempos en segundos, seguidos de su máximo (_max) y sus errores (_errors_total); los indicadores como gauge.
+    public String scrape() {
+        Map<String, List<Meter>> families = new TreeMap<>();
+        for (Meter meter : meters.values()) {
+            String name = sanitize(meter.name) + (TIMER.equals(meter.type) ? "_seconds" : "");
+            families.computeIfAbsent(name, key -> new ArrayList<>()).add(meter);
+        }
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, List<Meter>> family : families.entrySet()) {
+            String name = family.getKey();
+            out.append("# TYPE ").append(name).append(" summary\n");
+            for (Meter meter : family.getValue()) {
+                ConcurrentHistogram histogram = meter.histogram;
+                double scale = scrapeScale(meter);
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    appendSample(out, name, meter.tags, QUANTILES[i],
+                            histogram.valueAtPercentile(PERCENTILES[i]) / scale);
+                }
+                appendSample(out, name + "_sum", meter.tags, null, histogram.getSum() / scale);
+                appendSample(out, name + "_count", meter.tags, null, histogram.getCount());
+            }
+            out.append("# TYPE ").append(name).append("_max gauge\n");
+            for (Meter meter : family.getValue()) {
+                appendSample(out, name + "_max", meter.tags, null, meter.histogram.getMax() / scrapeScale(meter));
+            }
+            out.append("# TYPE ").append(name).append("_errors_total counter\n");
+            for (Meter meter : family.getValue()) {
+                appendSample(out, name + "_errors_total", meter.tags, null, meter.getErrors());
+            }
+        }
+        String previousName = null;
+        for (Gauge gauge : new TreeMap<>(gauges).values()) {
+            String name = sanitize(gauge.name);
+            if (!name.equals(previousName)) {
+                out.append("# TYPE ").append(name).append(" gauge\n");
+                previousName = name;
+            }
+            appendSample(out, name, gauge.tags, null, gauge.supplier.getAsLong());
+        }
+        return out.toString();
+    }
+
+    private static double scrapeScale(Meter meter) {
+        return TIMER.equals(meter.type) ? 1_000_000.0 : 1.0;
+    }
+
+    private static void appendSample(StringBuilder out, String name, Map<String, String> tags, String quantile,
+                                     double value) {
+        out.append(name);
+        if (!tags.isEmpty() || quantile != null) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<String, String> tag : tags.entrySet()) {
+                first = appendLabel(out, first, tag.getKey(), tag.getValue());
+            }
+            if (quantile != null) {
+                appendLabel(out, first, "quantile", quantile);
+            }
+            out.append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static boolean appendLabel(StringBuilder out, boolean first, String key, String value) {
+        if (!first) {
+            out.append(',');
+        }
+        out.append(sanitize(key)).append("=\"")
+                .append(value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n")).append('"');
+        return false;
+    }
+
+    private static String sanitize(String name) {
+        return name.replaceAll("[^a-zA-Z0-9_]", "_");
+    }
+
+    private static Map<String, String> toTags(String... tags) {
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Las etiquetas deben venir en pares clave, valor.");
+        }
+        Map<String, String> tagMap = new TreeMap<>();
+        for (int i = 0; i < tags.length; i += 2) {
+            tagMap.put(tags[i], tags[i + 1] == null ? "" : tags[i + 1]);
+        }
+        return Collections.unmodifiableMap(tagMap);
+    }
+
+    private static String id(String name, Map<String, String> tags) {
+        return name + tags;
+    }
+}
@@ -0,0 +1,171 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.entities.JobCheckpointEntity;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.repositories.JobCheckpointRepository;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Proceso nocturno que guarda en cada reparación no retirada el recargo por retraso acumulado a la fecha, para que
+// las boletas solo sumen los días transcurridos desde entonces. Recorre las reparaciones por lotes de ID creciente
+// y guarda el último ID procesado en job_checkpoints, así que una réplica que cae a mitad de camino (o la que toma
+// el candado vencido) retoma desde ese punto. El candado con vencimiento asegura que corra en una sola réplica.
+@Service
+public class PickupDelaySnapshotService {
+
+    public static final String JOB_NAME = "pickup-delay-snapshot";
+
+    private static final Logger logger = LoggerFactory.getLogger(PickupDelaySnapshotService.class);
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    private final RepairRepository repairRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final RepairService repairService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Clock clock;
+    private final String instanceId;
+
+    @Autowired
+    public PickupDelaySnapshotService(RepairRepository repairRepository,
+                                      JobCheckpointRepository jobCheckpointRepository,
+                                      RepairService repairService,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${autofix.pickup-delay.chunk-size:500}") int chunkSize,
+                                      Clock clock) {
+        this.repairRepository = repairRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.repairService = repairService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.clock = clock;
+        this.instanceId = hostName() + "-" + UUID.randomUUID();
+    }
+
+    @Scheduled(cron = "${autofix.pickup-delay.snapshot-cron:0 15 2 * * *}")
+    public void runNightly() {
+        run(LocalDate.now(clock));
+    }
+
+    // Si una réplica cayó con el proceso a medias, la primera que arranque lo termina con su fecha original.
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        jobCheckpointRepository.findById(JOB_NAME)
+                .filter(checkpoint -> !checkpoint.isCompleted() && checkpoint.getRunDate() != null)
+                .ifPresent(checkpoint -> run(checkpoint.getRunDate()));
+    }
+
+    // Devuelve cuántas reparaciones se actualizaron; 0 si otra réplica tiene el candado o ya se corrió para asOf.
+    public int run(LocalDate asOf) {
+        ensureCheckpoint();
+        if (jobCheckpointRepository.acquireLock(JOB_NAME, instanceId, LocalDateTime.now(clock), leaseUntil()) == 0) {
+            logger.info("Pickup delay snapshot is running on another instance, skipping");
+            return 0;
+        }
+        try {
+            JobCheckpointEntity checkpoint = jobCheckpointRepository.findById(JOB_NAME)
+                    .orElseThrow(() -> new IllegalStateException("No existe el registro del proceso " + JOB_NAME));
+            LocalDate runDate = checkpoint.getRunDate();
+            long lastId = checkpoint.getLastId();
+            if (checkpoint.isCompleted() || runDate == null) {
+                if (asOf.equals(runDate)) {
+                    return 0;
+                }
+                jobCheckpointRepository.startRun(JOB_NAME, instanceId, asOf);
+                runDate = asOf;
+                lastId = 0L;
+            } else if (lastId > 0) {
+                logger.info("Resuming pickup delay snapshot for {} after repair {}", runDate, lastId);
+            }
+
+            int updated = 0;
+            int processed;
+            do {
+                ChunkResult chunk = processChunk(runDate, lastId);
+                processed = chunk.processed;
+                updated += chunk.updated;
+                lastId = chunk.lastId;
+            } while (processed == chunkSize);
+
+            jobCheckpointRepository.completeRun(JOB_NAME, instanceId);
+            logger.info("Pickup delay snapshot for {} updated {} repairs", runDate, updated);
+            return updated;
+        } finally {
+            jobCheckpointRepository.releaseLock(JOB_NAME, instanceId);
+        }
+    }
+
+    // Cada lote y el avance del cursor se confirman juntos; si el candado se perdió, el lote se revierte.
+    private ChunkResult processChunk(LocalDate runDate, long afterId) {
+        return transactionTemplate.execute(status -> {
+            List<RepairEntity> batch = repairRepository.findUncollectedBatchAfterId(afterId, PageRequest.of(0, chunkSize));
+            int updated = 0;
+            long lastId = afterId;
+            for (RepairEntity repair : batch) {
+                // Se guarda junto con los valores leídos: si la reparación cambió desde la lectura, no se escribe
+                updated += repairRepository.saveDelayChargeSnapshot(repair.getRepairId(), repair.getRepairCost(),
+                        repair.getExitDate(), repairService.calculatePickupDelayCharge(repair, runDate), runDate);
+                lastId = repair.getRepairId();
+            }
+            if (!batch.isEmpty() && jobCheckpointRepository.advanceCursor(JOB_NAME, instanceId, lastId, leaseUntil()) == 0) {
+                throw new IllegalStateException("Se perdió el candado del proceso " + JOB_NAME + " en la reparación " + lastId);
+            }
+            return new ChunkResult(batch.size(), updated, lastId);
+        });
+    }
+
+    private void ensureCheckpoint() {
+        if (jobCheckpointRepository.existsById(JOB_NAME)) {
+            return;
+        }
+        try {
+            jobCheckpointRepository.saveAndFlush(new JobCheckpointEntity(JOB_NAME, null, 0L, true, null, null));
+        } catch (DataIntegrityViolationException e) {
+            // Otra réplica lo creó al mismo tiempo
+        }
+    }
+
+    private LocalDateTime leaseUntil() {
+        return LocalDateTime.now(clock).plus(LEASE);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+
+    private static final class ChunkResult {
+        private final int processed;
+        private final int updated;
+        private final long lastId;
+
+        private ChunkResult(int processed, int updated, long lastId) {
+            this.processed = processed;
+            this.updated = updated;
+            this.lastId = lastId;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.events.VehicleChangedEvent;
+import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
+import com.autofix.repairmanagementsystem.utils.PlateFingerprintSet;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+// Guarda de existencia de placas para el registro de vehículos: responde "seguro nueva" sin consultar la base
+// de datos. Solo es una optimización; la restricción única de license_plate_number sigue siendo la fuente de verdad.
+@Service
+public class PlateRegistryService {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(PlateRegistryService.class);
+
+    private final VehicleRepository vehicleRepository;
+    private final EntityManager entityManager;
+    private volatile PlateFingerprintSet plates = new PlateFingerprintSet();
+    // Hasta la primera carga no se puede descartar ninguna placa
+    private volatile boolean loaded;
+
+    @Autowired
+    public PlateRegistryService(VehicleRepository vehicleRepository, EntityManager entityManager) {
+        this.vehicleRepository = vehicleRepository;
+        this.entityManager = entityManager;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${autofix.vehicle-index.refresh-interval-ms:300000}",
+            fixedDelayString = "${autofix.vehicle-index.refresh-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public int rebuild() {
+        PlateFingerprintSet fresh = new PlateFingerprintSet((int) Math.min(Integer.MAX_VALUE / 4, vehicleRepository.count()));
+        long lastVehicleId = 0L;
+        List<VehicleEntity> batch;
+        do {
+            batch = vehicleRepository.findByVehicleIdGreaterThanOrderByVehicleIdAsc(lastVehicleId,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (VehicleEntity vehicle : batch) {
+                fresh.add(vehicle.getLicensePlateNumber());
+                lastVehicleId = vehicle.getVehicleId();
+            }
+            entityManager.clear();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        synchronized (this) {
+            plates = fresh;
+            loaded = true;
+        }
+        logger.info("Plate registry loaded with {} plates", fresh.size());
+        return fresh.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onVehicleChanged(VehicleChangedEvent event) {
+        if (event.isDeleted()) {
+            plates.remove(event.getVehicle().getLicensePlateNumber());
+        } else {
+            // En una actualización la placa anterior queda registrada: solo produce un falso positivo
+            plates.add(event.getVehicle().getLicensePlateNumber());
+        }
+    }
+
+    // Falso solo si la placa seguro no está registrada; verdadero obliga a confirmar en la base de datos.
+    public synchronized boolean mightBeRegistered(String licensePlateNumber) {
+        return !loaded || plates.mightContain(licensePlateNumber);
+    }
+}
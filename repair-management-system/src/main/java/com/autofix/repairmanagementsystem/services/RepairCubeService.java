@@ -0,0 +1,190 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.CubeQueryDTO;
+import com.autofix.repairmanagementsystem.dto.CubeRowDTO;
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import com.autofix.repairmanagementsystem.events.RepairChangedEvent;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import com.autofix.repairmanagementsystem.utils.RebuildEventBuffer;
+import com.autofix.repairmanagementsystem.utils.RepairCube;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+public class RepairCubeService {
+
+    private static final int REBUILD_BATCH_SIZE = 5000;
+
+    private static final Logger logger = LoggerFactory.getLogger(RepairCubeService.class);
+
+    private final RepairRepository repairRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RebuildEventBuffer<RepairChangedEvent> pendingEvents = new RebuildEventBuffer<>();
+    private RepairCube cube = new RepairCube();
+
+    @Autowired
+    public RepairCubeService(RepairRepository repairRepository) {
+        this.repairRepository = repairRepository;
+    }
+
+    // Se construye al arrancar y se reconstruye periódicamente, porque las escrituras hechas en las otras
+    // réplicas del backend no llegan a los eventos de esta instancia.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${autofix.cube.refresh-interval-ms:300000}",
+            fixedDelayString = "${autofix.cube.refresh-interval-ms:300000}")
+    public synchronized int rebuild() {
+        withWriteLock(pendingEvents::start);
+        try {
+            RepairCube fresh = new RepairCube();
+            ScannedFacts scanned = new ScannedFacts();
+            long lastRepairId = 0L;
+            List<RepairFactDTO> batch;
+            do {
+                batch = repairRepository.findFactBatchAfterId(lastRepairId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (RepairFactDTO fact : batch) {
+                    scanned.add(fact.getRepairId(), fresh.add(fact), RepairCube.toCents(fact.getRepairCost()));
+                    lastRepairId = fact.getRepairId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+
+            int replayed;
+            lock.writeLock().lock();
+            try {
+                replayed = replay(fresh, scanned, pendingEvents.finish());
+                cube = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Repair cube rebuilt with {} repairs in {} cells, {} changes replayed", scanned.size(),
+                    fresh.cellCount(), replayed);
+            return fresh.cellCount();
+        } finally {
+            withWriteLock(pendingEvents::finish);
+        }
+    }
+
+    // Todos los cambios que llegan durante la reconstrucción se guardan para el cubo nuevo, como en los índices de
+    // vehículos: la lectura por lotes puede haber visto cada reparación antes o después del cambio.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRepairChanged(RepairChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(cube, event);
+            pendingEvents.add(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Para cada reparación cambiada se descuenta lo que sumó la lectura, sea cual sea el estado que vio, y se suma
+    // su último estado; así da igual si el cambio llegó antes o después de leerla o si se repite.
+    private static int replay(RepairCube fresh, ScannedFacts scanned, List<RepairChangedEvent> events) {
+        Map<Long, RepairFactDTO> latest = new LinkedHashMap<>();
+        for (RepairChangedEvent event : events) {
+            RepairFactDTO fact = event.getCurrent() != null ? event.getCurrent() : event.getPrevious();
+            latest.put(fact.getRepairId(), event.getCurrent());
+        }
+        for (Map.Entry<Long, RepairFactDTO> change : latest.entrySet()) {
+            int position = scanned.indexOf(change.getKey());
+            if (position >= 0) {
+                fresh.removeFromCell(scanned.cells[position], scanned.cents[position]);
+            }
+            if (change.getValue() != null) {
+                fresh.add(change.getValue());
+            }
+        }
+        return events.size();
+    }
+
+    private static void apply(RepairCube target, RepairChangedEvent event) {
+        if (event.getPrevious() != null) {
+            target.remove(event.getPrevious());
+        }
+        if (event.getCurrent() != null) {
+            target.add(event.getCurrent());
+        }
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<CubeRowDTO> query(CubeQueryDTO query) {
+        List<RepairCube.Dimension> groupBy = query.getGroupBy() == null ? Collections.emptyList() : query.getGroupBy();
+        if (groupBy.size() != groupBy.stream().distinct().count()) {
+            throw new IllegalArgumentException("Las dimensiones de agrupación no pueden repetirse.");
+        }
+
+        List<RepairCube.Row> rows;
+        lock.readLock().lock();
+        try {
+            rows = cube.query(groupBy, query.getFilters());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<CubeRowDTO> result = new ArrayList<>(rows.size());
+        for (RepairCube.Row row : rows) {
+            Map<RepairCube.Dimension, String> dimensions = new EnumMap<>(RepairCube.Dimension.class);
+            for (int i = 0; i < groupBy.size(); i++) {
+                dimensions.put(groupBy.get(i), row.getValues()[i]);
+            }
+            result.add(new CubeRowDTO(dimensions, row.getRepairCount(), BigDecimal.valueOf(row.getCostCents(), 2)));
+        }
+        result.sort((a, b) -> b.getTotalRepairCost().compareTo(a.getTotalRepairCost()));
+        return result;
+    }
+
+    // Celda y costo que la lectura por lotes sumó por cada reparación, en arreglos planos ordenados por ID porque
+    // la lectura avanza por ID.
+    private static final class ScannedFacts {
+        private long[] ids = new long[1024];
+        private int[] cells = new int[1024];
+        private long[] cents = new long[1024];
+        private int size;
+
+        private void add(long id, int cell, long factCents) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                cells = Arrays.copyOf(cells, size * 2);
+                cents = Arrays.copyOf(cents, size * 2);
+            }
+            ids[size] = id;
+            cells[size] = cell;
+            cents[size] = factCents;
+            size++;
+        }
+
+        private int indexOf(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            return position >= 0 ? position : -1;
+        }
+
+        private int size() {
+            return size;
+        }
+    }
+}
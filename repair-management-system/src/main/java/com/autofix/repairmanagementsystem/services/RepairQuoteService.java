@@ -0,0 +1,228 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.config.SqlBudget;
+import com.autofix.repairmanagementsystem.config.Timed;
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import com.autofix.repairmanagementsystem.dto.RepairQuoteDTO;
+import com.autofix.repairmanagementsystem.dto.RepairQuoteRequestDTO;
+import com.autofix.repairmanagementsystem.entities.BonusEntity;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.entities.RepairTypeEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.events.RepairChangedEvent;
+import com.autofix.repairmanagementsystem.repositories.BonusRepository;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import com.autofix.repairmanagementsystem.repositories.RepairTypeRepository;
+import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Cotiza reparaciones hipotéticas con las mismas reglas de la boleta, sin guardar nada. Los tipos de reparación,
+// los bonos asignados y las fechas de ingreso del último año se mantienen en memoria, así que una cotización lee
+// a lo sumo el vehículo. Los cambios hechos en otras réplicas se ven en la siguiente recarga. Las fechas de ingreso
+// se cargan desde hace 12 meses, así que una cotización con fecha de entrada pasada cuenta solo lo que alcanza a ver.
+@Service
+public class RepairQuoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepairQuoteService.class);
+
+    private final VehicleRepository vehicleRepository;
+    private final RepairRepository repairRepository;
+    private final RepairTypeRepository repairTypeRepository;
+    private final BonusRepository bonusRepository;
+    private final RepairService repairService;
+    private final DiscountService discountService;
+    private final ChargeService chargeService;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, RepairTypeEntity> repairTypes = new HashMap<>();
+    private Map<Long, BigDecimal> bonusesByVehicle = new HashMap<>();
+    // Por vehículo, cuántas reparaciones ingresaron cada día
+    private Map<Long, TreeMap<LocalDate, Integer>> entryDatesByVehicle = new HashMap<>();
+
+    @Autowired
+    public RepairQuoteService(VehicleRepository vehicleRepository, RepairRepository repairRepository,
+                              RepairTypeRepository repairTypeRepository, BonusRepository bonusRepository,
+                              RepairService repairService, DiscountService discountService,
+                              ChargeService chargeService) {
+        this.vehicleRepository = vehicleRepository;
+        this.repairRepository = repairRepository;
+        this.repairTypeRepository = repairTypeRepository;
+        this.bonusRepository = bonusRepository;
+        this.repairService = repairService;
+        this.discountService = discountService;
+        this.chargeService = chargeService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${autofix.quotes.refresh-interval-ms:60000}",
+            fixedDelayString = "${autofix.quotes.refresh-interval-ms:60000}")
+    public int rebuild() {
+        Map<Long, RepairTypeEntity> freshRepairTypes = new HashMap<>();
+        for (RepairTypeEntity repairType : repairTypeRepository.findAll()) {
+            freshRepairTypes.put(repairType.getRepairTypeId(), repairType);
+        }
+        Map<Long, BigDecimal> freshBonuses = new HashMap<>();
+        for (BonusEntity bonus : bonusRepository.findAssigned()) {
+            freshBonuses.put(bonus.getVehicle().getVehicleId(), bonus.getAmount());
+        }
+        Map<Long, TreeMap<LocalDate, Integer>> freshEntryDates = new HashMap<>();
+        for (RepairFactDTO fact : repairRepository.findFactsEnteredFrom(windowStart())) {
+            addEntry(freshEntryDates, fact.getVehicleId(), fact.getEntryDate());
+        }
+
+        lock.writeLock().lock();
+        try {
+            repairTypes = freshRepairTypes;
+            bonusesByVehicle = freshBonuses;
+            entryDatesByVehicle = freshEntryDates;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Quote reference data rebuilt with {} repair types and {} recently serviced vehicles",
+                freshRepairTypes.size(), freshEntryDates.size());
+        return freshEntryDates.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRepairChanged(RepairChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getPrevious() != null) {
+                removeEntry(entryDatesByVehicle, event.getPrevious().getVehicleId(), event.getPrevious().getEntryDate());
+            }
+            if (event.getCurrent() != null) {
+                addEntry(entryDatesByVehicle, event.getCurrent().getVehicleId(), event.getCurrent().getEntryDate());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Todo sale de los índices en memoria salvo la búsqueda del vehículo
+    @Timed("pricing.quote")
+    @SqlBudget(maxStatements = 1)
+    public RepairQuoteDTO quote(RepairQuoteRequestDTO request) {
+        if (request.getRepairTypeId() == null || request.getEntryDate() == null || request.getEntryTime() == null) {
+            throw new IllegalArgumentException("Debe indicar el tipo de reparación y la fecha y hora de entrada.");
+        }
+        if (request.getExitDate() != null && request.getExitDate().isBefore(request.getEntryDate())) {
+            throw new IllegalArgumentException("La fecha y hora de salida no pueden ser anteriores a la fecha y hora de entrada.");
+        }
+        VehicleEntity vehicle = resolveVehicle(request);
+
+        RepairTypeEntity repairType;
+        long recentRepairs;
+        BigDecimal bonusAmount;
+        lock.readLock().lock();
+        try {
+            repairType = repairTypes.get(request.getRepairTypeId());
+            recentRepairs = countRecentRepairs(vehicle.getVehicleId(), request.getEntryDate());
+            bonusAmount = vehicle.getVehicleId() == null ? BigDecimal.ZERO
+                    : bonusesByVehicle.getOrDefault(vehicle.getVehicleId(), BigDecimal.ZERO);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (repairType == null) {
+            throw new IllegalArgumentException("Tipo de reparación no encontrado con ID: " + request.getRepairTypeId());
+        }
+        BigDecimal baseCost = baseCost(repairType, vehicle.getEngineType());
+
+        // Reparación transitoria, solo para reutilizar el cálculo del recargo por retraso
+        RepairEntity repair = new RepairEntity();
+        repair.setRepairCost(baseCost);
+        repair.setExitDate(request.getExitDate());
+        BigDecimal pickupDelayCharge = request.getCustomerPickupDate() == null ? BigDecimal.ZERO
+                : repairService.calculatePickupDelayCharge(repair, request.getCustomerPickupDate());
+
+        return repairService.itemizeRepairCost(baseCost,
+                repairService.calculateDayOfWeekDiscount(request.getEntryDate(), request.getEntryTime()),
+                discountService.discountForRepairCount(vehicle.getEngineType(), recentRepairs),
+                pickupDelayCharge,
+                chargeService.mileageChargePercentage(vehicle.getType(), vehicle.getMileage()),
+                bonusAmount);
+    }
+
+    // La única lectura de la cotización: el vehículo registrado, si se indica por ID.
+    private VehicleEntity resolveVehicle(RepairQuoteRequestDTO request) {
+        if (request.getVehicleId() != null) {
+            return vehicleRepository.findById(request.getVehicleId())
+                    .orElseThrow(() -> new IllegalArgumentException("Vehículo no encontrado con ID: " + request.getVehicleId()));
+        }
+        if (request.getVehicleType() == null || request.getEngineType() == null || request.getMileage() == null) {
+            throw new IllegalArgumentException("Debe indicar el vehículo o su tipo, tipo de motor y kilometraje.");
+        }
+        VehicleEntity vehicle = new VehicleEntity();
+        vehicle.setBrand(request.getBrand());
+        vehicle.setType(request.getVehicleType());
+        vehicle.setEngineType(request.getEngineType());
+        vehicle.setManufactureYear(request.getManufactureYear());
+        vehicle.setMileage(request.getMileage());
+        return vehicle;
+    }
+
+    private static BigDecimal baseCost(RepairTypeEntity repairType, VehicleEntity.EngineType engineType) {
+        switch (engineType) {
+            case GASOLINE:
+                return repairType.getBaseCostGasoline();
+            case DIESEL:
+                return repairType.getBaseCostDiesel();
+            case HYBRID:
+                return repairType.getBaseCostHybrid();
+            case ELECTRIC:
+                return repairType.getBaseCostElectric();
+            default:
+                throw new IllegalArgumentException("No hay precio del tipo de reparación para el motor " + engineType.getLabel() + ".");
+        }
+    }
+
+    // Periodo cargado en memoria: el de DiscountService, los 12 meses anteriores a hoy
+    private LocalDate windowStart() {
+        return discountService.repairCountWindowStart();
+    }
+
+    // Como en la boleta, la reparación cotizada cuenta junto a las del vehículo ingresadas en los 12 meses anteriores
+    // a su fecha de entrada, igual que al calcular el descuento a esa fecha. Se llama bajo el candado de lectura.
+    private long countRecentRepairs(Long vehicleId, LocalDate entryDate) {
+        LocalDate from = discountService.repairCountWindowStart(entryDate);
+        long count = 1L;
+        TreeMap<LocalDate, Integer> entries = vehicleId == null ? null : entryDatesByVehicle.get(vehicleId);
+        if (entries == null) {
+            return count;
+        }
+        for (int repairs : entries.subMap(from, true, entryDate, true).values()) {
+            count += repairs;
+        }
+        return count;
+    }
+
+    private static void addEntry(Map<Long, TreeMap<LocalDate, Integer>> entries, Long vehicleId, LocalDate entryDate) {
+        entries.computeIfAbsent(vehicleId, id -> new TreeMap<>()).merge(entryDate, 1, Integer::sum);
+    }
+
+    private static void removeEntry(Map<Long, TreeMap<LocalDate, Integer>> entries, Long vehicleId, LocalDate entryDate) {
+        TreeMap<LocalDate, Integer> dates = entries.get(vehicleId);
+        if (dates == null || !dates.containsKey(entryDate)) {
+            return;
+        }
+        if (dates.merge(entryDate, -1, Integer::sum) <= 0) {
+            dates.remove(entryDate);
+        }
+        if (dates.isEmpty()) {
+            entries.remove(vehicleId);
+        }
+    }
+}
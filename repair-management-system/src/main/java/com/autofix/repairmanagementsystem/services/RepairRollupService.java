@@ -0,0 +1,302 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import com.autofix.repairmanagementsystem.dto.RepairTimeSeriesPointDTO;
+import com.autofix.repairmanagementsystem.entities.JobCheckpointEntity;
+import com.autofix.repairmanagementsystem.entities.RepairDailyRollupEntity;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.entities.RepairTypeEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.repositories.JobCheckpointRepository;
+import com.autofix.repairmanagementsystem.repositories.RepairDailyRollupRepository;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import com.autofix.repairmanagementsystem.repositories.RowSeedRepository;
+import com.autofix.repairmanagementsystem.utils.TurnaroundHistogram;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@Service
+public class RepairRollupService {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    // Días que se reconstruyen por transacción: los registros solo esperan lo que tarda un tramo
+    static final int REBUILD_RANGE_DAYS = 7;
+    // Fila de job_checkpoints que ordena los registros de reparaciones frente a la reconstrucción de la tabla
+    static final String REBUILD_GUARD = "repair-rollup-rebuild";
+
+    private final RepairDailyRollupRepository rollupRepository;
+    private final RepairRepository repairRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final RowSeedRepository rowSeedRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transaction;
+
+    @Autowired
+    public RepairRollupService(RepairDailyRollupRepository rollupRepository, RepairRepository repairRepository,
+                               JobCheckpointRepository jobCheckpointRepository, RowSeedRepository rowSeedRepository,
+                               EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.repairRepository = repairRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.rowSeedRepository = rowSeedRepository;
+        this.entityManager = entityManager;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public enum Granularity {
+        DAY, WEEK, MONTH;
+
+        public LocalDate periodStart(LocalDate date) {
+            switch (this) {
+                case WEEK:
+                    return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH:
+                    return date.withDayOfMonth(1);
+                default:
+                    return date;
+            }
+        }
+    }
+
+    // Horas completas entre la entrada y la salida del taller, o -1 si la reparación aún no tiene salida.
+    public static long turnaroundHours(RepairEntity repair) {
+        return turnaroundHours(repair.getEntryDate(), repair.getEntryTime(), repair.getExitDate(), repair.getExitTime());
+    }
+
+    public static long turnaroundHours(RepairFactDTO repair) {
+        return turnaroundHours(repair.getEntryDate(), repair.getEntryTime(), repair.getExitDate(), repair.getExitTime());
+    }
+
+    private static long turnaroundHours(LocalDate entryDate, LocalTime entryTime, LocalDate exitDate, LocalTime exitTime) {
+        if (entryDate == null || entryTime == null || exitDate == null || exitTime == null) {
+            return -1;
+        }
+        LocalDateTime entry = LocalDateTime.of(entryDate, entryTime);
+        LocalDateTime exit = LocalDateTime.of(exitDate, exitTime);
+        return Math.max(ChronoUnit.HOURS.between(entry, exit), 0);
+    }
+
+    // Toma la fila guardia en modo compartido. RepairService la pide antes que cualquier otro bloqueo del registro,
+    // así la reconstrucción y las bahías se bloquean siempre en el mismo orden.
+    @Transactional
+    public void lockForWrites() {
+        lockGuard(false);
+    }
+
+    @Transactional
+    public void addRepair(RepairEntity repair) {
+        applyRepair(RepairFactDTO.of(repair), 1);
+    }
+
+    @Transactional
+    public void removeRepair(RepairEntity repair) {
+        applyRepair(RepairFactDTO.of(repair), -1);
+    }
+
+    // Descuenta una versión ya reemplazada de la reparación, con los valores capturados antes de sobrescribirla
+    @Transactional
+    public void removeRepair(RepairFactDTO repair) {
+        applyRepair(repair, -1);
+    }
+
+    private void applyRepair(RepairFactDTO repair, int sign) {
+        lockGuard(false);
+        Long repairTypeId = repair.getRepairTypeId();
+        String brand = repair.getBrand();
+        VehicleEntity.EngineType engineType = repair.getEngineType();
+
+        Supplier<Optional<RepairDailyRollupEntity>> lockedRow = () -> rollupRepository
+                .findForUpdate(repair.getEntryDate(), repairTypeId, brand, engineType);
+        Optional<RepairDailyRollupEntity> existing = lockedRow.get();
+        if (existing.isEmpty()) {
+            if (sign < 0) {
+                return;
+            }
+            // La fila se crea en cero en esta misma transacción; si otra la crea al mismo tiempo, la lectura con
+            // bloqueo espera a que confirme y encuentra su fila
+            rowSeedRepository.seedRollup(repair.getEntryDate(), repairTypeId, brand, engineType);
+            existing = lockedRow.get();
+        }
+        RepairDailyRollupEntity rollup = existing.orElseThrow(() -> new IllegalStateException(
+                "No se pudo bloquear el resumen diario del " + repair.getEntryDate()));
+        long hours = turnaroundHours(repair);
+        accumulate(rollup, repair.getRepairCost(), hours, sign);
+        if (hours >= 0) {
+            TurnaroundHistogram histogram = TurnaroundHistogram.fromBytes(rollup.getTurnaroundHistogram());
+            histogram.record(hours, sign);
+            rollup.setTurnaroundHistogram(histogram.toBytes());
+        }
+
+        if (rollup.getRepairCount() <= 0) {
+            rollupRepository.delete(rollup);
+        } else {
+            rollupRepository.save(rollup);
+        }
+    }
+
+    // Reconstruye la tabla a partir de las reparaciones existentes, por tramos de REBUILD_RANGE_DAYS días. Cada
+    // tramo es una transacción corta que bloquea la fila guardia en exclusiva: espera a los registros en curso y
+    // detiene los nuevos solo hasta confirmar el tramo, así ningún incremento se pierde con el borrado ni se cuenta
+    // dos veces con la lectura por lotes. Los registros que caen en un tramo ya reconstruido se suman encima.
+    public int rebuildRollups() {
+        LocalDate first = earliest(repairRepository.findFirstEntryDate(), rollupRepository.findFirstRollupDate());
+        LocalDate last = latest(repairRepository.findLastEntryDate(), rollupRepository.findLastRollupDate());
+        if (first == null) {
+            return 0;
+        }
+        int rows = 0;
+        for (LocalDate from = first; !from.isAfter(last); from = from.plusDays(REBUILD_RANGE_DAYS)) {
+            LocalDate rangeStart = from;
+            LocalDate rangeEnd = earliest(from.plusDays(REBUILD_RANGE_DAYS - 1), last);
+            Integer rebuilt = transaction.execute(status -> rebuildRange(rangeStart, rangeEnd));
+            rows += rebuilt == null ? 0 : rebuilt;
+        }
+        return rows;
+    }
+
+    private int rebuildRange(LocalDate start, LocalDate end) {
+        lockGuard(true);
+        rollupRepository.deleteForRange(start, end);
+
+        Map<String, RepairDailyRollupEntity> rollups = new LinkedHashMap<>();
+        Map<String, TurnaroundHistogram> histograms = new LinkedHashMap<>();
+        long lastRepairId = 0L;
+        List<RepairEntity> batch;
+        do {
+            batch = repairRepository.findBatchEnteredBetween(start, end, lastRepairId,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (RepairEntity repair : batch) {
+                String brand = repair.getVehicle().getBrand();
+                VehicleEntity.EngineType engineType = repair.getVehicle().getEngineType();
+                String key = repair.getEntryDate() + "|" + repair.getRepairType().getRepairTypeId() + "|" + brand + "|" + engineType;
+                RepairDailyRollupEntity rollup = rollups.computeIfAbsent(key,
+                        k -> emptyRollup(repair.getEntryDate(), repair.getRepairType(), brand, engineType));
+                long hours = turnaroundHours(repair);
+                accumulate(rollup, repair.getRepairCost(), hours, 1);
+                if (hours >= 0) {
+                    histograms.computeIfAbsent(key, k -> new TurnaroundHistogram()).record(hours);
+                }
+                lastRepairId = repair.getRepairId();
+            }
+            // Libera las reparaciones ya procesadas del contexto de persistencia
+            entityManager.clear();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        for (Map.Entry<String, RepairDailyRollupEntity> entry : rollups.entrySet()) {
+            RepairDailyRollupEntity rollup = entry.getValue();
+            rollup.setRepairType(entityManager.getReference(RepairTypeEntity.class, rollup.getRepairType().getRepairTypeId()));
+            TurnaroundHistogram histogram = histograms.get(entry.getKey());
+            if (histogram != null) {
+                rollup.setTurnaroundHistogram(histogram.toBytes());
+            }
+        }
+        rollupRepository.saveAll(rollups.values());
+        return rollups.size();
+    }
+
+    public List<RepairTimeSeriesPointDTO> getTimeSeries(LocalDate start, LocalDate end, Granularity granularity,
+                                                        String brand, Long repairTypeId) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("La fecha final no puede ser anterior a la fecha inicial.");
+        }
+        List<RepairDailyRollupEntity> rows = rollupRepository.findForRange(start, end, brand, repairTypeId);
+
+        Map<String, SeriesAccumulator> points = new LinkedHashMap<>();
+        for (RepairDailyRollupEntity row : rows) {
+            LocalDate periodStart = granularity.periodStart(row.getRollupDate());
+            String repairType = row.getRepairType().getDescription();
+            String key = periodStart + "|" + repairType + "|" + row.getBrand();
+            SeriesAccumulator point = points.computeIfAbsent(key,
+                    k -> new SeriesAccumulator(periodStart, repairType, row.getBrand()));
+            point.repairCount += row.getRepairCount();
+            point.totalRevenue = point.totalRevenue.add(row.getTotalRepairCost());
+            point.completedCount += row.getCompletedCount();
+            point.totalTurnaroundHours += row.getTotalTurnaroundHours();
+        }
+
+        List<RepairTimeSeriesPointDTO> series = new ArrayList<>(points.size());
+        for (SeriesAccumulator point : points.values()) {
+            series.add(point.toDto());
+        }
+        series.sort(Comparator.comparing(RepairTimeSeriesPointDTO::getPeriodStart)
+                .thenComparing(RepairTimeSeriesPointDTO::getRepairType)
+                .thenComparing(RepairTimeSeriesPointDTO::getBrand));
+        return series;
+    }
+
+    // Bloqueo compartido para los registros y exclusivo para la reconstrucción; la fila se crea la primera vez.
+    private void lockGuard(boolean exclusive) {
+        Supplier<Optional<JobCheckpointEntity>> guard = () -> exclusive
+                ? jobCheckpointRepository.findForUpdate(REBUILD_GUARD)
+                : jobCheckpointRepository.findForShare(REBUILD_GUARD);
+        if (guard.get().isEmpty()) {
+            rowSeedRepository.seedJobCheckpoint(REBUILD_GUARD);
+            guard.get().orElseThrow(() -> new IllegalStateException(
+                    "No existe el registro del proceso " + REBUILD_GUARD));
+        }
+    }
+
+    private static LocalDate earliest(LocalDate first, LocalDate second) {
+        return first == null || second != null && second.isBefore(first) ? second : first;
+    }
+
+    private static LocalDate latest(LocalDate first, LocalDate second) {
+        return first == null || second != null && second.isAfter(first) ? second : first;
+    }
+
+    private RepairDailyRollupEntity emptyRollup(LocalDate rollupDate, RepairTypeEntity repairType, String brand,
+                                                VehicleEntity.EngineType engineType) {
+        return new RepairDailyRollupEntity(null, rollupDate, repairType, brand, engineType,
+                0L, BigDecimal.ZERO, 0L, 0L, null);
+    }
+
+    private void accumulate(RepairDailyRollupEntity rollup, BigDecimal repairCost, long hours, int sign) {
+        rollup.setRepairCount(rollup.getRepairCount() + sign);
+        rollup.setTotalRepairCost(rollup.getTotalRepairCost().add(repairCost.multiply(BigDecimal.valueOf(sign))));
+        if (hours >= 0) {
+            rollup.setCompletedCount(rollup.getCompletedCount() + sign);
+            rollup.setTotalTurnaroundHours(rollup.getTotalTurnaroundHours() + sign * hours);
+        }
+    }
+
+    private static class SeriesAccumulator {
+        private final LocalDate periodStart;
+        private final String repairType;
+        private final String brand;
+        private long repairCount;
+        private BigDecimal totalRevenue = BigDecimal.ZERO;
+        private long completedCount;
+        private long totalTurnaroundHours;
+
+        SeriesAccumulator(LocalDate periodStart, String repairType, String brand) {
+            this.periodStart = periodStart;
+            this.repairType = repairType;
+            this.brand = brand;
+        }
+
+        RepairTimeSeriesPointDTO toDto() {
+            double averageTurnaround = completedCount == 0 ? 0.0 : (double) totalTurnaroundHours / completedCount;
+            return new RepairTimeSeriesPointDTO(periodStart, repairType, brand, repairCount, totalRevenue, averageTurnaround);
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package com.autofix.repairmanagementsystem.services;
 
+import com.autofix.repairmanagementsystem.config.SqlBudget;
+import com.autofix.repairmanagementsystem.config.Timed;
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import com.autofix.repairmanagementsystem.dto.RepairQuoteDTO;
 import com.autofix.repairmanagementsystem.entities.RepairEntity;
 import com.autofix.repairmanagementsystem.entities.RepairTypeEntity;
 import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.events.RepairChangedEvent;
 import com.autofix.repairmanagementsystem.repositories.RepairRepository;
 import com.autofix.repairmanagementsystem.repositories.RepairTypeRepository;
 import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -27,17 +34,30 @@ public class RepairService {
     private final DiscountService discountService;
     private final ChargeService chargeService;
     private final BonusService bonusService;
+    private final RepairRollupService repairRollupService;
+    private final VehicleHistoryService vehicleHistoryService;
+    private final BaySchedulerService baySchedulerService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
 
     @Autowired
     public RepairService(RepairRepository repairRepository, VehicleRepository vehicleRepository,
                          RepairTypeRepository repairTypeRepository, DiscountService discountService,
-                         ChargeService chargeService, BonusService bonusService) {
+                         ChargeService chargeService, BonusService bonusService,
+                         RepairRollupService repairRollupService, VehicleHistoryService vehicleHistoryService,
+                         BaySchedulerService baySchedulerService, ApplicationEventPublisher eventPublisher,
+                         Clock clock) {
         this.repairRepository = repairRepository;
         this.vehicleRepository = vehicleRepository;
         this.repairTypeRepository = repairTypeRepository;
         this.discountService = discountService;
         this.chargeService = chargeService;
         this.bonusService = bonusService;
+        this.repairRollupService = repairRollupService;
+        this.vehicleHistoryService = vehicleHistoryService;
+        this.baySchedulerService = baySchedulerService;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
     }
 
     @Transactional
@@ -45,8 +65,51 @@ public class RepairService {
         // Validar la existencia del vehículo asociado y el tipo de reparación, así como la coherencia de las fechas.
         validateRepair(repair);
 
+        // Los bloqueos del registro se toman siempre en el mismo orden: la fila guardia del resumen diario, la de la
+        // bahía, la reparación y por último las filas del resumen, para que dos registros o una reconstrucción no
+        // se esperen en círculo.
+        repairRollupService.lockForWrites();
+
+        RepairFactDTO previous = null;
+        boolean previousOpen = false;
+        Integer previousBay = null;
+        if (repair.getRepairId() != null) {
+            Optional<RepairEntity> existing = repairRepository.findById(repair.getRepairId());
+            if (existing.isPresent()) {
+                previous = RepairFactDTO.of(existing.get());
+                previousOpen = VehicleHistoryService.isOpen(existing.get());
+                previousBay = existing.get().getBay();
+            }
+        }
+
+        // Ubicar la reparación en una bahía libre antes de guardarla; si no cabe, la excepción revierte el registro.
+        // Las reparaciones registradas antes de la planificación se actualizan sin bahía mientras no se les asigne una.
+        boolean scheduled = previous == null || previousBay != null || repair.getBay() != null;
+        if (scheduled) {
+            baySchedulerService.reserveBay(repair, previousBay);
+        }
+
         // Guardar la información de la reparación en la base de datos.
-        return repairRepository.save(repair);
+        RepairEntity savedRepair = repairRepository.save(repair);
+        if (scheduled) {
+            baySchedulerService.assignBay(savedRepair);
+        }
+
+        // Si es una actualización, descontar del resumen diario la versión anterior, capturada antes de guardar.
+        if (previous != null) {
+            repairRollupService.removeRepair(previous);
+        }
+        repairRollupService.addRepair(savedRepair);
+
+        // Actualizar el historial del vehículo; una actualización puede haber cambiado de vehículo a la reparación.
+        if (previous != null) {
+            vehicleHistoryService.removeRepair(previous.getVehicleId(), previous.getRepairCost(), previousOpen);
+            // El recargo acumulado pudo calcularse con otro costo o fecha de salida
+            repairRepository.clearDelayChargeSnapshot(savedRepair.getRepairId());
+        }
+        vehicleHistoryService.addRepair(savedRepair);
+        eventPublisher.publishEvent(new RepairChangedEvent(previous, RepairFactDTO.of(savedRepair)));
+        return savedRepair;
     }
 
     protected void validateRepair(RepairEntity repair) throws Exception {
@@ -76,7 +139,14 @@ public class RepairService {
         // Verificar si la reparación existe
         RepairEntity repair = repairRepository.findById(repairId)
                 .orElseThrow(() -> new Exception("Reparación no encontrada con ID: " + repairId));
+        RepairFactDTO previous = RepairFactDTO.of(repair);
+        boolean open = VehicleHistoryService.isOpen(repair);
+        // Mismo orden de bloqueos que registerRepair: guardia, reparación y luego el resumen diario
+        repairRollupService.lockForWrites();
         repairRepository.deleteById(repairId);
+        repairRollupService.removeRepair(previous);
+        vehicleHistoryService.removeRepair(previous.getVehicleId(), previous.getRepairCost(), open);
+        eventPublisher.publishEvent(new RepairChangedEvent(previous, null));
     }
 
     public List<RepairEntity> findRepairsByVehicleId(Long vehicleId) {
@@ -106,15 +176,51 @@ public class RepairService {
     public BigDecimal calculatePickupDelayCharge(Long repairId) {
         RepairEntity repair = repairRepository.findById(repairId)
                 .orElseThrow(() -> new RuntimeException("Reparación no encontrada con ID: " + repairId));
+        return calculatePickupDelayCharge(repair);
+    }
 
-        LocalDate readyDate = repair.getExitDate();
+    public BigDecimal calculatePickupDelayCharge(RepairEntity repair) {
+        if (repair.getCustomerPickupDate() != null) {
+            return calculatePickupDelayCharge(repair, repair.getCustomerPickupDate());
+        }
+        return calculateUncollectedDelayCharge(repair, LocalDate.now(clock));
+    }
+
+    // Recargo por retraso que correspondía cobrar en la fecha indicada.
+    public BigDecimal calculatePickupDelayChargeAsOf(RepairEntity repair, LocalDate asOf) {
         LocalDate pickupDate = repair.getCustomerPickupDate();
+        if (pickupDate != null && !pickupDate.isAfter(asOf)) {
+            return calculatePickupDelayCharge(repair, pickupDate);
+        }
+        return calculateUncollectedDelayCharge(repair, asOf);
+    }
+
+    // Mientras el vehículo no se retire el recargo sigue creciendo: se parte del acumulado del proceso nocturno
+    // y solo se suman los días transcurridos desde entonces.
+    private BigDecimal calculateUncollectedDelayCharge(RepairEntity repair, LocalDate until) {
+        LocalDate snapshotDate = repair.getDelayChargeAsOf();
+        if (snapshotDate == null || repair.getAccruedDelayCharge() == null || snapshotDate.isAfter(until)
+                || repair.getExitDate() == null) {
+            return calculatePickupDelayCharge(repair, until);
+        }
+        LocalDate deltaStart = snapshotDate.isAfter(repair.getExitDate()) ? snapshotDate : repair.getExitDate();
+        return repair.getAccruedDelayCharge().add(calculateDelayCharge(repair.getRepairCost(), deltaStart, until));
+    }
+
+    // Recargo por retraso acumulado desde la salida del taller hasta la fecha indicada.
+    public BigDecimal calculatePickupDelayCharge(RepairEntity repair, LocalDate until) {
+        if (repair.getExitDate() == null) {
+            return BigDecimal.ZERO;
+        }
+        return calculateDelayCharge(repair.getRepairCost(), repair.getExitDate(), until);
+    }
+
+    private BigDecimal calculateDelayCharge(BigDecimal totalRepairCost, LocalDate readyDate, LocalDate pickupDate) {
         long daysDelayed = ChronoUnit.DAYS.between(readyDate, pickupDate);
 
         if (daysDelayed <= 0) {
             return BigDecimal.ZERO;
         } else {
-            BigDecimal totalRepairCost = repair.getRepairCost();
             BigDecimal dailyDelayChargePercentage = new BigDecimal("0.05"); // 5%
             BigDecimal delayCharge = totalRepairCost.multiply(dailyDelayChargePercentage).multiply(new BigDecimal(daysDelayed));
 
@@ -123,33 +229,76 @@ public class RepairService {
     }
 
     @Transactional
+    @Timed("pricing.total")
+    @SqlBudget(maxStatements = 8, maxRepeats = 2)
     public BigDecimal calculateTotalRepairCost(Long repairId) throws Exception {
         RepairEntity repair = findRepairById(repairId)
                 .orElseThrow(() -> new Exception("Reparación no encontrada con ID: " + repairId));
+        return calculateTotalRepairCost(repair);
+    }
+
+    @Transactional
+    @Timed("pricing.total")
+    @SqlBudget(maxStatements = 8, maxRepeats = 2)
+    public BigDecimal calculateTotalRepairCost(Long repairId, LocalDate asOf) throws Exception {
+        RepairEntity repair = findRepairById(repairId)
+                .orElseThrow(() -> new Exception("Reparación no encontrada con ID: " + repairId));
+        return calculateTotalRepairCost(repair, asOf);
+    }
+
+    // Calcula el costo total de una reparación ya cargada, sin volver a consultarla.
+    @Timed("pricing.total")
+    public BigDecimal calculateTotalRepairCost(RepairEntity repair) {
+        return calculateTotalRepairCost(repair, null);
+    }
+
+    // Con asOf se reproduce el costo que correspondía en esa fecha; null usa la fecha actual.
+    @Timed("pricing.total")
+    public BigDecimal calculateTotalRepairCost(RepairEntity repair, LocalDate asOf) {
+        BigDecimal additionalDiscount = asOf == null
+                ? discountService.determineDiscountPercentage(repair.getVehicle())
+                : discountService.determineDiscountPercentage(repair.getVehicle(), asOf);
+        BigDecimal pickupDelayCharge = asOf == null
+                ? calculatePickupDelayCharge(repair)
+                : calculatePickupDelayChargeAsOf(repair, asOf);
+        BigDecimal mileageChargePercentage = chargeService.determineMileageChargePercentage(repair.getVehicle().getVehicleId());
+        BigDecimal bonusAmount = bonusService.calculateBonusForVehicle(repair.getVehicle().getVehicleId());
+        return itemizeRepairCost(repair.getRepairCost(), calculateDayOfWeekDiscount(repair.getEntryDate(), repair.getEntryTime()),
+                additionalDiscount, pickupDelayCharge, mileageChargePercentage, bonusAmount).getTotal();
+    }
 
-        BigDecimal baseRepairCost = repair.getRepairCost(); // Costo base de la reparación
+    // Costo total a la fecha actual con los datos del vehículo ya resueltos por quien llama, p. ej. cargados por
+    // lotes para un reporte; no consulta la base de datos.
+    @Timed("pricing.total")
+    public BigDecimal calculateTotalRepairCost(RepairEntity repair, BigDecimal additionalDiscount,
+                                               BigDecimal mileageChargePercentage, BigDecimal bonusAmount) {
+        return itemizeRepairCost(repair.getRepairCost(), calculateDayOfWeekDiscount(repair.getEntryDate(), repair.getEntryTime()),
+                additionalDiscount, calculatePickupDelayCharge(repair), mileageChargePercentage, bonusAmount).getTotal();
+    }
+
+    // Aplica descuentos, recargos e IVA sobre el costo base. Los porcentajes vienen en base 100; el recargo por
+    // retraso y el bono, como montos. Lo comparten la boleta y las cotizaciones.
+    @Timed("pricing.itemize")
+    public RepairQuoteDTO itemizeRepairCost(BigDecimal baseRepairCost, BigDecimal dayOfWeekDiscount,
+                                            BigDecimal additionalDiscount, BigDecimal pickupDelayCharge,
+                                            BigDecimal mileageChargePercentage, BigDecimal bonusAmount) {
         BigDecimal totalCharges = BigDecimal.ZERO; // Inicialización de los recargos totales
         BigDecimal totalDiscounts = BigDecimal.ZERO; // Inicialización de los descuentos totales
 
         // Calculo de descuentos aplicables
-        BigDecimal dayOfWeekDiscount = calculateDayOfWeekDiscount(repair.getEntryDate(), repair.getEntryTime());
         BigDecimal discountAmount = baseRepairCost.multiply(dayOfWeekDiscount.divide(new BigDecimal(100)));
         totalDiscounts = totalDiscounts.add(discountAmount);
 
-        BigDecimal additionalDiscount = discountService.determineDiscountPercentage(repair.getVehicle().getVehicleId(), repair.getVehicle().getEngineType());
         BigDecimal additionalDiscountAmount = baseRepairCost.multiply(additionalDiscount.divide(new BigDecimal(100)));
         totalDiscounts = totalDiscounts.add(additionalDiscountAmount);
 
         // Calculo de recargos aplicables
-        BigDecimal pickupDelayCharge = calculatePickupDelayCharge(repairId);
         totalCharges = totalCharges.add(pickupDelayCharge);
 
-        BigDecimal mileageChargePercentage = chargeService.determineMileageChargePercentage(repair.getVehicle().getVehicleId());
         BigDecimal mileageCharge = baseRepairCost.multiply(mileageChargePercentage.divide(new BigDecimal(100)));
         totalCharges = totalCharges.add(mileageCharge);
 
         // Calculo de bonos aplicables si corresponde
-        BigDecimal bonusAmount = bonusService.calculateBonusForVehicle(repair.getVehicle().getVehicleId());
         totalDiscounts = totalDiscounts.add(bonusAmount);
 
         // Cálculo final
@@ -162,9 +311,10 @@ public class RepairService {
 
         // Verificación si el total con impuestos es negativo
         if (totalWithTax.compareTo(BigDecimal.ZERO) < 0) {
-            return BigDecimal.ZERO;
+            totalWithTax = BigDecimal.ZERO;
         }
 
-        return totalWithTax;
+        return new RepairQuoteDTO(baseRepairCost, discountAmount, additionalDiscountAmount, bonusAmount, mileageCharge,
+                pickupDelayCharge, totalAfterCharges, tax, totalWithTax);
     }
-}
\ No newline at end of file
+}
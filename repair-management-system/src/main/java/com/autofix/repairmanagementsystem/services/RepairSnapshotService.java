@@ -0,0 +1,116 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.AverageRepairTimeDTO;
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import com.autofix.repairmanagementsystem.dto.RepairTypeSummaryDTO;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import com.autofix.repairmanagementsystem.utils.ColumnarRepairSnapshot;
+import com.autofix.repairmanagementsystem.utils.ColumnarRepairSnapshotWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+@Service
+public class RepairSnapshotService {
+
+    private static final int EXPORT_BATCH_SIZE = 5000;
+
+    private static final Logger logger = LoggerFactory.getLogger(RepairSnapshotService.class);
+
+    private final RepairRepository repairRepository;
+    private final Path directory;
+    private volatile ColumnarRepairSnapshot snapshot = ColumnarRepairSnapshot.empty();
+
+    @Autowired
+    public RepairSnapshotService(RepairRepository repairRepository,
+                                 @Value("${autofix.snapshot.directory:data/repair-snapshot}") String directory) {
+        this.repairRepository = repairRepository;
+        this.directory = Paths.get(directory);
+    }
+
+    // Al reiniciar el nodo basta con volver a mapear los archivos existentes; luego se agregan las reparaciones nuevas.
+    @EventListener(ApplicationReadyEvent.class)
+    public void openSnapshot() {
+        try {
+            snapshot = ColumnarRepairSnapshot.open(directory);
+            logger.info("Repair snapshot opened with {} rows from {}", snapshot.getRowCount(), directory);
+            refresh();
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Could not open repair snapshot at {}: {}", directory, e.getMessage());
+        }
+    }
+
+    // Exporta las reparaciones con ID mayor al último exportado. Las modificaciones y eliminaciones de
+    // reparaciones ya exportadas solo se reflejan al reconstruir la instantánea.
+    @Scheduled(initialDelayString = "${autofix.snapshot.refresh-interval-ms:60000}",
+            fixedDelayString = "${autofix.snapshot.refresh-interval-ms:60000}")
+    public synchronized int refresh() {
+        try {
+            ColumnarRepairSnapshotWriter writer = new ColumnarRepairSnapshotWriter(directory);
+            int appended = export(writer);
+            if (appended > 0 || snapshot.getRowCount() != writer.getRowCount()) {
+                snapshot = ColumnarRepairSnapshot.open(directory);
+            }
+            return appended;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Escribe una instantánea completa en un directorio aparte y la reemplaza al terminar.
+    @Scheduled(cron = "${autofix.snapshot.rebuild-cron:0 30 3 * * *}")
+    public synchronized int rebuild() {
+        Path staging = directory.resolveSibling(directory.getFileName() + ".rebuild");
+        try {
+            FileSystemUtils.deleteRecursively(staging);
+            ColumnarRepairSnapshotWriter writer = new ColumnarRepairSnapshotWriter(staging);
+            export(writer);
+
+            FileSystemUtils.deleteRecursively(directory);
+            Files.move(staging, directory, StandardCopyOption.ATOMIC_MOVE);
+            snapshot = ColumnarRepairSnapshot.open(directory);
+            logger.info("Repair snapshot rebuilt with {} rows", snapshot.getRowCount());
+            return snapshot.getRowCount();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int export(ColumnarRepairSnapshotWriter writer) throws IOException {
+        int appended = 0;
+        List<RepairFactDTO> batch;
+        do {
+            batch = repairRepository.findFactBatchAfterId(writer.getLastRepairId(), PageRequest.of(0, EXPORT_BATCH_SIZE));
+            writer.append(batch);
+            appended += batch.size();
+        } while (batch.size() == EXPORT_BATCH_SIZE);
+        return appended;
+    }
+
+    public List<RepairTypeSummaryDTO> getRepairTypeSummary() {
+        return snapshot.repairTypeSummary();
+    }
+
+    public List<AverageRepairTimeDTO> getAverageRepairTimes() {
+        return snapshot.averageRepairTimeByBrand();
+    }
+
+    public int getRowCount() {
+        return snapshot.getRowCount();
+    }
+}
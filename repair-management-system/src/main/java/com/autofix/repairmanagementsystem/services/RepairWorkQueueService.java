@@ -0,0 +1,157 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import com.autofix.repairmanagementsystem.dto.WorkQueueItemDTO;
+import com.autofix.repairmanagementsystem.dto.WorkQueuePageDTO;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.events.RepairChangedEvent;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import com.autofix.repairmanagementsystem.utils.OpenRepairQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+public class RepairWorkQueueService {
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final Logger logger = LoggerFactory.getLogger(RepairWorkQueueService.class);
+
+    private final RepairRepository repairRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private OpenRepairQueue queue = new OpenRepairQueue();
+    private final List<CompletableFuture<Long>> waiters = new ArrayList<>();
+
+    @Autowired
+    public RepairWorkQueueService(RepairRepository repairRepository) {
+        this.repairRepository = repairRepository;
+    }
+
+    // Se carga al arrancar y se recarga a menudo, porque las escrituras de las otras réplicas no llegan como eventos.
+    // Cada estado se lee con el índice (status, entry_date), sin recorrer las reparaciones ya entregadas.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${autofix.work-queue.refresh-interval-ms:15000}",
+            fixedDelayString = "${autofix.work-queue.refresh-interval-ms:15000}")
+    public int rebuild() {
+        OpenRepairQueue fresh = new OpenRepairQueue();
+        for (RepairEntity.Status status : OpenRepairQueue.QUEUE_STATUSES) {
+            for (RepairFactDTO fact : repairRepository.findOpenFactsByStatus(status)) {
+                fresh.put(fact);
+            }
+        }
+        for (RepairFactDTO fact : repairRepository.findOpenFactsWithoutStatus()) {
+            fresh.put(fact);
+        }
+
+        List<CompletableFuture<Long>> notified = null;
+        lock.writeLock().lock();
+        try {
+            if (!fresh.sameContent(queue)) {
+                notified = takeWaiters();
+            }
+            queue = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        complete(notified);
+        logger.debug("Repair work queue rebuilt with {} open repairs", fresh.size());
+        return fresh.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRepairChanged(RepairChangedEvent event) {
+        List<CompletableFuture<Long>> notified = null;
+        lock.writeLock().lock();
+        try {
+            boolean changed = false;
+            if (event.getCurrent() != null) {
+                changed = queue.put(event.getCurrent());
+            } else if (event.getPrevious() != null) {
+                changed = queue.remove(event.getPrevious().getRepairId());
+            }
+            if (changed) {
+                notified = takeWaiters();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        complete(notified);
+    }
+
+    // Llamar con el candado de escritura tomado; los futuros se completan después de soltarlo.
+    private List<CompletableFuture<Long>> takeWaiters() {
+        List<CompletableFuture<Long>> notified = new ArrayList<>(waiters);
+        waiters.clear();
+        return notified;
+    }
+
+    private void complete(List<CompletableFuture<Long>> notified) {
+        if (notified == null) {
+            return;
+        }
+        long current = getVersion();
+        for (CompletableFuture<Long> waiter : notified) {
+            waiter.complete(current);
+        }
+    }
+
+    // La versión sale del contenido de la cola y no de un contador local: nginx reparte las peticiones entre las
+    // réplicas, y todas las que tienen las mismas reparaciones abiertas responden la misma versión.
+    public long getVersion() {
+        lock.readLock().lock();
+        try {
+            return queue.version();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Se completa con la nueva versión en cuanto la cola deja de estar en sinceVersion. Quien espera debe
+    // cancelar el futuro al vencer su plazo.
+    public CompletableFuture<Long> awaitChange(long sinceVersion) {
+        lock.writeLock().lock();
+        try {
+            long version = queue.version();
+            if (version != sinceVersion) {
+                return CompletableFuture.completedFuture(version);
+            }
+            waiters.removeIf(CompletableFuture::isDone);
+            CompletableFuture<Long> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public WorkQueuePageDTO getPage(RepairEntity.Status status, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("La página debe ser positiva y su tamaño estar entre 1 y " + MAX_PAGE_SIZE + ".");
+        }
+        if (status != null && !OpenRepairQueue.QUEUE_STATUSES.contains(status)) {
+            throw new IllegalArgumentException("El estado " + status.getLabel() + " no forma parte de la cola de trabajo.");
+        }
+        lock.readLock().lock();
+        try {
+            Map<RepairEntity.Status, Integer> counts = queue.counts();
+            long totalMatches = status == null ? queue.size() : queue.count(status);
+            List<WorkQueueItemDTO> repairs = queue.page(status, page, size);
+            return new WorkQueuePageDTO(queue.version(), counts, totalMatches, page, size, repairs);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -1,22 +1,36 @@
 package com.autofix.repairmanagementsystem.services;
 
+import com.autofix.repairmanagementsystem.config.Timed;
 import com.autofix.repairmanagementsystem.dto.AverageRepairTimeDTO;
+import com.autofix.repairmanagementsystem.dto.CubeQueryDTO;
+import com.autofix.repairmanagementsystem.dto.CubeRowDTO;
+import com.autofix.repairmanagementsystem.dto.RepairTimeSeriesPointDTO;
 import com.autofix.repairmanagementsystem.dto.RepairTypeMotorSummaryDTO;
 import com.autofix.repairmanagementsystem.dto.RepairTypeSummaryDTO;
+import com.autofix.repairmanagementsystem.dto.TopSpendersReportDTO;
+import com.autofix.repairmanagementsystem.dto.TurnaroundPercentilesDTO;
 import com.autofix.repairmanagementsystem.entities.RepairEntity;
 import com.autofix.repairmanagementsystem.entities.VehicleEntity;
 import com.autofix.repairmanagementsystem.dto.RepairCostReportDTO;
 import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import com.autofix.repairmanagementsystem.utils.QueryCancellation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 @Service
+@Timed("report")
 public class ReportService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ReportService.class);
+
     @Autowired
     private RepairService repairService;
 
@@ -26,12 +40,37 @@ public class ReportService {
     @Autowired
     private RepairRepository repairRepository;
 
+    @Autowired
+    private RepairRollupService repairRollupService;
+
+    @Autowired
+    private TurnaroundAnalyticsService turnaroundAnalyticsService;
+
+    @Autowired
+    private TopSpendersService topSpendersService;
+
+    @Autowired
+    private RepairCubeService repairCubeService;
+
+    @Autowired
+    private RepairSnapshotService repairSnapshotService;
+
     public List<RepairCostReportDTO> generateRepairCostReport() {
+        return generateRepairCostReport(null);
+    }
+
+    // Con asOf el informe se reproduce a esa fecha: solo cuenta las reparaciones ingresadas hasta entonces y
+    // calcula recargos y descuentos como correspondían ese día.
+    public List<RepairCostReportDTO> generateRepairCostReport(LocalDate asOf) {
         List<VehicleEntity> vehicles = vehicleService.findAllVehicles();
         List<RepairCostReportDTO> reports = new ArrayList<>();
         for (VehicleEntity vehicle : vehicles) {
+            QueryCancellation.checkpoint();
             List<RepairEntity> repairs = repairService.findRepairsByVehicleId(vehicle.getVehicleId());
-            BigDecimal totalCost = calculateTotalCost(repairs);
+            if (asOf != null) {
+                repairs = repairs.stream().filter(repair -> !repair.getEntryDate().isAfter(asOf)).toList();
+            }
+            BigDecimal totalCost = calculateTotalCost(repairs, asOf);
             reports.add(new RepairCostReportDTO(
                     vehicle.getVehicleId(),
                     vehicle.getBrand() + " " + vehicle.getModel(),
@@ -42,14 +81,18 @@ public class ReportService {
         return reports;
     }
 
-    private BigDecimal calculateTotalCost(List<RepairEntity> repairs) {
+    private BigDecimal calculateTotalCost(List<RepairEntity> repairs, LocalDate asOf) {
         BigDecimal total = BigDecimal.ZERO;
         for (RepairEntity repair : repairs) {
             try {
-                BigDecimal repairCost = repairService.calculateTotalRepairCost(repair.getRepairId());
+                BigDecimal repairCost = asOf == null
+                        ? repairService.calculateTotalRepairCost(repair.getRepairId())
+                        : repairService.calculateTotalRepairCost(repair.getRepairId(), asOf);
                 total = total.add(repairCost);
+            } catch (CancellationException e) {
+                throw e;
             } catch (Exception e) {
-                System.err.println("Error calculating repair cost for repair ID " + repair.getRepairId() + ": " + e.getMessage());
+                logger.warn("Error calculating repair cost for repair ID {}: {}", repair.getRepairId(), e.getMessage());
             }
         }
         return total;
@@ -66,4 +109,48 @@ public class ReportService {
     public List<RepairTypeMotorSummaryDTO> generateRepairTypeMotorReport() {
         return repairRepository.findRepairTypesAndEngineSummary();
     }
+
+    public List<RepairTimeSeriesPointDTO> generateTimeSeriesReport(LocalDate start, LocalDate end,
+                                                                   RepairRollupService.Granularity granularity,
+                                                                   String brand, Long repairTypeId) {
+        return repairRollupService.getTimeSeries(start, end, granularity, brand, repairTypeId);
+    }
+
+    public int rebuildDailyRollups() {
+        return repairRollupService.rebuildRollups();
+    }
+
+    public List<TurnaroundPercentilesDTO> generateTurnaroundPercentilesReport(LocalDate start, LocalDate end,
+                                                                             TurnaroundAnalyticsService.GroupBy groupBy) {
+        return turnaroundAnalyticsService.getTurnaroundPercentiles(start, end, groupBy);
+    }
+
+    public TopSpendersReportDTO generateTopSpendersReport(LocalDate start, LocalDate end, int limit,
+                                                          TopSpendersService.Pricing pricing) {
+        return topSpendersService.getTopSpenders(start, end, limit, pricing);
+    }
+
+    public List<CubeRowDTO> queryRepairCube(CubeQueryDTO query) {
+        return repairCubeService.query(query);
+    }
+
+    public int rebuildRepairCube() {
+        return repairCubeService.rebuild();
+    }
+
+    public List<RepairTypeSummaryDTO> generateSnapshotRepairTypeSummaryReport() {
+        return repairSnapshotService.getRepairTypeSummary();
+    }
+
+    public List<AverageRepairTimeDTO> generateSnapshotAverageRepairTimeReport() {
+        return repairSnapshotService.getAverageRepairTimes();
+    }
+
+    public int refreshRepairSnapshot() {
+        return repairSnapshotService.refresh();
+    }
+
+    public int rebuildRepairSnapshot() {
+        return repairSnapshotService.rebuild();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.utils.SyntheticDataGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.LocalDate;
+
+// Carga datos sintéticos al arrancar, solo si se pide el número de reparaciones. Por ejemplo:
+//   java -jar autofix-backend.jar --autofix.synthetic-data.repairs=1000000 --autofix.synthetic-data.vehicles=100000
+// Corre después de la migración de enumeraciones y antes de ApplicationReadyEvent, así que los índices en memoria
+// se construyen ya con los datos nuevos; el resumen diario se reconstruye aquí.
+@Service
+@ConditionalOnProperty("autofix.synthetic-data.repairs")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class SyntheticDataLoader implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataLoader.class);
+
+    private final DataSource dataSource;
+    private final RepairRollupService repairRollupService;
+    private final Clock clock;
+    private final long seed;
+    private final int vehicles;
+    private final int repairs;
+    private final int historyYears;
+
+    @Autowired
+    public SyntheticDataLoader(DataSource dataSource, RepairRollupService repairRollupService, Clock clock,
+                               @Value("${autofix.synthetic-data.seed:42}") long seed,
+                               @Value("${autofix.synthetic-data.vehicles:0}") int vehicles,
+                               @Value("${autofix.synthetic-data.repairs}") int repairs,
+                               @Value("${autofix.synthetic-data.history-years:3}") int historyYears) {
+        this.dataSource = dataSource;
+        this.repairRollupService = repairRollupService;
+        this.clock = clock;
+        this.seed = seed;
+        // Sin cantidad de vehículos, uno por cada diez reparaciones
+        this.vehicles = vehicles > 0 ? vehicles : Math.max(1, repairs / 10);
+        this.repairs = repairs;
+        this.historyYears = historyYears;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        SyntheticDataGenerator.Summary summary = new SyntheticDataGenerator(seed, LocalDate.now(clock), historyYears)
+                .generate(dataSource, vehicles, repairs);
+        int rollups = repairRollupService.rebuildRollups();
+        logger.info("Synthetic data loaded with seed {}: {} vehicles, {} repairs, {} daily rollups", seed,
+                summary.getVehicles(), summary.getRepairs(), rollups);
+    }
+}
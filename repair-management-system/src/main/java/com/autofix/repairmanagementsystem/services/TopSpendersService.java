@@ -0,0 +1,166 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.TopBrandSpendDTO;
+import com.autofix.repairmanagementsystem.dto.TopSpendersReportDTO;
+import com.autofix.repairmanagementsystem.dto.TopVehicleSpendDTO;
+import com.autofix.repairmanagementsystem.dto.VehicleRepairCountDTO;
+import com.autofix.repairmanagementsystem.entities.BonusEntity;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.repositories.BonusRepository;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
+import com.autofix.repairmanagementsystem.utils.QueryCancellation;
+import com.autofix.repairmanagementsystem.utils.TopKAccumulator;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class TopSpendersService {
+
+    public static final int MAX_LIMIT = 100;
+    private static final int VEHICLE_BATCH_SIZE = 200;
+
+    private static final Logger logger = LoggerFactory.getLogger(TopSpendersService.class);
+
+    private final VehicleRepository vehicleRepository;
+    private final RepairRepository repairRepository;
+    private final BonusRepository bonusRepository;
+    private final RepairService repairService;
+    private final DiscountService discountService;
+    private final ChargeService chargeService;
+    private final EntityManager entityManager;
+
+    @Autowired
+    public TopSpendersService(VehicleRepository vehicleRepository, RepairRepository repairRepository,
+                              BonusRepository bonusRepository, RepairService repairService,
+                              DiscountService discountService, ChargeService chargeService,
+                              EntityManager entityManager) {
+        this.vehicleRepository = vehicleRepository;
+        this.repairRepository = repairRepository;
+        this.bonusRepository = bonusRepository;
+        this.repairService = repairService;
+        this.discountService = discountService;
+        this.chargeService = chargeService;
+        this.entityManager = entityManager;
+    }
+
+    public enum Pricing {
+        TOTAL, // Costo total con descuentos, recargos e IVA (calculado en la aplicación).
+        BASE // Costo base de la reparación (agregado directamente en SQL).
+    }
+
+    @Transactional(readOnly = true)
+    public TopSpendersReportDTO getTopSpenders(LocalDate start, LocalDate end, int limit, Pricing pricing) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("La fecha final no puede ser anterior a la fecha inicial.");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_LIMIT + ".");
+        }
+        if (pricing == Pricing.BASE) {
+            PageRequest top = PageRequest.of(0, limit);
+            return new TopSpendersReportDTO(
+                    repairRepository.findTopVehiclesByBaseCost(start, end, top),
+                    repairRepository.findTopBrandsByBaseCost(start, end, top));
+        }
+        return streamTotalCosts(start, end, limit);
+    }
+
+    // Recorre los vehículos ordenados por marca en lotes, tarifica sus reparaciones y solo conserva los K mayores.
+    // Los datos de tarificación de cada vehículo (reparaciones del último año y bono) se cargan por lote, así que
+    // cada lote cuesta cuatro consultas sin importar cuántas reparaciones tenga.
+    private TopSpendersReportDTO streamTotalCosts(LocalDate start, LocalDate end, int limit) {
+        TopKAccumulator<TopVehicleSpendDTO> topVehicles =
+                new TopKAccumulator<>(limit, Comparator.comparing(TopVehicleSpendDTO::getTotalSpend));
+        TopKAccumulator<TopBrandSpendDTO> topBrands =
+                new TopKAccumulator<>(limit, Comparator.comparing(TopBrandSpendDTO::getTotalSpend));
+
+        TopBrandSpendDTO currentBrand = null;
+        String lastBrand = "";
+        long lastVehicleId = 0L;
+        List<VehicleEntity> vehicles;
+        do {
+            vehicles = vehicleRepository.findBatchAfter(lastBrand, lastVehicleId, PageRequest.of(0, VEHICLE_BATCH_SIZE));
+            if (vehicles.isEmpty()) {
+                break;
+            }
+            List<Long> vehicleIds = new ArrayList<>(vehicles.size());
+            for (VehicleEntity vehicle : vehicles) {
+                vehicleIds.add(vehicle.getVehicleId());
+            }
+            Map<Long, List<RepairEntity>> repairsByVehicle = repairRepository
+                    .findByVehicleIdsAndEntryDateBetween(vehicleIds, start, end).stream()
+                    .collect(Collectors.groupingBy(repair -> repair.getVehicle().getVehicleId()));
+            Map<Long, Long> recentRepairsByVehicle = new HashMap<>();
+            for (VehicleRepairCountDTO count : repairRepository.countRepairsByVehicleIdsSince(vehicleIds,
+                    discountService.repairCountWindowStart())) {
+                recentRepairsByVehicle.put(count.getVehicleId(), count.getRepairCount());
+            }
+            Map<Long, BigDecimal> bonusesByVehicle = new HashMap<>();
+            for (BonusEntity bonus : bonusRepository.findByVehicleIds(vehicleIds)) {
+                bonusesByVehicle.put(bonus.getVehicle().getVehicleId(), bonus.getAmount());
+            }
+
+            for (VehicleEntity vehicle : vehicles) {
+                QueryCancellation.checkpoint();
+                if (currentBrand == null || !currentBrand.getBrand().equals(vehicle.getBrand())) {
+                    offerBrand(topBrands, currentBrand);
+                    currentBrand = new TopBrandSpendDTO(vehicle.getBrand(), BigDecimal.ZERO, 0L);
+                }
+                List<RepairEntity> repairs = repairsByVehicle.getOrDefault(vehicle.getVehicleId(), Collections.emptyList());
+                BigDecimal vehicleTotal = BigDecimal.ZERO;
+                long pricedRepairs = 0;
+                if (!repairs.isEmpty()) {
+                    BigDecimal additionalDiscount = discountService.discountForRepairCount(vehicle.getEngineType(),
+                            recentRepairsByVehicle.getOrDefault(vehicle.getVehicleId(), 0L));
+                    BigDecimal mileageChargePercentage = chargeService.mileageChargePercentage(vehicle.getType(), vehicle.getMileage());
+                    BigDecimal bonusAmount = bonusesByVehicle.getOrDefault(vehicle.getVehicleId(), BigDecimal.ZERO);
+                    for (RepairEntity repair : repairs) {
+                        try {
+                            vehicleTotal = vehicleTotal.add(repairService.calculateTotalRepairCost(repair,
+                                    additionalDiscount, mileageChargePercentage, bonusAmount));
+                            pricedRepairs++;
+                        } catch (RuntimeException e) {
+                            logger.warn("Error calculating repair cost for repair ID {}: {}", repair.getRepairId(), e.getMessage());
+                        }
+                    }
+                }
+                if (pricedRepairs > 0) {
+                    topVehicles.offer(new TopVehicleSpendDTO(vehicle.getVehicleId(),
+                            vehicle.getBrand() + " " + vehicle.getModel(), vehicleTotal, pricedRepairs));
+                    currentBrand.setTotalSpend(currentBrand.getTotalSpend().add(vehicleTotal));
+                    currentBrand.setNumberOfRepairs(currentBrand.getNumberOfRepairs() + pricedRepairs);
+                }
+                lastBrand = vehicle.getBrand();
+                lastVehicleId = vehicle.getVehicleId();
+            }
+            // Cada lote se descarta del contexto de persistencia para que la memoria no crezca con la flota
+            entityManager.clear();
+        } while (vehicles.size() == VEHICLE_BATCH_SIZE);
+        offerBrand(topBrands, currentBrand);
+
+        return new TopSpendersReportDTO(topVehicles.toSortedList(), topBrands.toSortedList());
+    }
+
+    private void offerBrand(TopKAccumulator<TopBrandSpendDTO> topBrands, TopBrandSpendDTO brand) {
+        if (brand != null && brand.getNumberOfRepairs() > 0) {
+            topBrands.offer(brand);
+        }
+    }
+}
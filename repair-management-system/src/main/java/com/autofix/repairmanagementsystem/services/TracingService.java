@@ -0,0 +1,112 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.TraceDTO;
+import com.autofix.repairmanagementsystem.dto.TraceSpanDTO;
+import com.autofix.repairmanagementsystem.utils.RequestTrace;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Decide qué peticiones se trazan y guarda en un búfer circular las trazas lentas (o forzadas con la cabecera
+// X-Autofix-Trace) de esta réplica. Solo se arma el árbol de tramos de las peticiones muestreadas; el resto pasa
+// por los interceptores sin reservar memoria.
+@Service
+public class TracingService {
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final int maxSpans;
+    private final AtomicReferenceArray<RequestTrace> buffer;
+    private final AtomicLong written = new AtomicLong();
+
+    @Autowired
+    public TracingService(@Value("${autofix.tracing.sample-rate:0.01}") double sampleRate,
+                          @Value("${autofix.tracing.slow-threshold-ms:500}") long slowThresholdMs,
+                          @Value("${autofix.tracing.buffer-size:100}") int bufferSize,
+                          @Value("${autofix.tracing.max-spans:500}") int maxSpans) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("La tasa de muestreo debe estar entre 0 y 1.");
+        }
+        if (bufferSize <= 0 || maxSpans <= 0) {
+            throw new IllegalArgumentException("El búfer de trazas y el máximo de tramos deben ser mayores que cero.");
+        }
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.maxSpans = maxSpans;
+        this.buffer = new AtomicReferenceArray<>(bufferSize);
+    }
+
+    public boolean shouldSample(boolean forced) {
+        return forced || sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    public RequestTrace begin(String name, String path) {
+        return RequestTrace.begin(name, path, maxSpans);
+    }
+
+    // Guarda la traza ya cerrada si superó el umbral o si se pidió explícitamente; las más antiguas se pisan.
+    public boolean complete(RequestTrace trace, boolean forced) {
+        if (!forced && trace.getDurationNanos() < slowThresholdNanos) {
+            return false;
+        }
+        buffer.set((int) (written.getAndIncrement() % buffer.length()), trace);
+        return true;
+    }
+
+    // Trazas guardadas de la más reciente a la más antigua, filtradas por duración mínima y por nombre.
+    public List<TraceDTO> findTraces(long minMillis, String name, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("El límite debe ser mayor que cero.");
+        }
+        List<TraceDTO> traces = new ArrayList<>();
+        long last = written.get();
+        for (long i = last - 1; i >= Math.max(0, last - buffer.length()) && traces.size() < limit; i--) {
+            RequestTrace trace = buffer.get((int) (i % buffer.length()));
+            if (trace == null || trace.getDurationNanos() < TimeUnit.MILLISECONDS.toNanos(minMillis)
+                    || name != null && !trace.getName().contains(name)) {
+                continue;
+            }
+            traces.add(toDTO(trace));
+        }
+        return traces;
+    }
+
+    public Optional<TraceDTO> findTrace(String id) {
+        for (int i = 0; i < buffer.length(); i++) {
+            RequestTrace trace = buffer.get(i);
+            if (trace != null && trace.getId().equals(id)) {
+                return Optional.of(toDTO(trace));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static TraceDTO toDTO(RequestTrace trace) {
+        return new TraceDTO(trace.getId(), trace.getName(), trace.getPath(), trace.getStatus(),
+                Instant.ofEpochMilli(trace.getStartedAtMillis()), toMillis(trace.getDurationNanos()),
+                trace.getSpanCount(), trace.getDroppedSpans(), toDTOs(trace.getSpans()));
+    }
+
+    private static List<TraceSpanDTO> toDTOs(List<RequestTrace.Span> spans) {
+        List<TraceSpanDTO> result = new ArrayList<>(spans.size());
+        for (RequestTrace.Span span : spans) {
+            result.add(new TraceSpanDTO(span.getKind(), span.getName(), toMillis(span.getOffsetNanos()),
+                    toMillis(span.getDurationNanos()), span.getRows() < 0 ? null : span.getRows(), span.isError(),
+                    toDTOs(span.getChildren())));
+        }
+        return result;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,65 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.TurnaroundPercentilesDTO;
+import com.autofix.repairmanagementsystem.entities.RepairDailyRollupEntity;
+import com.autofix.repairmanagementsystem.repositories.RepairDailyRollupRepository;
+import com.autofix.repairmanagementsystem.utils.TurnaroundHistogram;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class TurnaroundAnalyticsService {
+
+    private final RepairDailyRollupRepository rollupRepository;
+
+    @Autowired
+    public TurnaroundAnalyticsService(RepairDailyRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    public enum GroupBy {
+        BRAND, REPAIR_TYPE
+    }
+
+    // Combina los histogramas diarios del rango en lugar de ordenar los tiempos de cada reparación.
+    public List<TurnaroundPercentilesDTO> getTurnaroundPercentiles(LocalDate start, LocalDate end, GroupBy groupBy) {
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("La fecha final no puede ser anterior a la fecha inicial.");
+        }
+        List<RepairDailyRollupEntity> rows = rollupRepository.findForRange(start, end, null, null);
+
+        Map<String, TurnaroundHistogram> histograms = new TreeMap<>();
+        for (RepairDailyRollupEntity row : rows) {
+            if (row.getTurnaroundHistogram() == null) {
+                continue;
+            }
+            String group = groupBy == GroupBy.BRAND ? row.getBrand() : row.getRepairType().getDescription();
+            histograms.computeIfAbsent(group, k -> new TurnaroundHistogram())
+                    .merge(TurnaroundHistogram.fromBytes(row.getTurnaroundHistogram()));
+        }
+
+        List<TurnaroundPercentilesDTO> percentiles = new ArrayList<>();
+        for (Map.Entry<String, TurnaroundHistogram> entry : histograms.entrySet()) {
+            TurnaroundHistogram histogram = entry.getValue();
+            if (histogram.isEmpty()) {
+                continue;
+            }
+            percentiles.add(new TurnaroundPercentilesDTO(
+                    entry.getKey(),
+                    histogram.getTotalCount(),
+                    histogram.valueAtPercentile(50),
+                    histogram.valueAtPercentile(90),
+                    histogram.valueAtPercentile(99)
+            ));
+        }
+        percentiles.sort(Comparator.comparingLong(TurnaroundPercentilesDTO::getP50Hours));
+        return percentiles;
+    }
+}
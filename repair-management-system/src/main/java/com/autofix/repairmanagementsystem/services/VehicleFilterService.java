@@ -0,0 +1,153 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.VehicleFilterDTO;
+import com.autofix.repairmanagementsystem.dto.VehicleFilterResultDTO;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.events.VehicleChangedEvent;
+import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
+import com.autofix.repairmanagementsystem.utils.CompressedBitmap;
+import com.autofix.repairmanagementsystem.utils.RebuildEventBuffer;
+import com.autofix.repairmanagementsystem.utils.VehicleBitmapIndex;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class VehicleFilterService {
+
+    public static final int MAX_PAGE_SIZE = 200;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleFilterService.class);
+
+    private final VehicleRepository vehicleRepository;
+    private final EntityManager entityManager;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RebuildEventBuffer<VehicleChangedEvent> pendingEvents = new RebuildEventBuffer<>();
+    private VehicleBitmapIndex index = new VehicleBitmapIndex();
+
+    @Autowired
+    public VehicleFilterService(VehicleRepository vehicleRepository, EntityManager entityManager) {
+        this.vehicleRepository = vehicleRepository;
+        this.entityManager = entityManager;
+    }
+
+    // Se construye al arrancar y se reconstruye periódicamente para recoger los cambios hechos en otras réplicas.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${autofix.vehicle-index.refresh-interval-ms:300000}",
+            fixedDelayString = "${autofix.vehicle-index.refresh-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public synchronized long rebuild() {
+        withWriteLock(pendingEvents::start);
+        try {
+            VehicleBitmapIndex fresh = new VehicleBitmapIndex();
+            long lastVehicleId = 0L;
+            List<VehicleEntity> batch;
+            do {
+                batch = vehicleRepository.findByVehicleIdGreaterThanOrderByVehicleIdAsc(lastVehicleId,
+                        PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (VehicleEntity vehicle : batch) {
+                    fresh.put(vehicle);
+                    lastVehicleId = vehicle.getVehicleId();
+                }
+                entityManager.clear();
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+
+            int replayed;
+            lock.writeLock().lock();
+            try {
+                // Poner o quitar un vehículo es idempotente, así que se repiten todos los cambios en orden: la
+                // lectura en una sola transacción puede no haberlos visto
+                List<VehicleChangedEvent> pending = pendingEvents.finish();
+                for (VehicleChangedEvent event : pending) {
+                    apply(fresh, event);
+                }
+                replayed = pending.size();
+                index = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Vehicle bitmap index rebuilt with {} vehicles, {} changes replayed", fresh.size(), replayed);
+            return fresh.size();
+        } finally {
+            withWriteLock(pendingEvents::finish);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(index, event);
+            pendingEvents.add(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(VehicleBitmapIndex target, VehicleChangedEvent event) {
+        if (event.isDeleted()) {
+            target.remove(event.getVehicle().getVehicleId());
+        } else {
+            target.put(event.getVehicle());
+        }
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Resuelve el filtro con operaciones sobre los mapas de bits y solo carga de la base de datos la página pedida.
+    public VehicleFilterResultDTO filter(VehicleFilterDTO filter, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("La página debe ser positiva y su tamaño estar entre 1 y " + MAX_PAGE_SIZE + ".");
+        }
+        long totalMatches;
+        List<Long> vehicleIds;
+        lock.readLock().lock();
+        try {
+            CompressedBitmap matches = index.filter(filter.getFilters(), filter.isMatchAll());
+            totalMatches = matches.cardinality();
+            vehicleIds = index.page(matches, page, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (vehicleIds.isEmpty()) {
+            return new VehicleFilterResultDTO(totalMatches, page, size, Collections.emptyList());
+        }
+        Map<Long, VehicleEntity> vehiclesById = vehicleRepository.findAllById(vehicleIds).stream()
+                .collect(Collectors.toMap(VehicleEntity::getVehicleId, Function.identity()));
+        List<VehicleEntity> vehicles = new ArrayList<>(vehicleIds.size());
+        for (Long vehicleId : vehicleIds) {
+            // Un vehículo eliminado en otra réplica puede seguir en el índice hasta la próxima reconstrucción
+            VehicleEntity vehicle = vehiclesById.get(vehicleId);
+            if (vehicle != null) {
+                vehicles.add(vehicle);
+            }
+        }
+        return new VehicleFilterResultDTO(totalMatches, page, size, vehicles);
+    }
+}
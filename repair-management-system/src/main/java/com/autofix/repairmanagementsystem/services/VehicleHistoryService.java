@@ -0,0 +1,62 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+// Mantiene los contadores de historial de cada vehículo (reparaciones, costo base acumulado, último ingreso y
+// reparaciones abiertas) dentro de la misma transacción que registra o elimina la reparación.
+@Service
+public class VehicleHistoryService {
+
+    private static final long RECONCILE_BATCH_SIZE = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleHistoryService.class);
+
+    private final VehicleRepository vehicleRepository;
+
+    @Autowired
+    public VehicleHistoryService(VehicleRepository vehicleRepository) {
+        this.vehicleRepository = vehicleRepository;
+    }
+
+    // Una reparación sigue abierta mientras el cliente no retire el vehículo.
+    public static boolean isOpen(RepairEntity repair) {
+        return repair.getCustomerPickupDate() == null;
+    }
+
+    public void addRepair(RepairEntity repair) {
+        vehicleRepository.addRepairToHistory(repair.getVehicle().getVehicleId(), repair.getRepairCost(),
+                repair.getEntryDate(), isOpen(repair) ? 1 : 0);
+    }
+
+    // Recibe los valores ya capturados, porque al actualizar una reparación la entidad se sobrescribe al guardarla.
+    public void removeRepair(Long vehicleId, BigDecimal repairCost, boolean open) {
+        vehicleRepository.removeRepairFromHistory(vehicleId, repairCost, open ? 1 : 0);
+    }
+
+    // Corrige cualquier desviación recalculando los contadores por rangos de ID; cada rango se confirma por separado
+    // para no bloquear toda la tabla de vehículos.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${autofix.vehicle-history.reconcile-cron:0 0 4 * * *}")
+    public int reconcile() {
+        Long maxVehicleId = vehicleRepository.findMaxVehicleId();
+        if (maxVehicleId == null) {
+            return 0;
+        }
+        int reconciled = 0;
+        for (long afterId = 0; afterId < maxVehicleId; afterId += RECONCILE_BATCH_SIZE) {
+            reconciled += vehicleRepository.reconcileHistory(afterId, afterId + RECONCILE_BATCH_SIZE);
+        }
+        logger.info("Vehicle history reconciled for {} vehicles", reconciled);
+        return reconciled;
+    }
+}
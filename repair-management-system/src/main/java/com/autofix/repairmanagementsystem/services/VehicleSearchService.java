@@ -0,0 +1,136 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.VehicleSearchResultDTO;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.events.VehicleChangedEvent;
+import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
+import com.autofix.repairmanagementsystem.utils.RebuildEventBuffer;
+import com.autofix.repairmanagementsystem.utils.VehicleSearchIndex;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Service
+public class VehicleSearchService {
+
+    public static final int MAX_LIMIT = 50;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleSearchService.class);
+
+    private final VehicleRepository vehicleRepository;
+    private final EntityManager entityManager;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RebuildEventBuffer<VehicleChangedEvent> pendingEvents = new RebuildEventBuffer<>();
+    private VehicleSearchIndex index = new VehicleSearchIndex();
+
+    @Autowired
+    public VehicleSearchService(VehicleRepository vehicleRepository, EntityManager entityManager) {
+        this.vehicleRepository = vehicleRepository;
+        this.entityManager = entityManager;
+    }
+
+    // Se construye al arrancar y se reconstruye periódicamente para recoger los cambios hechos en otras réplicas.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${autofix.vehicle-index.refresh-interval-ms:300000}",
+            fixedDelayString = "${autofix.vehicle-index.refresh-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public synchronized int rebuild() {
+        withWriteLock(pendingEvents::start);
+        try {
+            VehicleSearchIndex fresh = new VehicleSearchIndex();
+            long lastVehicleId = 0L;
+            List<VehicleEntity> batch;
+            do {
+                batch = vehicleRepository.findByVehicleIdGreaterThanOrderByVehicleIdAsc(lastVehicleId,
+                        PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (VehicleEntity vehicle : batch) {
+                    fresh.put(vehicle);
+                    lastVehicleId = vehicle.getVehicleId();
+                }
+                entityManager.clear();
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+
+            int replayed;
+            lock.writeLock().lock();
+            try {
+                // Poner o quitar un vehículo es idempotente, así que se repiten todos los cambios en orden: la
+                // lectura en una sola transacción puede no haberlos visto
+                List<VehicleChangedEvent> pending = pendingEvents.finish();
+                for (VehicleChangedEvent event : pending) {
+                    apply(fresh, event);
+                }
+                replayed = pending.size();
+                index = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Vehicle search index rebuilt with {} vehicles, {} changes replayed", fresh.size(), replayed);
+            return fresh.size();
+        } finally {
+            withWriteLock(pendingEvents::finish);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVehicleChanged(VehicleChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(index, event);
+            pendingEvents.add(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(VehicleSearchIndex target, VehicleChangedEvent event) {
+        if (event.isDeleted()) {
+            target.remove(event.getVehicle().getVehicleId());
+        } else {
+            target.put(event.getVehicle());
+        }
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<VehicleSearchResultDTO> search(String query, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_LIMIT + ".");
+        }
+        List<VehicleSearchIndex.Hit> hits;
+        lock.readLock().lock();
+        try {
+            hits = index.search(query, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<VehicleSearchResultDTO> results = new ArrayList<>(hits.size());
+        for (VehicleSearchIndex.Hit hit : hits) {
+            VehicleEntity vehicle = hit.getVehicle();
+            results.add(new VehicleSearchResultDTO(vehicle.getVehicleId(), vehicle.getLicensePlateNumber(),
+                    vehicle.getBrand(), vehicle.getModel(), hit.getScore()));
+        }
+        return results;
+    }
+}
@@ -1,28 +1,56 @@
 package com.autofix.repairmanagementsystem.services;
 
 import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.events.VehicleChangedEvent;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
 import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
 import java.time.Year;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class VehicleService {
 
     private final VehicleRepository vehicleRepository;
+    private final RepairRepository repairRepository;
+    private final PlateRegistryService plateRegistryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private volatile Set<String> plateIndexes;
 
     @Autowired
-    public VehicleService(VehicleRepository vehicleRepository) {
+    public VehicleService(VehicleRepository vehicleRepository, RepairRepository repairRepository,
+                          PlateRegistryService plateRegistryService, ApplicationEventPublisher eventPublisher,
+                          JdbcTemplate jdbcTemplate, Clock clock) {
         this.vehicleRepository = vehicleRepository;
+        this.repairRepository = repairRepository;
+        this.plateRegistryService = plateRegistryService;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
     }
 
-    @Transactional
+    @Transactional(rollbackFor = Exception.class)
     public VehicleEntity registerOrUpdateVehicle(VehicleEntity vehicle) throws Exception {
-        int currentYear = Year.now().getValue();
+        int currentYear = Year.now(clock).getValue();
         if (vehicle.getManufactureYear() < 1970 || vehicle.getManufactureYear() > currentYear) {
             throw new IllegalArgumentException("El año de fabricación del vehículo está fuera del rango permitido.");
         }
@@ -30,13 +58,26 @@ public class VehicleService {
             if (!vehicleRepository.existsById(vehicle.getVehicleId())) {
                 throw new Exception("El vehículo con ID " + vehicle.getVehicleId() + " no existe.");
             }
-        } else {
+        } else if (plateRegistryService.mightBeRegistered(vehicle.getLicensePlateNumber())) {
+            // Solo se consulta la base de datos cuando la placa podría estar registrada
             Optional<VehicleEntity> existingVehicle = vehicleRepository.findByLicensePlateNumber(vehicle.getLicensePlateNumber());
             if (existingVehicle.isPresent()) {
                 throw new Exception("El número de placa ya está registrado: " + vehicle.getLicensePlateNumber());
             }
         }
-        return vehicleRepository.save(vehicle);
+        VehicleEntity savedVehicle;
+        try {
+            savedVehicle = vehicleRepository.save(vehicle);
+        } catch (DataIntegrityViolationException e) {
+            // La restricción única decide si la guarda en memoria no conocía la placa (p. ej. registrada en otra réplica);
+            // cualquier otra violación (nulos, otras restricciones) se propaga sin cambiar
+            if (!isDuplicateKeyOn(e, plateIndexes())) {
+                throw e;
+            }
+            throw new Exception("El número de placa ya está registrado: " + vehicle.getLicensePlateNumber());
+        }
+        eventPublisher.publishEvent(new VehicleChangedEvent(savedVehicle, false));
+        return savedVehicle;
     }
 
     public List<VehicleEntity> findAllVehicles() {
@@ -50,9 +91,63 @@ public class VehicleService {
     @Transactional
     public void deleteVehicle(Long vehicleId) throws Exception {
         VehicleEntity vehicle = findVehicleById(vehicleId);
-        if (!vehicle.getRepairs().isEmpty()) {
+        // El historial descarta rápido los vehículos con reparaciones, pero puede estar desfasado y la eliminación
+        // borra en cascada las reparaciones: si marca cero, decide la consulta de existencia
+        if (vehicle.getHistory().getRepairCount() > 0 || repairRepository.existsByVehicleVehicleId(vehicleId)) {
             throw new Exception("El vehículo tiene reparaciones pendientes y no puede ser eliminado.");
         }
         vehicleRepository.deleteById(vehicleId);
+        eventPublisher.publishEvent(new VehicleChangedEvent(vehicle, true));
+    }
+
+    // Verdadero si la causa es una clave duplicada en alguno de los índices dados. MySQL informa el estado 23000
+    // para toda violación de integridad, así que se distingue por el código 1062; el resto usa el estado 23505.
+    static boolean isDuplicateKeyOn(DataIntegrityViolationException e, Set<String> indexes) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                SQLException sqlException = (SQLException) cause;
+                if (!"23505".equals(sqlException.getSQLState()) && sqlException.getErrorCode() != 1062) {
+                    return false;
+                }
+                String message = String.valueOf(sqlException.getMessage()).toLowerCase(Locale.ROOT);
+                return indexes.stream().anyMatch(message::contains);
+            }
+        }
+        return false;
+    }
+
+    // Índices únicos cuya única columna es la placa, según los metadatos. Sus nombres los generó ddl-auto, así que
+    // no se conocen de antemano; se leen una vez.
+    private Set<String> plateIndexes() {
+        Set<String> indexes = plateIndexes;
+        if (indexes == null) {
+            indexes = jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
+                DatabaseMetaData metaData = connection.getMetaData();
+                String table = metaData.storesUpperCaseIdentifiers() ? "VEHICLES" : "vehicles";
+                Map<String, Set<String>> columnsByIndex = new HashMap<>();
+                try (ResultSet indexInfo = metaData.getIndexInfo(connection.getCatalog(), null, table, true, false)) {
+                    while (indexInfo.next()) {
+                        String index = indexInfo.getString("INDEX_NAME");
+                        String column = indexInfo.getString("COLUMN_NAME");
+                        if (index != null && column != null) {
+                            columnsByIndex.computeIfAbsent(index.toLowerCase(Locale.ROOT), key -> new HashSet<>())
+                                    .add(column.toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+                Set<String> result = new HashSet<>();
+                for (Map.Entry<String, Set<String>> index : columnsByIndex.entrySet()) {
+                    if (index.getValue().equals(Set.of("license_plate_number"))) {
+                        result.add(index.getKey());
+                    }
+                }
+                return result;
+            });
+            // Sin índices (tabla aún no creada) se vuelve a consultar la próxima vez
+            if (indexes != null && !indexes.isEmpty()) {
+                plateIndexes = indexes;
+            }
+        }
+        return indexes == null ? Set.of() : indexes;
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Compartimento de concurrencia: hasta maxConcurrent tareas a la vez y, detrás, una cola de espera acotada.
+// Con la cola llena se rechaza de inmediato en vez de hacer esperar a quien de todas formas no alcanzaría turno.
+public class Bulkhead {
+
+    private final String name;
+    private final ConcurrencyLimiter limiter;
+    private final int maxQueue;
+    private final long maxWaitMs;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueue, long maxWaitMs) {
+        if (maxQueue < 0 || maxWaitMs < 0) {
+            throw new IllegalArgumentException("La cola y la espera del compartimento no pueden ser negativas.");
+        }
+        this.name = name;
+        this.limiter = new ConcurrencyLimiter(maxConcurrent);
+        this.maxQueue = maxQueue;
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    // Devuelve true si la tarea puede continuar; en ese caso debe llamar a exit() al terminar.
+    public boolean tryEnter() throws InterruptedException {
+        boolean acquired;
+        if (limiter.getQueueLength() >= maxQueue) {
+            acquired = limiter.tryAcquire(0, TimeUnit.MILLISECONDS);
+        } else {
+            acquired = limiter.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        }
+        if (!acquired) {
+            rejected.incrementAndGet();
+        }
+        return acquired;
+    }
+
+    public void exit() {
+        limiter.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return limiter.getLimit();
+    }
+
+    public int getInFlight() {
+        return limiter.getInFlight();
+    }
+
+    public int getQueued() {
+        return limiter.getQueueLength();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,71 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Señal de cancelación de una petición. Guarda las sentencias JDBC en curso para que cancelar interrumpa también
+// la consulta que se esté ejecutando en la base de datos, y un plazo que acota el timeout de cada sentencia.
+public class CancellationToken {
+
+    private final long deadlineNanos;
+    private final Set<Statement> statements = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    public CancellationToken(long timeoutMs) {
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    }
+
+    // Devuelve cuántas sentencias en curso se cancelaron.
+    public int cancel() {
+        cancelled = true;
+        int cancelledStatements = 0;
+        for (Statement statement : statements) {
+            try {
+                statement.cancel();
+                cancelledStatements++;
+            } catch (SQLException e) {
+                // La sentencia ya terminó o el driver no admite cancelarla
+            }
+        }
+        return cancelledStatements;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException("La operación fue cancelada.");
+        }
+    }
+
+    // Segundos que quedan hasta el plazo, redondeados hacia arriba y al menos uno.
+    public int remainingSeconds() {
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        return (int) Math.max(1, (remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public void register(Statement statement) {
+        statements.add(statement);
+        if (cancelled) {
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                // Se volverá a comprobar antes de la siguiente consulta
+            }
+        }
+    }
+
+    public void unregister(Statement statement) {
+        statements.remove(statement);
+    }
+
+    public int getActiveStatements() {
+        return statements.size();
+    }
+}
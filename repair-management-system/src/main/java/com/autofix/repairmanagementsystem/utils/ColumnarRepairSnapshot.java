@@ -0,0 +1,216 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import com.autofix.repairmanagementsystem.dto.AverageRepairTimeDTO;
+import com.autofix.repairmanagementsystem.dto.RepairTypeSummaryDTO;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Lectura de una instantánea columnar de reparaciones (ver ColumnarRepairSnapshotWriter).
+// Cada columna se mapea en memoria, así que abrirla no copia datos al heap y los reportes son recorridos
+// secuenciales sobre arreglos primitivos. Una instancia es inmutable: ve las filas que existían al abrirla.
+public class ColumnarRepairSnapshot {
+
+    public enum Column {
+        REPAIR_ID(8), VEHICLE_ID(8), ENTRY_DATE(4), EXIT_DATE(4), REPAIR_COST(8),
+        REPAIR_TYPE(4), BRAND(4), VEHICLE_TYPE(4), ENGINE_TYPE(4), STATUS(4);
+
+        private final int width;
+
+        Column(int width) {
+            this.width = width;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public boolean isDictionaryCoded() {
+            return ordinal() >= REPAIR_TYPE.ordinal();
+        }
+
+        String fileName() {
+            return name().toLowerCase() + ".col";
+        }
+
+        String dictionaryFileName() {
+            return name().toLowerCase() + ".dict";
+        }
+    }
+
+    static final String META_FILE = "snapshot.meta";
+    static final int FORMAT_VERSION = 1;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    // Fecha de salida ausente en la columna EXIT_DATE.
+    static final int NO_DATE = Integer.MIN_VALUE;
+
+    private final int rowCount;
+    private final long lastRepairId;
+    private final Map<Column, ByteBuffer> columns = new EnumMap<>(Column.class);
+    private final Map<Column, List<String>> dictionaries = new EnumMap<>(Column.class);
+
+    private ColumnarRepairSnapshot(int rowCount, long lastRepairId) {
+        this.rowCount = rowCount;
+        this.lastRepairId = lastRepairId;
+    }
+
+    public static ColumnarRepairSnapshot empty() {
+        ColumnarRepairSnapshot snapshot = new ColumnarRepairSnapshot(0, 0L);
+        for (Column column : Column.values()) {
+            snapshot.columns.put(column, ByteBuffer.allocate(0).order(BYTE_ORDER));
+            if (column.isDictionaryCoded()) {
+                snapshot.dictionaries.put(column, new ArrayList<>());
+            }
+        }
+        return snapshot;
+    }
+
+    // Abre la instantánea del directorio, o una vacía si todavía no se ha escrito ninguna.
+    public static ColumnarRepairSnapshot open(Path directory) throws IOException {
+        Path meta = directory.resolve(META_FILE);
+        if (!Files.exists(meta)) {
+            return empty();
+        }
+        int rowCount;
+        long lastRepairId;
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(meta))) {
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format version " + version);
+            }
+            rowCount = in.readInt();
+            lastRepairId = in.readLong();
+        }
+
+        ColumnarRepairSnapshot snapshot = new ColumnarRepairSnapshot(rowCount, lastRepairId);
+        for (Column column : Column.values()) {
+            // Solo se mapean las filas confirmadas en el archivo de metadatos; una escritura interrumpida
+            // puede haber dejado bytes de más al final de la columna.
+            try (FileChannel channel = FileChannel.open(directory.resolve(column.fileName()), StandardOpenOption.READ)) {
+                long size = (long) rowCount * column.getWidth();
+                if (channel.size() < size) {
+                    throw new IOException("Snapshot column " + column + " is truncated");
+                }
+                snapshot.columns.put(column, channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(BYTE_ORDER));
+            }
+            if (column.isDictionaryCoded()) {
+                snapshot.dictionaries.put(column, readDictionary(directory.resolve(column.dictionaryFileName())));
+            }
+        }
+        return snapshot;
+    }
+
+    static List<String> readDictionary(Path file) throws IOException {
+        List<String> values = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return values;
+        }
+        try (InputStream stream = Files.newInputStream(file); DataInputStream in = new DataInputStream(stream)) {
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                values.add(in.readUTF());
+            }
+        }
+        return values;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public long getLastRepairId() {
+        return lastRepairId;
+    }
+
+    List<String> dictionary(Column column) {
+        return dictionaries.get(column);
+    }
+
+    public IntBuffer intColumn(Column column) {
+        return columns.get(column).duplicate().order(BYTE_ORDER).asIntBuffer();
+    }
+
+    public LongBuffer longColumn(Column column) {
+        return columns.get(column).duplicate().order(BYTE_ORDER).asLongBuffer();
+    }
+
+    // Equivalente a RepairRepository.findRepairTypesSummary.
+    public List<RepairTypeSummaryDTO> repairTypeSummary() {
+        IntBuffer repairTypes = intColumn(Column.REPAIR_TYPE);
+        IntBuffer vehicleTypes = intColumn(Column.VEHICLE_TYPE);
+        LongBuffer costs = longColumn(Column.REPAIR_COST);
+        List<String> repairTypeNames = dictionaries.get(Column.REPAIR_TYPE);
+
+        int vehicleTypeCount = dictionaries.get(Column.VEHICLE_TYPE).size();
+        long[] totalCents = new long[repairTypeNames.size()];
+        boolean[] present = new boolean[repairTypeNames.size()];
+        // Matriz tipo de reparación x tipo de vehículo para contar los tipos de vehículo distintos
+        boolean[] seenVehicleTypes = new boolean[repairTypeNames.size() * vehicleTypeCount];
+        for (int row = 0; row < rowCount; row++) {
+            int repairType = repairTypes.get(row);
+            totalCents[repairType] += costs.get(row);
+            present[repairType] = true;
+            seenVehicleTypes[repairType * vehicleTypeCount + vehicleTypes.get(row)] = true;
+        }
+
+        List<RepairTypeSummaryDTO> summary = new ArrayList<>();
+        for (int code = 0; code < present.length; code++) {
+            if (present[code]) {
+                long distinctVehicleTypes = 0;
+                for (int vehicleType = 0; vehicleType < vehicleTypeCount; vehicleType++) {
+                    if (seenVehicleTypes[code * vehicleTypeCount + vehicleType]) {
+                        distinctVehicleTypes++;
+                    }
+                }
+                summary.add(new RepairTypeSummaryDTO(repairTypeNames.get(code), distinctVehicleTypes,
+                        BigDecimal.valueOf(totalCents[code], 2)));
+            }
+        }
+        summary.sort(Comparator.comparing(RepairTypeSummaryDTO::getTotalCost).reversed());
+        return summary;
+    }
+
+    // Equivalente a RepairRepository.findAverageRepairTimesByBrand: días entre entrada y salida, ignorando
+    // las reparaciones sin fecha de salida.
+    public List<AverageRepairTimeDTO> averageRepairTimeByBrand() {
+        IntBuffer brands = intColumn(Column.BRAND);
+        IntBuffer entryDates = intColumn(Column.ENTRY_DATE);
+        IntBuffer exitDates = intColumn(Column.EXIT_DATE);
+        List<String> brandNames = dictionaries.get(Column.BRAND);
+
+        long[] totalDays = new long[brandNames.size()];
+        long[] completed = new long[brandNames.size()];
+        for (int row = 0; row < rowCount; row++) {
+            int exitDate = exitDates.get(row);
+            if (exitDate != NO_DATE) {
+                int brand = brands.get(row);
+                totalDays[brand] += exitDate - entryDates.get(row);
+                completed[brand]++;
+            }
+        }
+
+        List<AverageRepairTimeDTO> averages = new ArrayList<>();
+        for (int code = 0; code < completed.length; code++) {
+            if (completed[code] > 0) {
+                averages.add(new AverageRepairTimeDTO(brandNames.get(code), (double) totalDays[code] / completed[code]));
+            }
+        }
+        averages.sort(Comparator.comparingDouble(AverageRepairTimeDTO::getAverageTime));
+        return averages;
+    }
+}
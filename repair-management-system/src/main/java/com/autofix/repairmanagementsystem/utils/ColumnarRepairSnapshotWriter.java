@@ -0,0 +1,147 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import com.autofix.repairmanagementsystem.entities.CodedEnum;
+import com.autofix.repairmanagementsystem.utils.ColumnarRepairSnapshot.Column;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Escribe una instantánea columnar de reparaciones: un archivo por columna con valores de ancho fijo
+// (fechas como días epoch en int, costos en centavos en long, textos como códigos de diccionario en int),
+// un diccionario por columna de texto y un archivo de metadatos con el número de filas y el último ID.
+// Solo admite agregar reparaciones con IDs mayores al último escrito; los metadatos se reemplazan de forma
+// atómica al final de cada lote, así que un lote interrumpido no queda visible.
+public class ColumnarRepairSnapshotWriter {
+
+    private static final String MISSING_VALUE = "N/A";
+
+    private final Path directory;
+    private final Map<Column, DictionaryEncoder> dictionaries = new EnumMap<>(Column.class);
+    private int rowCount;
+    private long lastRepairId;
+
+    public ColumnarRepairSnapshotWriter(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        ColumnarRepairSnapshot existing = ColumnarRepairSnapshot.open(directory);
+        this.rowCount = existing.getRowCount();
+        this.lastRepairId = existing.getLastRepairId();
+        for (Column column : Column.values()) {
+            if (column.isDictionaryCoded()) {
+                dictionaries.put(column, new DictionaryEncoder(existing.dictionary(column)));
+            }
+        }
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public long getLastRepairId() {
+        return lastRepairId;
+    }
+
+    // Agrega un lote de reparaciones ordenado por ID ascendente.
+    public void append(List<RepairFactDTO> facts) throws IOException {
+        if (facts.isEmpty()) {
+            return;
+        }
+        Map<Column, ByteBuffer> buffers = new EnumMap<>(Column.class);
+        for (Column column : Column.values()) {
+            buffers.put(column, ByteBuffer.allocate(facts.size() * column.getWidth()).order(ColumnarRepairSnapshot.BYTE_ORDER));
+        }
+        long previousId = lastRepairId;
+        for (RepairFactDTO fact : facts) {
+            if (fact.getRepairId() <= previousId) {
+                throw new IllegalArgumentException("Las reparaciones deben agregarse en orden creciente de ID.");
+            }
+            buffers.get(Column.REPAIR_ID).putLong(fact.getRepairId());
+            buffers.get(Column.VEHICLE_ID).putLong(fact.getVehicleId());
+            buffers.get(Column.ENTRY_DATE).putInt((int) fact.getEntryDate().toEpochDay());
+            buffers.get(Column.EXIT_DATE).putInt(fact.getExitDate() == null
+                    ? ColumnarRepairSnapshot.NO_DATE : (int) fact.getExitDate().toEpochDay());
+            buffers.get(Column.REPAIR_COST).putLong(toCents(fact.getRepairCost()));
+            buffers.get(Column.REPAIR_TYPE).putInt(encode(Column.REPAIR_TYPE, fact.getRepairType()));
+            buffers.get(Column.BRAND).putInt(encode(Column.BRAND, fact.getBrand()));
+            buffers.get(Column.VEHICLE_TYPE).putInt(encode(Column.VEHICLE_TYPE, CodedEnum.labelOf(fact.getVehicleType())));
+            buffers.get(Column.ENGINE_TYPE).putInt(encode(Column.ENGINE_TYPE, CodedEnum.labelOf(fact.getEngineType())));
+            buffers.get(Column.STATUS).putInt(encode(Column.STATUS, CodedEnum.labelOf(fact.getStatus())));
+            previousId = fact.getRepairId();
+        }
+
+        for (Column column : Column.values()) {
+            writeColumn(column, buffers.get(column));
+            if (column.isDictionaryCoded()) {
+                writeDictionary(column);
+            }
+        }
+        rowCount += facts.size();
+        lastRepairId = previousId;
+        writeMeta();
+    }
+
+    // Escribe a partir de la última fila confirmada, descartando lo que haya dejado un lote interrumpido.
+    private void writeColumn(Column column, ByteBuffer buffer) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.resolve(column.fileName()),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long position = (long) rowCount * column.getWidth();
+            channel.truncate(position);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            channel.force(false);
+        }
+    }
+
+    private void writeDictionary(Column column) throws IOException {
+        DictionaryEncoder dictionary = dictionaries.get(column);
+        writeAtomically(column.dictionaryFileName(), out -> {
+            out.writeInt(dictionary.size());
+            for (int code = 0; code < dictionary.size(); code++) {
+                out.writeUTF(dictionary.decode(code));
+            }
+        });
+    }
+
+    private void writeMeta() throws IOException {
+        writeAtomically(ColumnarRepairSnapshot.META_FILE, out -> {
+            out.writeInt(ColumnarRepairSnapshot.FORMAT_VERSION);
+            out.writeInt(rowCount);
+            out.writeLong(lastRepairId);
+        });
+    }
+
+    private void writeAtomically(String fileName, FileContent content) throws IOException {
+        Path target = directory.resolve(fileName);
+        Path temporary = directory.resolve(fileName + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temporary))) {
+            content.write(out);
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private int encode(Column column, String value) {
+        return dictionaries.get(column).encode(value == null ? MISSING_VALUE : value);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private interface FileContent {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,320 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Mapa de bits comprimido al estilo Roaring para enteros no negativos. Los valores se agrupan por sus 16 bits
+// altos; cada grupo guarda sus 16 bits bajos en un arreglo ordenado mientras tenga pocas entradas y en un
+// mapa de bits de 65536 posiciones cuando pasa de ARRAY_LIMIT. Así un conjunto disperso ocupa 2 bytes por valor
+// y uno denso 1 bit por valor, y las operaciones AND/OR trabajan grupo a grupo.
+public class CompressedBitmap {
+
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private int[] keys = new int[0];
+    private Container[] containers = new Container[0];
+    private int size;
+
+    public void add(int value) {
+        checkValue(value);
+        int key = value >>> 16;
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, key, new Container());
+        }
+        containers[index].add((char) value);
+    }
+
+    public void remove(int value) {
+        checkValue(value);
+        int index = Arrays.binarySearch(keys, 0, size, value >>> 16);
+        if (index < 0) {
+            return;
+        }
+        containers[index].remove((char) value);
+        if (containers[index].cardinality == 0) {
+            removeContainer(index);
+        }
+    }
+
+    public boolean contains(int value) {
+        int index = Arrays.binarySearch(keys, 0, size, value >>> 16);
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality;
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public static CompressedBitmap and(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Container container = Container.and(a.containers[i], b.containers[j]);
+                if (container.cardinality > 0) {
+                    result.insertContainer(result.size, a.keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    public static CompressedBitmap or(CompressedBitmap a, CompressedBitmap b) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j >= b.size || (i < a.size && a.keys[i] < b.keys[j])) {
+                result.insertContainer(result.size, a.keys[i], a.containers[i].copy());
+                i++;
+            } else if (i >= a.size || a.keys[i] > b.keys[j]) {
+                result.insertContainer(result.size, b.keys[j], b.containers[j].copy());
+                j++;
+            } else {
+                result.insertContainer(result.size, a.keys[i], Container.or(a.containers[i], b.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    // Valores en orden ascendente, saltando los primeros offset y devolviendo como máximo limit.
+    public List<Integer> page(long offset, int limit) {
+        List<Integer> values = new ArrayList<>(Math.min(limit, 1024));
+        long skipped = 0;
+        for (int i = 0; i < size && values.size() < limit; i++) {
+            Container container = containers[i];
+            if (skipped + container.cardinality <= offset) {
+                skipped += container.cardinality;
+                continue;
+            }
+            int high = keys[i] << 16;
+            if (container.bits == null) {
+                for (int k = 0; k < container.cardinality && values.size() < limit; k++) {
+                    if (skipped++ >= offset) {
+                        values.add(high | container.values[k]);
+                    }
+                }
+            } else {
+                for (int w = 0; w < BITMAP_WORDS && values.size() < limit; w++) {
+                    long word = container.bits[w];
+                    while (word != 0 && values.size() < limit) {
+                        int bit = Long.numberOfTrailingZeros(word);
+                        if (skipped++ >= offset) {
+                            values.add(high | (w << 6) | bit);
+                        }
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    public CompressedBitmap copy() {
+        CompressedBitmap copy = new CompressedBitmap();
+        for (int i = 0; i < size; i++) {
+            copy.insertContainer(i, keys[i], containers[i].copy());
+        }
+        return copy;
+    }
+
+    private void insertContainer(int index, int key, Container container) {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    private void removeContainer(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+        size--;
+        containers[size] = null;
+    }
+
+    private static void checkValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("El mapa de bits solo admite valores no negativos: " + value);
+        }
+    }
+
+    // Grupo de 65536 valores: arreglo ordenado (bits == null) o mapa de bits.
+    private static class Container {
+        private char[] values = new char[4];
+        private long[] bits;
+        private int cardinality;
+
+        boolean contains(char value) {
+            if (bits != null) {
+                return (bits[value >>> 6] & (1L << value)) != 0;
+            }
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        void add(char value) {
+            if (bits != null) {
+                long mask = 1L << value;
+                if ((bits[value >>> 6] & mask) == 0) {
+                    bits[value >>> 6] |= mask;
+                    cardinality++;
+                }
+                return;
+            }
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                toBitmap();
+                add(value);
+                return;
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, cardinality * 2));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+        }
+
+        void remove(char value) {
+            if (bits != null) {
+                long mask = 1L << value;
+                if ((bits[value >>> 6] & mask) != 0) {
+                    bits[value >>> 6] &= ~mask;
+                    cardinality--;
+                    if (cardinality <= ARRAY_LIMIT / 2) {
+                        toArray();
+                    }
+                }
+                return;
+            }
+            int index = Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+                cardinality--;
+            }
+        }
+
+        Container copy() {
+            Container copy = new Container();
+            copy.cardinality = cardinality;
+            copy.values = values == null ? null : Arrays.copyOf(values, Math.max(cardinality, 4));
+            copy.bits = bits == null ? null : bits.clone();
+            return copy;
+        }
+
+        static Container and(Container a, Container b) {
+            Container result = new Container();
+            if (a.bits != null && b.bits != null) {
+                result.values = null;
+                result.bits = new long[BITMAP_WORDS];
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    result.bits[w] = a.bits[w] & b.bits[w];
+                    result.cardinality += Long.bitCount(result.bits[w]);
+                }
+                if (result.cardinality <= ARRAY_LIMIT) {
+                    result.toArray();
+                }
+                return result;
+            }
+            // Al menos uno es un arreglo: se recorre el menor y se consulta el otro
+            Container small = a.bits == null ? a : b;
+            Container other = small == a ? b : a;
+            result.values = new char[Math.max(small.cardinality, 4)];
+            for (int k = 0; k < small.cardinality; k++) {
+                if (other.contains(small.values[k])) {
+                    result.values[result.cardinality++] = small.values[k];
+                }
+            }
+            return result;
+        }
+
+        static Container or(Container a, Container b) {
+            if (a.bits == null && b.bits == null && a.cardinality + b.cardinality <= ARRAY_LIMIT) {
+                Container result = new Container();
+                result.values = new char[Math.max(a.cardinality + b.cardinality, 4)];
+                int i = 0;
+                int j = 0;
+                while (i < a.cardinality || j < b.cardinality) {
+                    char next;
+                    if (j >= b.cardinality || (i < a.cardinality && a.values[i] < b.values[j])) {
+                        next = a.values[i++];
+                    } else if (i >= a.cardinality || a.values[i] > b.values[j]) {
+                        next = b.values[j++];
+                    } else {
+                        next = a.values[i++];
+                        j++;
+                    }
+                    result.values[result.cardinality++] = next;
+                }
+                return result;
+            }
+            Container result = a.copy();
+            if (result.bits == null) {
+                result.toBitmap();
+            }
+            if (b.bits != null) {
+                result.cardinality = 0;
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    result.bits[w] |= b.bits[w];
+                    result.cardinality += Long.bitCount(result.bits[w]);
+                }
+            } else {
+                for (int k = 0; k < b.cardinality; k++) {
+                    result.add(b.values[k]);
+                }
+            }
+            return result;
+        }
+
+        private void toBitmap() {
+            bits = new long[BITMAP_WORDS];
+            for (int k = 0; k < cardinality; k++) {
+                bits[values[k] >>> 6] |= 1L << values[k];
+            }
+            values = null;
+        }
+
+        private void toArray() {
+            values = new char[Math.max(cardinality, 4)];
+            int k = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = bits[w];
+                while (word != 0) {
+                    values[k++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            bits = null;
+        }
+    }
+}
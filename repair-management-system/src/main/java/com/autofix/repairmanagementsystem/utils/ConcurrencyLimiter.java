@@ -0,0 +1,39 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Cupos justos (por orden de llegada) para acotar cuántas tareas usan a la vez un recurso compartido.
+public class ConcurrencyLimiter {
+
+    private final int limit;
+    private final Semaphore permits;
+
+    public ConcurrencyLimiter(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("El límite de concurrencia debe ser mayor que cero.");
+        }
+        this.limit = limit;
+        this.permits = new Semaphore(limit, true);
+    }
+
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        return permits.tryAcquire(timeout, unit);
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return limit - permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+}
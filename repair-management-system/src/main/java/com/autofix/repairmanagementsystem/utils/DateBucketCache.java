@@ -0,0 +1,59 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+
+// Memoriza valores que dependen solo de la clave y de la fecha. Guarda únicamente el día de hoy según el reloj: al
+// cambiar el día se reemplaza el mapa completo de una vez, así que nunca se mezclan valores de dos días. Las
+// consultas de cualquier otra fecha (cálculos "a la fecha") se resuelven sin memorizar, para que una fecha pedida
+// desde fuera no pueda desplazar el día en curso.
+public class DateBucketCache<K, V> {
+
+    private static final class Bucket<K, V> {
+        private final LocalDate date;
+        private final Map<K, V> values = new ConcurrentHashMap<>();
+
+        private Bucket(LocalDate date) {
+            this.date = date;
+        }
+    }
+
+    private final Clock clock;
+    private final AtomicReference<Bucket<K, V>> current = new AtomicReference<>(new Bucket<>(LocalDate.MIN));
+
+    public DateBucketCache(Clock clock) {
+        this.clock = clock;
+    }
+
+    public V get(K key, BiFunction<LocalDate, ? super K, ? extends V> loader) {
+        return get(LocalDate.now(clock), key, loader);
+    }
+
+    public V get(LocalDate date, K key, BiFunction<LocalDate, ? super K, ? extends V> loader) {
+        LocalDate today = LocalDate.now(clock);
+        if (!date.equals(today)) {
+            return loader.apply(date, key);
+        }
+        Bucket<K, V> bucket = current.get();
+        if (today.isAfter(bucket.date)) {
+            Bucket<K, V> fresh = new Bucket<>(today);
+            bucket = current.compareAndSet(bucket, fresh) ? fresh : current.get();
+        }
+        if (!today.equals(bucket.date)) {
+            return loader.apply(date, key);
+        }
+        return bucket.values.computeIfAbsent(key, k -> loader.apply(date, k));
+    }
+
+    public LocalDate getDate() {
+        return current.get().date;
+    }
+
+    public int size() {
+        return current.get().values.size();
+    }
+}
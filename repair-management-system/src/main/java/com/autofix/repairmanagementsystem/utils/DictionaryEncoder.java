@@ -0,0 +1,51 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Asigna a cada texto distinto un código entero consecutivo, para guardar dimensiones como enteros compactos.
+public class DictionaryEncoder {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    public DictionaryEncoder() {
+    }
+
+    // Reconstruye un diccionario a partir de sus valores en orden de código.
+    public DictionaryEncoder(List<String> orderedValues) {
+        for (String value : orderedValues) {
+            encode(value);
+        }
+    }
+
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    // Código del valor, o -1 si nunca se ha visto.
+    public int lookup(String value) {
+        Integer code = codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    public String decode(int code) {
+        return values.get(code);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public List<String> values() {
+        return new ArrayList<>(values);
+    }
+}
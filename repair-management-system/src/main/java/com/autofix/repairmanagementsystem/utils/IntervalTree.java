@@ -0,0 +1,253 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Árbol AVL de intervalos semiabiertos [start, end) ordenado por (start, id). Cada nodo guarda el mayor end de su
+// subárbol, lo que permite descartar ramas completas: las consultas cuestan O(log n + k), con k los intervalos
+// que se devuelven o se saltan.
+public class IntervalTree<T> {
+
+    private Node<T> root;
+    private int size;
+
+    public static final class Interval<T> {
+        private final long start;
+        private final long end;
+        private final long id;
+        private final T value;
+
+        private Interval(long start, long end, long id, T value) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.value = value;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+
+    private static final class Node<T> {
+        private final Interval<T> interval;
+        private Node<T> left;
+        private Node<T> right;
+        private long maxEnd;
+        private int height = 1;
+
+        private Node(Interval<T> interval) {
+            this.interval = interval;
+            this.maxEnd = interval.end;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void insert(long start, long end, long id, T value) {
+        if (end <= start) {
+            throw new IllegalArgumentException("El fin del intervalo debe ser posterior a su inicio.");
+        }
+        root = insert(root, new Interval<>(start, end, id, value));
+        size++;
+    }
+
+    public boolean remove(long start, long id) {
+        int before = size;
+        root = remove(root, start, id);
+        return size < before;
+    }
+
+    // Algún intervalo se cruza con [from, to). Si el subárbol izquierdo puede cruzarse basta con buscar ahí:
+    // cuando ninguno de sus intervalos lo hace, los del derecho comienzan aún más tarde.
+    public boolean overlaps(long from, long to) {
+        Node<T> node = root;
+        while (node != null) {
+            if (node.interval.start < to && from < node.interval.end) {
+                return true;
+            }
+            node = node.left != null && node.left.maxEnd > from ? node.left : node.right;
+        }
+        return false;
+    }
+
+    // Intervalos que se cruzan con [from, to), en orden de inicio.
+    public List<Interval<T>> overlapping(long from, long to) {
+        List<Interval<T>> result = new ArrayList<>();
+        visit(root, from, to, result::add);
+        return result;
+    }
+
+    // Huecos libres dentro de [from, to), en orden.
+    public List<long[]> freeSlots(long from, long to) {
+        List<long[]> slots = new ArrayList<>();
+        long[] cursor = {from};
+        visit(root, from, to, interval -> {
+            if (interval.start > cursor[0]) {
+                slots.add(new long[]{cursor[0], interval.start});
+            }
+            cursor[0] = Math.max(cursor[0], interval.end);
+        });
+        if (cursor[0] < to) {
+            slots.add(new long[]{cursor[0], to});
+        }
+        return slots;
+    }
+
+    // Primer instante desde from en que cabe un intervalo de la duración pedida sin cruzarse con ninguno.
+    public long earliestGap(long from, long duration) {
+        long[] cursor = {from};
+        findGap(root, cursor, duration);
+        return cursor[0];
+    }
+
+    // Recorre en orden los intervalos que terminan después del cursor y se detiene en el primer hueco suficiente.
+    private boolean findGap(Node<T> node, long[] cursor, long duration) {
+        if (node == null || node.maxEnd <= cursor[0]) {
+            return false;
+        }
+        if (findGap(node.left, cursor, duration)) {
+            return true;
+        }
+        if (node.interval.start - cursor[0] >= duration) {
+            return true;
+        }
+        cursor[0] = Math.max(cursor[0], node.interval.end);
+        return findGap(node.right, cursor, duration);
+    }
+
+    private void visit(Node<T> node, long from, long to, Consumer<Interval<T>> consumer) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        visit(node.left, from, to, consumer);
+        if (node.interval.start >= to) {
+            return;
+        }
+        if (node.interval.end > from) {
+            consumer.accept(node.interval);
+        }
+        visit(node.right, from, to, consumer);
+    }
+
+    private static <T> int compare(Interval<T> interval, long start, long id) {
+        int byStart = Long.compare(interval.start, start);
+        return byStart != 0 ? byStart : Long.compare(interval.id, id);
+    }
+
+    private Node<T> insert(Node<T> node, Interval<T> interval) {
+        if (node == null) {
+            return new Node<>(interval);
+        }
+        if (compare(interval, node.interval.start, node.interval.id) < 0) {
+            node.left = insert(node.left, interval);
+        } else {
+            node.right = insert(node.right, interval);
+        }
+        return balance(node);
+    }
+
+    private Node<T> remove(Node<T> node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(node.interval, start, id);
+        if (cmp > 0) {
+            node.left = remove(node.left, start, id);
+        } else if (cmp < 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node<T> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node<T> replacement = new Node<>(successor.interval);
+            replacement.right = removeMin(node.right);
+            replacement.left = node.left;
+            return balance(replacement);
+        }
+        return balance(node);
+    }
+
+    private Node<T> removeMin(Node<T> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private static <T> int height(Node<T> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static <T> void update(Node<T> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.interval.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private Node<T> balance(Node<T> node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+}
@@ -0,0 +1,172 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import com.autofix.repairmanagementsystem.dto.WorkQueueItemDTO;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+
+// Reparaciones que el cliente aún no retira, particionadas por estado y ordenadas por fecha y hora de entrada.
+// Los conteos por estado son el tamaño de cada partición, así que se obtienen en tiempo constante. Cada partición
+// guarda además una copia ordenada en un arreglo, que se arma en la primera lectura después de un cambio, para que
+// una página se obtenga por índice sin recorrer las anteriores.
+public class OpenRepairQueue {
+
+    public static final List<RepairEntity.Status> QUEUE_STATUSES = List.of(
+            RepairEntity.Status.PENDING, RepairEntity.Status.IN_PROGRESS, RepairEntity.Status.COMPLETED);
+
+    private static final Comparator<WorkQueueItemDTO> ARRIVAL_ORDER = Comparator
+            .comparing(WorkQueueItemDTO::getEntryDate)
+            .thenComparing(WorkQueueItemDTO::getEntryTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(WorkQueueItemDTO::getRepairId);
+
+    // La versión se expone como número en JSON, así que se limita a los 53 bits que JavaScript representa exacto.
+    private static final long VERSION_MASK = (1L << 53) - 1;
+
+    // Las páginas se leen con el candado de lectura: dos lectores pueden armar la copia a la vez, con igual resultado.
+    private static final class Partition {
+        private final NavigableSet<WorkQueueItemDTO> items = new TreeSet<>(ARRIVAL_ORDER);
+        private volatile WorkQueueItemDTO[] sorted;
+
+        private void add(WorkQueueItemDTO item) {
+            items.add(item);
+            sorted = null;
+        }
+
+        private void remove(WorkQueueItemDTO item) {
+            items.remove(item);
+            sorted = null;
+        }
+
+        private WorkQueueItemDTO[] sorted() {
+            WorkQueueItemDTO[] snapshot = sorted;
+            if (snapshot == null) {
+                snapshot = items.toArray(new WorkQueueItemDTO[0]);
+                sorted = snapshot;
+            }
+            return snapshot;
+        }
+    }
+
+    private final Map<Long, WorkQueueItemDTO> byId = new HashMap<>();
+    private final Partition all = new Partition();
+    private final Map<RepairEntity.Status, Partition> byStatus = new EnumMap<>(RepairEntity.Status.class);
+    private long contentHash;
+
+    public OpenRepairQueue() {
+        for (RepairEntity.Status status : QUEUE_STATUSES) {
+            byStatus.put(status, new Partition());
+        }
+    }
+
+    // Una reparación sin estado se registró recién y se considera pendiente.
+    public static RepairEntity.Status queueStatus(RepairEntity.Status status) {
+        return status == null ? RepairEntity.Status.PENDING : status;
+    }
+
+    public static boolean isOpen(RepairFactDTO fact) {
+        return fact.getCustomerPickupDate() == null && QUEUE_STATUSES.contains(queueStatus(fact.getStatus()));
+    }
+
+    // Inserta, actualiza o saca la reparación según si sigue abierta. Devuelve si la cola cambió.
+    public boolean put(RepairFactDTO fact) {
+        if (!isOpen(fact)) {
+            return remove(fact.getRepairId());
+        }
+        WorkQueueItemDTO item = new WorkQueueItemDTO(fact.getRepairId(), fact.getVehicleId(), fact.getBrand(),
+                fact.getRepairType(), queueStatus(fact.getStatus()), fact.getEntryDate(), fact.getEntryTime(),
+                fact.getExitDate(), fact.getExitTime());
+        WorkQueueItemDTO previous = byId.get(item.getRepairId());
+        if (item.equals(previous)) {
+            return false;
+        }
+        if (previous != null) {
+            unlink(previous);
+        }
+        byId.put(item.getRepairId(), item);
+        all.add(item);
+        byStatus.get(item.getStatus()).add(item);
+        contentHash += hashOf(item);
+        return true;
+    }
+
+    public boolean remove(Long repairId) {
+        WorkQueueItemDTO previous = byId.remove(repairId);
+        if (previous == null) {
+            return false;
+        }
+        unlink(previous);
+        return true;
+    }
+
+    private void unlink(WorkQueueItemDTO item) {
+        all.remove(item);
+        byStatus.get(item.getStatus()).remove(item);
+        contentHash -= hashOf(item);
+    }
+
+    // Suma de un hash por reparación: no depende del orden de llegada de los cambios, así que dos réplicas con las
+    // mismas reparaciones abiertas dan la misma versión. Se usan solo valores con hash estable entre procesos (el
+    // hash de un enum depende de la JVM, por eso el estado va por su código).
+    private static long hashOf(WorkQueueItemDTO item) {
+        long hash = Objects.hash(item.getRepairId(), item.getVehicleId(), item.getBrand(), item.getRepairType(),
+                item.getStatus().getCode(), item.getEntryDate(), item.getEntryTime(), item.getExitDate(),
+                item.getExitTime());
+        // Mezcla de splitmix64, para repartir los 32 bits de Objects.hash en toda la palabra
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    // Versión derivada del contenido: cambia cuando cambian las reparaciones abiertas y coincide entre réplicas que
+    // tienen la misma cola.
+    public long version() {
+        return contentHash & VERSION_MASK;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public int count(RepairEntity.Status status) {
+        Partition partition = byStatus.get(status);
+        return partition == null ? 0 : partition.items.size();
+    }
+
+    public Map<RepairEntity.Status, Integer> counts() {
+        Map<RepairEntity.Status, Integer> counts = new EnumMap<>(RepairEntity.Status.class);
+        for (Map.Entry<RepairEntity.Status, Partition> entry : byStatus.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().items.size());
+        }
+        return counts;
+    }
+
+    // Página de la cola completa (status null) o de un estado, de la entrada más antigua a la más reciente.
+    public List<WorkQueueItemDTO> page(RepairEntity.Status status, int page, int size) {
+        Partition partition = status == null ? all : byStatus.get(status);
+        if (partition == null) {
+            return Collections.emptyList();
+        }
+        WorkQueueItemDTO[] sorted = partition.sorted();
+        long offset = (long) page * size;
+        if (offset >= sorted.length) {
+            return Collections.emptyList();
+        }
+        int from = (int) offset;
+        return new ArrayList<>(Arrays.asList(sorted).subList(from, Math.min(from + size, sorted.length)));
+    }
+
+    public boolean sameContent(OpenRepairQueue other) {
+        return byId.equals(other.byId);
+    }
+}
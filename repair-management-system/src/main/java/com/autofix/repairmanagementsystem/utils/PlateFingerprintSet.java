@@ -0,0 +1,120 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import java.nio.charset.StandardCharsets;
+
+// Conjunto compacto de huellas de 64 bits de placas normalizadas (tabla de direccionamiento abierto con sondeo
+// lineal). Igual que un filtro de Bloom puede dar falsos positivos, pero nunca falsos negativos, y a diferencia
+// de este admite eliminar: cada huella lleva un contador, así dos placas con la misma huella no se pisan.
+// No es seguro para hilos: PlateRegistryService se encarga de sincronizar el acceso.
+public class PlateFingerprintSet {
+
+    private static final long EMPTY = 0L;
+    private static final double MAX_LOAD = 0.5;
+
+    private long[] fingerprints;
+    private int[] counts;
+    private int size;
+
+    public PlateFingerprintSet() {
+        this(1024);
+    }
+
+    public PlateFingerprintSet(int expectedPlates) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedPlates / MAX_LOAD)) - 1) << 1;
+        fingerprints = new long[capacity];
+        counts = new int[capacity];
+    }
+
+    public void add(String plate) {
+        long fingerprint = fingerprint(plate);
+        if ((size + 1) > fingerprints.length * MAX_LOAD) {
+            resize(fingerprints.length * 2);
+        }
+        int slot = findSlot(fingerprint);
+        if (fingerprints[slot] == EMPTY) {
+            fingerprints[slot] = fingerprint;
+            size++;
+        }
+        counts[slot]++;
+    }
+
+    public void remove(String plate) {
+        long fingerprint = fingerprint(plate);
+        int slot = findSlot(fingerprint);
+        if (fingerprints[slot] == EMPTY) {
+            return;
+        }
+        if (--counts[slot] > 0) {
+            return;
+        }
+        // Borrado con desplazamiento hacia atrás, para no dejar huecos que corten las cadenas de sondeo
+        int mask = fingerprints.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (fingerprints[next] != EMPTY) {
+            int home = home(fingerprints[next]);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                fingerprints[hole] = fingerprints[next];
+                counts[hole] = counts[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        fingerprints[hole] = EMPTY;
+        counts[hole] = 0;
+        size--;
+    }
+
+    // Falso significa que la placa seguro no está; verdadero, que podría estar.
+    public boolean mightContain(String plate) {
+        return fingerprints[findSlot(fingerprint(plate))] != EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int findSlot(long fingerprint) {
+        int mask = fingerprints.length - 1;
+        int slot = home(fingerprint);
+        while (fingerprints[slot] != EMPTY && fingerprints[slot] != fingerprint) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int home(long fingerprint) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & (fingerprints.length - 1);
+    }
+
+    private void resize(int capacity) {
+        long[] oldFingerprints = fingerprints;
+        int[] oldCounts = counts;
+        fingerprints = new long[capacity];
+        counts = new int[capacity];
+        for (int i = 0; i < oldFingerprints.length; i++) {
+            if (oldFingerprints[i] != EMPTY) {
+                int slot = findSlot(oldFingerprints[i]);
+                fingerprints[slot] = oldFingerprints[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    // La placa se compara sin separadores ni diferencias de mayúsculas, así que "ab-12" y "AB12" comparten huella.
+    static long fingerprint(String plate) {
+        String normalized = VehicleSearchIndex.normalize(plate).replace(" ", "");
+        // FNV-1a de 64 bits seguido de la mezcla final de MurmurHash3
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : normalized.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == EMPTY ? 1L : hash;
+    }
+}
@@ -0,0 +1,57 @@
+package com.autofix.repairmanagementsystem.utils;
+
+// Contexto de cancelación del hilo actual: la petición en curso (si la hay) y el timeout del método de repositorio
+// que se está ejecutando. Los bucles largos llaman a checkpoint() para abandonar el trabajo de una petición cancelada.
+public final class QueryCancellation {
+
+    private static final ThreadLocal<CancellationToken> TOKEN = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> TIMEOUT_SECONDS = new ThreadLocal<>();
+
+    private QueryCancellation() {
+    }
+
+    public static void bind(CancellationToken token) {
+        TOKEN.set(token);
+    }
+
+    public static void unbind() {
+        TOKEN.remove();
+    }
+
+    public static CancellationToken current() {
+        return TOKEN.get();
+    }
+
+    // Sin petición asociada (tareas programadas, pruebas) no hace nada.
+    public static void checkpoint() {
+        CancellationToken token = TOKEN.get();
+        if (token != null) {
+            token.throwIfCancelled();
+        }
+    }
+
+    public static Integer getTimeoutSeconds() {
+        return TIMEOUT_SECONDS.get();
+    }
+
+    public static void setTimeoutSeconds(Integer seconds) {
+        if (seconds == null) {
+            TIMEOUT_SECONDS.remove();
+        } else {
+            TIMEOUT_SECONDS.set(seconds);
+        }
+    }
+
+    // Timeout de la próxima sentencia: el del método de repositorio o el por defecto, sin pasar el plazo de la petición.
+    // El por defecto solo rige dentro de una petición: el DDL de Hibernate, las migraciones y las tareas programadas
+    // no tienen plazo y quedan sin límite salvo que su método de repositorio tenga uno propio.
+    public static int effectiveTimeoutSeconds(int defaultSeconds) {
+        Integer methodSeconds = TIMEOUT_SECONDS.get();
+        CancellationToken token = TOKEN.get();
+        int seconds = methodSeconds != null ? methodSeconds : token != null ? defaultSeconds : 0;
+        if (token != null) {
+            seconds = seconds > 0 ? Math.min(seconds, token.remainingSeconds()) : token.remainingSeconds();
+        }
+        return Math.max(seconds, 0);
+    }
+}
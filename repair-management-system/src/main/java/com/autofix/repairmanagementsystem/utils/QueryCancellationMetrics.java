@@ -0,0 +1,33 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Contadores de trabajo abandonado: peticiones que vencieron su plazo, sentencias canceladas por ello y sentencias
+// cortadas por su propio timeout.
+public class QueryCancellationMetrics {
+
+    private final AtomicLong abandonedRequests = new AtomicLong();
+    private final AtomicLong cancelledQueries = new AtomicLong();
+    private final AtomicLong timedOutQueries = new AtomicLong();
+
+    public void recordAbandonedRequest(int cancelledStatements) {
+        abandonedRequests.incrementAndGet();
+        cancelledQueries.addAndGet(cancelledStatements);
+    }
+
+    public void recordTimedOutQuery() {
+        timedOutQueries.incrementAndGet();
+    }
+
+    public long getAbandonedRequests() {
+        return abandonedRequests.get();
+    }
+
+    public long getCancelledQueries() {
+        return cancelledQueries.get();
+    }
+
+    public long getTimedOutQueries() {
+        return timedOutQueries.get();
+    }
+}
@@ -0,0 +1,32 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Cambios que llegan mientras un índice en memoria se reconstruye desde la base de datos. Se aplican al índice
+// vigente y también se guardan aquí para aplicarlos al índice nuevo justo antes de publicarlo; si no, se perderían
+// hasta la próxima reconstrucción. Se guardan todos, porque la lectura pudo ver cada fila antes o después del
+// cambio; por eso aplicarlos sobre el índice nuevo debe dar lo mismo en ambos casos.
+// No es seguro para hilos: el servicio dueño del índice lo usa bajo su candado de escritura.
+public class RebuildEventBuffer<E> {
+
+    private List<E> events;
+
+    public void start() {
+        events = new ArrayList<>();
+    }
+
+    public void add(E event) {
+        if (events != null) {
+            events.add(event);
+        }
+    }
+
+    // Devuelve los cambios guardados y termina la reconstrucción; también se llama si la lectura falla.
+    public List<E> finish() {
+        List<E> result = events == null ? Collections.emptyList() : events;
+        events = null;
+        return result;
+    }
+}
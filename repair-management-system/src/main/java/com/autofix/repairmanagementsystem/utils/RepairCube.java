@@ -0,0 +1,252 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import com.autofix.repairmanagementsystem.entities.CodedEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Cubo OLAP en memoria sobre las reparaciones. Cada celda es una combinación de dimensiones codificadas con
+// diccionarios; los códigos y las medidas (cantidad y costo en centavos) se guardan en arreglos planos para que
+// una consulta sea un recorrido secuencial sin objetos intermedios. No es seguro para hilos: RepairCubeService
+// se encarga de sincronizar el acceso.
+public class RepairCube {
+
+    // Cada dimensión tiene su ancho en bits dentro de la clave de la celda (58 bits en total); las enumeraciones
+    // ocupan pocos y las dimensiones abiertas, como la marca, más.
+    public enum Dimension {
+        REPAIR_TYPE(12), BRAND(16), VEHICLE_TYPE(6), ENGINE_TYPE(6), MONTH(12), STATUS(6);
+
+        private final int bits;
+
+        Dimension(int bits) {
+            this.bits = bits;
+        }
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(RepairCube.class);
+    private static final Dimension[] DIMENSIONS = Dimension.values();
+    private static final String MISSING_VALUE = "N/A";
+    // Cuando una dimensión agota sus códigos, los valores nuevos se acumulan en este grupo en lugar de fallar
+    static final String OVERFLOW_VALUE = "(otros)";
+
+    private final DictionaryEncoder[] dictionaries = new DictionaryEncoder[DIMENSIONS.length];
+    private final Map<Long, Integer> cellIndex = new HashMap<>();
+    private int[][] codes = new int[DIMENSIONS.length][64];
+    private long[] counts = new long[64];
+    private long[] costCents = new long[64];
+    private int size;
+
+    public RepairCube() {
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            dictionaries[d] = new DictionaryEncoder();
+        }
+    }
+
+    // Suma el hecho y devuelve la celda donde quedó, para poder descontarlo después con removeFromCell.
+    public int add(RepairFactDTO fact) {
+        int[] cell = new int[DIMENSIONS.length];
+        long key = 0;
+        for (Dimension dimension : DIMENSIONS) {
+            int code = encode(dimension, valueOf(fact, dimension));
+            cell[dimension.ordinal()] = code;
+            key = (key << dimension.bits) | code;
+        }
+        Integer index = cellIndex.get(key);
+        if (index == null) {
+            index = appendCell(cell);
+            cellIndex.put(key, index);
+        }
+        counts[index]++;
+        costCents[index] += toCents(fact.getRepairCost());
+        return index;
+    }
+
+    // Ignora los hechos que el cubo no tiene, para que un evento repetido o desfasado no deje medidas negativas.
+    public boolean remove(RepairFactDTO fact) {
+        long key = 0;
+        for (Dimension dimension : DIMENSIONS) {
+            int code = lookup(dimension, valueOf(fact, dimension));
+            if (code < 0) {
+                return false;
+            }
+            key = (key << dimension.bits) | code;
+        }
+        Integer index = cellIndex.get(key);
+        if (index == null) {
+            return false;
+        }
+        return removeFromCell(index, toCents(fact.getRepairCost()));
+    }
+
+    // Descuenta un hecho de la celda que devolvió add.
+    public boolean removeFromCell(int index, long cents) {
+        if (index < 0 || index >= size || counts[index] <= 0) {
+            return false;
+        }
+        counts[index]--;
+        costCents[index] = counts[index] == 0 ? 0 : Math.max(costCents[index] - cents, 0);
+        return true;
+    }
+
+    private int encode(Dimension dimension, String value) {
+        DictionaryEncoder dictionary = dictionaries[dimension.ordinal()];
+        int code = dictionary.lookup(value);
+        if (code >= 0) {
+            return code;
+        }
+        // El último código queda reservado para el grupo de desborde
+        if (dictionary.size() < (1 << dimension.bits) - 1) {
+            return dictionary.encode(value);
+        }
+        if (dictionary.lookup(OVERFLOW_VALUE) < 0) {
+            logger.warn("Cube dimension {} exceeded {} distinct values, grouping new values as {}", dimension,
+                    dictionary.size(), OVERFLOW_VALUE);
+        }
+        return dictionary.encode(OVERFLOW_VALUE);
+    }
+
+    private int lookup(Dimension dimension, String value) {
+        DictionaryEncoder dictionary = dictionaries[dimension.ordinal()];
+        int code = dictionary.lookup(value);
+        return code >= 0 ? code : dictionary.lookup(OVERFLOW_VALUE);
+    }
+
+    public int cellCount() {
+        return size;
+    }
+
+    private int appendCell(int[] cell) {
+        if (size == counts.length) {
+            int capacity = size * 2;
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                codes[d] = Arrays.copyOf(codes[d], capacity);
+            }
+            counts = Arrays.copyOf(counts, capacity);
+            costCents = Arrays.copyOf(costCents, capacity);
+        }
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            codes[d][size] = cell[d];
+        }
+        return size++;
+    }
+
+    // Agrupa por las dimensiones pedidas, conservando solo las celdas cuyos valores están en los filtros.
+    public List<Row> query(List<Dimension> groupBy, Map<Dimension, ? extends Collection<String>> filters) {
+        boolean[][] allowed = new boolean[DIMENSIONS.length][];
+        if (filters != null) {
+            for (Map.Entry<Dimension, ? extends Collection<String>> filter : filters.entrySet()) {
+                DictionaryEncoder dictionary = dictionaries[filter.getKey().ordinal()];
+                boolean[] mask = new boolean[dictionary.size()];
+                for (String value : filter.getValue()) {
+                    int code = dictionary.lookup(value);
+                    if (code >= 0) {
+                        mask[code] = true;
+                    }
+                }
+                allowed[filter.getKey().ordinal()] = mask;
+            }
+        }
+        int[] groupDimensions = new int[groupBy.size()];
+        for (int g = 0; g < groupDimensions.length; g++) {
+            groupDimensions[g] = groupBy.get(g).ordinal();
+        }
+
+        Map<Long, long[]> groups = new HashMap<>();
+        cells:
+        for (int i = 0; i < size; i++) {
+            if (counts[i] == 0) {
+                continue;
+            }
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                if (allowed[d] != null && !allowed[d][codes[d][i]]) {
+                    continue cells;
+                }
+            }
+            long groupKey = 0;
+            for (int dimension : groupDimensions) {
+                groupKey = (groupKey << DIMENSIONS[dimension].bits) | codes[dimension][i];
+            }
+            long[] measures = groups.computeIfAbsent(groupKey, k -> new long[2]);
+            measures[0] += counts[i];
+            measures[1] += costCents[i];
+        }
+
+        List<Row> rows = new ArrayList<>(groups.size());
+        for (Map.Entry<Long, long[]> group : groups.entrySet()) {
+            String[] values = new String[groupDimensions.length];
+            long groupKey = group.getKey();
+            for (int g = groupDimensions.length - 1; g >= 0; g--) {
+                int bits = DIMENSIONS[groupDimensions[g]].bits;
+                values[g] = dictionaries[groupDimensions[g]].decode((int) (groupKey & ((1L << bits) - 1)));
+                groupKey >>>= bits;
+            }
+            rows.add(new Row(values, group.getValue()[0], group.getValue()[1]));
+        }
+        return rows;
+    }
+
+    private static String valueOf(RepairFactDTO fact, Dimension dimension) {
+        String value;
+        switch (dimension) {
+            case REPAIR_TYPE:
+                value = fact.getRepairType();
+                break;
+            case BRAND:
+                value = fact.getBrand();
+                break;
+            case VEHICLE_TYPE:
+                value = CodedEnum.labelOf(fact.getVehicleType());
+                break;
+            case ENGINE_TYPE:
+                value = CodedEnum.labelOf(fact.getEngineType());
+                break;
+            case MONTH:
+                value = fact.getEntryDate() == null ? null : YearMonth.from(fact.getEntryDate()).toString();
+                break;
+            default:
+                value = CodedEnum.labelOf(fact.getStatus());
+        }
+        return value == null ? MISSING_VALUE : value;
+    }
+
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    public static class Row {
+        private final String[] values;
+        private final long repairCount;
+        private final long costCents;
+
+        Row(String[] values, long repairCount, long costCents) {
+            this.values = values;
+            this.repairCount = repairCount;
+            this.costCents = costCents;
+        }
+
+        public String[] getValues() {
+            return values;
+        }
+
+        public long getRepairCount() {
+            return repairCount;
+        }
+
+        public long getCostCents() {
+            return costCents;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Traza de una petición muestreada: un árbol de tramos (controlador, servicio, repositorio, sentencia JDBC) con su
+// inicio relativo, duración y filas. Vive en el hilo de la petición; sin traza activa abrir un tramo devuelve null,
+// así que las peticiones no muestreadas solo pagan una lectura del ThreadLocal por llamada instrumentada.
+public final class RequestTrace {
+
+    public static final String CONTROLLER = "controller";
+    public static final String SERVICE = "service";
+    public static final String REPOSITORY = "repository";
+    public static final String JDBC = "jdbc";
+
+    private static final int MAX_SQL_LENGTH = 300;
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final String id;
+    private final String path;
+    private final long startedAtMillis;
+    private final long startNanos;
+    private final int maxSpans;
+    private final Span root;
+    private String name;
+    private int status;
+    private long durationNanos;
+    private int spanCount;
+    private int droppedSpans;
+    private Span current;
+
+    public static final class Span implements AutoCloseable {
+        private final RequestTrace trace;
+        private final Span parent;
+        private final String kind;
+        private final String name;
+        private final long startNanos;
+        private final List<Span> children = new ArrayList<>();
+        private long durationNanos = -1;
+        private long rows = -1;
+        private boolean error;
+
+        private Span(RequestTrace trace, Span parent, String kind, String name) {
+            this.trace = trace;
+            this.parent = parent;
+            this.kind = kind;
+            this.name = name;
+            this.startNanos = System.nanoTime();
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getOffsetNanos() {
+            return startNanos - trace.startNanos;
+        }
+
+        // -1 mientras el tramo siga abierto.
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        // -1 si no se conoce la cantidad de filas.
+        public long getRows() {
+            return rows;
+        }
+
+        public void setRows(long rows) {
+            this.rows = rows;
+        }
+
+        // Las filas de una consulta se cuentan a medida que se leen, después de cerrado el tramo.
+        public void addRows(long count) {
+            rows = Math.max(rows, 0) + count;
+        }
+
+        public boolean isError() {
+            return error;
+        }
+
+        public void fail() {
+            error = true;
+        }
+
+        public List<Span> getChildren() {
+            return children;
+        }
+
+        @Override
+        public void close() {
+            if (durationNanos < 0) {
+                durationNanos = System.nanoTime() - startNanos;
+            }
+            if (trace.current == this) {
+                trace.current = parent;
+            }
+        }
+    }
+
+    private RequestTrace(String name, String path, int maxSpans) {
+        this.id = Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE);
+        this.name = name;
+        this.path = path;
+        this.maxSpans = maxSpans;
+        this.startedAtMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+        this.root = new Span(this, null, "request", name);
+        this.current = root;
+    }
+
+    // Inicia la traza del hilo actual; reemplaza la que hubiera quedado abierta.
+    public static RequestTrace begin(String name, String path, int maxSpans) {
+        RequestTrace trace = new RequestTrace(name, path, maxSpans);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    // Abre un tramo hijo del tramo en curso, o devuelve null si no hay traza o ya se alcanzó el máximo de tramos.
+    public static Span span(String kind, String name) {
+        RequestTrace trace = CURRENT.get();
+        if (trace == null) {
+            return null;
+        }
+        if (trace.spanCount >= trace.maxSpans) {
+            trace.droppedSpans++;
+            return null;
+        }
+        trace.spanCount++;
+        Span span = new Span(trace, trace.current, kind, name);
+        trace.current.children.add(span);
+        trace.current = span;
+        return span;
+    }
+
+    // Nombre del tramo de una sentencia: su forma, sin los valores de los parámetros, recortada.
+    public static String sqlName(String sql) {
+        String shape = SqlStatementLog.shapeOf(sql);
+        return shape.length() <= MAX_SQL_LENGTH ? shape : shape.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+
+    // Cierra la traza y la quita del hilo. El nombre definitivo se conoce al final (el patrón de la ruta).
+    public void end(String name, int status) {
+        this.name = name;
+        this.status = status;
+        root.close();
+        durationNanos = root.durationNanos;
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public int getSpanCount() {
+        return spanCount;
+    }
+
+    public int getDroppedSpans() {
+        return droppedSpans;
+    }
+
+    public List<Span> getSpans() {
+        return root.children;
+    }
+}
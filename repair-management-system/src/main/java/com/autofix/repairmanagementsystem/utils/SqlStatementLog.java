@@ -0,0 +1,106 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Sentencias SQL ejecutadas por el hilo actual, agrupadas por forma (el texto con los parámetros como ?).
+// Los ámbitos se anidan: una petición, los métodos de servicio que llama, una prueba; cada sentencia se anota en
+// todos los ámbitos abiertos. Sin ámbitos abiertos, registrar no hace nada.
+public final class SqlStatementLog {
+
+    private static final ThreadLocal<Deque<Scope>> SCOPES = new ThreadLocal<>();
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\?(\\s*,\\s*\\?)+\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlStatementLog() {
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final String name;
+        private long count;
+        private final Map<String, Integer> shapes = new HashMap<>();
+
+        private Scope(String name) {
+            this.name = name;
+        }
+
+        private void record(String shape) {
+            count++;
+            shapes.merge(shape, 1, Integer::sum);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        // Forma que más se repitió, o null si no hubo sentencias.
+        public String getMostRepeatedShape() {
+            String shape = null;
+            int repeats = 0;
+            for (Map.Entry<String, Integer> entry : shapes.entrySet()) {
+                if (entry.getValue() > repeats) {
+                    shape = entry.getKey();
+                    repeats = entry.getValue();
+                }
+            }
+            return shape;
+        }
+
+        public int getRepeats(String shape) {
+            return shapes.getOrDefault(shape, 0);
+        }
+
+        public int getMaxRepeats() {
+            String shape = getMostRepeatedShape();
+            return shape == null ? 0 : shapes.get(shape);
+        }
+
+        public void reset() {
+            count = 0;
+            shapes.clear();
+        }
+
+        @Override
+        public void close() {
+            Deque<Scope> scopes = SCOPES.get();
+            if (scopes != null && scopes.removeFirstOccurrence(this) && scopes.isEmpty()) {
+                SCOPES.remove();
+            }
+        }
+    }
+
+    public static Scope open(String name) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        Scope scope = new Scope(name);
+        scopes.push(scope);
+        return scope;
+    }
+
+    public static void record(String sql) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        String shape = shapeOf(sql);
+        for (Scope scope : scopes) {
+            scope.record(shape);
+        }
+    }
+
+    // Las listas IN de distinto largo son la misma consulta.
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return shape.contains("?,") || shape.contains("? ,") ? IN_LIST.matcher(shape).replaceAll("(?...)") : shape;
+    }
+}
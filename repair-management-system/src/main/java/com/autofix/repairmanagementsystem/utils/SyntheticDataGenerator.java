@@ -0,0 +1,565 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Genera vehículos, tipos de reparación, reparaciones y bonos con distribuciones parecidas a las del taller: marcas
+// sesgadas, kilometraje según la antigüedad, ingresos estacionales y atrasos en el retiro con cola larga. La misma
+// semilla y fecha de referencia producen siempre las mismas filas sobre una base vacía.
+//
+// Escribe con JDBC por lotes y con IDs explícitos, sin pasar por Hibernate, así que no actualiza los resúmenes en
+// memoria ni el resumen diario: quien lo use debe reconstruirlos. El historial de cada vehículo sí queda calculado.
+// En MySQL conviene rewriteBatchedStatements=true en la URL; sin eso cada fila del lote viaja por separado.
+public class SyntheticDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int ROWS_PER_COMMIT = 20000;
+
+    // Letras de las patentes chilenas: sin vocales ni letras que se confundan con números
+    private static final String PLATE_LETTERS = "BCDFGHJKLPRSTVWXYZ";
+
+    // Catálogo del taller (el de DumpAutoFix.sql): descripción, costos gasolina, diésel, híbrido y eléctrico, y peso
+    // relativo en las reparaciones. Un costo 0 indica que la reparación no aplica a ese motor.
+    private static final Object[][] REPAIR_TYPES = {
+            {"Cambio de aceite", 120000, 120000, 180000, 220000, 24},
+            {"Cambio de llantas", 130000, 130000, 190000, 230000, 12},
+            {"Revisión de motor", 350000, 450000, 700000, 800000, 6},
+            {"Revisión de frenos", 210000, 210000, 300000, 300000, 14},
+            {"Ajuste de suspensión", 150000, 150000, 200000, 250000, 8},
+            {"Cambio de batería", 100000, 120000, 450000, 0, 7},
+            {"Pintura y detalle", 100000, 100000, 100000, 100000, 5},
+            {"Reemplazo de parabrisas", 180000, 180000, 210000, 250000, 3},
+            {"Revisión del sistema eléctrico", 150000, 150000, 180000, 180000, 6},
+            {"Cambio de correa de distribución", 130000, 140000, 220000, 0, 5},
+            {"Revisión general", 80000, 80000, 80000, 80000, 10},
+    };
+
+    // Marca, peso relativo y modelos con su tipo (código de VehicleType)
+    private static final Object[][] BRANDS = {
+            {"Toyota", 18, new String[][]{{"Yaris", "S"}, {"Corolla", "S"}, {"RAV4", "U"}, {"Hilux", "P"}}},
+            {"Chevrolet", 15, new String[][]{{"Sail", "S"}, {"Spark", "H"}, {"Tracker", "U"}, {"Colorado", "P"}}},
+            {"Hyundai", 13, new String[][]{{"Accent", "S"}, {"Grand i10", "H"}, {"Tucson", "U"}, {"H-1", "F"}}},
+            {"Kia", 12, new String[][]{{"Rio", "S"}, {"Morning", "H"}, {"Sportage", "U"}}},
+            {"Nissan", 9, new String[][]{{"Versa", "S"}, {"Kicks", "U"}, {"Navara", "P"}}},
+            {"Suzuki", 8, new String[][]{{"Swift", "H"}, {"Baleno", "H"}, {"Vitara", "U"}}},
+            {"Ford", 6, new String[][]{{"Territory", "U"}, {"Ranger", "P"}, {"Transit", "F"}}},
+            {"Peugeot", 5, new String[][]{{"208", "H"}, {"2008", "U"}, {"Partner", "F"}}},
+            {"Mazda", 5, new String[][]{{"Mazda 3", "S"}, {"CX-5", "U"}, {"BT-50", "P"}}},
+            {"Honda", 4, new String[][]{{"Civic", "S"}, {"CR-V", "U"}}},
+            {"MG", 3, new String[][]{{"ZS", "U"}, {"MG3", "H"}}},
+            {"BYD", 2, new String[][]{{"Dolphin", "H"}, {"Yuan Plus", "U"}}},
+    };
+
+    // Ingresos relativos por mes: más en marzo (vuelta de vacaciones) e invierno, menos en febrero
+    private static final double[] MONTH_WEIGHTS = {0.85, 0.6, 1.2, 1.0, 1.05, 1.15, 1.2, 1.1, 0.95, 1.0, 1.0, 1.1};
+
+    private final long seed;
+    private final LocalDate today;
+    private final int historyYears;
+
+    public SyntheticDataGenerator(long seed, LocalDate today, int historyYears) {
+        if (historyYears < 1) {
+            throw new IllegalArgumentException("La historia generada debe cubrir al menos un año.");
+        }
+        this.seed = seed;
+        this.today = today;
+        this.historyYears = historyYears;
+    }
+
+    public static class Summary {
+        private final int repairTypes;
+        private final int vehicles;
+        private final int repairs;
+        private final int bonuses;
+        private final long elapsedMillis;
+
+        Summary(int repairTypes, int vehicles, int repairs, int bonuses, long elapsedMillis) {
+            this.repairTypes = repairTypes;
+            this.vehicles = vehicles;
+            this.repairs = repairs;
+            this.bonuses = bonuses;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getRepairTypes() {
+            return repairTypes;
+        }
+
+        public int getVehicles() {
+            return vehicles;
+        }
+
+        public int getRepairs() {
+            return repairs;
+        }
+
+        public int getBonuses() {
+            return bonuses;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public long getRowsPerSecond() {
+            return (repairTypes + vehicles + repairs + bonuses) * 1000L / Math.max(1, elapsedMillis);
+        }
+    }
+
+    // Datos de una reparación generada; se reutiliza entre filas para no crear objetos por reparación
+    private static final class RepairRow {
+        int vehicle;
+        int repairType;
+        LocalDate entryDate;
+        LocalTime entryTime;
+        long cost;
+        LocalDate exitDate;
+        LocalTime exitTime;
+        LocalDate pickupDate;
+        LocalTime pickupTime;
+        RepairEntity.Status status;
+    }
+
+    // Tipos de reparación ya existentes o recién insertados
+    private static final class Catalog {
+        final long[] ids;
+        final long[][] costs;
+        final int[] weights;
+
+        Catalog(long[] ids, long[][] costs, int[] weights) {
+            this.ids = ids;
+            this.costs = costs;
+            this.weights = weights;
+        }
+    }
+
+    // Agrega vehicleCount vehículos y repairCount reparaciones a lo que ya haya en la base. El catálogo de tipos de
+    // reparación se inserta solo si la tabla está vacía. Confirma cada ROWS_PER_COMMIT filas, así que un error a
+    // mitad de camino deja en la base lo ya confirmado.
+    public Summary generate(DataSource dataSource, int vehicleCount, int repairCount) throws SQLException {
+        if (vehicleCount < 1 || repairCount < 0) {
+            throw new IllegalArgumentException("Debe generar al menos un vehículo y un número no negativo de reparaciones.");
+        }
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                warnIfBatchesAreNotRewritten(connection.getMetaData());
+                int insertedTypes = 0;
+                Catalog catalog = readCatalog(connection);
+                if (catalog.ids.length == 0) {
+                    insertedTypes = insertCatalog(connection, nextId(connection, "repair_types", "repair_type_id"));
+                    catalog = readCatalog(connection);
+                }
+
+                long firstVehicleId = nextId(connection, "vehicles", "vehicle_id");
+                long firstRepairId = nextId(connection, "repairs", "repair_id");
+                long firstBonusId = nextId(connection, "bonuses", "bonus_id");
+
+                Random vehicleRandom = new Random(seed);
+                int[] brands = new int[vehicleCount];
+                int[] models = new int[vehicleCount];
+                int[] years = new int[vehicleCount];
+                VehicleEntity.EngineType[] engines = new VehicleEntity.EngineType[vehicleCount];
+                for (int i = 0; i < vehicleCount; i++) {
+                    brands[i] = weightedIndex(vehicleRandom, BRANDS, 1);
+                    String[][] brandModels = (String[][]) BRANDS[brands[i]][2];
+                    models[i] = vehicleRandom.nextInt(brandModels.length);
+                    years[i] = today.getYear() - vehicleAge(vehicleRandom);
+                    engines[i] = engine(vehicleRandom, years[i], brandModels[models[i]][1]);
+                }
+
+                // Primera pasada: el historial de cada vehículo, que se inserta junto con él. La segunda pasada
+                // vuelve a generar las mismas reparaciones con la misma semilla para insertarlas.
+                long[] repairCounts = new long[vehicleCount];
+                long[] baseCosts = new long[vehicleCount];
+                LocalDate[] lastEntries = new LocalDate[vehicleCount];
+                long[] openRepairs = new long[vehicleCount];
+                RepairRow row = new RepairRow();
+                Random repairRandom = new Random(seed * 31 + 17);
+                for (int i = 0; i < repairCount; i++) {
+                    nextRepair(repairRandom, catalog, engines, row);
+                    repairCounts[row.vehicle]++;
+                    baseCosts[row.vehicle] += row.cost;
+                    if (lastEntries[row.vehicle] == null || lastEntries[row.vehicle].isBefore(row.entryDate)) {
+                        lastEntries[row.vehicle] = row.entryDate;
+                    }
+                    if (row.pickupDate == null) {
+                        openRepairs[row.vehicle]++;
+                    }
+                }
+
+                insertVehicles(connection, firstVehicleId, brands, models, years, engines, vehicleRandom,
+                        repairCounts, baseCosts, lastEntries, openRepairs);
+                insertRepairs(connection, firstVehicleId, firstRepairId, repairCount, catalog, engines);
+                int bonuses = insertBonuses(connection, firstVehicleId, firstBonusId, brands, new Random(seed + 1));
+
+                restartIdentities(connection);
+                connection.commit();
+
+                Summary summary = new Summary(insertedTypes, vehicleCount, repairCount, bonuses,
+                        (System.nanoTime() - start) / 1_000_000);
+                logger.info("Generated {} vehicles, {} repairs and {} bonuses in {} ms ({} rows/s)", vehicleCount,
+                        repairCount, bonuses, summary.getElapsedMillis(), summary.getRowsPerSecond());
+                return summary;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private void insertVehicles(Connection connection, long firstId, int[] brands, int[] models, int[] years,
+                                VehicleEntity.EngineType[] engines, Random random, long[] repairCounts,
+                                long[] baseCosts, LocalDate[] lastEntries, long[] openRepairs) throws SQLException {
+        String sql = "INSERT INTO vehicles (vehicle_id, license_plate_number, brand, model, type, manufacture_year, "
+                + "engine_type, mileage, seat_count, repair_count, total_base_cost, last_entry_date, open_repair_count) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < brands.length; i++) {
+                long vehicleId = firstId + i;
+                String[] model = ((String[][]) BRANDS[brands[i]][2])[models[i]];
+                String type = model[1];
+                statement.setLong(1, vehicleId);
+                statement.setString(2, plate(vehicleId));
+                statement.setString(3, (String) BRANDS[brands[i]][0]);
+                statement.setString(4, model[0]);
+                statement.setString(5, type);
+                statement.setInt(6, years[i]);
+                statement.setString(7, engines[i].getCode());
+                statement.setInt(8, mileage(random, today.getYear() - years[i]));
+                statement.setInt(9, seats(random, type));
+                statement.setLong(10, repairCounts[i]);
+                statement.setBigDecimal(11, BigDecimal.valueOf(baseCosts[i]));
+                statement.setObject(12, lastEntries[i]);
+                statement.setLong(13, openRepairs[i]);
+                addBatch(connection, statement, i + 1);
+            }
+            flush(connection, statement);
+        }
+    }
+
+    private void insertRepairs(Connection connection, long firstVehicleId, long firstId, int repairCount,
+                               Catalog catalog, VehicleEntity.EngineType[] engines) throws SQLException {
+        String sql = "INSERT INTO repairs (repair_id, vehicle_id, repair_type_id, entry_date, entry_time, status, "
+                + "repair_cost, exit_date, exit_time, customer_pickup_date, customer_pickup_time) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        RepairRow row = new RepairRow();
+        Random random = new Random(seed * 31 + 17);
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < repairCount; i++) {
+                nextRepair(random, catalog, engines, row);
+                statement.setLong(1, firstId + i);
+                statement.setLong(2, firstVehicleId + row.vehicle);
+                statement.setLong(3, catalog.ids[row.repairType]);
+                statement.setObject(4, row.entryDate);
+                statement.setObject(5, row.entryTime);
+                statement.setString(6, row.status.getCode());
+                statement.setBigDecimal(7, BigDecimal.valueOf(row.cost));
+                statement.setObject(8, row.exitDate);
+                statement.setObject(9, row.exitTime);
+                statement.setObject(10, row.pickupDate);
+                statement.setObject(11, row.pickupTime);
+                addBatch(connection, statement, i + 1);
+            }
+            flush(connection, statement);
+        }
+    }
+
+    // Por marca, unos pocos bonos disponibles; además uno de cada treinta vehículos ya tiene uno aplicado.
+    private int insertBonuses(Connection connection, long firstVehicleId, long firstId, int[] brands, Random random)
+            throws SQLException {
+        String sql = "INSERT INTO bonuses (bonus_id, vehicle_id, amount, brand, description) VALUES (?, ?, ?, ?, ?)";
+        int inserted = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int brand = 0; brand < BRANDS.length; brand++) {
+                for (int i = 0; i < 5; i++) {
+                    addBonus(statement, firstId + inserted, null, brand, random);
+                    addBatch(connection, statement, ++inserted);
+                }
+            }
+            for (int i = 0; i < brands.length; i++) {
+                if (random.nextInt(30) == 0) {
+                    addBonus(statement, firstId + inserted, firstVehicleId + i, brands[i], random);
+                    addBatch(connection, statement, ++inserted);
+                }
+            }
+            flush(connection, statement);
+        }
+        return inserted;
+    }
+
+    private static void addBonus(PreparedStatement statement, long bonusId, Long vehicleId, int brand, Random random)
+            throws SQLException {
+        String brandName = (String) BRANDS[brand][0];
+        statement.setLong(1, bonusId);
+        statement.setObject(2, vehicleId);
+        statement.setBigDecimal(3, BigDecimal.valueOf(3000 + random.nextInt(5) * 1000L));
+        statement.setString(4, brandName);
+        statement.setString(5, "Bono " + brandName + " por promoción");
+    }
+
+    private int insertCatalog(Connection connection, long firstId) throws SQLException {
+        String sql = "INSERT INTO repair_types (repair_type_id, description, base_cost_gasoline, base_cost_diesel, "
+                + "base_cost_hybrid, base_cost_electric) VALUES (?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < REPAIR_TYPES.length; i++) {
+                statement.setLong(1, firstId + i);
+                statement.setString(2, (String) REPAIR_TYPES[i][0]);
+                for (int engine = 0; engine < 4; engine++) {
+                    statement.setBigDecimal(3 + engine, BigDecimal.valueOf((Integer) REPAIR_TYPES[i][1 + engine]));
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        return REPAIR_TYPES.length;
+    }
+
+    // Los tipos que no están en el catálogo conocido (creados a mano) reciben un peso bajo
+    private static Catalog readCatalog(Connection connection) throws SQLException {
+        List<long[]> rows = new ArrayList<>();
+        List<String> descriptions = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT repair_type_id, description, base_cost_gasoline, "
+                     + "base_cost_diesel, base_cost_hybrid, base_cost_electric FROM repair_types ORDER BY repair_type_id")) {
+            while (resultSet.next()) {
+                rows.add(new long[]{resultSet.getLong(1), resultSet.getBigDecimal(3).longValue(),
+                        resultSet.getBigDecimal(4).longValue(), resultSet.getBigDecimal(5).longValue(),
+                        resultSet.getBigDecimal(6).longValue()});
+                descriptions.add(resultSet.getString(2));
+            }
+        }
+        long[] ids = new long[rows.size()];
+        long[][] costs = new long[rows.size()][];
+        int[] weights = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            long[] row = rows.get(i);
+            ids[i] = row[0];
+            // Mismo orden que VehicleEntity.EngineType: gasolina, diésel, híbrido, eléctrico
+            costs[i] = new long[]{row[1], row[2], row[3], row[4]};
+            weights[i] = 1;
+            for (Object[] known : REPAIR_TYPES) {
+                if (known[0].equals(descriptions.get(i))) {
+                    weights[i] = (Integer) known[5];
+                }
+            }
+        }
+        return new Catalog(ids, costs, weights);
+    }
+
+    private void nextRepair(Random random, Catalog catalog, VehicleEntity.EngineType[] engines, RepairRow row) {
+        // Una de cada cinco reparaciones es de una flota: el 5% de los vehículos que vuelve una y otra vez
+        int fleetSize = Math.max(1, engines.length / 20);
+        row.vehicle = random.nextInt(5) == 0 ? random.nextInt(fleetSize) : random.nextInt(engines.length);
+        int engine = engines[row.vehicle].ordinal();
+
+        // Tipos que no aplican al motor (costo 0) se vuelven a sortear; si ninguno aplica se usa el primero
+        int repairType = 0;
+        for (int attempt = 0; attempt < 8; attempt++) {
+            int candidate = weightedIndex(random, catalog.weights);
+            if (catalog.costs[candidate][engine] > 0) {
+                repairType = candidate;
+                break;
+            }
+        }
+        row.repairType = repairType;
+        row.cost = catalog.costs[repairType][engine];
+
+        row.entryDate = entryDate(random);
+        row.entryTime = LocalTime.of(8 + Math.min(9, (int) Math.abs(random.nextGaussian() * 3)), random.nextInt(4) * 15);
+
+        // Trabajos largos para motor y pintura; el resto sale el mismo día o a los pocos días
+        int workDays = row.cost >= 350000 ? 2 + random.nextInt(6) : random.nextInt(10) < 6 ? 0 : 1 + random.nextInt(3);
+        LocalDate exitDate = row.entryDate.plusDays(workDays);
+        row.exitDate = null;
+        row.exitTime = null;
+        row.pickupDate = null;
+        row.pickupTime = null;
+        if (exitDate.isAfter(today)) {
+            row.status = row.entryDate.equals(today) ? RepairEntity.Status.PENDING : RepairEntity.Status.IN_PROGRESS;
+            return;
+        }
+        row.exitDate = exitDate;
+        row.exitTime = workDays == 0 ? row.entryTime.plusHours(1 + random.nextInt(4)) : LocalTime.of(9 + random.nextInt(9), 0);
+
+        // Atraso en el retiro: casi todos el mismo día o el siguiente, algunos semanas, unos pocos nunca
+        int roll = random.nextInt(100);
+        int delay = roll < 70 ? random.nextInt(2) : roll < 90 ? 2 + random.nextInt(6) : roll < 98 ? 8 + random.nextInt(23) : -1;
+        LocalDate pickupDate = delay < 0 ? null : exitDate.plusDays(delay);
+        if (pickupDate == null || pickupDate.isAfter(today)) {
+            row.status = RepairEntity.Status.COMPLETED;
+            return;
+        }
+        row.pickupDate = pickupDate;
+        row.pickupTime = delay == 0 ? row.exitTime.plusMinutes(30 + random.nextInt(8) * 15)
+                : LocalTime.of(10 + random.nextInt(9), random.nextInt(4) * 15);
+        row.status = RepairEntity.Status.DELIVERED;
+    }
+
+    // Fecha de ingreso de los últimos historyYears años, con el peso del mes; los domingos el taller cierra y los
+    // sábados atiende medio día
+    private LocalDate entryDate(Random random) {
+        int days = historyYears * 365;
+        while (true) {
+            LocalDate date = today.minusDays(random.nextInt(days + 1));
+            double weight = MONTH_WEIGHTS[date.getMonthValue() - 1] / 1.2;
+            if (date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY) {
+                weight *= 0.5;
+            }
+            if (random.nextDouble() < weight) {
+                return date;
+            }
+        }
+    }
+
+    // Antigüedad con media cercana a 7 años y cola hasta 25
+    private static int vehicleAge(Random random) {
+        return (int) Math.min(25, Math.floor(-Math.log(1 - random.nextDouble()) * 7));
+    }
+
+    // Los eléctricos e híbridos solo aparecen en modelos recientes; las camionetas y furgones suelen ser diésel
+    private VehicleEntity.EngineType engine(Random random, int year, String typeCode) {
+        int roll = random.nextInt(100);
+        boolean recent = today.getYear() - year <= 6;
+        if (recent && roll < 6) {
+            return VehicleEntity.EngineType.ELECTRIC;
+        }
+        if (recent && roll < 16) {
+            return VehicleEntity.EngineType.HYBRID;
+        }
+        boolean utility = typeCode.equals("P") || typeCode.equals("F");
+        return roll < (utility ? 80 : 30) ? VehicleEntity.EngineType.DIESEL : VehicleEntity.EngineType.GASOLINE;
+    }
+
+    // Kilometraje anual lognormal alrededor de 12.000 km
+    private static int mileage(Random random, int age) {
+        double annual = Math.exp(Math.log(12000) + 0.5 * random.nextGaussian());
+        return (int) Math.min(600000, (age + random.nextDouble()) * annual);
+    }
+
+    private static int seats(Random random, String typeCode) {
+        switch (typeCode) {
+            case "U":
+                return random.nextInt(4) == 0 ? 7 : 5;
+            case "F":
+                return random.nextBoolean() ? 3 : 12;
+            default:
+                return 5;
+        }
+    }
+
+    // Patente de cuatro letras y dos dígitos derivada del ID, única hasta 18^4 * 100 vehículos
+    static String plate(long vehicleId) {
+        long value = vehicleId % (18L * 18 * 18 * 18 * 100);
+        char[] plate = new char[6];
+        plate[5] = (char) ('0' + value % 10);
+        plate[4] = (char) ('0' + value / 10 % 10);
+        value /= 100;
+        for (int i = 3; i >= 0; i--) {
+            plate[i] = PLATE_LETTERS.charAt((int) (value % 18));
+            value /= 18;
+        }
+        return new String(plate);
+    }
+
+    private static int weightedIndex(Random random, Object[][] table, int weightColumn) {
+        int total = 0;
+        for (Object[] entry : table) {
+            total += (Integer) entry[weightColumn];
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < table.length; i++) {
+            roll -= (Integer) table[i][weightColumn];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return table.length - 1;
+    }
+
+    private static int weightedIndex(Random random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int roll = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static void addBatch(Connection connection, PreparedStatement statement, int rows) throws SQLException {
+        statement.addBatch();
+        if (rows % BATCH_SIZE == 0) {
+            statement.executeBatch();
+        }
+        if (rows % ROWS_PER_COMMIT == 0) {
+            connection.commit();
+        }
+    }
+
+    private static void flush(Connection connection, PreparedStatement statement) throws SQLException {
+        statement.executeBatch();
+        connection.commit();
+    }
+
+    private static long nextId(Connection connection, String table, String column) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(" + column + "), 0) + 1 FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    // H2 no avanza sus columnas de identidad con los IDs explícitos; MySQL sí ajusta AUTO_INCREMENT por su cuenta.
+    private static void restartIdentities(Connection connection) throws SQLException {
+        if (!"H2".equals(connection.getMetaData().getDatabaseProductName())) {
+            return;
+        }
+        String[][] identities = {{"repair_types", "repair_type_id"}, {"vehicles", "vehicle_id"},
+                {"repairs", "repair_id"}, {"bonuses", "bonus_id"}};
+        for (String[] identity : identities) {
+            long next = nextId(connection, identity[0], identity[1]);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE " + identity[0] + " ALTER COLUMN " + identity[1] + " RESTART WITH " + next);
+            }
+        }
+    }
+
+    private static void warnIfBatchesAreNotRewritten(DatabaseMetaData metaData) throws SQLException {
+        if ("MySQL".equals(metaData.getDatabaseProductName())
+                && !metaData.getURL().contains("rewriteBatchedStatements=true")) {
+            logger.warn("MySQL URL lacks rewriteBatchedStatements=true; synthetic data will be inserted row by row");
+        }
+    }
+}
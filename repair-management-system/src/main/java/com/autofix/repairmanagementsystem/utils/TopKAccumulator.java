@@ -0,0 +1,43 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Conserva solo los K mayores elementos vistos usando un min-heap acotado: memoria O(K) y O(log K) por elemento.
+public class TopKAccumulator<T> {
+
+    private final int limit;
+    private final Comparator<T> comparator;
+    private final PriorityQueue<T> heap;
+
+    public TopKAccumulator(int limit, Comparator<T> comparator) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("El límite debe ser mayor que cero.");
+        }
+        this.limit = limit;
+        this.comparator = comparator;
+        this.heap = new PriorityQueue<>(limit, comparator);
+    }
+
+    public void offer(T element) {
+        if (heap.size() < limit) {
+            heap.add(element);
+        } else if (comparator.compare(element, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(element);
+        }
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    // Elementos de mayor a menor.
+    public List<T> toSortedList() {
+        List<T> sorted = new ArrayList<>(heap);
+        sorted.sort(comparator.reversed());
+        return sorted;
+    }
+}
@@ -0,0 +1,147 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+// Histograma de tiempos de reparación en horas, al estilo HdrHistogram.
+// Hasta LINEAR_LIMIT horas cada hora tiene su propio contador (precisión exacta); por encima se usan
+// cubetas logarítmicas con SUB_BUCKETS subdivisiones por potencia de dos (error relativo < 2%).
+// Los contadores se pueden sumar y restar, así que dos histogramas se combinan sumando cubeta a cubeta.
+public class TurnaroundHistogram {
+
+    private static final int LINEAR_LIMIT = 2048;
+    private static final int LINEAR_BITS = 11;
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private long[] counts = new long[0];
+    private long totalCount;
+
+    public void record(long hours) {
+        record(hours, 1);
+    }
+
+    // Un delta negativo descuenta una reparación previamente registrada.
+    public void record(long hours, long delta) {
+        int index = bucketIndex(Math.max(hours, 0));
+        ensureCapacity(index + 1);
+        counts[index] += delta;
+        totalCount += delta;
+    }
+
+    public void merge(TurnaroundHistogram other) {
+        ensureCapacity(other.counts.length);
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public boolean isEmpty() {
+        return totalCount <= 0;
+    }
+
+    // Valor (en horas) bajo el cual cae el porcentaje indicado de las reparaciones.
+    public long valueAtPercentile(double percentile) {
+        if (totalCount <= 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return bucketValue(i);
+            }
+        }
+        return bucketValue(counts.length - 1);
+    }
+
+    // Formato compacto: pares (salto de índice, contador) codificados como varints, solo para cubetas no vacías.
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int previous = -1;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                writeVarLong(out, i - previous);
+                writeVarLong(out, zigZag(counts[i]));
+                previous = i;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static TurnaroundHistogram fromBytes(byte[] bytes) {
+        TurnaroundHistogram histogram = new TurnaroundHistogram();
+        if (bytes == null) {
+            return histogram;
+        }
+        int[] position = {0};
+        int index = -1;
+        while (position[0] < bytes.length) {
+            index += (int) readVarLong(bytes, position);
+            long count = unZigZag(readVarLong(bytes, position));
+            histogram.ensureCapacity(index + 1);
+            histogram.counts[index] += count;
+            histogram.totalCount += count;
+        }
+        return histogram;
+    }
+
+    static int bucketIndex(long hours) {
+        if (hours < LINEAR_LIMIT) {
+            return (int) hours;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(hours);
+        int subBucket = (int) ((hours >> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return LINEAR_LIMIT + (exponent - LINEAR_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    // Límite inferior de la cubeta, que es exacto en la zona lineal.
+    static long bucketValue(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + LINEAR_BITS;
+        int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    private void ensureCapacity(int size) {
+        if (counts.length < size) {
+            counts = Arrays.copyOf(counts, size);
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(byte[] bytes, int[] position) {
+        long value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = bytes[position[0]++];
+            value |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+}
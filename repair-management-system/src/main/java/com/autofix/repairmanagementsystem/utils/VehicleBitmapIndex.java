@@ -0,0 +1,140 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import com.autofix.repairmanagementsystem.entities.CodedEnum;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Índice de mapas de bits sobre los atributos de los vehículos: por cada atributo y valor, el conjunto de IDs
+// de vehículo que lo tienen. No es seguro para hilos: VehicleFilterService se encarga de sincronizar el acceso.
+public class VehicleBitmapIndex {
+
+    public enum Attribute {
+        BRAND, TYPE, ENGINE_TYPE, YEAR_BAND, MILEAGE_BAND
+    }
+
+    private static final int YEAR_BAND_WIDTH = 5;
+
+    private final Map<Attribute, Map<String, CompressedBitmap>> bitmaps = new EnumMap<>(Attribute.class);
+    private final CompressedBitmap allVehicles = new CompressedBitmap();
+
+    public VehicleBitmapIndex() {
+        for (Attribute attribute : Attribute.values()) {
+            bitmaps.put(attribute, new HashMap<>());
+        }
+    }
+
+    // Agrega el vehículo o reemplaza sus valores anteriores.
+    public void put(VehicleEntity vehicle) {
+        int ordinal = ordinal(vehicle.getVehicleId());
+        if (allVehicles.contains(ordinal)) {
+            remove(vehicle.getVehicleId());
+        }
+        for (Attribute attribute : Attribute.values()) {
+            String value = valueOf(vehicle, attribute);
+            if (value != null) {
+                bitmaps.get(attribute).computeIfAbsent(value, v -> new CompressedBitmap()).add(ordinal);
+            }
+        }
+        allVehicles.add(ordinal);
+    }
+
+    public void remove(Long vehicleId) {
+        int ordinal = ordinal(vehicleId);
+        if (!allVehicles.contains(ordinal)) {
+            return;
+        }
+        for (Map<String, CompressedBitmap> values : bitmaps.values()) {
+            values.values().removeIf(bitmap -> {
+                bitmap.remove(ordinal);
+                return bitmap.isEmpty();
+            });
+        }
+        allVehicles.remove(ordinal);
+    }
+
+    public long size() {
+        return allVehicles.cardinality();
+    }
+
+    // Dentro de un atributo los valores se combinan con OR; entre atributos, con AND si matchAll es verdadero
+    // y con OR en caso contrario. Sin filtros se obtienen todos los vehículos.
+    public CompressedBitmap filter(Map<Attribute, ? extends Collection<String>> filters, boolean matchAll) {
+        if (filters == null || filters.isEmpty()) {
+            return allVehicles.copy();
+        }
+        CompressedBitmap result = null;
+        for (Map.Entry<Attribute, ? extends Collection<String>> filter : filters.entrySet()) {
+            CompressedBitmap matches = new CompressedBitmap();
+            Map<String, CompressedBitmap> values = bitmaps.get(filter.getKey());
+            for (String value : filter.getValue()) {
+                CompressedBitmap bitmap = values.get(value);
+                if (bitmap != null) {
+                    matches = CompressedBitmap.or(matches, bitmap);
+                }
+            }
+            if (result == null) {
+                result = matches;
+            } else {
+                result = matchAll ? CompressedBitmap.and(result, matches) : CompressedBitmap.or(result, matches);
+            }
+        }
+        return result;
+    }
+
+    public List<Long> page(CompressedBitmap matches, int page, int size) {
+        List<Long> vehicleIds = new ArrayList<>(size);
+        for (Integer ordinal : matches.page((long) page * size, size)) {
+            vehicleIds.add(ordinal.longValue());
+        }
+        return vehicleIds;
+    }
+
+    public static String valueOf(VehicleEntity vehicle, Attribute attribute) {
+        switch (attribute) {
+            case BRAND:
+                return vehicle.getBrand();
+            case TYPE:
+                return CodedEnum.labelOf(vehicle.getType());
+            case ENGINE_TYPE:
+                return CodedEnum.labelOf(vehicle.getEngineType());
+            case YEAR_BAND:
+                return vehicle.getManufactureYear() == null ? null : yearBand(vehicle.getManufactureYear());
+            default:
+                return vehicle.getMileage() == null ? null : mileageBand(vehicle.getMileage());
+        }
+    }
+
+    // Tramos de cinco años alineados, por ejemplo "2015-2019".
+    public static String yearBand(int manufactureYear) {
+        int start = manufactureYear - Math.floorMod(manufactureYear, YEAR_BAND_WIDTH);
+        return start + "-" + (start + YEAR_BAND_WIDTH - 1);
+    }
+
+    // Los mismos tramos de kilometraje que usa ChargeService para el recargo.
+    public static String mileageBand(int mileage) {
+        if (mileage <= 5000) {
+            return "0-5000";
+        } else if (mileage <= 12000) {
+            return "5001-12000";
+        } else if (mileage <= 25000) {
+            return "12001-25000";
+        } else if (mileage <= 40000) {
+            return "25001-40000";
+        }
+        return "40001+";
+    }
+
+    // Los IDs de vehículo son autoincrementales, así que se usan directamente como posición en los mapas de bits.
+    private static int ordinal(Long vehicleId) {
+        if (vehicleId == null || vehicleId < 0 || vehicleId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("ID de vehículo fuera del rango del índice: " + vehicleId);
+        }
+        return vehicleId.intValue();
+    }
+}
@@ -0,0 +1,264 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Índice de búsqueda sobre placa, marca y modelo. Los términos normalizados se guardan ordenados, de modo que
+// una búsqueda por prefijo es un rango del mapa; para tolerar errores de tipeo, además se indexan los trigramas
+// de cada término y se comparan por coeficiente de Dice. No es seguro para hilos: VehicleSearchService se
+// encarga de sincronizar el acceso.
+public class VehicleSearchIndex {
+
+    public enum Field {
+        PLATE(1.0), MODEL(0.8), BRAND(0.6);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    // Tope de términos revisados por prefijo, para que un prefijo de una letra no recorra todo el índice.
+    private static final int MAX_PREFIX_TERMS = 2000;
+    private static final double MIN_SIMILARITY = 0.5;
+    private static final int MIN_FUZZY_LENGTH = 3;
+
+    private final NavigableMap<String, Map<Long, Field>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+    private final Map<Long, VehicleEntity> documents = new HashMap<>();
+    private final Map<Long, Map<String, Field>> documentTerms = new HashMap<>();
+
+    public void put(VehicleEntity vehicle) {
+        remove(vehicle.getVehicleId());
+        VehicleEntity document = new VehicleEntity();
+        document.setVehicleId(vehicle.getVehicleId());
+        document.setLicensePlateNumber(vehicle.getLicensePlateNumber());
+        document.setBrand(vehicle.getBrand());
+        document.setModel(vehicle.getModel());
+        documents.put(vehicle.getVehicleId(), document);
+        Map<String, Field> terms = terms(document);
+        documentTerms.put(vehicle.getVehicleId(), terms);
+        for (Map.Entry<String, Field> term : terms.entrySet()) {
+            Map<Long, Field> vehicles = postings.computeIfAbsent(term.getKey(), t -> {
+                for (String trigram : trigramsOf(t)) {
+                    trigrams.computeIfAbsent(trigram, g -> new HashSet<>()).add(t);
+                }
+                return new HashMap<>();
+            });
+            vehicles.put(vehicle.getVehicleId(), term.getValue());
+        }
+    }
+
+    public void remove(Long vehicleId) {
+        documents.remove(vehicleId);
+        Map<String, Field> documentTerms = this.documentTerms.remove(vehicleId);
+        if (documentTerms == null) {
+            return;
+        }
+        for (String term : documentTerms.keySet()) {
+            Map<Long, Field> vehicles = postings.get(term);
+            if (vehicles != null) {
+                vehicles.remove(vehicleId);
+                if (vehicles.isEmpty()) {
+                    postings.remove(term);
+                    for (String trigram : trigramsOf(term)) {
+                        Set<String> terms = trigrams.get(trigram);
+                        terms.remove(term);
+                        if (terms.isEmpty()) {
+                            trigrams.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    // Cada palabra de la consulta debe coincidir con algún término del vehículo (exacta, por prefijo o aproximada);
+    // el puntaje suma la mejor coincidencia de cada palabra ponderada por el campo. Solo se expanden los vehículos
+    // de la palabra más selectiva; las demás palabras se comprueban contra los términos de esos candidatos.
+    public List<Hit> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Map<String, Double>> matchesByToken = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            matchesByToken.add(matchingTerms(token, limit, true));
+        }
+        matchesByToken.sort(Comparator.comparingLong(this::postingCount));
+
+        Map<Long, Double> scores = expand(matchesByToken.get(0));
+        for (Map<String, Double> matches : matchesByToken.subList(1, matchesByToken.size())) {
+            scores.entrySet().removeIf(candidate -> {
+                double best = 0;
+                for (Map.Entry<String, Field> term : documentTerms.get(candidate.getKey()).entrySet()) {
+                    Double match = matches.get(term.getKey());
+                    if (match != null) {
+                        best = Math.max(best, match * term.getValue().weight);
+                    }
+                }
+                candidate.setValue(candidate.getValue() + best);
+                return best == 0;
+            });
+        }
+        // Una placa escrita con separadores ("AB-CD 12") también se busca como una sola palabra, sin aproximación
+        if (tokens.size() > 1) {
+            for (Map.Entry<Long, Double> entry : expand(matchingTerms(String.join("", tokens), limit, false)).entrySet()) {
+                scores.merge(entry.getKey(), entry.getValue(), Math::max);
+            }
+        }
+
+        TopKAccumulator<Hit> top = new TopKAccumulator<>(limit,
+                (a, b) -> a.score != b.score ? Double.compare(a.score, b.score) : Long.compare(b.vehicle.getVehicleId(), a.vehicle.getVehicleId()));
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(new Hit(documents.get(entry.getKey()), entry.getValue()));
+        }
+        return top.toSortedList();
+    }
+
+    // Términos que coinciden con la palabra y su grado de coincidencia. La búsqueda aproximada solo se usa cuando
+    // las coincidencias por prefijo no alcanzan a llenar el límite.
+    private Map<String, Double> matchingTerms(String token, int limit, boolean allowFuzzy) {
+        Map<String, Double> matches = new HashMap<>();
+        long vehicles = 0;
+        for (Map.Entry<String, Map<Long, Field>> entry : postings.tailMap(token, true).entrySet()) {
+            String term = entry.getKey();
+            if (!term.startsWith(token) || matches.size() >= MAX_PREFIX_TERMS) {
+                break;
+            }
+            // Exacta = 1; por prefijo, entre 0,5 y 0,9 según qué parte del término cubre la consulta
+            matches.put(term, term.length() == token.length() ? 1.0 : 0.5 + 0.4 * token.length() / term.length());
+            vehicles += entry.getValue().size();
+        }
+        if (allowFuzzy && vehicles < limit && token.length() >= MIN_FUZZY_LENGTH) {
+            for (Map.Entry<String, Double> candidate : fuzzyTerms(token).entrySet()) {
+                matches.putIfAbsent(candidate.getKey(), 0.4 * candidate.getValue());
+            }
+        }
+        return matches;
+    }
+
+    // Términos que comparten suficientes trigramas con la palabra buscada, con su similitud de Dice.
+    private Map<String, Double> fuzzyTerms(String token) {
+        Set<String> tokenTrigrams = trigramsOf(token);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : tokenTrigrams) {
+            Set<String> terms = trigrams.get(trigram);
+            if (terms != null) {
+                for (String term : terms) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+        Map<String, Double> similar = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+            double similarity = 2.0 * entry.getValue() / (tokenTrigrams.size() + trigramsOf(entry.getKey()).size());
+            if (similarity >= MIN_SIMILARITY) {
+                similar.put(entry.getKey(), similarity);
+            }
+        }
+        return similar;
+    }
+
+    private long postingCount(Map<String, Double> matches) {
+        long count = 0;
+        for (String term : matches.keySet()) {
+            count += postings.get(term).size();
+        }
+        return count;
+    }
+
+    private Map<Long, Double> expand(Map<String, Double> matches) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (Map.Entry<String, Double> match : matches.entrySet()) {
+            for (Map.Entry<Long, Field> vehicle : postings.get(match.getKey()).entrySet()) {
+                scores.merge(vehicle.getKey(), match.getValue() * vehicle.getValue().weight, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private static Map<String, Field> terms(VehicleEntity vehicle) {
+        Map<String, Field> terms = new HashMap<>();
+        addTerms(terms, vehicle.getBrand(), Field.BRAND);
+        addTerms(terms, vehicle.getModel(), Field.MODEL);
+        // La placa se indexa completa y sin separadores, para que "AB-CD 12" se encuentre como "ABCD1"
+        String plate = normalize(vehicle.getLicensePlateNumber()).replace(" ", "");
+        if (!plate.isEmpty()) {
+            terms.put(plate, Field.PLATE);
+        }
+        return terms;
+    }
+
+    private static void addTerms(Map<String, Field> terms, String text, Field field) {
+        for (String token : tokenize(text)) {
+            Field existing = terms.get(token);
+            if (existing == null || existing.weight < field.weight) {
+                terms.put(token, field);
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalize(text).split(" ")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Mayúsculas sin tildes; todo lo que no sea letra o dígito se convierte en espacio.
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String withoutAccents = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return withoutAccents.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]+", " ").trim();
+    }
+
+    private static Set<String> trigramsOf(String term) {
+        String padded = "$" + term + "$";
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    public static class Hit {
+        private final VehicleEntity vehicle;
+        private final double score;
+
+        Hit(VehicleEntity vehicle, double score) {
+            this.vehicle = vehicle;
+            this.score = score;
+        }
+
+        public VehicleEntity getVehicle() {
+            return vehicle;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
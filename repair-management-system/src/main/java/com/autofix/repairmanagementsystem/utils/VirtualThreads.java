@@ -0,0 +1,43 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Acceso a los hilos virtuales sin exigir Java 21 para compilar: el proyecto se compila con Java 17 y el modo
+// virtual solo se activa si la JVM que ejecuta la aplicación los ofrece.
+public final class VirtualThreads {
+
+    private static final Method NEW_PER_TASK_EXECUTOR = lookup();
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return NEW_PER_TASK_EXECUTOR != null;
+    }
+
+    // Un hilo virtual nuevo por tarea.
+    public static ExecutorService newPerTaskExecutor() {
+        if (NEW_PER_TASK_EXECUTOR == null) {
+            throw new UnsupportedOperationException("Los hilos virtuales requieren Java 21 o superior.");
+        }
+        try {
+            return (ExecutorService) NEW_PER_TASK_EXECUTOR.invoke(null);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("No se pudo crear el ejecutor de hilos virtuales", e);
+        }
+    }
+
+    // En Java 19 y 20 el método existe pero falla sin --enable-preview, así que se prueba una vez.
+    private static Method lookup() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ((ExecutorService) method.invoke(null)).shutdown();
+            return method;
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return null;
+        }
+    }
+}
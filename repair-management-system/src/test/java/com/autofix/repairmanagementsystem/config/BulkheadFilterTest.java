@@ -0,0 +1,67 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.config.BulkheadFilter.EndpointClass;
+import com.autofix.repairmanagementsystem.utils.Bulkhead;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkheadFilterTest {
+
+    private Map<EndpointClass, Bulkhead> bulkheads;
+    private BulkheadFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        bulkheads = new EnumMap<>(EndpointClass.class);
+        Map<EndpointClass, Long> retryAfter = new EnumMap<>(EndpointClass.class);
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            bulkheads.put(endpointClass, new Bulkhead(endpointClass.name(), 1, 0, 0));
+            retryAfter.put(endpointClass, endpointClass == EndpointClass.REPORTS ? 10L : 1L);
+        }
+        filter = new BulkheadFilter(bulkheads, retryAfter);
+    }
+
+    @Test
+    void classify_SeparatesReportsPricingAndCrud() {
+        assertThat(BulkheadFilter.classify("/api/v1/reports/repair-costs")).isEqualTo(EndpointClass.REPORTS);
+        assertThat(BulkheadFilter.classify("/api/v1/quotes")).isEqualTo(EndpointClass.PRICING);
+        assertThat(BulkheadFilter.classify("/api/v1/repairs/7/total-cost")).isEqualTo(EndpointClass.PRICING);
+        assertThat(BulkheadFilter.classify("/api/v1/bonuses/apply/1/Toyota")).isEqualTo(EndpointClass.PRICING);
+        assertThat(BulkheadFilter.classify("/api/v1/repairs/7")).isEqualTo(EndpointClass.CRUD);
+        assertThat(BulkheadFilter.classify("/api/v1/vehicles")).isEqualTo(EndpointClass.CRUD);
+    }
+
+    @Test
+    void doFilter_Returns429_WhenTheClassIsSaturated() throws Exception {
+        bulkheads.get(EndpointClass.REPORTS).tryEnter();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/reports/repair-costs"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("10");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void doFilter_KeepsCrudAvailable_WhileReportsAreSaturated() throws Exception {
+        bulkheads.get(EndpointClass.REPORTS).tryEnter();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/vehicles/1"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(bulkheads.get(EndpointClass.CRUD).getInFlight()).isZero();
+    }
+}
@@ -0,0 +1,116 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.services.MetricsService;
+import com.autofix.repairmanagementsystem.utils.CancellationToken;
+import com.autofix.repairmanagementsystem.utils.QueryCancellation;
+import com.autofix.repairmanagementsystem.utils.QueryCancellationMetrics;
+import com.autofix.repairmanagementsystem.utils.RequestTrace;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CancellableDataSourceTest {
+
+    // Suma lo bastante larga como para seguir en ejecución cuando llega la cancelación
+    private static final String SLOW_QUERY = "SELECT SUM(X * X) FROM SYSTEM_RANGE(1, 10000000000)";
+
+    private QueryCancellationMetrics metrics;
+    private CancellableDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:cancellation;DB_CLOSE_DELAY=-1");
+        metrics = new QueryCancellationMetrics();
+        dataSource = new CancellableDataSource(h2, 30, metrics, new MetricsService());
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryCancellation.unbind();
+        QueryCancellation.setTimeoutSeconds(null);
+    }
+
+    @Test
+    void execute_AppliesTheRepositoryMethodTimeout() throws Exception {
+        QueryCancellation.setTimeoutSeconds(7);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            statement.executeQuery().close();
+
+            assertThat(statement.getQueryTimeout()).isEqualTo(7);
+            assertThat(statement.getConnection()).isSameAs(connection);
+        }
+    }
+
+    @Test
+    void execute_AppliesTheDefaultTimeoutOnlyWithinARequest() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            // Como el DDL de Hibernate o una migración al arrancar
+            statement.execute("CREATE TABLE IF NOT EXISTS timeout_probe (id INT)");
+            assertThat(statement.getQueryTimeout()).isZero();
+
+            QueryCancellation.bind(new CancellationToken(60000));
+            statement.executeQuery("SELECT 1").close();
+            assertThat(statement.getQueryTimeout()).isEqualTo(30);
+        }
+    }
+
+    @Test
+    void cancel_StopsTheRunningStatement() throws Exception {
+        CancellationToken token = new CancellationToken(60000);
+        QueryCancellation.bind(token);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            ScheduledFuture<?> deadline = scheduler.schedule(
+                    () -> metrics.recordAbandonedRequest(token.cancel()), 200, TimeUnit.MILLISECONDS);
+
+            assertThatThrownBy(() -> statement.executeQuery(SLOW_QUERY)).isInstanceOf(SQLException.class);
+            deadline.get();
+            assertThat(token.getActiveStatements()).isZero();
+            assertThat(metrics.getCancelledQueries()).isEqualTo(1);
+            assertThatThrownBy(() -> statement.executeQuery("SELECT 1")).isInstanceOf(CancellationException.class);
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_InATrace_RecordsTheStatementAndItsRows() throws Exception {
+        RequestTrace trace = RequestTrace.begin("GET /api/v1/vehicles", "/api/v1/vehicles", 10);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT X FROM SYSTEM_RANGE(1, ?)")) {
+            statement.setInt(1, 3);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    assertThat(resultSet.getInt(1)).isPositive();
+                }
+            }
+        } finally {
+            trace.end("GET /api/v1/vehicles", 200);
+        }
+
+        assertThat(trace.getSpans()).singleElement().satisfies(span -> {
+            assertThat(span.getKind()).isEqualTo(RequestTrace.JDBC);
+            assertThat(span.getName()).isEqualTo("SELECT X FROM SYSTEM_RANGE(1, ?)");
+            assertThat(span.getRows()).isEqualTo(3);
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.utils.ConcurrencyLimiter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DataSourceLimitFilterTest {
+
+    @Test
+    void doFilter_HoldsAPermitWhileTheRequestRuns() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1);
+        DataSourceLimitFilter filter = new DataSourceLimitFilter(limiter, 100);
+        AtomicInteger inFlight = new AtomicInteger();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/repairs"), response,
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void service(HttpServletRequest request,
+                                           HttpServletResponse response) {
+                        inFlight.set(limiter.getInFlight());
+                    }
+                }));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(inFlight.get()).isEqualTo(1);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void doFilter_Returns503_WhenNoPermitFreesUpInTime() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1);
+        limiter.tryAcquire(0, TimeUnit.MILLISECONDS);
+        DataSourceLimitFilter filter = new DataSourceLimitFilter(limiter, 10);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/repairs"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(chain.getRequest()).isNull();
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,87 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.utils.ConcurrencyLimiter;
+import com.autofix.repairmanagementsystem.utils.VirtualThreads;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Simula una ráfaga de peticiones bloqueantes: cada una espera E/S fuera de la base de datos y luego ocupa una
+// conexión del pool. Compara el pool de Tomcat (200 hilos) con un hilo virtual por petición, ambos con el límite
+// de conexiones del filtro. Se ejecuta con: mvn test -Pbenchmark (el modo virtual necesita Java 21 o superior).
+@Tag("benchmark")
+public class ExecutionModeBenchmarkTest {
+
+    private static final int REQUESTS = 5000;
+    private static final int TOMCAT_THREADS = 200;
+    private static final int POOL_SIZE = 10;
+    private static final long IO_MILLIS = 50;
+    private static final long DB_MILLIS = 2;
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionModeBenchmarkTest.class);
+
+    @Test
+    void platformThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(TOMCAT_THREADS);
+        try {
+            run("platform", executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void virtualThreads() throws Exception {
+        Assumptions.assumeTrue(VirtualThreads.isSupported(), "Requiere Java 21 o superior");
+        ExecutorService executor = VirtualThreads.newPerTaskExecutor();
+        try {
+            run("virtual", executor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void run(String mode, ExecutorService executor) throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(POOL_SIZE);
+        List<Future<Long>> latencies = new ArrayList<>(REQUESTS);
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            long submitted = System.nanoTime();
+            latencies.add(executor.submit(() -> {
+                Thread.sleep(IO_MILLIS);
+                if (!limiter.tryAcquire(30, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Sin conexión disponible");
+                }
+                try {
+                    Thread.sleep(DB_MILLIS);
+                } finally {
+                    limiter.release();
+                }
+                return System.nanoTime() - submitted;
+            }));
+        }
+
+        long[] sorted = new long[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            sorted[i] = latencies.get(i).get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Arrays.sort(sorted);
+
+        logger.info("Execution mode {}: {} req/s, p50 {} ms, p99 {} ms", mode, Math.round(REQUESTS / seconds),
+                sorted[REQUESTS / 2] / 1_000_000, sorted[(int) (REQUESTS * 0.99)] / 1_000_000);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
@@ -0,0 +1,53 @@
+package com.autofix.repairmanagementsystem.config;
+
+import com.autofix.repairmanagementsystem.dto.TraceDTO;
+import com.autofix.repairmanagementsystem.services.TracingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TracingFilterTest {
+
+    private TracingService tracingService;
+    private TracingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        // Sin muestreo: solo se trazan las peticiones forzadas
+        tracingService = new TracingService(0, 500, 10, 100);
+        filter = new TracingFilter(tracingService);
+    }
+
+    @Test
+    void doFilter_ForcedTrace_RecordsThePathWithoutTheQuery() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/vehicles/search");
+        request.setQueryString("licensePlateNumber=ABCD12");
+        request.addHeader(TracingFilter.TRACE_HEADER, "true");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getHeader(TracingFilter.TRACE_ID_HEADER)).isNotNull();
+        assertThat(tracingService.findTraces(0, null, 10)).singleElement()
+                .extracting(TraceDTO::getPath).isEqualTo("/api/v1/vehicles/search");
+    }
+
+    @Test
+    void doFilter_IgnoresTheForceHeader_WhenTheRequestCameThroughTheProxy() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/vehicles/1");
+        request.addHeader(TracingFilter.TRACE_HEADER, "true");
+        request.addHeader(TracingFilter.FORWARDED_FOR_HEADER, "203.0.113.7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(response.getHeader(TracingFilter.TRACE_ID_HEADER)).isNull();
+        assertThat(tracingService.findTraces(0, null, 10)).isEmpty();
+    }
+}
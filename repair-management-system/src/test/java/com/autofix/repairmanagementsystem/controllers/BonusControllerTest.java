@@ -2,6 +2,7 @@ package com.autofix.repairmanagementsystem.controllers;
 
 import com.autofix.repairmanagementsystem.entities.BonusEntity;
 import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleHistory;
 import com.autofix.repairmanagementsystem.services.BonusService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,11 +41,12 @@ public class BonusControllerTest {
                 "XYZ123",
                 "Toyota",
                 "Corolla",
-                "Sedan",
+                VehicleEntity.VehicleType.SEDAN,
                 2020,
-                "Gasoline",
+                VehicleEntity.EngineType.GASOLINE,
                 15000,
                 5,
+                new VehicleHistory(),
                 new ArrayList<>(),
                 new ArrayList<>()
         );
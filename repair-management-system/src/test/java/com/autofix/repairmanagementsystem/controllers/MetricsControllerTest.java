@@ -0,0 +1,62 @@
+package com.autofix.repairmanagementsystem.controllers;
+
+import com.autofix.repairmanagementsystem.config.TracingFilter;
+import com.autofix.repairmanagementsystem.services.MetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MetricsControllerTest {
+
+    @Mock
+    private MetricsService metricsService;
+
+    @InjectMocks
+    private MetricsController metricsController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(metricsController).build();
+    }
+
+    @Test
+    void scrapeMetrics_ReturnsPrometheusText_WhenCalledOnTheReplica() throws Exception {
+        when(metricsService.scrape()).thenReturn("http_requests_total 1\n");
+
+        mockMvc.perform(get("/api/v1/metrics/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("http_requests_total 1\n"));
+    }
+
+    @Test
+    void getMetrics_ReturnsNotFound_WhenTheRequestCameThroughTheProxy() throws Exception {
+        mockMvc.perform(get("/api/v1/metrics").header(TracingFilter.FORWARDED_FOR_HEADER, "203.0.113.7"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/metrics/prometheus").header(TracingFilter.FORWARDED_FOR_HEADER, "203.0.113.7"))
+                .andExpect(status().isNotFound());
+
+        verifyNoInteractions(metricsService);
+    }
+
+    @Test
+    void getMetrics_ReturnsTheSnapshot() throws Exception {
+        when(metricsService.snapshot()).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1/metrics")).andExpect(status().isOk());
+    }
+}
@@ -53,7 +53,7 @@ public class RepairControllerTest {
         repair.setCustomerPickupDate(LocalDate.now().plusDays(2));
         repair.setCustomerPickupTime(LocalTime.of(18, 0));
         repair.setRepairCost(new BigDecimal("200.00"));
-        repair.setStatus("Completed");
+        repair.setStatus(RepairEntity.Status.COMPLETED);
     }
 
     @Test
@@ -108,7 +108,7 @@ public class RepairControllerTest {
     @Test
     void getRepairTotalCost_ShouldReturnCost() throws Exception {
         when(repairService.calculateTotalRepairCost(1L)).thenReturn(new BigDecimal("180.00"));
-        ResponseEntity<BigDecimal> response = repairController.getRepairTotalCost(1L);
+        ResponseEntity<BigDecimal> response = repairController.getRepairTotalCost(1L, null);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isEqualByComparingTo("180.00");
     }
@@ -151,7 +151,7 @@ public class RepairControllerTest {
     @Test
     void getRepairTotalCost_ReturnsBadRequestWhenCalculationFails() throws Exception {
         when(repairService.calculateTotalRepairCost(1L)).thenThrow(new RuntimeException("Calculation error"));
-        ResponseEntity<BigDecimal> response = repairController.getRepairTotalCost(1L);
+        ResponseEntity<BigDecimal> response = repairController.getRepairTotalCost(1L, null);
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
     }
 }
\ No newline at end of file
@@ -1,10 +1,21 @@
 package com.autofix.repairmanagementsystem.controllers;
 
 import com.autofix.repairmanagementsystem.dto.AverageRepairTimeDTO;
+import com.autofix.repairmanagementsystem.dto.CubeQueryDTO;
+import com.autofix.repairmanagementsystem.dto.CubeRowDTO;
 import com.autofix.repairmanagementsystem.dto.RepairCostReportDTO;
+import com.autofix.repairmanagementsystem.dto.RepairTimeSeriesPointDTO;
 import com.autofix.repairmanagementsystem.dto.RepairTypeMotorSummaryDTO;
 import com.autofix.repairmanagementsystem.dto.RepairTypeSummaryDTO;
+import com.autofix.repairmanagementsystem.dto.TopBrandSpendDTO;
+import com.autofix.repairmanagementsystem.dto.TopSpendersReportDTO;
+import com.autofix.repairmanagementsystem.dto.TopVehicleSpendDTO;
+import com.autofix.repairmanagementsystem.dto.TurnaroundPercentilesDTO;
+import com.autofix.repairmanagementsystem.services.RepairRollupService;
 import com.autofix.repairmanagementsystem.services.ReportService;
+import com.autofix.repairmanagementsystem.services.TopSpendersService;
+import com.autofix.repairmanagementsystem.services.TurnaroundAnalyticsService;
+import com.autofix.repairmanagementsystem.utils.RepairCube;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,12 +26,16 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 @ExtendWith(MockitoExtension.class)
 public class ReportControllerTest {
@@ -125,4 +140,118 @@ public class ReportControllerTest {
         mockMvc.perform(get("/api/v1/reports/repair-types-engine-summary"))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    public void getTimeSeriesReport_ReturnsOk_WithContent() throws Exception {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 12, 31);
+        when(reportService.generateTimeSeriesReport(start, end, RepairRollupService.Granularity.MONTH, null, null))
+                .thenReturn(Arrays.asList(new RepairTimeSeriesPointDTO(start, "Cambio de aceite", "Toyota", 4,
+                        new java.math.BigDecimal("480000"), 26.5)));
+
+        mockMvc.perform(get("/api/v1/reports/time-series")
+                        .param("start", "2024-01-01")
+                        .param("end", "2024-12-31")
+                        .param("granularity", "MONTH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].repairType").value("Cambio de aceite"))
+                .andExpect(jsonPath("$[0].repairCount").value(4));
+    }
+
+    @Test
+    public void getTimeSeriesReport_ReturnsBadRequest_WhenRangeInvalid() throws Exception {
+        LocalDate start = LocalDate.of(2024, 12, 31);
+        LocalDate end = LocalDate.of(2024, 1, 1);
+        when(reportService.generateTimeSeriesReport(start, end, RepairRollupService.Granularity.DAY, null, null))
+                .thenThrow(new IllegalArgumentException("Rango inválido"));
+
+        mockMvc.perform(get("/api/v1/reports/time-series")
+                        .param("start", "2024-12-31")
+                        .param("end", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getTurnaroundPercentilesReport_ReturnsOk_WithContent() throws Exception {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 6, 30);
+        when(reportService.generateTurnaroundPercentilesReport(start, end, TurnaroundAnalyticsService.GroupBy.REPAIR_TYPE))
+                .thenReturn(Arrays.asList(new TurnaroundPercentilesDTO("Cambio de llantas", 40, 3, 20, 70)));
+
+        mockMvc.perform(get("/api/v1/reports/turnaround-percentiles")
+                        .param("start", "2024-01-01")
+                        .param("end", "2024-06-30")
+                        .param("groupBy", "REPAIR_TYPE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].group").value("Cambio de llantas"))
+                .andExpect(jsonPath("$[0].p90Hours").value(20));
+    }
+
+    @Test
+    public void getTopSpendersReport_ReturnsOk_WithContent() throws Exception {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 3, 31);
+        when(reportService.generateTopSpendersReport(start, end, 3, TopSpendersService.Pricing.BASE))
+                .thenReturn(new TopSpendersReportDTO(
+                        Arrays.asList(new TopVehicleSpendDTO(5L, "Toyota Camry", new java.math.BigDecimal("150000"), 1L)),
+                        Arrays.asList(new TopBrandSpendDTO("Toyota", new java.math.BigDecimal("150000"), 1L))));
+
+        mockMvc.perform(get("/api/v1/reports/top-spenders")
+                        .param("start", "2024-01-01")
+                        .param("end", "2024-03-31")
+                        .param("limit", "3")
+                        .param("pricing", "BASE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.vehicles[0].vehicleId").value(5))
+                .andExpect(jsonPath("$.brands[0].brand").value("Toyota"));
+    }
+
+    @Test
+    public void rebuildDailyRollups_ReturnsRowCount() throws Exception {
+        when(reportService.rebuildDailyRollups()).thenReturn(12);
+        mockMvc.perform(post("/api/v1/reports/rollups/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("12"));
+    }
+
+    @Test
+    public void queryRepairCube_ReturnsOk_WithContent() throws Exception {
+        when(reportService.queryRepairCube(any(CubeQueryDTO.class))).thenReturn(Arrays.asList(
+                new CubeRowDTO(Map.of(RepairCube.Dimension.ENGINE_TYPE, "Diesel"), 4L, new java.math.BigDecimal("480000.00"))));
+
+        mockMvc.perform(post("/api/v1/reports/cube/query")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"groupBy\":[\"ENGINE_TYPE\"],\"filters\":{\"MONTH\":[\"2024-07\",\"2024-08\",\"2024-09\"]}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].dimensions.ENGINE_TYPE").value("Diesel"))
+                .andExpect(jsonPath("$[0].repairCount").value(4));
+    }
+
+    @Test
+    public void queryRepairCube_ReturnsBadRequest_WhenGroupByRepeats() throws Exception {
+        when(reportService.queryRepairCube(any(CubeQueryDTO.class))).thenThrow(new IllegalArgumentException());
+
+        mockMvc.perform(post("/api/v1/reports/cube/query")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"groupBy\":[\"BRAND\",\"BRAND\"]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getSnapshotRepairTypeSummaryReport_ReturnsOk_WithContent() throws Exception {
+        when(reportService.generateSnapshotRepairTypeSummaryReport()).thenReturn(Arrays.asList(
+                new RepairTypeSummaryDTO("Frenos", 2L, new java.math.BigDecimal("200000.00"))));
+
+        mockMvc.perform(get("/api/v1/reports/snapshot/repair-type-summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].repairType").value("Frenos"));
+    }
+
+    @Test
+    public void refreshRepairSnapshot_ReturnsAppendedRows() throws Exception {
+        when(reportService.refreshRepairSnapshot()).thenReturn(25);
+        mockMvc.perform(post("/api/v1/reports/snapshot/refresh"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("25"));
+    }
 }
\ No newline at end of file
@@ -1,7 +1,13 @@
 package com.autofix.repairmanagementsystem.controllers;
 
+import com.autofix.repairmanagementsystem.dto.VehicleFilterDTO;
+import com.autofix.repairmanagementsystem.dto.VehicleFilterResultDTO;
+import com.autofix.repairmanagementsystem.dto.VehicleSearchResultDTO;
 import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.services.VehicleFilterService;
+import com.autofix.repairmanagementsystem.services.VehicleSearchService;
 import com.autofix.repairmanagementsystem.services.VehicleService;
+import com.autofix.repairmanagementsystem.utils.VehicleBitmapIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +19,7 @@ import org.springframework.http.ResponseEntity;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -22,6 +29,10 @@ public class VehicleControllerTest {
 
     @Mock
     private VehicleService vehicleService;
+    @Mock
+    private VehicleFilterService vehicleFilterService;
+    @Mock
+    private VehicleSearchService vehicleSearchService;
 
     @InjectMocks
     private VehicleController vehicleController;
@@ -30,7 +41,7 @@ public class VehicleControllerTest {
 
     @BeforeEach
     void setUp() {
-        vehicle = new VehicleEntity(1L, "ABC123", "Toyota", "Corolla", "Sedan", 2020, "Gasoline", 15000, 5, null, null);
+        vehicle = new VehicleEntity(1L, "ABC123", "Toyota", "Corolla", VehicleEntity.VehicleType.SEDAN, 2020, VehicleEntity.EngineType.GASOLINE, 15000, 5, null, null, null);
     }
 
     @Test
@@ -84,4 +95,37 @@ public class VehicleControllerTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
         verify(vehicleService).deleteVehicle(1L);
     }
+
+    @Test
+    void filterVehicles_ShouldReturnMatchingPage() {
+        VehicleFilterDTO filter = new VehicleFilterDTO(Map.of(VehicleBitmapIndex.Attribute.BRAND, List.of("Toyota")), true);
+        when(vehicleFilterService.filter(filter, 0, 20)).thenReturn(new VehicleFilterResultDTO(1L, 0, 20, List.of(vehicle)));
+        ResponseEntity<VehicleFilterResultDTO> response = vehicleController.filterVehicles(filter, 0, 20);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getVehicles()).containsExactly(vehicle);
+    }
+
+    @Test
+    void filterVehicles_InvalidPageSize_ShouldReturnBadRequest() {
+        VehicleFilterDTO filter = new VehicleFilterDTO();
+        when(vehicleFilterService.filter(filter, 0, 1000)).thenThrow(new IllegalArgumentException());
+        ResponseEntity<VehicleFilterResultDTO> response = vehicleController.filterVehicles(filter, 0, 1000);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void searchVehicles_ShouldReturnRankedResults() {
+        when(vehicleSearchService.search("ABC1", 10)).thenReturn(List.of(
+                new VehicleSearchResultDTO(1L, "ABC123", "Toyota", "Corolla", 0.9)));
+        ResponseEntity<List<VehicleSearchResultDTO>> response = vehicleController.searchVehicles("ABC1", 10);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).extracting(VehicleSearchResultDTO::getVehicleId).containsExactly(1L);
+    }
+
+    @Test
+    void searchVehicles_NoMatches_ShouldReturnNoContent() {
+        when(vehicleSearchService.search("ZZZ", 10)).thenReturn(List.of());
+        ResponseEntity<List<VehicleSearchResultDTO>> response = vehicleController.searchVehicles("ZZZ", 10);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.autofix.repairmanagementsystem.converters;
+
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class CodedEnumConverterTest {
+
+    private final EngineTypeConverter engineTypeConverter = new EngineTypeConverter();
+    private final VehicleTypeConverter vehicleTypeConverter = new VehicleTypeConverter();
+    private final RepairStatusConverter repairStatusConverter = new RepairStatusConverter();
+
+    @Test
+    void convertToDatabaseColumn_WritesSingleCharacterCode() {
+        assertThat(engineTypeConverter.convertToDatabaseColumn(VehicleEntity.EngineType.DIESEL)).isEqualTo("D");
+        assertThat(vehicleTypeConverter.convertToDatabaseColumn(VehicleEntity.VehicleType.SUV)).isEqualTo("U");
+        assertThat(repairStatusConverter.convertToDatabaseColumn(null)).isNull();
+    }
+
+    @Test
+    void convertToEntityAttribute_RoundTripsEveryCode() {
+        for (VehicleEntity.EngineType engineType : VehicleEntity.EngineType.values()) {
+            assertThat(engineTypeConverter.convertToEntityAttribute(engineTypeConverter.convertToDatabaseColumn(engineType)))
+                    .isEqualTo(engineType);
+        }
+        for (RepairEntity.Status status : RepairEntity.Status.values()) {
+            assertThat(repairStatusConverter.convertToEntityAttribute(repairStatusConverter.convertToDatabaseColumn(status)))
+                    .isEqualTo(status);
+        }
+    }
+
+    @Test
+    void convertToEntityAttribute_ReadsLegacyFreeText() {
+        assertThat(engineTypeConverter.convertToEntityAttribute("gasolina")).isEqualTo(VehicleEntity.EngineType.GASOLINE);
+        assertThat(engineTypeConverter.convertToEntityAttribute("ELECTRICO")).isEqualTo(VehicleEntity.EngineType.ELECTRIC);
+        assertThat(vehicleTypeConverter.convertToEntityAttribute("Furgoneta")).isEqualTo(VehicleEntity.VehicleType.VAN);
+        assertThat(repairStatusConverter.convertToEntityAttribute("in progress")).isEqualTo(RepairEntity.Status.IN_PROGRESS);
+    }
+
+    @Test
+    void convertToEntityAttribute_UsesFallback_WhenValueIsUnknown() {
+        assertThat(engineTypeConverter.convertToEntityAttribute("V8")).isEqualTo(VehicleEntity.EngineType.OTHER);
+        assertThat(vehicleTypeConverter.convertToEntityAttribute(" ")).isEqualTo(VehicleEntity.VehicleType.OTHER);
+    }
+
+    @Test
+    void fromValue_AcceptsLabelsAndRejectsUnknownValues() {
+        assertThat(VehicleEntity.EngineType.fromValue("Híbrido")).isEqualTo(VehicleEntity.EngineType.HYBRID);
+        assertThat(RepairEntity.Status.fromValue("")).isNull();
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> VehicleEntity.VehicleType.fromValue("Tractor"));
+    }
+}
@@ -1,8 +1,12 @@
 package com.autofix.repairmanagementsystem.repositories;
 
+import com.autofix.repairmanagementsystem.config.SqlBudget;
 import com.autofix.repairmanagementsystem.entities.BonusEntity;
 import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.utils.SqlStatementCountExtension;
+import com.autofix.repairmanagementsystem.utils.SqlStatementLog;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
@@ -15,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 @ActiveProfiles("test")
+@ExtendWith(SqlStatementCountExtension.class)
 public class BonusRepositoryTest {
 
     @Autowired
@@ -24,7 +29,8 @@ public class BonusRepositoryTest {
     private BonusRepository bonusRepository;
 
     @Test
-    public void whenFindFirstByBrandAndVehicleIsNull_thenReturnsBonus() {
+    @SqlBudget(maxStatements = 1)
+    public void whenFindFirstByBrandAndVehicleIsNull_thenReturnsBonus(SqlStatementLog.Scope statements) {
         // Preparar datos
         BonusEntity bonus = new BonusEntity();
         bonus.setAmount(new BigDecimal("100.00"));
@@ -32,6 +38,7 @@ public class BonusRepositoryTest {
         bonus.setDescription("Loyalty Bonus");
         entityManager.persist(bonus);
         entityManager.flush();
+        statements.reset();
 
         // Ejecutar la consulta
         Optional<BonusEntity> foundBonus = bonusRepository.findFirstByBrandAndVehicleIsNull("Toyota");
@@ -43,17 +50,18 @@ public class BonusRepositoryTest {
     }
 
     @Test
-    public void whenFindByVehicle_VehicleId_thenReturnsBonus() {
+    @SqlBudget(maxStatements = 1)
+    public void whenFindByVehicle_VehicleId_thenReturnsBonus(SqlStatementLog.Scope statements) {
         // Preparar datos
         VehicleEntity vehicle = new VehicleEntity();
         vehicle.setBrand("Honda");
         vehicle.setModel("Civic");
-        vehicle.setEngineType("Gasoline");
+        vehicle.setEngineType(VehicleEntity.EngineType.GASOLINE);
         vehicle.setLicensePlateNumber("ABC123");
         vehicle.setManufactureYear(2019);
         vehicle.setMileage(30000);
         vehicle.setSeatCount(4);
-        vehicle.setType("Sedan");
+        vehicle.setType(VehicleEntity.VehicleType.SEDAN);
         entityManager.persist(vehicle);
 
         BonusEntity bonus = new BonusEntity();
@@ -63,6 +71,7 @@ public class BonusRepositoryTest {
         bonus.setVehicle(vehicle);
         entityManager.persist(bonus);
         entityManager.flush();
+        statements.reset();
 
         // Ejecutar la consulta
         Optional<BonusEntity> foundBonus = bonusRepository.findByVehicle_VehicleId(vehicle.getVehicleId());
@@ -0,0 +1,55 @@
+package com.autofix.repairmanagementsystem.repositories;
+
+import com.autofix.repairmanagementsystem.entities.JobCheckpointEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+public class JobCheckpointRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Test
+    public void whenLockIsHeld_thenOtherOwnerCannotAcquireIt() {
+        LocalDateTime now = LocalDateTime.of(2024, 4, 10, 2, 15);
+        entityManager.persistAndFlush(new JobCheckpointEntity("job", null, 0L, true, null, null));
+
+        assertThat(jobCheckpointRepository.acquireLock("job", "replica-a", now, now.plusMinutes(10))).isEqualTo(1);
+        assertThat(jobCheckpointRepository.acquireLock("job", "replica-b", now.plusMinutes(1), now.plusMinutes(11))).isZero();
+        assertThat(jobCheckpointRepository.advanceCursor("job", "replica-b", 50L, now.plusMinutes(11))).isZero();
+
+        assertThat(jobCheckpointRepository.releaseLock("job", "replica-a")).isEqualTo(1);
+        assertThat(jobCheckpointRepository.acquireLock("job", "replica-b", now.plusMinutes(1), now.plusMinutes(11))).isEqualTo(1);
+    }
+
+    @Test
+    public void whenLeaseExpires_thenAnotherOwnerTakesOverAndKeepsTheCursor() {
+        LocalDateTime now = LocalDateTime.of(2024, 4, 10, 2, 15);
+        entityManager.persistAndFlush(new JobCheckpointEntity("job", LocalDate.of(2024, 4, 10), 120L, false,
+                "replica-a", now.minusMinutes(1)));
+
+        assertThat(jobCheckpointRepository.acquireLock("job", "replica-b", now, now.plusMinutes(10))).isEqualTo(1);
+        assertThat(jobCheckpointRepository.advanceCursor("job", "replica-a", 200L, now.plusMinutes(10))).isZero();
+        assertThat(jobCheckpointRepository.advanceCursor("job", "replica-b", 200L, now.plusMinutes(10))).isEqualTo(1);
+        assertThat(jobCheckpointRepository.completeRun("job", "replica-b")).isEqualTo(1);
+        entityManager.clear();
+
+        JobCheckpointEntity checkpoint = jobCheckpointRepository.findById("job").orElseThrow();
+        assertThat(checkpoint.getLockedBy()).isEqualTo("replica-b");
+        assertThat(checkpoint.getLastId()).isEqualTo(200L);
+        assertThat(checkpoint.isCompleted()).isTrue();
+    }
+}
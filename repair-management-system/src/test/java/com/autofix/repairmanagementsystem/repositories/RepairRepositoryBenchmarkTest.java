@@ -0,0 +1,249 @@
+package com.autofix.repairmanagementsystem.repositories;
+
+import com.autofix.repairmanagementsystem.utils.SqlStatementLog;
+import com.autofix.repairmanagementsystem.utils.SyntheticDataGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Mide las consultas de reportes y los buscadores de RepairRepository con 10k, 100k y 1M reparaciones generadas
+// (un vehículo por cada diez). Por cada tamaño y consulta anota la mediana y el peor tiempo, las filas devueltas,
+// las sentencias emitidas y el plan de EXPLAIN ANALYZE; al final estima cómo crece el costo con los datos. Todo
+// queda en target/repository-benchmark.txt para comparar cambios de índices o de esquema entre commits.
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class RepairRepositoryBenchmarkTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 14);
+    private static final String DEFAULT_SIZES = "10000,100000,1000000";
+    private static final int WARMUP_CALLS = 3;
+    private static final int MIN_CALLS = 5;
+    private static final int MAX_CALLS = 50;
+    private static final long MEASURE_NANOS = 5_000_000_000L;
+    private static final Path REPORT = Path.of("target", "repository-benchmark.txt");
+
+    private static final Logger logger = LoggerFactory.getLogger(RepairRepositoryBenchmarkTest.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private RepairRepository repairRepository;
+
+    private static final class Measurement {
+        private final String query;
+        private final int repairs;
+        private final double medianMillis;
+        private final double maxMillis;
+        private final int calls;
+        private final long rows;
+        private final long statements;
+        private final String plan;
+
+        private Measurement(String query, int repairs, double medianMillis, double maxMillis, int calls, long rows,
+                            long statements, String plan) {
+            this.query = query;
+            this.repairs = repairs;
+            this.medianMillis = medianMillis;
+            this.maxMillis = maxMillis;
+            this.calls = calls;
+            this.rows = rows;
+            this.statements = statements;
+            this.plan = plan;
+        }
+    }
+
+    @AfterEach
+    void deleteGeneratedRows() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM bonuses");
+        jdbcTemplate.update("DELETE FROM repairs");
+        jdbcTemplate.update("DELETE FROM vehicles");
+        jdbcTemplate.update("DELETE FROM repair_types");
+    }
+
+    // Se ejecuta con: mvn test -Pbenchmark (otros tamaños con -Drepository-benchmark.sizes=10000,50000)
+    @Test
+    @Tag("benchmark")
+    void repositoryQueries_ScaleWithRepairCount() throws Exception {
+        List<Measurement> measurements = new ArrayList<>();
+        for (String size : System.getProperty("repository-benchmark.sizes", DEFAULT_SIZES).split(",")) {
+            int repairs = Integer.parseInt(size.trim());
+            deleteGeneratedRows();
+            measurements.addAll(measureAt(repairs));
+        }
+
+        String report = report(measurements);
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, report);
+        logger.info("Repository benchmark written to {}\n{}", REPORT.toAbsolutePath(), scalingTable(measurements));
+        assertThat(measurements).allMatch(measurement -> measurement.statements == 1);
+    }
+
+    private List<Measurement> measureAt(int repairs) throws Exception {
+        SyntheticDataGenerator.Summary summary = new SyntheticDataGenerator(42, TODAY, 3)
+                .generate(dataSource, Math.max(1, repairs / 10), repairs);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        // Estadísticas de selectividad al día para que el planificador elija índices como lo haría en producción
+        jdbcTemplate.execute("ANALYZE");
+        long firstVehicleId = jdbcTemplate.queryForObject("SELECT MIN(vehicle_id) FROM vehicles", Long.class);
+        int vehicles = summary.getVehicles();
+        logger.info("Loaded {} repairs and {} vehicles in {} ms", summary.getRepairs(), vehicles,
+                summary.getElapsedMillis());
+
+        Random random = new Random(42);
+        LocalDate yearAgo = TODAY.minusYears(1);
+        List<Measurement> measurements = new ArrayList<>();
+        measurements.add(measure("findRepairTypesSummary", repairs,
+                () -> repairRepository.findRepairTypesSummary(), List::of));
+        measurements.add(measure("findAverageRepairTimesByBrand", repairs,
+                () -> repairRepository.findAverageRepairTimesByBrand(), List::of));
+        measurements.add(measure("findRepairTypesAndEngineSummary", repairs,
+                () -> repairRepository.findRepairTypesAndEngineSummary(), () -> List.of("G", "D", "H", "E")));
+
+        // Los buscadores se llaman con vehículos al azar; el plan se captura con el último
+        long[] vehicleId = new long[1];
+        measurements.add(measure("countRepairsByVehicleIdAndDateRange", repairs, () -> {
+            vehicleId[0] = firstVehicleId + random.nextInt(vehicles);
+            return repairRepository.countRepairsByVehicleIdAndDateRange(vehicleId[0], yearAgo);
+        }, () -> List.of(vehicleId[0], yearAgo)));
+        measurements.add(measure("findByVehicleVehicleId", repairs, () -> {
+            vehicleId[0] = firstVehicleId + random.nextInt(vehicles);
+            return repairRepository.findByVehicleVehicleId(vehicleId[0]);
+        }, () -> List.of(vehicleId[0])));
+        return measurements;
+    }
+
+    private Measurement measure(String query, int repairs, Supplier<Object> call, Supplier<List<Object>> parameters) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.get();
+        }
+
+        List<Long> durations = new ArrayList<>();
+        long start = System.nanoTime();
+        while (durations.size() < MIN_CALLS
+                || (durations.size() < MAX_CALLS && System.nanoTime() - start < MEASURE_NANOS)) {
+            long callStart = System.nanoTime();
+            call.get();
+            durations.add(System.nanoTime() - callStart);
+        }
+        durations.sort(null);
+
+        Object result;
+        String sql;
+        long statements;
+        try (SqlStatementLog.Scope scope = SqlStatementLog.open(query)) {
+            result = call.get();
+            sql = scope.getMostRepeatedShape();
+            statements = scope.getCount();
+        }
+        long rows = result instanceof Collection ? ((Collection<?>) result).size() : 1;
+        String plan = String.join("\n", new JdbcTemplate(dataSource)
+                .queryForList("EXPLAIN ANALYZE " + withLiterals(sql, parameters.get()), String.class));
+
+        Measurement measurement = new Measurement(query, repairs, durations.get(durations.size() / 2) / 1e6,
+                durations.get(durations.size() - 1) / 1e6, durations.size(), rows, statements, plan);
+        logger.info("{} with {} repairs: median {} ms, max {} ms over {} calls, {} rows", query, repairs,
+                String.format("%.3f", measurement.medianMillis), String.format("%.3f", measurement.maxMillis),
+                measurement.calls, rows);
+        return measurement;
+    }
+
+    // EXPLAIN no recibe parámetros, así que se reemplazan los ? en orden. Hibernate emite un ? por cada uso de un
+    // parámetro con nombre, por eso la lista se repite si hay más ? que valores.
+    static String withLiterals(String sql, List<Object> parameters) {
+        StringBuilder result = new StringBuilder(sql.length() + 16 * parameters.size());
+        int next = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c != '?') {
+                result.append(c);
+                continue;
+            }
+            Object value = parameters.get(next++ % parameters.size());
+            if (value instanceof Number) {
+                result.append(value);
+            } else if (value instanceof LocalDate) {
+                result.append("DATE '").append(value).append('\'');
+            } else {
+                result.append('\'').append(value.toString().replace("'", "''")).append('\'');
+            }
+        }
+        return result.toString();
+    }
+
+    private static String report(List<Measurement> measurements) {
+        StringBuilder report = new StringBuilder(scalingTable(measurements));
+        for (Measurement measurement : measurements) {
+            report.append(String.format("%n== %s, %d repairs: median %.3f ms, max %.3f ms, %d calls, %d rows%n",
+                    measurement.query, measurement.repairs, measurement.medianMillis, measurement.maxMillis,
+                    measurement.calls, measurement.rows));
+            report.append(measurement.plan).append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+
+    // Mediana por consulta y tamaño, y el exponente de crecimiento entre tamaños consecutivos: cerca de 0 si el
+    // costo no depende de los datos (índice), cerca de 1 si crece lineal (recorrido completo).
+    private static String scalingTable(List<Measurement> measurements) {
+        Map<String, List<Measurement>> byQuery = new LinkedHashMap<>();
+        for (Measurement measurement : measurements) {
+            byQuery.computeIfAbsent(measurement.query, key -> new ArrayList<>()).add(measurement);
+        }
+        StringBuilder table = new StringBuilder(String.format("%-36s", "median ms"));
+        for (Measurement measurement : byQuery.values().iterator().next()) {
+            table.append(String.format(" %12d", measurement.repairs));
+        }
+        table.append("  growth exponent").append(System.lineSeparator());
+        for (Map.Entry<String, List<Measurement>> entry : byQuery.entrySet()) {
+            table.append(String.format("%-36s", entry.getKey()));
+            for (Measurement measurement : entry.getValue()) {
+                table.append(String.format(" %12.3f", measurement.medianMillis));
+            }
+            List<String> exponents = new ArrayList<>();
+            for (int i = 1; i < entry.getValue().size(); i++) {
+                Measurement smaller = entry.getValue().get(i - 1);
+                Measurement larger = entry.getValue().get(i);
+                exponents.add(String.format("%.2f", Math.log(larger.medianMillis / smaller.medianMillis)
+                        / Math.log((double) larger.repairs / smaller.repairs)));
+            }
+            table.append("  ").append(exponents.isEmpty() ? "-" : String.join(" ", exponents))
+                    .append(System.lineSeparator());
+        }
+        return table.toString();
+    }
+
+    @Test
+    void withLiterals_ReplacesParametersInOrderAndRepeatsThem() {
+        assertThat(withLiterals("select * from repairs where vehicle_id=? and entry_date>=?",
+                Arrays.asList(7L, LocalDate.of(2024, 1, 2))))
+                .isEqualTo("select * from repairs where vehicle_id=7 and entry_date>=DATE '2024-01-02'");
+        assertThat(withLiterals("case when engine_type=? then 1 when engine_type=? then 2 end, engine_type=?",
+                List.of("G", "D")))
+                .isEqualTo("case when engine_type='G' then 1 when engine_type='D' then 2 end, engine_type='G'");
+    }
+}
@@ -1,9 +1,15 @@
 package com.autofix.repairmanagementsystem.repositories;
 
+import com.autofix.repairmanagementsystem.config.SqlBudget;
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import com.autofix.repairmanagementsystem.dto.VehicleRepairCountDTO;
 import com.autofix.repairmanagementsystem.entities.RepairEntity;
 import com.autofix.repairmanagementsystem.entities.VehicleEntity;
 import com.autofix.repairmanagementsystem.entities.RepairTypeEntity;
+import com.autofix.repairmanagementsystem.utils.SqlStatementCountExtension;
+import com.autofix.repairmanagementsystem.utils.SqlStatementLog;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
@@ -12,11 +18,13 @@ import org.springframework.test.context.ActiveProfiles;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 @ActiveProfiles("test")
+@ExtendWith(SqlStatementCountExtension.class)
 public class RepairRepositoryTest {
 
     @Autowired
@@ -26,7 +34,8 @@ public class RepairRepositoryTest {
     private RepairRepository repairRepository;
 
     @Test
-    public void whenFindByEntryDateBetween_thenReturnsRepairs() {
+    @SqlBudget(maxStatements = 1)
+    public void whenFindByEntryDateBetween_thenReturnsRepairs(SqlStatementLog.Scope statements) {
         LocalDate startDate = LocalDate.of(2022, 1, 1);
         LocalDate endDate = LocalDate.of(2022, 12, 31);
 
@@ -43,13 +52,15 @@ public class RepairRepositoryTest {
         entityManager.persist(repair2);
 
         entityManager.flush();
+        statements.reset();
 
         var repairs = repairRepository.findByEntryDateBetween(startDate, endDate);
         assertThat(repairs).hasSize(2).extracting(RepairEntity::getRepairId).containsExactlyInAnyOrder(repair1.getRepairId(), repair2.getRepairId());
     }
 
     @Test
-    public void whenFindTotalRepairCostByVehicleId_thenReturnsSum() {
+    @SqlBudget(maxStatements = 1)
+    public void whenFindTotalRepairCostByVehicleId_thenReturnsSum(SqlStatementLog.Scope statements) {
         VehicleEntity vehicle = createVehicle();
         entityManager.persist(vehicle);
 
@@ -59,13 +70,15 @@ public class RepairRepositoryTest {
         entityManager.persist(createRepair(vehicle, repairType, LocalDate.now(), new BigDecimal("100.00")));
         entityManager.persist(createRepair(vehicle, repairType, LocalDate.now(), new BigDecimal("150.00")));
         entityManager.flush();
+        statements.reset();
 
         Double totalCost = repairRepository.findTotalRepairCostByVehicleId(vehicle.getVehicleId());
         assertThat(totalCost).isEqualTo(250.00);
     }
 
     @Test
-    public void whenCountRepairsByVehicleIdAndDateRange_thenReturnsCount() {
+    @SqlBudget(maxStatements = 1)
+    public void whenCountRepairsByVehicleIdAndDateRange_thenReturnsCount(SqlStatementLog.Scope statements) {
         LocalDate startDate = LocalDate.of(2022, 1, 1);
         VehicleEntity vehicle = createVehicle();
         entityManager.persist(vehicle);
@@ -76,21 +89,110 @@ public class RepairRepositoryTest {
         entityManager.persist(createRepair(vehicle, repairType, LocalDate.of(2022, 1, 15)));
         entityManager.persist(createRepair(vehicle, repairType, LocalDate.of(2022, 2, 15)));
         entityManager.flush();
+        statements.reset();
 
         Long count = repairRepository.countRepairsByVehicleIdAndDateRange(vehicle.getVehicleId(), startDate);
         assertThat(count).isEqualTo(2);
     }
 
+    @Test
+    @SqlBudget(maxStatements = 1)
+    public void whenCountRepairsByVehicleIdsSince_thenReturnsOneCountPerVehicleWithRepairs(SqlStatementLog.Scope statements) {
+        VehicleEntity vehicle = createVehicle();
+        entityManager.persist(vehicle);
+        VehicleEntity other = createVehicle();
+        other.setLicensePlateNumber("ABC987");
+        entityManager.persist(other);
+        VehicleEntity withoutRepairs = createVehicle();
+        withoutRepairs.setLicensePlateNumber("DEF456");
+        entityManager.persist(withoutRepairs);
+
+        RepairTypeEntity repairType = createRepairType();
+        entityManager.persist(repairType);
+
+        entityManager.persist(createRepair(vehicle, repairType, LocalDate.of(2022, 1, 15)));
+        entityManager.persist(createRepair(vehicle, repairType, LocalDate.of(2022, 2, 15)));
+        entityManager.persist(createRepair(other, repairType, LocalDate.of(2021, 12, 31)));
+        entityManager.persist(createRepair(other, repairType, LocalDate.of(2022, 3, 1)));
+        entityManager.flush();
+        statements.reset();
+
+        List<VehicleRepairCountDTO> counts = repairRepository.countRepairsByVehicleIdsSince(
+                List.of(vehicle.getVehicleId(), other.getVehicleId(), withoutRepairs.getVehicleId()), LocalDate.of(2022, 1, 1));
+        assertThat(counts).containsExactlyInAnyOrder(new VehicleRepairCountDTO(vehicle.getVehicleId(), 2L),
+                new VehicleRepairCountDTO(other.getVehicleId(), 1L));
+    }
+
+    @Test
+    @SqlBudget(maxStatements = 2)
+    public void whenFindOpenFactsByStatus_thenSkipsPickedUpRepairsAndOrdersByEntryDate(SqlStatementLog.Scope statements) {
+        VehicleEntity vehicle = createVehicle();
+        entityManager.persist(vehicle);
+
+        RepairTypeEntity repairType = createRepairType();
+        entityManager.persist(repairType);
+
+        RepairEntity pickedUp = createRepair(vehicle, repairType, LocalDate.of(2022, 1, 10));
+        entityManager.persist(pickedUp);
+        RepairEntity later = createRepair(vehicle, repairType, LocalDate.of(2022, 3, 1));
+        later.setCustomerPickupDate(null);
+        entityManager.persist(later);
+        RepairEntity earlier = createRepair(vehicle, repairType, LocalDate.of(2022, 2, 1));
+        earlier.setCustomerPickupDate(null);
+        entityManager.persist(earlier);
+        entityManager.flush();
+        statements.reset();
+
+        var facts = repairRepository.findOpenFactsByStatus(RepairEntity.Status.IN_PROGRESS);
+        assertThat(facts).extracting(RepairFactDTO::getRepairId).containsExactly(earlier.getRepairId(), later.getRepairId());
+        assertThat(repairRepository.findOpenFactsByStatus(RepairEntity.Status.PENDING)).isEmpty();
+    }
+
+    @Test
+    public void whenRepairChangedSinceItWasRead_thenDelayChargeSnapshotIsNotSaved() {
+        VehicleEntity vehicle = createVehicle();
+        entityManager.persist(vehicle);
+        RepairTypeEntity repairType = createRepairType();
+        entityManager.persist(repairType);
+        RepairEntity repair = createRepair(vehicle, repairType, LocalDate.of(2024, 4, 1));
+        repair.setCustomerPickupDate(null);
+        entityManager.persist(repair);
+        RepairEntity noExit = createRepair(vehicle, repairType, LocalDate.of(2024, 4, 1));
+        noExit.setCustomerPickupDate(null);
+        noExit.setExitDate(null);
+        entityManager.persist(noExit);
+        entityManager.flush();
+        LocalDate asOf = LocalDate.of(2024, 4, 10);
+
+        // Costo leído antes de que un registro lo cambiara
+        assertThat(repairRepository.saveDelayChargeSnapshot(repair.getRepairId(), new BigDecimal("99.00"),
+                repair.getExitDate(), new BigDecimal("5"), asOf)).isZero();
+        assertThat(repairRepository.saveDelayChargeSnapshot(repair.getRepairId(), repair.getRepairCost(),
+                repair.getExitDate().minusDays(1), new BigDecimal("5"), asOf)).isZero();
+        assertThat(repairRepository.saveDelayChargeSnapshot(repair.getRepairId(), repair.getRepairCost(),
+                repair.getExitDate(), new BigDecimal("5"), asOf)).isEqualTo(1);
+        assertThat(repairRepository.saveDelayChargeSnapshot(noExit.getRepairId(), noExit.getRepairCost(),
+                null, BigDecimal.ZERO, asOf)).isEqualTo(1);
+        // Una corrida retomada con una fecha anterior no reemplaza el recargo más reciente
+        assertThat(repairRepository.saveDelayChargeSnapshot(repair.getRepairId(), repair.getRepairCost(),
+                repair.getExitDate(), new BigDecimal("4"), asOf.minusDays(1))).isZero();
+        entityManager.clear();
+
+        RepairEntity saved = repairRepository.findById(repair.getRepairId()).orElseThrow();
+        assertThat(saved.getAccruedDelayCharge()).isEqualByComparingTo("5");
+        assertThat(saved.getDelayChargeAsOf()).isEqualTo(asOf);
+    }
+
     private VehicleEntity createVehicle() {
         VehicleEntity vehicle = new VehicleEntity();
         vehicle.setBrand("Toyota");
         vehicle.setModel("Corolla");
-        vehicle.setEngineType("Gasoline");
+        vehicle.setEngineType(VehicleEntity.EngineType.GASOLINE);
         vehicle.setLicensePlateNumber("XYZ123");
         vehicle.setManufactureYear(2020);
         vehicle.setMileage(50000);
         vehicle.setSeatCount(5);
-        vehicle.setType("Sedan");
+        vehicle.setType(VehicleEntity.VehicleType.SEDAN);
         return vehicle;
     }
 
@@ -118,7 +220,7 @@ public class RepairRepositoryTest {
         repair.setEntryTime(LocalTime.now());
         repair.setExitTime(LocalTime.now().plusHours(1));
         repair.setExitDate(LocalDate.now().plusDays(1));
-        repair.setStatus("In Progress");
+        repair.setStatus(RepairEntity.Status.IN_PROGRESS);
         repair.setRepairCost(repairCost);
         return repair;
     }
@@ -31,12 +31,12 @@ public class RepairTypeRepositoryTest {
         VehicleEntity vehicle = new VehicleEntity();
         vehicle.setBrand("Toyota");
         vehicle.setModel("Corolla");
-        vehicle.setEngineType("Gasoline");
+        vehicle.setEngineType(VehicleEntity.EngineType.GASOLINE);
         vehicle.setLicensePlateNumber("XYZ123");
         vehicle.setManufactureYear(2020);
         vehicle.setMileage(50000);
         vehicle.setSeatCount(5);
-        vehicle.setType("Sedan");
+        vehicle.setType(VehicleEntity.VehicleType.SEDAN);
         testEntityManager.persist(vehicle);
 
         // Crear y configurar la entidad RepairType
@@ -58,7 +58,7 @@ public class RepairTypeRepositoryTest {
         repair.setEntryTime(LocalTime.now());
         repair.setExitTime(LocalTime.now().plusHours(1));
         repair.setExitDate(LocalDate.now().plusDays(1));
-        repair.setStatus("In Progress");
+        repair.setStatus(RepairEntity.Status.IN_PROGRESS);
         repair.setRepairCost(new BigDecimal("150.00"));
         testEntityManager.persist(repair);
         testEntityManager.flush();
@@ -0,0 +1,67 @@
+package com.autofix.repairmanagementsystem.repositories;
+
+import com.autofix.repairmanagementsystem.entities.JobCheckpointEntity;
+import com.autofix.repairmanagementsystem.entities.RepairDailyRollupEntity;
+import com.autofix.repairmanagementsystem.entities.RepairTypeEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(RowSeedRepository.class)
+public class RowSeedRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RowSeedRepository rowSeedRepository;
+
+    @Autowired
+    private RepairDailyRollupRepository rollupRepository;
+
+    @Test
+    public void whenCheckpointExists_thenSeedKeepsIt() {
+        entityManager.persistAndFlush(new JobCheckpointEntity("job", LocalDate.of(2024, 4, 10), 120L, false, null, null));
+
+        rowSeedRepository.seedJobCheckpoint("job");
+        rowSeedRepository.seedJobCheckpoint("other");
+        entityManager.clear();
+
+        assertThat(entityManager.find(JobCheckpointEntity.class, "job").getLastId()).isEqualTo(120L);
+        JobCheckpointEntity seeded = entityManager.find(JobCheckpointEntity.class, "other");
+        assertThat(seeded.getLastId()).isZero();
+        assertThat(seeded.isCompleted()).isTrue();
+    }
+
+    @Test
+    public void whenRollupIsSeededTwice_thenOnlyOneEmptyRowExists() {
+        RepairTypeEntity repairType = entityManager.persistAndFlush(new RepairTypeEntity(null, "Cambio de aceite",
+                BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE));
+        LocalDate day = LocalDate.of(2024, 3, 4);
+
+        rowSeedRepository.seedRollup(day, repairType.getRepairTypeId(), "Toyota", VehicleEntity.EngineType.HYBRID);
+        rowSeedRepository.seedRollup(day, repairType.getRepairTypeId(), "Toyota", VehicleEntity.EngineType.HYBRID);
+        entityManager.clear();
+
+        List<RepairDailyRollupEntity> rows = rollupRepository.findAll();
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.getEngineType()).isEqualTo(VehicleEntity.EngineType.HYBRID);
+            assertThat(row.getRepairCount()).isZero();
+            assertThat(row.getTotalRepairCost()).isEqualByComparingTo("0");
+        });
+        assertThat(rollupRepository.findForUpdate(day, repairType.getRepairTypeId(), "Toyota",
+                VehicleEntity.EngineType.HYBRID)).isPresent();
+    }
+}
@@ -1,12 +1,18 @@
 package com.autofix.repairmanagementsystem.repositories;
 
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.entities.RepairTypeEntity;
 import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleHistory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,9 +34,9 @@ public class VehicleRepositoryTest {
         vehicle.setLicensePlateNumber("ABC123");
         vehicle.setBrand("Toyota");
         vehicle.setModel("Corolla");
-        vehicle.setType("Sedan");
+        vehicle.setType(VehicleEntity.VehicleType.SEDAN);
         vehicle.setManufactureYear(2021);
-        vehicle.setEngineType("Gasoline");
+        vehicle.setEngineType(VehicleEntity.EngineType.GASOLINE);
         vehicle.setMileage(10000);
         vehicle.setSeatCount(5);
         entityManager.persist(vehicle);
@@ -43,4 +49,86 @@ public class VehicleRepositoryTest {
         assertThat(found.isPresent()).isTrue();
         assertThat(found.get().getLicensePlateNumber()).isEqualTo(vehicle.getLicensePlateNumber());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenRepairsAreAddedAndRemoved_thenHistoryCountersFollow() {
+        VehicleEntity vehicle = persistVehicle();
+        RepairTypeEntity repairType = persistRepairType();
+        RepairEntity first = persistRepair(vehicle, repairType, LocalDate.of(2024, 1, 10), new BigDecimal("100.00"), null);
+        RepairEntity second = persistRepair(vehicle, repairType, LocalDate.of(2024, 2, 20), new BigDecimal("150.00"),
+                LocalDate.of(2024, 2, 22));
+        vehicleRepository.addRepairToHistory(vehicle.getVehicleId(), first.getRepairCost(), first.getEntryDate(), 1);
+        vehicleRepository.addRepairToHistory(vehicle.getVehicleId(), second.getRepairCost(), second.getEntryDate(), 0);
+        entityManager.clear();
+
+        VehicleHistory history = entityManager.find(VehicleEntity.class, vehicle.getVehicleId()).getHistory();
+        assertThat(history.getRepairCount()).isEqualTo(2L);
+        assertThat(history.getTotalBaseCost()).isEqualByComparingTo("250.00");
+        assertThat(history.getLastEntryDate()).isEqualTo(LocalDate.of(2024, 2, 20));
+        assertThat(history.getOpenRepairCount()).isEqualTo(1L);
+
+        entityManager.remove(entityManager.find(RepairEntity.class, second.getRepairId()));
+        vehicleRepository.removeRepairFromHistory(vehicle.getVehicleId(), new BigDecimal("150.00"), 0);
+        entityManager.clear();
+
+        history = entityManager.find(VehicleEntity.class, vehicle.getVehicleId()).getHistory();
+        assertThat(history.getRepairCount()).isEqualTo(1L);
+        assertThat(history.getTotalBaseCost()).isEqualByComparingTo("100.00");
+        assertThat(history.getLastEntryDate()).isEqualTo(LocalDate.of(2024, 1, 10));
+    }
+
+    @Test
+    public void whenReconcileHistory_thenCountersMatchRepairs() {
+        VehicleEntity vehicle = persistVehicle();
+        RepairTypeEntity repairType = persistRepairType();
+        persistRepair(vehicle, repairType, LocalDate.of(2024, 1, 10), new BigDecimal("100.00"), null);
+        persistRepair(vehicle, repairType, LocalDate.of(2024, 2, 20), new BigDecimal("150.00"), null);
+
+        int reconciled = vehicleRepository.reconcileHistory(0L, vehicle.getVehicleId());
+        entityManager.clear();
+
+        VehicleHistory history = entityManager.find(VehicleEntity.class, vehicle.getVehicleId()).getHistory();
+        assertThat(reconciled).isEqualTo(1);
+        assertThat(history.getRepairCount()).isEqualTo(2L);
+        assertThat(history.getTotalBaseCost()).isEqualByComparingTo("250.00");
+        assertThat(history.getLastEntryDate()).isEqualTo(LocalDate.of(2024, 2, 20));
+        assertThat(history.getOpenRepairCount()).isEqualTo(2L);
+    }
+
+    private VehicleEntity persistVehicle() {
+        VehicleEntity vehicle = new VehicleEntity();
+        vehicle.setLicensePlateNumber("HIS123");
+        vehicle.setBrand("Toyota");
+        vehicle.setModel("Corolla");
+        vehicle.setType(VehicleEntity.VehicleType.SEDAN);
+        vehicle.setManufactureYear(2021);
+        vehicle.setEngineType(VehicleEntity.EngineType.GASOLINE);
+        vehicle.setMileage(10000);
+        vehicle.setSeatCount(5);
+        return entityManager.persist(vehicle);
+    }
+
+    private RepairTypeEntity persistRepairType() {
+        RepairTypeEntity repairType = new RepairTypeEntity();
+        repairType.setDescription("Standard Maintenance");
+        repairType.setBaseCostDiesel(new BigDecimal("100.00"));
+        repairType.setBaseCostElectric(new BigDecimal("80.00"));
+        repairType.setBaseCostGasoline(new BigDecimal("90.00"));
+        repairType.setBaseCostHybrid(new BigDecimal("85.00"));
+        return entityManager.persist(repairType);
+    }
+
+    private RepairEntity persistRepair(VehicleEntity vehicle, RepairTypeEntity repairType, LocalDate entryDate,
+                                       BigDecimal repairCost, LocalDate pickupDate) {
+        RepairEntity repair = new RepairEntity();
+        repair.setVehicle(vehicle);
+        repair.setRepairType(repairType);
+        repair.setEntryDate(entryDate);
+        repair.setEntryTime(LocalTime.of(9, 0));
+        repair.setExitDate(entryDate.plusDays(1));
+        repair.setExitTime(LocalTime.of(18, 0));
+        repair.setCustomerPickupDate(pickupDate);
+        repair.setRepairCost(repairCost);
+        return entityManager.persistAndFlush(repair);
+    }
+}
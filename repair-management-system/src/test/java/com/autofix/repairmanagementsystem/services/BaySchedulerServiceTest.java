@@ -0,0 +1,253 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.BayBookingDTO;
+import com.autofix.repairmanagementsystem.dto.BaySlotDTO;
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import com.autofix.repairmanagementsystem.entities.JobCheckpointEntity;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.events.RepairChangedEvent;
+import com.autofix.repairmanagementsystem.repositories.JobCheckpointRepository;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import com.autofix.repairmanagementsystem.repositories.RowSeedRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BaySchedulerServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-04-10T12:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDate DAY = LocalDate.now(CLOCK).plusDays(1);
+
+    @Mock
+    private RepairRepository repairRepository;
+
+    @Mock
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Mock
+    private RowSeedRepository rowSeedRepository;
+
+    private BaySchedulerService baySchedulerService;
+
+    @BeforeEach
+    void setUp() {
+        baySchedulerService = new BaySchedulerService(repairRepository, jobCheckpointRepository, rowSeedRepository, 2, 30, CLOCK);
+        when(repairRepository.findBayBookingsFrom(any())).thenReturn(List.of(
+                new BayBookingDTO(1L, 1, DAY, LocalTime.of(9, 0), DAY, LocalTime.of(12, 0)),
+                new BayBookingDTO(2L, 2, DAY, LocalTime.of(10, 0), DAY, LocalTime.of(11, 0))));
+        baySchedulerService.rebuild();
+    }
+
+    @Test
+    void reserveBay_UsesFirstFreeBay() {
+        guardsExist();
+        RepairEntity repair = repair(3L, LocalTime.of(11, 0), LocalTime.of(13, 0));
+
+        baySchedulerService.reserveBay(repair, null);
+        baySchedulerService.assignBay(repair);
+
+        assertThat(repair.getBay()).isEqualTo(2);
+        verify(jobCheckpointRepository).findForUpdate(BaySchedulerService.assignmentGuard(2));
+        verify(jobCheckpointRepository, never()).findForUpdate(BaySchedulerService.assignmentGuard(1));
+        assertThat(baySchedulerService.findJobsAt(DAY.atTime(11, 30))).extracting(BayBookingDTO::getRepairId)
+                .containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void reserveBay_Rejects_WhenEveryBayIsBusy() {
+        RepairEntity repair = repair(3L, LocalTime.of(10, 0), LocalTime.of(10, 30));
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> baySchedulerService.reserveBay(repair, null));
+        assertThat(repair.getBay()).isNull();
+        verifyNoInteractions(jobCheckpointRepository);
+    }
+
+    @Test
+    void reserveBay_MovesExistingBookingWithoutCollidingWithItself() {
+        guardsExist();
+        RepairEntity repair = repair(1L, LocalTime.of(8, 0), LocalTime.of(12, 30));
+        repair.setBay(1);
+
+        baySchedulerService.reserveBay(repair, 1);
+        baySchedulerService.assignBay(repair);
+
+        assertThat(baySchedulerService.findJobsAt(DAY.atTime(8, 15))).extracting(BayBookingDTO::getRepairId)
+                .containsExactly(1L);
+        assertThat(baySchedulerService.findJobsAt(DAY.atTime(10, 30))).extracting(BayBookingDTO::getRepairId)
+                .containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void reserveBay_CreatesGuard_WhenMissing() {
+        String guard = BaySchedulerService.assignmentGuard(1);
+        when(jobCheckpointRepository.findForUpdate(guard)).thenReturn(Optional.empty(),
+                Optional.of(new JobCheckpointEntity(guard, null, 0L, true, null, null)));
+
+        baySchedulerService.reserveBay(repair(3L, LocalTime.of(12, 30), LocalTime.of(13, 0)), null);
+
+        verify(rowSeedRepository).seedJobCheckpoint(guard);
+        verify(jobCheckpointRepository, times(2)).findForUpdate(guard);
+    }
+
+    @Test
+    void reserveBay_TriesAHigherBay_WhenDatabaseHasAConflict() {
+        guardsExist();
+        // Otra réplica ya reservó la bahía 1 y esta instancia aún no lo sabe
+        when(repairRepository.findBayBookingsBetweenForShare(any(), eq(3L), any(), any()))
+                .thenReturn(List.of(stored(9L, 1, LocalTime.of(12, 0), LocalTime.of(14, 0))), List.of());
+        RepairEntity repair = repair(3L, LocalTime.of(12, 30), LocalTime.of(13, 0));
+
+        baySchedulerService.reserveBay(repair, null);
+        baySchedulerService.assignBay(repair);
+
+        assertThat(repair.getBay()).isEqualTo(2);
+        InOrder order = inOrder(jobCheckpointRepository);
+        order.verify(jobCheckpointRepository).findForUpdate(BaySchedulerService.assignmentGuard(1));
+        order.verify(jobCheckpointRepository).findForUpdate(BaySchedulerService.assignmentGuard(2));
+        assertThat(baySchedulerService.findJobsAt(DAY.atTime(12, 45))).extracting(BayBookingDTO::getRepairId)
+                .containsExactlyInAnyOrder(9L, 3L);
+    }
+
+    @Test
+    void reserveBay_DoesNotGoBackToALowerBay_AfterAConflict() {
+        guardsExist();
+        when(repairRepository.findBayBookingsBetweenForShare(any(), eq(3L), any(), any()))
+                .thenReturn(List.of(stored(9L, 2, LocalTime.of(12, 0), LocalTime.of(14, 0))));
+        RepairEntity repair = repair(3L, LocalTime.of(12, 30), LocalTime.of(13, 0));
+
+        // La bahía 1 está libre, pero la 2 ya está bloqueada: volver a la 1 invertiría el orden de los bloqueos
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> baySchedulerService.reserveBay(repair, 2));
+        verify(jobCheckpointRepository, never()).findForUpdate(BaySchedulerService.assignmentGuard(1));
+        assertThat(repair.getBay()).isNull();
+    }
+
+    @Test
+    void reserveBay_RejectsRequestedBay_WhenDatabaseHasAConflict() {
+        guardsExist();
+        when(repairRepository.findBayBookingsBetweenForShare(eq(1), eq(3L), any(), any()))
+                .thenReturn(List.of(stored(9L, 1, LocalTime.of(12, 0), LocalTime.of(14, 0))));
+        RepairEntity repair = repair(3L, LocalTime.of(12, 30), LocalTime.of(13, 0));
+        repair.setBay(1);
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> baySchedulerService.reserveBay(repair, null));
+        assertThat(baySchedulerService.findJobsAt(DAY.atTime(12, 45))).extracting(BayBookingDTO::getRepairId)
+                .containsExactly(9L);
+    }
+
+    @Test
+    void reserveBay_IgnoresStoredBookingsThatOnlyShareTheDay() {
+        guardsExist();
+        when(repairRepository.findBayBookingsBetweenForShare(eq(1), eq(3L), any(), any()))
+                .thenReturn(List.of(stored(9L, 1, LocalTime.of(14, 0), LocalTime.of(15, 0))));
+        RepairEntity repair = repair(3L, LocalTime.of(12, 30), LocalTime.of(13, 0));
+
+        baySchedulerService.reserveBay(repair, null);
+
+        assertThat(repair.getBay()).isEqualTo(1);
+    }
+
+    @Test
+    void rebuild_KeepsBookingsOfUnfinishedTransactions() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            baySchedulerService.assignBay(stored(3L, 1, LocalTime.of(12, 30), LocalTime.of(13, 0)));
+
+            // La lectura de la reconstrucción no ve la reparación 3 porque su transacción sigue abierta
+            baySchedulerService.rebuild();
+            assertThat(baySchedulerService.findJobsAt(DAY.atTime(12, 45))).extracting(BayBookingDTO::getRepairId)
+                    .containsExactly(3L);
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        baySchedulerService.rebuild();
+        assertThat(baySchedulerService.findJobsAt(DAY.atTime(12, 45))).isEmpty();
+    }
+
+    @Test
+    void rebuild_ReplaysBookingsMadeWhileReading() {
+        when(repairRepository.findBayBookingsFrom(any())).thenAnswer(invocation -> {
+            baySchedulerService.assignBay(stored(3L, 1, LocalTime.of(12, 30), LocalTime.of(13, 0)));
+            return List.of(new BayBookingDTO(1L, 1, DAY, LocalTime.of(9, 0), DAY, LocalTime.of(12, 0)));
+        });
+
+        baySchedulerService.rebuild();
+
+        assertThat(baySchedulerService.findJobsAt(DAY.atTime(12, 45))).extracting(BayBookingDTO::getRepairId)
+                .containsExactly(3L);
+    }
+
+    @Test
+    void findEarliestSlot_PicksEarliestBay() {
+        BaySlotDTO slot = baySchedulerService.findEarliestSlot(DAY.atTime(9, 30), 60);
+
+        assertThat(slot.getBay()).isEqualTo(2);
+        assertThat(slot.getStart()).isEqualTo(DAY.atTime(11, 0));
+        assertThat(slot.getEnd()).isEqualTo(DAY.atTime(12, 0));
+    }
+
+    @Test
+    void findFreeSlots_ListsGapsOfTheRequestedBay() {
+        List<BaySlotDTO> slots = baySchedulerService.findFreeSlots(DAY.atTime(8, 0), DAY.atTime(13, 0), 1);
+
+        assertThat(slots).extracting(BaySlotDTO::getStart).containsExactly(DAY.atTime(8, 0), DAY.atTime(12, 0));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> baySchedulerService.findFreeSlots(DAY.atTime(8, 0), DAY.atTime(13, 0), 3));
+    }
+
+    @Test
+    void onRepairChanged_ReleasesBayOfDeletedRepair() {
+        RepairFactDTO deleted = new RepairFactDTO();
+        deleted.setRepairId(1L);
+
+        baySchedulerService.onRepairChanged(new RepairChangedEvent(deleted, null));
+
+        assertThat(baySchedulerService.findJobsAt(DAY.atTime(9, 30))).isEmpty();
+    }
+
+    private void guardsExist() {
+        when(jobCheckpointRepository.findForUpdate(any())).thenAnswer(invocation ->
+                Optional.of(new JobCheckpointEntity(invocation.getArgument(0), null, 0L, true, null, null)));
+    }
+
+    private RepairEntity stored(Long repairId, Integer bay, LocalTime entryTime, LocalTime exitTime) {
+        RepairEntity repair = repair(repairId, entryTime, exitTime);
+        repair.setBay(bay);
+        return repair;
+    }
+
+    private RepairEntity repair(Long repairId, LocalTime entryTime, LocalTime exitTime) {
+        RepairEntity repair = new RepairEntity();
+        repair.setRepairId(repairId);
+        repair.setEntryDate(DAY);
+        repair.setEntryTime(entryTime);
+        repair.setExitDate(DAY);
+        repair.setExitTime(exitTime);
+        return repair;
+    }
+}
@@ -38,7 +38,7 @@ public class BonusServiceTest {
     @BeforeEach
     void setUp() {
         bonus = new BonusEntity(1L, null, new BigDecimal("100.00"), "Toyota", "Description of bonus");
-        vehicle = new VehicleEntity(1L, "ABC123", "Toyota", "Corolla", "Sedan", 2020, "Gasoline", 15000, 5, null, null);
+        vehicle = new VehicleEntity(1L, "ABC123", "Toyota", "Corolla", VehicleEntity.VehicleType.SEDAN, 2020, VehicleEntity.EngineType.GASOLINE, 15000, 5, null, null, null);
     }
 
     @Test
@@ -7,12 +7,15 @@ import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.Year;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.Optional;
 
@@ -22,13 +25,14 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
 public class ChargeServiceTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-04-10T12:00:00Z"), ZoneOffset.UTC);
+
     @Mock
     private ChargeRepository chargeRepository;
 
     @Mock
     private VehicleRepository vehicleRepository;
 
-    @InjectMocks
     private ChargeService chargeService;
 
     private ChargeEntity charge;
@@ -36,11 +40,12 @@ public class ChargeServiceTest {
 
     @BeforeEach
     void setUp() {
+        chargeService = new ChargeService(chargeRepository, vehicleRepository, CLOCK);
         charge = new ChargeEntity(1L, "Mileage Overcharge", 200.0, ChargeEntity.ChargeType.MILEAGE, "Sedan");
         vehicle = new VehicleEntity();
         vehicle.setVehicleId(1L);
         vehicle.setMileage(15000);
-        vehicle.setType("Sedan");
+        vehicle.setType(VehicleEntity.VehicleType.SEDAN);
         vehicle.setManufactureYear(2015);
     }
 
@@ -85,6 +90,21 @@ public class ChargeServiceTest {
         assertEquals(new BigDecimal("7.0"), chargePercentage);
     }
 
+    @Test
+    void determineAntiquityChargePercentage_AsOfPastDate_UsesThatYear() {
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+        assertEquals(new BigDecimal("0.0"), chargeService.determineAntiquityChargePercentage(1L, LocalDate.of(2018, 1, 1)));
+        assertEquals(new BigDecimal("5.0"), chargeService.determineAntiquityChargePercentage(1L));
+    }
+
+    @Test
+    void determineAntiquityChargePercentage_AsOfFutureDate_DoesNotChangeTodaysCharge() {
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+        assertEquals(new BigDecimal("5.0"), chargeService.determineAntiquityChargePercentage(1L));
+        assertEquals(new BigDecimal("9.0"), chargeService.determineAntiquityChargePercentage(1L, LocalDate.now(CLOCK).plusYears(6)));
+        assertEquals(new BigDecimal("5.0"), chargeService.determineAntiquityChargePercentage(1L));
+    }
+
     @Test
     void determineAntiquityChargePercentage_ShouldCalculateCorrectly() {
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
@@ -94,7 +114,7 @@ public class ChargeServiceTest {
 
     @Test
     void mileageCharge_ShouldBeZero_WhenMileageIsLowAndTypeIsSUV() {
-        vehicle.setType("SUV");
+        vehicle.setType(VehicleEntity.VehicleType.SUV);
         vehicle.setMileage(5000);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineMileageChargePercentage(1L);
@@ -103,7 +123,7 @@ public class ChargeServiceTest {
 
     @Test
     void mileageCharge_ShouldBeTwenty_WhenMileageIsHighAndTypeIsPickup() {
-        vehicle.setType("Pickup");
+        vehicle.setType(VehicleEntity.VehicleType.PICKUP);
         vehicle.setMileage(40001);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineMileageChargePercentage(1L);
@@ -112,8 +132,8 @@ public class ChargeServiceTest {
 
     @Test
     void antiquityCharge_ShouldBeZero_WhenVehicleIsNewAndTypeIsSUV() {
-        vehicle.setType("SUV");
-        vehicle.setManufactureYear(Year.now().getValue());
+        vehicle.setType(VehicleEntity.VehicleType.SUV);
+        vehicle.setManufactureYear(Year.now(CLOCK).getValue());
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineAntiquityChargePercentage(1L);
         assertEquals(new BigDecimal("0.0"), chargePercentage);
@@ -121,8 +141,8 @@ public class ChargeServiceTest {
 
     @Test
     void antiquityCharge_ShouldBeTwenty_WhenVehicleIsOldAndTypeIsPickup() {
-        vehicle.setType("Pickup");
-        vehicle.setManufactureYear(Year.now().getValue() - 17);
+        vehicle.setType(VehicleEntity.VehicleType.PICKUP);
+        vehicle.setManufactureYear(Year.now(CLOCK).getValue() - 17);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineAntiquityChargePercentage(1L);
         assertEquals(new BigDecimal("20.0"), chargePercentage);
@@ -142,7 +162,7 @@ public class ChargeServiceTest {
 
     @Test
     void mileageCharge_ShouldBeThree_WhenMileageIsMediumAndTypeIsHatchback() {
-        vehicle.setType("Hatchback");
+        vehicle.setType(VehicleEntity.VehicleType.HATCHBACK);
         vehicle.setMileage(10000);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineMileageChargePercentage(1L);
@@ -151,7 +171,7 @@ public class ChargeServiceTest {
 
     @Test
     void mileageCharge_ShouldBeTwelve_WhenMileageIsHighAndTypeIsSUV() {
-        vehicle.setType("SUV");
+        vehicle.setType(VehicleEntity.VehicleType.SUV);
         vehicle.setMileage(35000);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineMileageChargePercentage(1L);
@@ -160,7 +180,7 @@ public class ChargeServiceTest {
 
     @Test
     void mileageCharge_ShouldBeNine_WhenMileageIsModerateAndTypeIsPickup() {
-        vehicle.setType("Pickup");
+        vehicle.setType(VehicleEntity.VehicleType.PICKUP);
         vehicle.setMileage(13000);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineMileageChargePercentage(1L);
@@ -169,7 +189,7 @@ public class ChargeServiceTest {
 
     @Test
     void mileageCharge_ShouldBeTwelve_WhenMileageIsHighAndTypeIsFurgoneta() {
-        vehicle.setType("Furgoneta");
+        vehicle.setType(VehicleEntity.VehicleType.VAN);
         vehicle.setMileage(30000);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineMileageChargePercentage(1L);
@@ -178,8 +198,8 @@ public class ChargeServiceTest {
 
     @Test
     void antiquityCharge_ShouldBeFive_WhenVehicleIsModeratelyOldAndTypeIsHatchback() {
-        vehicle.setType("Hatchback");
-        vehicle.setManufactureYear(Year.now().getValue() - 8);
+        vehicle.setType(VehicleEntity.VehicleType.HATCHBACK);
+        vehicle.setManufactureYear(Year.now(CLOCK).getValue() - 8);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineAntiquityChargePercentage(1L);
         assertEquals(new BigDecimal("5.0"), chargePercentage);
@@ -187,8 +207,8 @@ public class ChargeServiceTest {
 
     @Test
     void antiquityCharge_ShouldBeEleven_WhenVehicleIsOldAndTypeIsSUV() {
-        vehicle.setType("SUV");
-        vehicle.setManufactureYear(Year.now().getValue() - 12);
+        vehicle.setType(VehicleEntity.VehicleType.SUV);
+        vehicle.setManufactureYear(Year.now(CLOCK).getValue() - 12);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineAntiquityChargePercentage(1L);
         assertEquals(new BigDecimal("11.0"), chargePercentage);
@@ -196,8 +216,8 @@ public class ChargeServiceTest {
 
     @Test
     void antiquityCharge_ShouldBeEleven_WhenVehicleIsOldAndTypeIsFurgoneta() {
-        vehicle.setType("Furgoneta");
-        vehicle.setManufactureYear(Year.now().getValue() - 14);
+        vehicle.setType(VehicleEntity.VehicleType.VAN);
+        vehicle.setManufactureYear(Year.now(CLOCK).getValue() - 14);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineAntiquityChargePercentage(1L);
         assertEquals(new BigDecimal("11.0"), chargePercentage);
@@ -205,8 +225,8 @@ public class ChargeServiceTest {
 
     @Test
     void antiquityCharge_ShouldBeSeven_WhenVehicleIsModeratelyOldAndTypeIsPickup() {
-        vehicle.setType("Pickup");
-        vehicle.setManufactureYear(Year.now().getValue() - 7);
+        vehicle.setType(VehicleEntity.VehicleType.PICKUP);
+        vehicle.setManufactureYear(Year.now(CLOCK).getValue() - 7);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineAntiquityChargePercentage(1L);
         assertEquals(new BigDecimal("7.0"), chargePercentage);
@@ -214,7 +234,7 @@ public class ChargeServiceTest {
 
     @Test
     void mileageCharge_ShouldBeThreeAtUpperBoundaryForSedan() {
-        vehicle.setType("Sedan");
+        vehicle.setType(VehicleEntity.VehicleType.SEDAN);
         vehicle.setMileage(12000);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineMileageChargePercentage(1L);
@@ -223,7 +243,7 @@ public class ChargeServiceTest {
 
     @Test
     void mileageCharge_ShouldBeSevenAtLowerBoundaryForSUV() {
-        vehicle.setType("SUV");
+        vehicle.setType(VehicleEntity.VehicleType.SUV);
         vehicle.setMileage(12001);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineMileageChargePercentage(1L);
@@ -232,7 +252,7 @@ public class ChargeServiceTest {
 
     @Test
     void mileageCharge_ShouldBeTwelveAtMiddleForPickup() {
-        vehicle.setType("Pickup");
+        vehicle.setType(VehicleEntity.VehicleType.PICKUP);
         vehicle.setMileage(35000);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineMileageChargePercentage(1L);
@@ -241,8 +261,8 @@ public class ChargeServiceTest {
 
     @Test
     void antiquityCharge_ShouldBeFiveAtUpperBoundaryForHatchback() {
-        vehicle.setType("Hatchback");
-        vehicle.setManufactureYear(Year.now().getValue() - 10);
+        vehicle.setType(VehicleEntity.VehicleType.HATCHBACK);
+        vehicle.setManufactureYear(Year.now(CLOCK).getValue() - 10);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineAntiquityChargePercentage(1L);
         assertEquals(new BigDecimal("5.0"), chargePercentage);
@@ -250,8 +270,8 @@ public class ChargeServiceTest {
 
     @Test
     void antiquityCharge_ShouldBeNineAtLowerBoundaryForSUV() {
-        vehicle.setType("SUV");
-        vehicle.setManufactureYear(Year.now().getValue() - 11);
+        vehicle.setType(VehicleEntity.VehicleType.SUV);
+        vehicle.setManufactureYear(Year.now(CLOCK).getValue() - 11);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineAntiquityChargePercentage(1L);
         assertEquals(new BigDecimal("11.0"), chargePercentage);
@@ -259,8 +279,8 @@ public class ChargeServiceTest {
 
     @Test
     void antiquityCharge_ShouldBeFifteenAtMiddleAgeForPickup() {
-        vehicle.setType("Pickup");
-        vehicle.setManufactureYear(Year.now().getValue() - 18);
+        vehicle.setType(VehicleEntity.VehicleType.PICKUP);
+        vehicle.setManufactureYear(Year.now(CLOCK).getValue() - 18);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineAntiquityChargePercentage(1L);
         assertEquals(new BigDecimal("20.0"), chargePercentage);
@@ -268,8 +288,8 @@ public class ChargeServiceTest {
 
     @Test
     void antiquityCharge_ShouldBeTwentyAtOlderForFurgoneta() {
-        vehicle.setType("Furgoneta");
-        vehicle.setManufactureYear(Year.now().getValue() - 17);
+        vehicle.setType(VehicleEntity.VehicleType.VAN);
+        vehicle.setManufactureYear(Year.now(CLOCK).getValue() - 17);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineAntiquityChargePercentage(1L);
         assertEquals(new BigDecimal("20.0"), chargePercentage);
@@ -277,7 +297,7 @@ public class ChargeServiceTest {
 
     @Test
     void mileageCharge_ShouldBeZeroAtLowerBoundaryForSedan() {
-        vehicle.setType("Sedan");
+        vehicle.setType(VehicleEntity.VehicleType.SEDAN);
         vehicle.setMileage(0);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineMileageChargePercentage(1L);
@@ -286,7 +306,7 @@ public class ChargeServiceTest {
 
     @Test
     void mileageCharge_ShouldBeTwelveAtUpperBoundaryForHatchback() {
-        vehicle.setType("Hatchback");
+        vehicle.setType(VehicleEntity.VehicleType.HATCHBACK);
         vehicle.setMileage(40000);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineMileageChargePercentage(1L);
@@ -295,7 +315,7 @@ public class ChargeServiceTest {
 
     @Test
     void mileageCharge_ShouldBeFiveAtUpperBoundaryForSUV() {
-        vehicle.setType("SUV");
+        vehicle.setType(VehicleEntity.VehicleType.SUV);
         vehicle.setMileage(12000);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineMileageChargePercentage(1L);
@@ -304,7 +324,7 @@ public class ChargeServiceTest {
 
     @Test
     void mileageCharge_ShouldBeNineAtUpperBoundaryForPickup() {
-        vehicle.setType("Pickup");
+        vehicle.setType(VehicleEntity.VehicleType.PICKUP);
         vehicle.setMileage(25000);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineMileageChargePercentage(1L);
@@ -313,8 +333,8 @@ public class ChargeServiceTest {
 
     @Test
     void antiquityCharge_ShouldBeZeroForNewFurgoneta() {
-        vehicle.setType("Furgoneta");
-        vehicle.setManufactureYear(Year.now().getValue());
+        vehicle.setType(VehicleEntity.VehicleType.VAN);
+        vehicle.setManufactureYear(Year.now(CLOCK).getValue());
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineAntiquityChargePercentage(1L);
         assertEquals(new BigDecimal("0.0"), chargePercentage);
@@ -322,8 +342,8 @@ public class ChargeServiceTest {
 
     @Test
     void antiquityCharge_ShouldBeSevenForOldSUV() {
-        vehicle.setType("SUV");
-        vehicle.setManufactureYear(Year.now().getValue() - 10);
+        vehicle.setType(VehicleEntity.VehicleType.SUV);
+        vehicle.setManufactureYear(Year.now(CLOCK).getValue() - 10);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineAntiquityChargePercentage(1L);
         assertEquals(new BigDecimal("7.0"), chargePercentage);
@@ -331,8 +351,8 @@ public class ChargeServiceTest {
 
     @Test
     void antiquityCharge_ShouldBeNineForModeratelyOldSedan() {
-        vehicle.setType("Sedan");
-        vehicle.setManufactureYear(Year.now().getValue() - 11);
+        vehicle.setType(VehicleEntity.VehicleType.SEDAN);
+        vehicle.setManufactureYear(Year.now(CLOCK).getValue() - 11);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineAntiquityChargePercentage(1L);
         assertEquals(new BigDecimal("9.0"), chargePercentage);
@@ -340,8 +360,8 @@ public class ChargeServiceTest {
 
     @Test
     void antiquityCharge_ShouldBeFifteenForOldHatchback() {
-        vehicle.setType("Hatchback");
-        vehicle.setManufactureYear(Year.now().getValue() - 16);
+        vehicle.setType(VehicleEntity.VehicleType.HATCHBACK);
+        vehicle.setManufactureYear(Year.now(CLOCK).getValue() - 16);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         BigDecimal chargePercentage = chargeService.determineAntiquityChargePercentage(1L);
         assertEquals(new BigDecimal("15.0"), chargePercentage);
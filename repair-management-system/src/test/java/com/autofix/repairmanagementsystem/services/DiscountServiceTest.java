@@ -1,16 +1,19 @@
 package com.autofix.repairmanagementsystem.services;
 
 import com.autofix.repairmanagementsystem.entities.DiscountEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
 import com.autofix.repairmanagementsystem.repositories.DiscountRepository;
 import com.autofix.repairmanagementsystem.repositories.RepairRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.Optional;
 
@@ -20,19 +23,21 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
 public class DiscountServiceTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-04-10T12:00:00Z"), ZoneOffset.UTC);
+
     @Mock
     private DiscountRepository discountRepository;
 
     @Mock
     private RepairRepository repairRepository;
 
-    @InjectMocks
     private DiscountService discountService;
 
     private DiscountEntity discount;
 
     @BeforeEach
     void setUp() {
+        discountService = new DiscountService(discountRepository, repairRepository, CLOCK);
         discount = new DiscountEntity(1L, "Spring Special", 10.0, DiscountEntity.DiscountType.NUM_REPAIRS, "Toyota");
     }
 
@@ -81,122 +86,162 @@ public class DiscountServiceTest {
     @Test
     void determineDiscountPercentage_ShouldCalculateBasedOnEngineTypeAndRepairs() {
         when(repairRepository.countRepairsByVehicleIdAndDateRange(eq(1L), any(LocalDate.class))).thenReturn(3L);
-        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, "GASOLINE");
+        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, VehicleEntity.EngineType.GASOLINE);
         assertEquals(new BigDecimal("10"), discountPercentage);
 
-        discountPercentage = discountService.determineDiscountPercentage(1L, "ELECTRIC");
+        discountPercentage = discountService.determineDiscountPercentage(1L, VehicleEntity.EngineType.ELECTRIC);
         assertEquals(new BigDecimal("13"), discountPercentage);
     }
 
     @Test
     void determineDiscountPercentage_GasolineLowRange() {
         when(repairRepository.countRepairsByVehicleIdAndDateRange(eq(1L), any(LocalDate.class))).thenReturn(1L);
-        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, "GASOLINE");
+        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, VehicleEntity.EngineType.GASOLINE);
         assertEquals(new BigDecimal("5"), discountPercentage);
     }
 
     @Test
     void determineDiscountPercentage_GasolineMidRange() {
         when(repairRepository.countRepairsByVehicleIdAndDateRange(eq(1L), any(LocalDate.class))).thenReturn(4L);
-        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, "GASOLINE");
+        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, VehicleEntity.EngineType.GASOLINE);
         assertEquals(new BigDecimal("10"), discountPercentage);
     }
 
     @Test
     void determineDiscountPercentage_GasolineHighRange() {
         when(repairRepository.countRepairsByVehicleIdAndDateRange(eq(1L), any(LocalDate.class))).thenReturn(7L);
-        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, "GASOLINE");
+        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, VehicleEntity.EngineType.GASOLINE);
         assertEquals(new BigDecimal("15"), discountPercentage);
     }
 
     @Test
     void determineDiscountPercentage_GasolineAboveThreshold() {
         when(repairRepository.countRepairsByVehicleIdAndDateRange(eq(1L), any(LocalDate.class))).thenReturn(10L);
-        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, "GASOLINE");
+        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, VehicleEntity.EngineType.GASOLINE);
         assertEquals(new BigDecimal("20"), discountPercentage);
     }
 
     @Test
     void determineDiscountPercentage_DieselLowRange() {
         when(repairRepository.countRepairsByVehicleIdAndDateRange(eq(1L), any(LocalDate.class))).thenReturn(2L);
-        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, "DIESEL");
+        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, VehicleEntity.EngineType.DIESEL);
         assertEquals(new BigDecimal("7"), discountPercentage);
     }
 
     @Test
     void determineDiscountPercentage_DieselMidRange() {
         when(repairRepository.countRepairsByVehicleIdAndDateRange(eq(1L), any(LocalDate.class))).thenReturn(5L);
-        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, "DIESEL");
+        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, VehicleEntity.EngineType.DIESEL);
         assertEquals(new BigDecimal("12"), discountPercentage);
     }
 
     @Test
     void determineDiscountPercentage_DieselHighRange() {
         when(repairRepository.countRepairsByVehicleIdAndDateRange(eq(1L), any(LocalDate.class))).thenReturn(9L);
-        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, "DIESEL");
+        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, VehicleEntity.EngineType.DIESEL);
         assertEquals(new BigDecimal("17"), discountPercentage);
     }
 
     @Test
     void determineDiscountPercentage_DieselAboveThreshold() {
         when(repairRepository.countRepairsByVehicleIdAndDateRange(eq(1L), any(LocalDate.class))).thenReturn(12L);
-        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, "DIESEL");
+        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, VehicleEntity.EngineType.DIESEL);
         assertEquals(new BigDecimal("22"), discountPercentage);
     }
 
     @Test
     void determineDiscountPercentage_HybridLowRange() {
         when(repairRepository.countRepairsByVehicleIdAndDateRange(eq(1L), any(LocalDate.class))).thenReturn(1L);
-        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, "HYBRID");
+        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, VehicleEntity.EngineType.HYBRID);
         assertEquals(new BigDecimal("10"), discountPercentage);
     }
 
     @Test
     void determineDiscountPercentage_HybridMidRange() {
         when(repairRepository.countRepairsByVehicleIdAndDateRange(eq(1L), any(LocalDate.class))).thenReturn(3L);
-        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, "HYBRID");
+        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, VehicleEntity.EngineType.HYBRID);
         assertEquals(new BigDecimal("15"), discountPercentage);
     }
 
     @Test
     void determineDiscountPercentage_HybridHighRange() {
         when(repairRepository.countRepairsByVehicleIdAndDateRange(eq(1L), any(LocalDate.class))).thenReturn(6L);
-        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, "HYBRID");
+        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, VehicleEntity.EngineType.HYBRID);
         assertEquals(new BigDecimal("20"), discountPercentage);
     }
 
     @Test
     void determineDiscountPercentage_HybridAboveThreshold() {
         when(repairRepository.countRepairsByVehicleIdAndDateRange(eq(1L), any(LocalDate.class))).thenReturn(10L);
-        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, "HYBRID");
+        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, VehicleEntity.EngineType.HYBRID);
         assertEquals(new BigDecimal("25"), discountPercentage);
     }
 
     @Test
     void determineDiscountPercentage_ElectricLowRange() {
         when(repairRepository.countRepairsByVehicleIdAndDateRange(eq(1L), any(LocalDate.class))).thenReturn(2L);
-        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, "ELECTRIC");
+        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, VehicleEntity.EngineType.ELECTRIC);
         assertEquals(new BigDecimal("8"), discountPercentage);
     }
 
     @Test
     void determineDiscountPercentage_ElectricMidRange() {
         when(repairRepository.countRepairsByVehicleIdAndDateRange(eq(1L), any(LocalDate.class))).thenReturn(4L);
-        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, "ELECTRIC");
+        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, VehicleEntity.EngineType.ELECTRIC);
         assertEquals(new BigDecimal("13"), discountPercentage);
     }
 
     @Test
     void determineDiscountPercentage_ElectricHighRange() {
         when(repairRepository.countRepairsByVehicleIdAndDateRange(eq(1L), any(LocalDate.class))).thenReturn(7L);
-        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, "ELECTRIC");
+        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, VehicleEntity.EngineType.ELECTRIC);
         assertEquals(new BigDecimal("18"), discountPercentage);
     }
 
     @Test
     void determineDiscountPercentage_ElectricAboveThreshold() {
         when(repairRepository.countRepairsByVehicleIdAndDateRange(eq(1L), any(LocalDate.class))).thenReturn(12L);
-        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, "ELECTRIC");
+        BigDecimal discountPercentage = discountService.determineDiscountPercentage(1L, VehicleEntity.EngineType.ELECTRIC);
         assertEquals(new BigDecimal("23"), discountPercentage);
     }
-}
\ No newline at end of file
+
+    @Test
+    void determineDiscountPercentage_VehicleWithoutRecentRepairs_SkipsQuery() {
+        VehicleEntity vehicle = historyVehicle(4L, LocalDate.now(CLOCK).minusMonths(13));
+        assertEquals(BigDecimal.ZERO, discountService.determineDiscountPercentage(vehicle));
+        verify(repairRepository, never()).countRepairsByVehicleIdAndDateRange(anyLong(), any());
+    }
+
+    @Test
+    void determineDiscountPercentage_HistoryWithinFirstTier_SkipsQuery() {
+        VehicleEntity vehicle = historyVehicle(2L, LocalDate.now(CLOCK));
+        assertEquals(new BigDecimal("7"), discountService.determineDiscountPercentage(vehicle));
+        verify(repairRepository, never()).countRepairsByVehicleIdAndDateRange(anyLong(), any());
+    }
+
+    @Test
+    void determineDiscountPercentage_HistorySpanningTiers_CountsRecentRepairs() {
+        VehicleEntity vehicle = historyVehicle(6L, LocalDate.now(CLOCK));
+        when(repairRepository.countRepairsByVehicleIdAndDateRange(eq(1L), any(LocalDate.class))).thenReturn(3L);
+        assertEquals(new BigDecimal("12"), discountService.determineDiscountPercentage(vehicle));
+    }
+
+    @Test
+    void determineDiscountPercentage_AsOfPastDate_CountsRepairsBeforeThatDate() {
+        VehicleEntity vehicle = historyVehicle(2L, LocalDate.now(CLOCK));
+        LocalDate asOf = LocalDate.of(2023, 6, 30);
+        when(repairRepository.countRepairsByVehicleIdBetween(1L, LocalDate.of(2022, 6, 30), asOf)).thenReturn(6L);
+
+        assertEquals(new BigDecimal("17"), discountService.determineDiscountPercentage(vehicle, asOf));
+        verify(repairRepository, never()).countRepairsByVehicleIdAndDateRange(anyLong(), any());
+    }
+
+    private VehicleEntity historyVehicle(long repairCount, LocalDate lastEntryDate) {
+        VehicleEntity vehicle = new VehicleEntity();
+        vehicle.setVehicleId(1L);
+        vehicle.setEngineType(VehicleEntity.EngineType.DIESEL);
+        vehicle.getHistory().setRepairCount(repairCount);
+        vehicle.getHistory().setLastEntryDate(lastEntryDate);
+        return vehicle;
+    }
+}
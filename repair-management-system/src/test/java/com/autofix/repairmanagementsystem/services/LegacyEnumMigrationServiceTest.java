@@ -0,0 +1,52 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LegacyEnumMigrationServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private RepairRollupService repairRollupService;
+
+    @InjectMocks
+    private LegacyEnumMigrationService legacyEnumMigrationService;
+
+    @Test
+    void normalizeColumn_ReplacesLegacyValuesWithCodes() {
+        when(jdbcTemplate.queryForList("SELECT DISTINCT engine_type FROM vehicles", String.class))
+                .thenReturn(Arrays.asList("Gasoline", "G", null, "V8"));
+        when(jdbcTemplate.update(anyString(), anyString(), anyString())).thenReturn(2, 1);
+
+        int migrated = legacyEnumMigrationService.normalizeColumn("vehicles", "engine_type",
+                VehicleEntity.EngineType.class, VehicleEntity.EngineType.OTHER);
+
+        assertThat(migrated).isEqualTo(3);
+        verify(jdbcTemplate).update("UPDATE vehicles SET engine_type = ? WHERE engine_type = ?", "G", "Gasoline");
+        verify(jdbcTemplate).update("UPDATE vehicles SET engine_type = ? WHERE engine_type = ?", "O", "V8");
+        verify(jdbcTemplate, never()).update(anyString(), eq("G"), eq("G"));
+    }
+
+    @Test
+    void hasLegacyValues_IsFalse_WhenEveryValueIsACode() {
+        when(jdbcTemplate.queryForList("SELECT DISTINCT engine_type FROM repair_daily_rollups", String.class))
+                .thenReturn(Arrays.asList("G", "D"));
+
+        assertThat(legacyEnumMigrationService.hasLegacyValues("repair_daily_rollups", "engine_type",
+                VehicleEntity.EngineType.class)).isFalse();
+    }
+}
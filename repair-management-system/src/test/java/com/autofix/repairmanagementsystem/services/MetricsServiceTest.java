@@ -0,0 +1,68 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.MetricDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MetricsServiceTest {
+
+    private final MetricsService metricsService = new MetricsService();
+
+    @Test
+    void timer_ReturnsTheSameMeterForTheSameTags() {
+        MetricsService.Meter first = metricsService.timer("pricing.total", "method", "calculateTotalRepairCost");
+        MetricsService.Meter second = metricsService.timer("pricing.total", "method", "calculateTotalRepairCost");
+
+        assertThat(first).isSameAs(second);
+        assertThat(metricsService.timer("pricing.total", "method", "itemizeRepairCost")).isNotSameAs(first);
+    }
+
+    @Test
+    void snapshot_ReportsTimersInMilliseconds() {
+        MetricsService.Meter timer = metricsService.timer("report", "method", "generateRepairCostReport");
+        timer.record(TimeUnit.MILLISECONDS.toNanos(4), false);
+        timer.record(TimeUnit.MILLISECONDS.toNanos(4), true);
+        metricsService.gauge("db.pool.active", () -> 3);
+
+        List<MetricDTO> metrics = metricsService.snapshot();
+
+        assertThat(metrics).hasSize(2);
+        MetricDTO report = metrics.get(0);
+        assertThat(report.getName()).isEqualTo("report");
+        assertThat(report.getCount()).isEqualTo(2);
+        assertThat(report.getErrors()).isEqualTo(1);
+        assertThat(report.getMean()).isEqualTo(4.0);
+        assertThat(report.getP50()).isBetween(4.0, 4.3);
+        assertThat(metrics.get(1).getType()).isEqualTo(MetricsService.GAUGE);
+        assertThat(metrics.get(1).getValue()).isEqualTo(3.0);
+    }
+
+    @Test
+    void scrape_WritesThePrometheusTextFormat() {
+        metricsService.timer("http.server.requests", "uri", "/api/v1/quotes", "status", "2xx")
+                .record(TimeUnit.MILLISECONDS.toNanos(2), false);
+        metricsService.distribution("http.server.sql.statements", "uri", "/api/v1/quotes").record(1);
+        metricsService.gauge("db.pool.pending", () -> 0);
+
+        String text = metricsService.scrape();
+
+        assertThat(text).contains("# TYPE http_server_requests_seconds summary\n");
+        assertThat(text).contains("http_server_requests_seconds_count{status=\"2xx\",uri=\"/api/v1/quotes\"} 1.0\n");
+        assertThat(text).contains("http_server_requests_seconds{status=\"2xx\",uri=\"/api/v1/quotes\",quantile=\"0.99\"} 0.002");
+        assertThat(text).contains("http_server_sql_statements_sum{uri=\"/api/v1/quotes\"} 1.0\n");
+        assertThat(text).contains("# TYPE db_pool_pending gauge\ndb_pool_pending 0.0\n");
+    }
+
+    @Test
+    void timer_RejectsANameAlreadyUsedByADistribution() {
+        metricsService.distribution("http.server.sql.statements");
+
+        assertThatThrownBy(() -> metricsService.timer("http.server.sql.statements"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,121 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.entities.JobCheckpointEntity;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.repositories.JobCheckpointRepository;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PickupDelaySnapshotServiceTest {
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2024, 4, 10);
+    private static final String JOB = PickupDelaySnapshotService.JOB_NAME;
+
+    @Mock
+    private RepairRepository repairRepository;
+
+    @Mock
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Mock
+    private RepairService repairService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PickupDelaySnapshotService pickupDelaySnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        pickupDelaySnapshotService = new PickupDelaySnapshotService(repairRepository, jobCheckpointRepository,
+                repairService, transactionManager, 2, Clock.fixed(Instant.parse("2024-04-11T02:15:00Z"), ZoneOffset.UTC));
+        when(jobCheckpointRepository.existsById(JOB)).thenReturn(true);
+    }
+
+    @Test
+    void run_ResumesFromCheckpointCursor() {
+        when(jobCheckpointRepository.acquireLock(eq(JOB), anyString(), any(), any())).thenReturn(1);
+        when(jobCheckpointRepository.findById(JOB)).thenReturn(Optional.of(
+                new JobCheckpointEntity(JOB, RUN_DATE, 100L, false, "replica", null)));
+        when(repairRepository.findUncollectedBatchAfterId(100L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(repair(101L), repair(102L)));
+        when(repairRepository.findUncollectedBatchAfterId(102L, PageRequest.of(0, 2))).thenReturn(List.of(repair(105L)));
+        when(repairService.calculatePickupDelayCharge(any(RepairEntity.class), eq(RUN_DATE))).thenReturn(new BigDecimal("5"));
+        when(repairRepository.saveDelayChargeSnapshot(anyLong(), eq(new BigDecimal("100")), eq(RUN_DATE.minusDays(3)),
+                eq(new BigDecimal("5")), eq(RUN_DATE))).thenReturn(1);
+        when(jobCheckpointRepository.advanceCursor(eq(JOB), anyString(), anyLong(), any())).thenReturn(1);
+
+        int updated = pickupDelaySnapshotService.run(RUN_DATE.plusDays(1));
+
+        assertThat(updated).isEqualTo(3);
+        verify(repairRepository, never()).findUncollectedBatchAfterId(eq(0L), any());
+        verify(jobCheckpointRepository, never()).startRun(any(), any(), any());
+        verify(jobCheckpointRepository).advanceCursor(eq(JOB), anyString(), eq(105L), any());
+        verify(jobCheckpointRepository).completeRun(eq(JOB), anyString());
+        verify(jobCheckpointRepository).releaseLock(eq(JOB), anyString());
+    }
+
+    @Test
+    void run_Skips_WhenAnotherInstanceHoldsTheLock() {
+        when(jobCheckpointRepository.acquireLock(eq(JOB), anyString(), any(), any())).thenReturn(0);
+
+        assertThat(pickupDelaySnapshotService.run(RUN_DATE)).isZero();
+        verifyNoInteractions(repairRepository);
+        verify(jobCheckpointRepository, never()).releaseLock(any(), any());
+    }
+
+    @Test
+    void run_Skips_WhenAlreadyCompletedForTheDate() {
+        when(jobCheckpointRepository.acquireLock(eq(JOB), anyString(), any(), any())).thenReturn(1);
+        when(jobCheckpointRepository.findById(JOB)).thenReturn(Optional.of(
+                new JobCheckpointEntity(JOB, RUN_DATE, 300L, true, "replica", null)));
+
+        assertThat(pickupDelaySnapshotService.run(RUN_DATE)).isZero();
+        verifyNoInteractions(repairRepository);
+        verify(jobCheckpointRepository).releaseLock(eq(JOB), anyString());
+    }
+
+    @Test
+    void run_RollsBackChunk_WhenLeaseIsLost() {
+        when(jobCheckpointRepository.acquireLock(eq(JOB), anyString(), any(), any())).thenReturn(1);
+        when(jobCheckpointRepository.findById(JOB)).thenReturn(Optional.of(
+                new JobCheckpointEntity(JOB, RUN_DATE.minusDays(1), 300L, true, null, null)));
+        when(jobCheckpointRepository.startRun(eq(JOB), anyString(), eq(RUN_DATE))).thenReturn(1);
+        when(repairRepository.findUncollectedBatchAfterId(0L, PageRequest.of(0, 2))).thenReturn(List.of(repair(1L)));
+        when(repairService.calculatePickupDelayCharge(any(RepairEntity.class), eq(RUN_DATE))).thenReturn(BigDecimal.ONE);
+        when(jobCheckpointRepository.advanceCursor(eq(JOB), anyString(), eq(1L), any())).thenReturn(0);
+
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> pickupDelaySnapshotService.run(RUN_DATE));
+        verify(transactionManager).rollback(any());
+        verify(jobCheckpointRepository, never()).completeRun(any(), any());
+        verify(jobCheckpointRepository).releaseLock(eq(JOB), anyString());
+    }
+
+    private RepairEntity repair(Long repairId) {
+        RepairEntity repair = new RepairEntity();
+        repair.setRepairId(repairId);
+        repair.setRepairCost(new BigDecimal("100"));
+        repair.setExitDate(RUN_DATE.minusDays(3));
+        return repair;
+    }
+}
@@ -0,0 +1,66 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.events.VehicleChangedEvent;
+import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PlateRegistryServiceTest {
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private PlateRegistryService plateRegistryService;
+
+    private VehicleEntity vehicle;
+
+    @BeforeEach
+    void setUp() {
+        vehicle = new VehicleEntity(1L, "ABC123", "Toyota", "Corolla", VehicleEntity.VehicleType.SEDAN, 2020, VehicleEntity.EngineType.GASOLINE, 15000, 5, null, null, null);
+    }
+
+    @Test
+    void mightBeRegistered_IsConservativeUntilLoaded() {
+        assertThat(plateRegistryService.mightBeRegistered("NEW001")).isTrue();
+    }
+
+    @Test
+    void rebuild_LoadsPlatesAndAnswersDefinitelyNew() {
+        when(vehicleRepository.count()).thenReturn(1L);
+        when(vehicleRepository.findByVehicleIdGreaterThanOrderByVehicleIdAsc(eq(0L), any())).thenReturn(Arrays.asList(vehicle));
+
+        assertThat(plateRegistryService.rebuild()).isEqualTo(1);
+        assertThat(plateRegistryService.mightBeRegistered("ABC123")).isTrue();
+        assertThat(plateRegistryService.mightBeRegistered("NEW001")).isFalse();
+    }
+
+    @Test
+    void onVehicleChanged_TracksInsertsAndDeletes() {
+        when(vehicleRepository.count()).thenReturn(0L);
+        when(vehicleRepository.findByVehicleIdGreaterThanOrderByVehicleIdAsc(eq(0L), any())).thenReturn(Arrays.asList());
+        plateRegistryService.rebuild();
+
+        plateRegistryService.onVehicleChanged(new VehicleChangedEvent(vehicle, false));
+        assertThat(plateRegistryService.mightBeRegistered("ABC123")).isTrue();
+
+        plateRegistryService.onVehicleChanged(new VehicleChangedEvent(vehicle, true));
+        assertThat(plateRegistryService.mightBeRegistered("ABC123")).isFalse();
+    }
+}
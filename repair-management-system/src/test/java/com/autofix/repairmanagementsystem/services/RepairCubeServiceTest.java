@@ -0,0 +1,164 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.CubeQueryDTO;
+import com.autofix.repairmanagementsystem.dto.CubeRowDTO;
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.events.RepairChangedEvent;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import com.autofix.repairmanagementsystem.utils.RepairCube;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RepairCubeServiceTest {
+
+    @Mock
+    private RepairRepository repairRepository;
+
+    @InjectMocks
+    private RepairCubeService repairCubeService;
+
+    private RepairFactDTO toyotaRepair;
+    private RepairFactDTO kiaRepair;
+
+    @BeforeEach
+    void setUp() {
+        toyotaRepair = fact(1L, "Toyota", "120000");
+        kiaRepair = fact(2L, "Kia", "90000");
+    }
+
+    @Test
+    void rebuild_LoadsAllRepairsFromDatabase() {
+        when(repairRepository.findFactBatchAfterId(eq(0L), any())).thenReturn(Arrays.asList(toyotaRepair, kiaRepair));
+
+        int cells = repairCubeService.rebuild();
+
+        assertThat(cells).isEqualTo(2);
+        List<CubeRowDTO> rows = repairCubeService.query(new CubeQueryDTO(Arrays.asList(RepairCube.Dimension.BRAND), null));
+        assertThat(rows).extracting(row -> row.getDimensions().get(RepairCube.Dimension.BRAND)).containsExactly("Toyota", "Kia");
+        assertThat(rows.get(0).getTotalRepairCost()).isEqualByComparingTo("120000");
+    }
+
+    @Test
+    void rebuild_ReplaysChangesToRepairsAlreadyRead() {
+        List<RepairFactDTO> firstBatch = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            firstBatch.add(fact(id, "Toyota", "1000"));
+        }
+        when(repairRepository.findFactBatchAfterId(eq(0L), any())).thenReturn(firstBatch);
+        // Mientras se lee el segundo lote, la reparación 1 (ya leída) pasa a Kia
+        when(repairRepository.findFactBatchAfterId(eq(5000L), any())).thenAnswer(invocation -> {
+            repairCubeService.onRepairChanged(new RepairChangedEvent(firstBatch.get(0), fact(1L, "Kia", "1000")));
+            return Collections.emptyList();
+        });
+
+        repairCubeService.rebuild();
+
+        List<CubeRowDTO> rows = repairCubeService.query(new CubeQueryDTO(Arrays.asList(RepairCube.Dimension.BRAND), null));
+        assertThat(rows).extracting(CubeRowDTO::getRepairCount).containsExactly(4999L, 1L);
+        assertThat(rows.get(1).getDimensions().get(RepairCube.Dimension.BRAND)).isEqualTo("Kia");
+    }
+
+    @Test
+    void rebuild_DoesNotDoubleCountChangesTheBatchAlsoRead() {
+        // El alta de la 2 y el cambio de costo de la 1 llegan antes de que la lectura las alcance, así que el lote
+        // ya las trae con su estado nuevo
+        RepairFactDTO updatedToyota = fact(1L, "Toyota", "150000");
+        when(repairRepository.findFactBatchAfterId(eq(0L), any())).thenAnswer(invocation -> {
+            repairCubeService.onRepairChanged(new RepairChangedEvent(null, kiaRepair));
+            repairCubeService.onRepairChanged(new RepairChangedEvent(toyotaRepair, updatedToyota));
+            return Arrays.asList(updatedToyota, kiaRepair);
+        });
+
+        repairCubeService.rebuild();
+
+        List<CubeRowDTO> rows = repairCubeService.query(new CubeQueryDTO(Collections.emptyList(), null));
+        assertThat(rows.get(0).getRepairCount()).isEqualTo(2L);
+        assertThat(rows.get(0).getTotalRepairCost()).isEqualByComparingTo("240000");
+    }
+
+    @Test
+    void rebuild_ReplaysTheLatestStateOfEachChangedRepair() {
+        when(repairRepository.findFactBatchAfterId(eq(0L), any())).thenAnswer(invocation -> {
+            // La 1 se lee con su costo viejo, cambia dos veces y la 2 se elimina después de leerla
+            repairCubeService.onRepairChanged(new RepairChangedEvent(toyotaRepair, fact(1L, "Toyota", "130000")));
+            repairCubeService.onRepairChanged(new RepairChangedEvent(fact(1L, "Toyota", "130000"),
+                    fact(1L, "Kia", "140000")));
+            repairCubeService.onRepairChanged(new RepairChangedEvent(kiaRepair, null));
+            return Arrays.asList(toyotaRepair, kiaRepair);
+        });
+
+        repairCubeService.rebuild();
+
+        List<CubeRowDTO> rows = repairCubeService.query(new CubeQueryDTO(Arrays.asList(RepairCube.Dimension.BRAND), null));
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.getDimensions().get(RepairCube.Dimension.BRAND)).isEqualTo("Kia");
+            assertThat(row.getRepairCount()).isEqualTo(1L);
+            assertThat(row.getTotalRepairCost()).isEqualByComparingTo("140000");
+        });
+    }
+
+    @Test
+    void onRepairChanged_IgnoresRemovalOfARepairTheCubeDoesNotHave() {
+        repairCubeService.onRepairChanged(new RepairChangedEvent(null, toyotaRepair));
+        repairCubeService.onRepairChanged(new RepairChangedEvent(kiaRepair, null));
+
+        List<CubeRowDTO> rows = repairCubeService.query(new CubeQueryDTO(Collections.emptyList(), null));
+
+        assertThat(rows.get(0).getRepairCount()).isEqualTo(1L);
+        assertThat(rows.get(0).getTotalRepairCost()).isEqualByComparingTo("120000");
+    }
+
+    @Test
+    void onRepairChanged_AppliesUpdatesIncrementally() {
+        repairCubeService.onRepairChanged(new RepairChangedEvent(null, toyotaRepair));
+        repairCubeService.onRepairChanged(new RepairChangedEvent(null, kiaRepair));
+        repairCubeService.onRepairChanged(new RepairChangedEvent(toyotaRepair, fact(1L, "Toyota", "150000")));
+        repairCubeService.onRepairChanged(new RepairChangedEvent(kiaRepair, null));
+
+        List<CubeRowDTO> rows = repairCubeService.query(new CubeQueryDTO(Arrays.asList(RepairCube.Dimension.BRAND), null));
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getRepairCount()).isEqualTo(1L);
+        assertThat(rows.get(0).getTotalRepairCost()).isEqualByComparingTo("150000");
+    }
+
+    @Test
+    void query_RejectsRepeatedDimensions() {
+        CubeQueryDTO query = new CubeQueryDTO(Arrays.asList(RepairCube.Dimension.BRAND, RepairCube.Dimension.BRAND),
+                Collections.emptyMap());
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> repairCubeService.query(query));
+    }
+
+    private RepairFactDTO fact(Long repairId, String brand, String cost) {
+        RepairFactDTO fact = new RepairFactDTO();
+        fact.setRepairId(repairId);
+        fact.setRepairType("Frenos");
+        fact.setBrand(brand);
+        fact.setVehicleType(VehicleEntity.VehicleType.SUV);
+        fact.setEngineType(VehicleEntity.EngineType.GASOLINE);
+        fact.setStatus(RepairEntity.Status.COMPLETED);
+        fact.setEntryDate(LocalDate.of(2024, 5, 20));
+        fact.setRepairCost(new BigDecimal(cost));
+        return fact;
+    }
+}
@@ -0,0 +1,170 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import com.autofix.repairmanagementsystem.dto.RepairQuoteDTO;
+import com.autofix.repairmanagementsystem.dto.RepairQuoteRequestDTO;
+import com.autofix.repairmanagementsystem.entities.BonusEntity;
+import com.autofix.repairmanagementsystem.entities.RepairTypeEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.events.RepairChangedEvent;
+import com.autofix.repairmanagementsystem.repositories.BonusRepository;
+import com.autofix.repairmanagementsystem.repositories.ChargeRepository;
+import com.autofix.repairmanagementsystem.repositories.DiscountRepository;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import com.autofix.repairmanagementsystem.repositories.RepairTypeRepository;
+import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RepairQuoteServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-04-10T12:00:00Z"), ZoneOffset.UTC);
+    // Lunes de descuento, dentro del horario de 09:00 a 12:00
+    private static final LocalDate MONDAY = LocalDate.of(2024, 4, 8);
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+    @Mock
+    private RepairRepository repairRepository;
+    @Mock
+    private RepairTypeRepository repairTypeRepository;
+    @Mock
+    private BonusRepository bonusRepository;
+    @Mock
+    private DiscountRepository discountRepository;
+    @Mock
+    private ChargeRepository chargeRepository;
+    @Mock
+    private BonusService bonusService;
+    @Mock
+    private RepairRollupService repairRollupService;
+    @Mock
+    private VehicleHistoryService vehicleHistoryService;
+    @Mock
+    private BaySchedulerService baySchedulerService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private RepairQuoteService repairQuoteService;
+    private VehicleEntity vehicle;
+
+    @BeforeEach
+    void setUp() {
+        DiscountService discountService = new DiscountService(discountRepository, repairRepository, CLOCK);
+        ChargeService chargeService = new ChargeService(chargeRepository, vehicleRepository, CLOCK);
+        RepairService repairService = new RepairService(repairRepository, vehicleRepository, repairTypeRepository,
+                discountService, chargeService, bonusService, repairRollupService, vehicleHistoryService,
+                baySchedulerService, eventPublisher, CLOCK);
+        repairQuoteService = new RepairQuoteService(vehicleRepository, repairRepository, repairTypeRepository,
+                bonusRepository, repairService, discountService, chargeService);
+
+        vehicle = new VehicleEntity();
+        vehicle.setVehicleId(1L);
+        vehicle.setType(VehicleEntity.VehicleType.SEDAN);
+        vehicle.setEngineType(VehicleEntity.EngineType.GASOLINE);
+        vehicle.setMileage(15000);
+
+        when(repairTypeRepository.findAll()).thenReturn(List.of(
+                new RepairTypeEntity(1L, "Frenos", new BigDecimal("100000"), new BigDecimal("120000"),
+                        new BigDecimal("130000"), new BigDecimal("140000"))));
+        when(bonusRepository.findAssigned()).thenReturn(List.of(new BonusEntity(1L, vehicle, new BigDecimal("5000"), "Toyota", "Bono")));
+        when(repairRepository.findFactsEnteredFrom(LocalDate.of(2023, 4, 10))).thenReturn(List.of(
+                fact(10L, LocalDate.of(2023, 6, 1)), fact(11L, LocalDate.of(2023, 12, 1)), fact(12L, LocalDate.of(2024, 3, 1))));
+        repairQuoteService.rebuild();
+        clearInvocations(repairRepository, repairTypeRepository, bonusRepository);
+    }
+
+    @Test
+    void quote_RegisteredVehicle_ReadsOnlyTheVehicle() {
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+        RepairQuoteRequestDTO request = new RepairQuoteRequestDTO(1L, null, null, null, null, null, 1L,
+                MONDAY, LocalTime.of(10, 0), null, null);
+
+        RepairQuoteDTO quote = repairQuoteService.quote(request);
+
+        // 100.000 - 10% día - 10% por tres reparaciones más la cotizada - 5.000 bono + 7% kilometraje, más IVA
+        assertThat(quote.getDayOfWeekDiscount()).isEqualByComparingTo("10000");
+        assertThat(quote.getRepairCountDiscount()).isEqualByComparingTo("10000");
+        assertThat(quote.getBonusDiscount()).isEqualByComparingTo("5000");
+        assertThat(quote.getMileageCharge()).isEqualByComparingTo("7000");
+        assertThat(quote.getSubtotal()).isEqualByComparingTo("82000");
+        assertThat(quote.getTotal()).isEqualByComparingTo("97580");
+        verify(vehicleRepository).findById(1L);
+        verifyNoMoreInteractions(vehicleRepository);
+        verifyNoInteractions(repairRepository, repairTypeRepository, bonusRepository, bonusService, eventPublisher);
+    }
+
+    @Test
+    void quote_InlineVehicle_DoesNotReadAnything() {
+        RepairQuoteRequestDTO request = new RepairQuoteRequestDTO(null, "Kia", VehicleEntity.VehicleType.SEDAN,
+                VehicleEntity.EngineType.DIESEL, 2020, 3000, 1L, MONDAY.plusDays(1), LocalTime.of(10, 0),
+                MONDAY.plusDays(2), MONDAY.plusDays(4));
+
+        RepairQuoteDTO quote = repairQuoteService.quote(request);
+
+        assertThat(quote.getBaseCost()).isEqualByComparingTo("120000");
+        assertThat(quote.getDayOfWeekDiscount()).isEqualByComparingTo("0");
+        // La reparación cotizada es la primera del vehículo en el año: 7% para diésel
+        assertThat(quote.getRepairCountDiscount()).isEqualByComparingTo("8400");
+        assertThat(quote.getPickupDelayCharge()).isEqualByComparingTo("12000");
+        assertThat(quote.getTotal()).isEqualByComparingTo("147084");
+        verifyNoInteractions(vehicleRepository, repairRepository);
+    }
+
+    @Test
+    void quote_CountsRepairsRegisteredAfterTheRebuild() {
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+        repairQuoteService.onRepairChanged(new RepairChangedEvent(null, fact(13L, LocalDate.of(2024, 4, 1))));
+        repairQuoteService.onRepairChanged(new RepairChangedEvent(null, fact(14L, LocalDate.of(2024, 4, 2))));
+        repairQuoteService.onRepairChanged(new RepairChangedEvent(null, fact(15L, LocalDate.of(2024, 4, 3))));
+
+        RepairQuoteDTO quote = repairQuoteService.quote(new RepairQuoteRequestDTO(1L, null, null, null, null, null,
+                1L, MONDAY.plusDays(1), LocalTime.of(10, 0), null, null));
+
+        // Seis reparaciones en el último año más la cotizada: tramo de 15% para bencina
+        assertThat(quote.getRepairCountDiscount()).isEqualByComparingTo("15000");
+    }
+
+    @Test
+    void quote_CountsTheYearBeforeTheEntryDate() {
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+
+        RepairQuoteDTO quote = repairQuoteService.quote(new RepairQuoteRequestDTO(1L, null, null, null, null, null,
+                1L, LocalDate.of(2024, 12, 5), LocalTime.of(10, 0), null, null));
+
+        // Desde el 5 de diciembre de 2023 solo queda la reparación de marzo, más la cotizada: tramo de 5%
+        assertThat(quote.getRepairCountDiscount()).isEqualByComparingTo("5000");
+    }
+
+    @Test
+    void quote_Rejects_UnknownRepairType() {
+        RepairQuoteRequestDTO request = new RepairQuoteRequestDTO(null, null, VehicleEntity.VehicleType.SUV,
+                VehicleEntity.EngineType.GASOLINE, 2020, 3000, 99L, MONDAY, LocalTime.of(10, 0), null, null);
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> repairQuoteService.quote(request));
+    }
+
+    private RepairFactDTO fact(Long repairId, LocalDate entryDate) {
+        return new RepairFactDTO(repairId, 1L, 1L, "Frenos", "Toyota", VehicleEntity.VehicleType.SEDAN,
+                VehicleEntity.EngineType.GASOLINE, null, entryDate, LocalTime.of(9, 0), entryDate, null,
+                new BigDecimal("100000"), entryDate);
+    }
+}
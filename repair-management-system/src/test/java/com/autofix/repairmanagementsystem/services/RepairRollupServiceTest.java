@@ -0,0 +1,253 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.RepairTimeSeriesPointDTO;
+import com.autofix.repairmanagementsystem.entities.JobCheckpointEntity;
+import com.autofix.repairmanagementsystem.entities.RepairDailyRollupEntity;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.entities.RepairTypeEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.repositories.JobCheckpointRepository;
+import com.autofix.repairmanagementsystem.repositories.RepairDailyRollupRepository;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import com.autofix.repairmanagementsystem.repositories.RowSeedRepository;
+import com.autofix.repairmanagementsystem.utils.TurnaroundHistogram;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RepairRollupServiceTest {
+
+    @Mock
+    private RepairDailyRollupRepository rollupRepository;
+    @Mock
+    private RepairRepository repairRepository;
+    @Mock
+    private JobCheckpointRepository jobCheckpointRepository;
+    @Mock
+    private RowSeedRepository rowSeedRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private RepairRollupService repairRollupService;
+
+    private RepairTypeEntity repairType;
+    private RepairEntity repair;
+
+    @BeforeEach
+    void setUp() {
+        VehicleEntity vehicle = new VehicleEntity();
+        vehicle.setVehicleId(1L);
+        vehicle.setBrand("Toyota");
+        vehicle.setEngineType(VehicleEntity.EngineType.GASOLINE);
+
+        repairType = new RepairTypeEntity();
+        repairType.setRepairTypeId(1L);
+        repairType.setDescription("Cambio de aceite");
+
+        repair = new RepairEntity();
+        repair.setRepairId(1L);
+        repair.setVehicle(vehicle);
+        repair.setRepairType(repairType);
+        repair.setEntryDate(LocalDate.of(2024, 3, 4));
+        repair.setEntryTime(LocalTime.of(9, 0));
+        repair.setExitDate(LocalDate.of(2024, 3, 5));
+        repair.setExitTime(LocalTime.of(15, 0));
+        repair.setRepairCost(new BigDecimal("120000"));
+    }
+
+    @Test
+    void turnaroundHours_UsesEntryAndExitTimes() {
+        assertThat(RepairRollupService.turnaroundHours(repair)).isEqualTo(30);
+    }
+
+    @Test
+    void turnaroundHours_ReturnsMinusOne_WhenRepairHasNoExit() {
+        repair.setExitTime(null);
+        assertThat(RepairRollupService.turnaroundHours(repair)).isEqualTo(-1);
+    }
+
+    private void guardExists() {
+        when(jobCheckpointRepository.findForShare(RepairRollupService.REBUILD_GUARD)).thenReturn(
+                Optional.of(new JobCheckpointEntity(RepairRollupService.REBUILD_GUARD, null, 0L, true, null, null)));
+    }
+
+    @Test
+    void addRepair_CreatesRollupRow_WhenDayIsEmpty() {
+        guardExists();
+        RepairDailyRollupEntity created = new RepairDailyRollupEntity(7L, repair.getEntryDate(), repairType, "Toyota",
+                VehicleEntity.EngineType.GASOLINE, 0L, BigDecimal.ZERO, 0L, 0L, null);
+        when(rollupRepository.findForUpdate(repair.getEntryDate(), 1L, "Toyota", VehicleEntity.EngineType.GASOLINE))
+                .thenReturn(Optional.empty(), Optional.of(created));
+
+        repairRollupService.addRepair(repair);
+
+        verify(rowSeedRepository).seedRollup(repair.getEntryDate(), 1L, "Toyota", VehicleEntity.EngineType.GASOLINE);
+        // La fila se crea en la misma transacción, sin pedir otra conexión
+        verifyNoInteractions(transactionManager);
+        ArgumentCaptor<RepairDailyRollupEntity> captor = ArgumentCaptor.forClass(RepairDailyRollupEntity.class);
+        verify(rollupRepository).save(captor.capture());
+        RepairDailyRollupEntity saved = captor.getValue();
+        assertThat(saved.getRollupId()).isEqualTo(7L);
+        assertThat(saved.getRepairCount()).isEqualTo(1L);
+        assertThat(saved.getTotalRepairCost()).isEqualByComparingTo("120000");
+        assertThat(saved.getCompletedCount()).isEqualTo(1L);
+        assertThat(saved.getTotalTurnaroundHours()).isEqualTo(30L);
+        assertThat(TurnaroundHistogram.fromBytes(saved.getTurnaroundHistogram()).valueAtPercentile(50)).isEqualTo(30L);
+    }
+
+    @Test
+    void addRepair_UsesTheOtherRow_WhenAConcurrentRegistrationCreatedItFirst() {
+        guardExists();
+        RepairDailyRollupEntity concurrent = new RepairDailyRollupEntity(8L, repair.getEntryDate(), repairType, "Toyota",
+                VehicleEntity.EngineType.GASOLINE, 1L, new BigDecimal("50000"), 0L, 0L, null);
+        when(rollupRepository.findForUpdate(repair.getEntryDate(), 1L, "Toyota", VehicleEntity.EngineType.GASOLINE))
+                .thenReturn(Optional.empty(), Optional.of(concurrent));
+
+        repairRollupService.addRepair(repair);
+
+        verify(rollupRepository).save(concurrent);
+        assertThat(concurrent.getRepairCount()).isEqualTo(2L);
+        assertThat(concurrent.getTotalRepairCost()).isEqualByComparingTo("170000");
+    }
+
+    @Test
+    void addRepair_CreatesTheRebuildGuard_WhenItIsMissing() {
+        when(jobCheckpointRepository.findForShare(RepairRollupService.REBUILD_GUARD)).thenReturn(Optional.empty(),
+                Optional.of(new JobCheckpointEntity(RepairRollupService.REBUILD_GUARD, null, 0L, true, null, null)));
+        RepairDailyRollupEntity existing = new RepairDailyRollupEntity(5L, repair.getEntryDate(), repairType, "Toyota",
+                VehicleEntity.EngineType.GASOLINE, 1L, new BigDecimal("120000"), 1L, 30L, null);
+        when(rollupRepository.findForUpdate(repair.getEntryDate(), 1L, "Toyota", VehicleEntity.EngineType.GASOLINE))
+                .thenReturn(Optional.of(existing));
+
+        repairRollupService.addRepair(repair);
+
+        verify(rowSeedRepository).seedJobCheckpoint(RepairRollupService.REBUILD_GUARD);
+        verifyNoInteractions(transactionManager);
+        assertThat(existing.getRepairCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void rebuildRollups_LocksTheGuardBeforeDeletingEachRange() {
+        LocalDate first = repair.getEntryDate();
+        LocalDate last = first.plusDays(RepairRollupService.REBUILD_RANGE_DAYS + 2);
+        when(jobCheckpointRepository.findForUpdate(RepairRollupService.REBUILD_GUARD)).thenReturn(
+                Optional.of(new JobCheckpointEntity(RepairRollupService.REBUILD_GUARD, null, 0L, true, null, null)));
+        when(repairRepository.findFirstEntryDate()).thenReturn(first);
+        when(repairRepository.findLastEntryDate()).thenReturn(last);
+        LocalDate secondStart = first.plusDays(RepairRollupService.REBUILD_RANGE_DAYS);
+        when(repairRepository.findBatchEnteredBetween(eq(first), eq(secondStart.minusDays(1)), eq(0L), any()))
+                .thenReturn(List.of(repair));
+        when(repairRepository.findBatchEnteredBetween(eq(secondStart), eq(last), eq(0L), any())).thenReturn(List.of());
+        when(entityManager.getReference(RepairTypeEntity.class, 1L)).thenReturn(repairType);
+
+        assertThat(repairRollupService.rebuildRollups()).isEqualTo(1);
+
+        // Cada tramo confirma por separado y vuelve a tomar la fila guardia antes de borrar
+        InOrder order = inOrder(jobCheckpointRepository, rollupRepository, transactionManager);
+        order.verify(jobCheckpointRepository).findForUpdate(RepairRollupService.REBUILD_GUARD);
+        order.verify(rollupRepository).deleteForRange(first, secondStart.minusDays(1));
+        order.verify(transactionManager).commit(any());
+        order.verify(jobCheckpointRepository).findForUpdate(RepairRollupService.REBUILD_GUARD);
+        order.verify(rollupRepository).deleteForRange(secondStart, last);
+        order.verify(transactionManager).commit(any());
+        verify(jobCheckpointRepository, never()).findForShare(any());
+        verify(rollupRepository, never()).deleteAllInBatch();
+    }
+
+    @Test
+    void rebuildRollups_ClearsRowsOutsideTheRepairDates() {
+        LocalDate stale = repair.getEntryDate().minusDays(1);
+        when(jobCheckpointRepository.findForUpdate(RepairRollupService.REBUILD_GUARD)).thenReturn(
+                Optional.of(new JobCheckpointEntity(RepairRollupService.REBUILD_GUARD, null, 0L, true, null, null)));
+        when(repairRepository.findFirstEntryDate()).thenReturn(repair.getEntryDate());
+        when(repairRepository.findLastEntryDate()).thenReturn(repair.getEntryDate());
+        when(rollupRepository.findFirstRollupDate()).thenReturn(stale);
+        when(rollupRepository.findLastRollupDate()).thenReturn(repair.getEntryDate());
+        when(repairRepository.findBatchEnteredBetween(eq(stale), eq(repair.getEntryDate()), eq(0L), any()))
+                .thenReturn(List.of(repair));
+        when(entityManager.getReference(RepairTypeEntity.class, 1L)).thenReturn(repairType);
+
+        assertThat(repairRollupService.rebuildRollups()).isEqualTo(1);
+
+        verify(rollupRepository).deleteForRange(stale, repair.getEntryDate());
+    }
+
+    @Test
+    void rebuildRollups_DoesNothing_WhenThereAreNoRepairsNorRollups() {
+        assertThat(repairRollupService.rebuildRollups()).isZero();
+
+        verifyNoInteractions(transactionManager, jobCheckpointRepository);
+    }
+
+    @Test
+    void removeRepair_DeletesRollupRow_WhenLastRepairIsRemoved() {
+        guardExists();
+        RepairDailyRollupEntity existing = new RepairDailyRollupEntity(5L, repair.getEntryDate(), repairType, "Toyota",
+                VehicleEntity.EngineType.GASOLINE, 1L, new BigDecimal("120000"), 1L, 30L, null);
+        when(rollupRepository.findForUpdate(repair.getEntryDate(), 1L, "Toyota", VehicleEntity.EngineType.GASOLINE)).thenReturn(Optional.of(existing));
+
+        repairRollupService.removeRepair(repair);
+
+        verify(rollupRepository).delete(existing);
+        verify(rollupRepository, never()).save(any());
+    }
+
+    @Test
+    void getTimeSeries_AggregatesDailyRowsIntoMonths() {
+        LocalDate start = LocalDate.of(2024, 3, 1);
+        LocalDate end = LocalDate.of(2024, 3, 31);
+        when(rollupRepository.findForRange(start, end, null, null)).thenReturn(Arrays.asList(
+                new RepairDailyRollupEntity(1L, LocalDate.of(2024, 3, 4), repairType, "Toyota", VehicleEntity.EngineType.GASOLINE,
+                        2L, new BigDecimal("240000"), 2L, 40L, null),
+                new RepairDailyRollupEntity(2L, LocalDate.of(2024, 3, 20), repairType, "Toyota", VehicleEntity.EngineType.HYBRID,
+                        1L, new BigDecimal("120000"), 1L, 20L, null)
+        ));
+
+        List<RepairTimeSeriesPointDTO> series = repairRollupService.getTimeSeries(start, end,
+                RepairRollupService.Granularity.MONTH, null, null);
+
+        assertThat(series).hasSize(1);
+        RepairTimeSeriesPointDTO point = series.get(0);
+        assertThat(point.getPeriodStart()).isEqualTo(LocalDate.of(2024, 3, 1));
+        assertThat(point.getRepairCount()).isEqualTo(3L);
+        assertThat(point.getTotalRevenue()).isEqualByComparingTo("360000");
+        assertThat(point.getAverageTurnaroundHours()).isEqualTo(20.0);
+    }
+
+    @Test
+    void getTimeSeries_RejectsInvertedRange() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> repairRollupService.getTimeSeries(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1),
+                        RepairRollupService.Granularity.DAY, null, null));
+    }
+
+    @Test
+    void granularity_WeekStartsOnMonday() {
+        assertThat(RepairRollupService.Granularity.WEEK.periodStart(LocalDate.of(2024, 3, 7)))
+                .isEqualTo(LocalDate.of(2024, 3, 4));
+    }
+}
@@ -1,21 +1,28 @@
 package com.autofix.repairmanagementsystem.services;
 
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
 import com.autofix.repairmanagementsystem.entities.RepairEntity;
 import com.autofix.repairmanagementsystem.entities.RepairTypeEntity;
 import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.events.RepairChangedEvent;
 import com.autofix.repairmanagementsystem.repositories.RepairRepository;
 import com.autofix.repairmanagementsystem.repositories.RepairTypeRepository;
 import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +35,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 @ExtendWith(MockitoExtension.class)
 public class RepairServiceTest {
 
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-04-10T12:00:00Z"), ZoneOffset.UTC);
+
     @Mock
     private RepairRepository repairRepository;
     @Mock
@@ -40,14 +49,25 @@ public class RepairServiceTest {
     private ChargeService chargeService;
     @Mock
     private BonusService bonusService;
+    @Mock
+    private RepairRollupService repairRollupService;
+    @Mock
+    private VehicleHistoryService vehicleHistoryService;
+    @Mock
+    private BaySchedulerService baySchedulerService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
-    @InjectMocks
     private RepairService repairService;
 
     private RepairEntity repair;
 
     @BeforeEach
     void setUp() {
+        repairService = new RepairService(repairRepository, vehicleRepository, repairTypeRepository, discountService,
+                chargeService, bonusService, repairRollupService, vehicleHistoryService, baySchedulerService,
+                eventPublisher, CLOCK);
+
         VehicleEntity vehicle = new VehicleEntity();
         vehicle.setVehicleId(1L);
 
@@ -58,12 +78,12 @@ public class RepairServiceTest {
         repair.setRepairId(1L);
         repair.setVehicle(vehicle);
         repair.setRepairType(repairType);
-        repair.setEntryDate(LocalDate.now());
+        repair.setEntryDate(LocalDate.now(CLOCK));
         repair.setEntryTime(LocalTime.of(10, 0));
-        repair.setExitDate(LocalDate.now());
+        repair.setExitDate(LocalDate.now(CLOCK));
         repair.setExitTime(LocalTime.of(12, 0));
         repair.setRepairCost(new BigDecimal("100.00"));
-        repair.setCustomerPickupDate(LocalDate.now().plusDays(1));
+        repair.setCustomerPickupDate(LocalDate.now(CLOCK).plusDays(1));
         repair.setCustomerPickupTime(LocalTime.of(12, 0));
     }
 
@@ -75,6 +95,71 @@ public class RepairServiceTest {
         RepairEntity savedRepair = repairService.registerRepair(repair);
         assertThat(savedRepair).isNotNull();
         verify(repairRepository).save(repair);
+        InOrder order = inOrder(repairRollupService, baySchedulerService, repairRepository);
+        order.verify(repairRollupService).lockForWrites();
+        order.verify(baySchedulerService).reserveBay(repair, null);
+        order.verify(repairRepository).save(repair);
+        order.verify(baySchedulerService).assignBay(repair);
+        verify(repairRollupService).addRepair(repair);
+        verify(vehicleHistoryService).addRepair(repair);
+        verify(vehicleHistoryService, never()).removeRepair(any(), any(), anyBoolean());
+    }
+
+    @Test
+    void registerRepair_Throws_WhenNoBayIsFree() {
+        when(vehicleRepository.findById(anyLong())).thenReturn(Optional.of(repair.getVehicle()));
+        when(repairTypeRepository.findById(anyLong())).thenReturn(Optional.of(repair.getRepairType()));
+        doThrow(new IllegalArgumentException("No hay bahías libres")).when(baySchedulerService).reserveBay(repair, null);
+
+        assertThrows(IllegalArgumentException.class, () -> repairService.registerRepair(repair));
+        verify(repairRepository, never()).save(any());
+        verify(repairRollupService, never()).addRepair(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void registerRepair_Update_KeepsPreviousBayAsPreference() throws Exception {
+        RepairEntity previous = new RepairEntity();
+        previous.setRepairId(1L);
+        previous.setVehicle(repair.getVehicle());
+        previous.setRepairType(repair.getRepairType());
+        previous.setRepairCost(new BigDecimal("80.00"));
+        previous.setBay(2);
+        when(vehicleRepository.findById(anyLong())).thenReturn(Optional.of(repair.getVehicle()));
+        when(repairTypeRepository.findById(anyLong())).thenReturn(Optional.of(repair.getRepairType()));
+        when(repairRepository.findById(1L)).thenReturn(Optional.of(previous));
+        when(repairRepository.save(any(RepairEntity.class))).thenReturn(repair);
+
+        repairService.registerRepair(repair);
+
+        verify(baySchedulerService).reserveBay(repair, 2);
+        verify(baySchedulerService).assignBay(repair);
+    }
+
+    @Test
+    void registerRepair_Update_RemovesPreviousVersionFromRollup() throws Exception {
+        RepairEntity previous = new RepairEntity();
+        previous.setRepairId(1L);
+        previous.setVehicle(repair.getVehicle());
+        previous.setRepairType(repair.getRepairType());
+        previous.setRepairCost(new BigDecimal("80.00"));
+        when(vehicleRepository.findById(anyLong())).thenReturn(Optional.of(repair.getVehicle()));
+        when(repairTypeRepository.findById(anyLong())).thenReturn(Optional.of(repair.getRepairType()));
+        when(repairRepository.findById(1L)).thenReturn(Optional.of(previous));
+        when(repairRepository.save(any(RepairEntity.class))).thenReturn(repair);
+        repairService.registerRepair(repair);
+        verify(repairRollupService).removeRepair(argThat((RepairFactDTO fact) -> fact.getRepairCost().compareTo(new BigDecimal("80.00")) == 0));
+        verify(repairRollupService).addRepair(repair);
+        verify(vehicleHistoryService).removeRepair(eq(1L), argThat(cost -> cost.compareTo(new BigDecimal("80.00")) == 0), eq(true));
+        verify(vehicleHistoryService).addRepair(repair);
+        verify(baySchedulerService, never()).reserveBay(any(), any());
+        verify(baySchedulerService, never()).assignBay(any());
+        verify(repairRepository).clearDelayChargeSnapshot(1L);
+
+        ArgumentCaptor<RepairChangedEvent> captor = ArgumentCaptor.forClass(RepairChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().getPrevious().getRepairCost()).isEqualByComparingTo("80.00");
+        assertThat(captor.getValue().getCurrent().getRepairCost()).isEqualByComparingTo("100.00");
     }
 
     @Test
@@ -98,13 +183,22 @@ public class RepairServiceTest {
         when(repairRepository.findById(1L)).thenReturn(Optional.of(repair));
         doNothing().when(repairRepository).deleteById(1L);
         repairService.deleteRepair(1L);
-        verify(repairRepository).deleteById(1L);
+        InOrder order = inOrder(repairRollupService, repairRepository);
+        order.verify(repairRollupService).lockForWrites();
+        order.verify(repairRepository).deleteById(1L);
+        order.verify(repairRollupService).removeRepair(argThat((RepairFactDTO fact) -> fact.getRepairId() == 1L));
+        verify(vehicleHistoryService).removeRepair(1L, repair.getRepairCost(), false);
+
+        ArgumentCaptor<RepairChangedEvent> captor = ArgumentCaptor.forClass(RepairChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().getPrevious().getRepairId()).isEqualTo(1L);
+        assertThat(captor.getValue().getCurrent()).isNull();
     }
 
     @Test
     void calculateTotalRepairCost_ComputesCorrectAmount() throws Exception {
         when(repairRepository.findById(1L)).thenReturn(Optional.of(repair));
-        when(discountService.determineDiscountPercentage(anyLong(), any())).thenReturn(new BigDecimal("5"));
+        when(discountService.determineDiscountPercentage(any(VehicleEntity.class))).thenReturn(new BigDecimal("5"));
         when(chargeService.determineMileageChargePercentage(anyLong())).thenReturn(new BigDecimal("3"));
         when(bonusService.calculateBonusForVehicle(anyLong())).thenReturn(new BigDecimal("20"));
         BigDecimal totalCost = repairService.calculateTotalRepairCost(1L);
@@ -133,4 +227,32 @@ public class RepairServiceTest {
         BigDecimal charge = repairService.calculatePickupDelayCharge(1L);
         assertNotNull(charge);
     }
-}
\ No newline at end of file
+
+    @Test
+    void calculatePickupDelayCharge_AddsDaysSinceSnapshot_WhenNotPickedUp() {
+        repair.setExitDate(LocalDate.now(CLOCK).minusDays(5));
+        repair.setCustomerPickupDate(null);
+        repair.setAccruedDelayCharge(new BigDecimal("15.00"));
+        repair.setDelayChargeAsOf(LocalDate.now(CLOCK).minusDays(2));
+
+        // 15 acumulados a tres días de retraso, más dos días al 5% de 100
+        assertThat(repairService.calculatePickupDelayCharge(repair)).isEqualByComparingTo("25.00");
+    }
+
+    @Test
+    void calculatePickupDelayChargeAsOf_ChargesUntilThatDate_WhenPickedUpLater() {
+        repair.setExitDate(LocalDate.of(2024, 3, 1));
+        repair.setCustomerPickupDate(LocalDate.of(2024, 3, 10));
+
+        assertThat(repairService.calculatePickupDelayChargeAsOf(repair, LocalDate.of(2024, 3, 4))).isEqualByComparingTo("15.00");
+        assertThat(repairService.calculatePickupDelayChargeAsOf(repair, LocalDate.of(2024, 4, 1))).isEqualByComparingTo("45.00");
+    }
+
+    @Test
+    void calculatePickupDelayCharge_ChargesUntilToday_WhenNotPickedUpAndNoSnapshot() {
+        repair.setExitDate(LocalDate.now(CLOCK).minusDays(4));
+        repair.setCustomerPickupDate(null);
+
+        assertThat(repairService.calculatePickupDelayCharge(repair)).isEqualByComparingTo("20.00");
+    }
+}
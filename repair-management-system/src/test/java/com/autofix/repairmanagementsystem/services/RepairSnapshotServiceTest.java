@@ -0,0 +1,91 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RepairSnapshotServiceTest {
+
+    @Mock
+    private RepairRepository repairRepository;
+
+    @TempDir
+    Path tempDirectory;
+
+    private RepairSnapshotService repairSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        repairSnapshotService = new RepairSnapshotService(repairRepository, tempDirectory.resolve("snapshot").toString());
+    }
+
+    @Test
+    void refresh_AppendsOnlyRepairsAfterLastExportedId() {
+        when(repairRepository.findFactBatchAfterId(eq(0L), any())).thenReturn(Arrays.asList(fact(1L, "Toyota"), fact(2L, "Kia")));
+        when(repairRepository.findFactBatchAfterId(eq(2L), any())).thenReturn(Collections.singletonList(fact(3L, "Kia")));
+
+        assertThat(repairSnapshotService.refresh()).isEqualTo(2);
+        assertThat(repairSnapshotService.refresh()).isEqualTo(1);
+        assertThat(repairSnapshotService.getRowCount()).isEqualTo(3);
+        assertThat(repairSnapshotService.getAverageRepairTimes()).extracting(dto -> dto.getBrand())
+                .containsExactlyInAnyOrder("Toyota", "Kia");
+    }
+
+    @Test
+    void openSnapshot_ReopensFilesWrittenBeforeRestart() {
+        when(repairRepository.findFactBatchAfterId(eq(0L), any())).thenReturn(Arrays.asList(fact(1L, "Toyota"), fact(2L, "Kia")));
+        repairSnapshotService.refresh();
+
+        RepairSnapshotService restarted = new RepairSnapshotService(repairRepository, tempDirectory.resolve("snapshot").toString());
+        when(repairRepository.findFactBatchAfterId(eq(2L), any())).thenReturn(Collections.emptyList());
+        restarted.openSnapshot();
+
+        assertThat(restarted.getRowCount()).isEqualTo(2);
+        assertThat(restarted.getRepairTypeSummary().get(0).getTotalCost()).isEqualByComparingTo("200000");
+    }
+
+    @Test
+    void rebuild_ReplacesSnapshotWithCurrentRepairs() {
+        when(repairRepository.findFactBatchAfterId(eq(0L), any()))
+                .thenReturn(Arrays.asList(fact(1L, "Toyota"), fact(2L, "Kia")))
+                .thenReturn(Collections.singletonList(fact(2L, "Kia")));
+        repairSnapshotService.refresh();
+
+        assertThat(repairSnapshotService.rebuild()).isEqualTo(1);
+        assertThat(repairSnapshotService.getAverageRepairTimes()).extracting(dto -> dto.getBrand()).containsExactly("Kia");
+    }
+
+    private RepairFactDTO fact(Long repairId, String brand) {
+        RepairFactDTO fact = new RepairFactDTO();
+        fact.setRepairId(repairId);
+        fact.setVehicleId(repairId);
+        fact.setRepairType("Frenos");
+        fact.setBrand(brand);
+        fact.setVehicleType(VehicleEntity.VehicleType.SEDAN);
+        fact.setEngineType(VehicleEntity.EngineType.DIESEL);
+        fact.setStatus(RepairEntity.Status.COMPLETED);
+        fact.setEntryDate(LocalDate.of(2024, 6, 1));
+        fact.setExitDate(LocalDate.of(2024, 6, 4));
+        fact.setRepairCost(new BigDecimal("100000"));
+        return fact;
+    }
+}
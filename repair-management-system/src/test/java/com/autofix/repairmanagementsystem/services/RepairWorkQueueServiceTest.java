@@ -0,0 +1,120 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import com.autofix.repairmanagementsystem.dto.WorkQueuePageDTO;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.events.RepairChangedEvent;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RepairWorkQueueServiceTest {
+
+    @Mock
+    private RepairRepository repairRepository;
+
+    @InjectMocks
+    private RepairWorkQueueService repairWorkQueueService;
+
+    @Test
+    void rebuild_LoadsEveryQueueStatus() {
+        when(repairRepository.findOpenFactsByStatus(any())).thenReturn(Collections.emptyList());
+        when(repairRepository.findOpenFactsByStatus(RepairEntity.Status.IN_PROGRESS))
+                .thenReturn(List.of(fact(1L, RepairEntity.Status.IN_PROGRESS)));
+        when(repairRepository.findOpenFactsWithoutStatus()).thenReturn(List.of(fact(2L, null)));
+
+        assertThat(repairWorkQueueService.rebuild()).isEqualTo(2);
+
+        WorkQueuePageDTO page = repairWorkQueueService.getPage(null, 0, 20);
+        assertThat(page.getTotalMatches()).isEqualTo(2);
+        assertThat(page.getStatusCounts()).containsEntry(RepairEntity.Status.PENDING, 1)
+                .containsEntry(RepairEntity.Status.IN_PROGRESS, 1);
+        assertThat(page.getVersion()).isNotZero().isEqualTo(repairWorkQueueService.getVersion());
+        verify(repairRepository, never()).findOpenFactsByStatus(RepairEntity.Status.DELIVERED);
+    }
+
+    @Test
+    void awaitChange_CompletesWhenRepairIsRegistered() {
+        CompletableFuture<Long> change = repairWorkQueueService.awaitChange(0L);
+        assertThat(change).isNotDone();
+
+        repairWorkQueueService.onRepairChanged(new RepairChangedEvent(null, fact(1L, RepairEntity.Status.PENDING)));
+
+        long version = repairWorkQueueService.getVersion();
+        assertThat(version).isNotZero();
+        assertThat(change).isCompletedWithValue(version);
+        assertThat(repairWorkQueueService.awaitChange(0L)).isCompletedWithValue(version);
+        assertThat(repairWorkQueueService.awaitChange(version)).isNotDone();
+    }
+
+    @Test
+    void getVersion_IsTheSameOnReplicasWithTheSameOpenRepairs() {
+        RepairWorkQueueService otherReplica = new RepairWorkQueueService(repairRepository);
+        RepairFactDTO first = fact(1L, RepairEntity.Status.PENDING);
+        RepairFactDTO second = fact(2L, RepairEntity.Status.IN_PROGRESS);
+
+        repairWorkQueueService.onRepairChanged(new RepairChangedEvent(null, first));
+        repairWorkQueueService.onRepairChanged(new RepairChangedEvent(null, second));
+        otherReplica.onRepairChanged(new RepairChangedEvent(null, second));
+        otherReplica.onRepairChanged(new RepairChangedEvent(null, fact(1L, RepairEntity.Status.IN_PROGRESS)));
+        assertThat(otherReplica.getVersion()).isNotEqualTo(repairWorkQueueService.getVersion());
+
+        otherReplica.onRepairChanged(new RepairChangedEvent(null, first));
+
+        assertThat(otherReplica.getVersion()).isEqualTo(repairWorkQueueService.getVersion());
+        assertThat(otherReplica.awaitChange(repairWorkQueueService.getVersion())).isNotDone();
+    }
+
+    @Test
+    void onRepairChanged_KeepsVersion_WhenRepairIsNotOpen() {
+        RepairFactDTO delivered = fact(1L, RepairEntity.Status.DELIVERED);
+
+        repairWorkQueueService.onRepairChanged(new RepairChangedEvent(null, delivered));
+
+        assertThat(repairWorkQueueService.getVersion()).isZero();
+    }
+
+    @Test
+    void onRepairChanged_RemovesDeletedRepair() {
+        RepairFactDTO repair = fact(1L, RepairEntity.Status.IN_PROGRESS);
+        repairWorkQueueService.onRepairChanged(new RepairChangedEvent(null, repair));
+
+        repairWorkQueueService.onRepairChanged(new RepairChangedEvent(repair, null));
+
+        assertThat(repairWorkQueueService.getPage(null, 0, 20).getRepairs()).isEmpty();
+        assertThat(repairWorkQueueService.getVersion()).isZero();
+    }
+
+    @Test
+    void getPage_RejectsStatusOutsideTheQueue() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> repairWorkQueueService.getPage(RepairEntity.Status.DELIVERED, 0, 20));
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> repairWorkQueueService.getPage(null, 0, RepairWorkQueueService.MAX_PAGE_SIZE + 1));
+    }
+
+    private RepairFactDTO fact(Long repairId, RepairEntity.Status status) {
+        RepairFactDTO fact = new RepairFactDTO();
+        fact.setRepairId(repairId);
+        fact.setVehicleId(repairId);
+        fact.setStatus(status);
+        fact.setEntryDate(LocalDate.of(2024, 3, repairId.intValue()));
+        fact.setEntryTime(LocalTime.of(9, 0));
+        return fact;
+    }
+}
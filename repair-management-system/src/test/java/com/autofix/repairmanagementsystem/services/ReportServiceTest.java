@@ -7,6 +7,8 @@ import com.autofix.repairmanagementsystem.entities.RepairEntity;
 import com.autofix.repairmanagementsystem.entities.VehicleEntity;
 import com.autofix.repairmanagementsystem.repositories.RepairRepository;
 import com.autofix.repairmanagementsystem.dto.RepairCostReportDTO;
+import com.autofix.repairmanagementsystem.utils.CancellationToken;
+import com.autofix.repairmanagementsystem.utils.QueryCancellation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,8 +19,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -77,8 +82,8 @@ public class ReportServiceTest {
     void generateRepairTypeMotorReport_ReturnsMotorSummaryList() {
         // Arrange
         List<RepairTypeMotorSummaryDTO> expected = Arrays.asList(
-                new RepairTypeMotorSummaryDTO("Type1", "V8", 7L, 10L),
-                new RepairTypeMotorSummaryDTO("Type2", "V6", 3L, 5L)
+                new RepairTypeMotorSummaryDTO("Type1", VehicleEntity.EngineType.GASOLINE, 7L, 10L),
+                new RepairTypeMotorSummaryDTO("Type2", VehicleEntity.EngineType.DIESEL, 3L, 5L)
         );
         when(repairRepository.findRepairTypesAndEngineSummary()).thenReturn(expected);
 
@@ -123,6 +128,25 @@ public class ReportServiceTest {
         assertEquals(BigDecimal.ZERO, result.get(0).getTotalCost()); // Assuming you handle the error and set cost to 0
     }
 
+    @Test
+    void generateRepairCostReport_StopsPricing_WhenTheRequestIsCancelled() {
+        // Arrange
+        VehicleEntity vehicle = new VehicleEntity();
+        vehicle.setVehicleId(1L);
+        when(vehicleService.findAllVehicles()).thenReturn(Arrays.asList(vehicle, new VehicleEntity()));
+        CancellationToken token = new CancellationToken(60000);
+        token.cancel();
+        QueryCancellation.bind(token);
+
+        // Act & Assert
+        try {
+            assertThrows(CancellationException.class, () -> reportService.generateRepairCostReport());
+        } finally {
+            QueryCancellation.unbind();
+        }
+        verifyNoInteractions(repairService);
+    }
+
     @Test
     void generateRepairTypeSummaryReport_ShouldReturnEmptyListWhenNoData() {
         // Arrange
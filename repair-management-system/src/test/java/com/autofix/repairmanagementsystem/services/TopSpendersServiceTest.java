@@ -0,0 +1,158 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.TopBrandSpendDTO;
+import com.autofix.repairmanagementsystem.dto.TopSpendersReportDTO;
+import com.autofix.repairmanagementsystem.dto.TopVehicleSpendDTO;
+import com.autofix.repairmanagementsystem.dto.VehicleRepairCountDTO;
+import com.autofix.repairmanagementsystem.entities.BonusEntity;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.repositories.BonusRepository;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
+import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TopSpendersServiceTest {
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+    @Mock
+    private RepairRepository repairRepository;
+    @Mock
+    private BonusRepository bonusRepository;
+    @Mock
+    private RepairService repairService;
+    @Mock
+    private DiscountService discountService;
+    @Mock
+    private ChargeService chargeService;
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private TopSpendersService topSpendersService;
+
+    private final LocalDate start = LocalDate.of(2024, 1, 1);
+    private final LocalDate end = LocalDate.of(2024, 12, 31);
+
+    @Test
+    void getTopSpenders_BasePricing_PushesAggregationToRepository() {
+        List<TopVehicleSpendDTO> vehicles = Arrays.asList(new TopVehicleSpendDTO(1L, "Toyota Corolla", new BigDecimal("500"), 2L));
+        List<TopBrandSpendDTO> brands = Arrays.asList(new TopBrandSpendDTO("Toyota", new BigDecimal("500"), 2L));
+        when(repairRepository.findTopVehiclesByBaseCost(start, end, PageRequest.of(0, 5))).thenReturn(vehicles);
+        when(repairRepository.findTopBrandsByBaseCost(start, end, PageRequest.of(0, 5))).thenReturn(brands);
+
+        TopSpendersReportDTO report = topSpendersService.getTopSpenders(start, end, 5, TopSpendersService.Pricing.BASE);
+
+        assertThat(report.getVehicles()).isEqualTo(vehicles);
+        assertThat(report.getBrands()).isEqualTo(brands);
+        verifyNoInteractions(repairService);
+    }
+
+    @Test
+    void getTopSpenders_TotalPricing_KeepsOnlyTopVehiclesAndBrands() {
+        VehicleEntity ford = vehicle(1L, "Ford", "Fiesta");
+        VehicleEntity toyotaA = vehicle(2L, "Toyota", "Corolla");
+        VehicleEntity toyotaB = vehicle(3L, "Toyota", "Camry");
+        when(vehicleRepository.findBatchAfter(eq(""), eq(0L), any())).thenReturn(Arrays.asList(ford, toyotaA, toyotaB));
+
+        RepairEntity fordRepair = repair(10L, ford);
+        RepairEntity toyotaRepairA = repair(11L, toyotaA);
+        RepairEntity toyotaRepairB = repair(12L, toyotaB);
+        when(repairRepository.findByVehicleIdsAndEntryDateBetween(anyList(), eq(start), eq(end)))
+                .thenReturn(Arrays.asList(fordRepair, toyotaRepairA, toyotaRepairB));
+        stubPricingInputs(Collections.emptyList(), Collections.emptyList());
+        when(repairService.calculateTotalRepairCost(eq(fordRepair), any(), any(), any())).thenReturn(new BigDecimal("900"));
+        when(repairService.calculateTotalRepairCost(eq(toyotaRepairA), any(), any(), any())).thenReturn(new BigDecimal("600"));
+        when(repairService.calculateTotalRepairCost(eq(toyotaRepairB), any(), any(), any())).thenReturn(new BigDecimal("100"));
+
+        TopSpendersReportDTO report = topSpendersService.getTopSpenders(start, end, 1, TopSpendersService.Pricing.TOTAL);
+
+        assertThat(report.getVehicles()).extracting(TopVehicleSpendDTO::getVehicleId).containsExactly(1L);
+        assertThat(report.getBrands()).hasSize(1);
+        assertThat(report.getBrands().get(0).getBrand()).isEqualTo("Ford");
+        verify(entityManager).clear();
+    }
+
+    @Test
+    void getTopSpenders_TotalPricing_LoadsPricingInputsOncePerBatch() {
+        VehicleEntity ford = vehicle(1L, "Ford", "Fiesta");
+        VehicleEntity toyota = vehicle(2L, "Toyota", "Corolla");
+        when(vehicleRepository.findBatchAfter(eq(""), eq(0L), any())).thenReturn(Arrays.asList(ford, toyota));
+
+        RepairEntity fordRepair = repair(10L, ford);
+        RepairEntity toyotaRepairA = repair(11L, toyota);
+        RepairEntity toyotaRepairB = repair(12L, toyota);
+        when(repairRepository.findByVehicleIdsAndEntryDateBetween(anyList(), eq(start), eq(end)))
+                .thenReturn(Arrays.asList(fordRepair, toyotaRepairA, toyotaRepairB));
+        BonusEntity fordBonus = new BonusEntity();
+        fordBonus.setVehicle(ford);
+        fordBonus.setAmount(new BigDecimal("70000"));
+        stubPricingInputs(Arrays.asList(new VehicleRepairCountDTO(2L, 4L)), Arrays.asList(fordBonus));
+        when(discountService.discountForRepairCount(VehicleEntity.EngineType.GASOLINE, 4L)).thenReturn(new BigDecimal("10"));
+        when(repairService.calculateTotalRepairCost(any(RepairEntity.class), any(), any(), any())).thenReturn(new BigDecimal("1000"));
+
+        TopSpendersReportDTO report = topSpendersService.getTopSpenders(start, end, 5, TopSpendersService.Pricing.TOTAL);
+
+        assertThat(report.getVehicles()).extracting(TopVehicleSpendDTO::getNumberOfRepairs).containsExactly(2L, 1L);
+        verify(repairService).calculateTotalRepairCost(fordRepair, BigDecimal.ZERO, new BigDecimal("3.0"), new BigDecimal("70000"));
+        verify(repairService).calculateTotalRepairCost(toyotaRepairA, new BigDecimal("10"), new BigDecimal("3.0"), BigDecimal.ZERO);
+        verify(repairService).calculateTotalRepairCost(toyotaRepairB, new BigDecimal("10"), new BigDecimal("3.0"), BigDecimal.ZERO);
+        verify(repairRepository).countRepairsByVehicleIdsSince(Arrays.asList(1L, 2L), start);
+        verify(bonusRepository).findByVehicleIds(Arrays.asList(1L, 2L));
+        verify(repairService, never()).calculateTotalRepairCost(any(RepairEntity.class));
+    }
+
+    // Datos de tarificación del lote: todos los vehículos de prueba son sedanes a gasolina con el mismo kilometraje
+    private void stubPricingInputs(List<VehicleRepairCountDTO> recentRepairs, List<BonusEntity> bonuses) {
+        when(discountService.repairCountWindowStart()).thenReturn(start);
+        when(repairRepository.countRepairsByVehicleIdsSince(anyList(), eq(start))).thenReturn(recentRepairs);
+        when(bonusRepository.findByVehicleIds(anyList())).thenReturn(bonuses);
+        lenient().when(discountService.discountForRepairCount(VehicleEntity.EngineType.GASOLINE, 0L)).thenReturn(BigDecimal.ZERO);
+        when(chargeService.mileageChargePercentage(VehicleEntity.VehicleType.SEDAN, 8000)).thenReturn(new BigDecimal("3.0"));
+    }
+
+    @Test
+    void getTopSpenders_RejectsLimitOutOfRange() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> topSpendersService.getTopSpenders(start, end, 0, TopSpendersService.Pricing.BASE));
+    }
+
+    private VehicleEntity vehicle(Long id, String brand, String model) {
+        VehicleEntity vehicle = new VehicleEntity();
+        vehicle.setVehicleId(id);
+        vehicle.setBrand(brand);
+        vehicle.setModel(model);
+        vehicle.setType(VehicleEntity.VehicleType.SEDAN);
+        vehicle.setEngineType(VehicleEntity.EngineType.GASOLINE);
+        vehicle.setMileage(8000);
+        return vehicle;
+    }
+
+    private RepairEntity repair(Long id, VehicleEntity vehicle) {
+        RepairEntity repair = new RepairEntity();
+        repair.setRepairId(id);
+        repair.setVehicle(vehicle);
+        return repair;
+    }
+}
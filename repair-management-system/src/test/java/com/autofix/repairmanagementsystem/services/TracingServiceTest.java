@@ -0,0 +1,85 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.TraceDTO;
+import com.autofix.repairmanagementsystem.utils.RequestTrace;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TracingServiceTest {
+
+    @Test
+    void shouldSample_WithZeroRate_OnlySamplesForcedRequests() {
+        TracingService tracingService = new TracingService(0, 500, 10, 100);
+
+        assertThat(tracingService.shouldSample(false)).isFalse();
+        assertThat(tracingService.shouldSample(true)).isTrue();
+        assertThat(new TracingService(1, 500, 10, 100).shouldSample(false)).isTrue();
+    }
+
+    @Test
+    void complete_KeepsOnlySlowOrForcedTraces() throws Exception {
+        TracingService tracingService = new TracingService(1, 20, 10, 100);
+
+        assertThat(tracingService.complete(trace(tracingService, "GET /api/v1/repairs/{id}", 0), false)).isFalse();
+        assertThat(tracingService.complete(trace(tracingService, "GET /api/v1/repairs/{id}", 0), true)).isTrue();
+        assertThat(tracingService.complete(trace(tracingService, "GET /api/v1/reports/top-spenders", 25), false)).isTrue();
+
+        assertThat(tracingService.findTraces(0, null, 10)).extracting(TraceDTO::getName)
+                .containsExactly("GET /api/v1/reports/top-spenders", "GET /api/v1/repairs/{id}");
+        assertThat(tracingService.findTraces(20, null, 10)).hasSize(1);
+        assertThat(tracingService.findTraces(0, "repairs", 10)).hasSize(1);
+    }
+
+    @Test
+    void complete_OverwritesTheOldestTraceWhenFull() throws Exception {
+        TracingService tracingService = new TracingService(1, 0, 3, 100);
+        String firstId = null;
+        for (int i = 0; i < 5; i++) {
+            RequestTrace trace = trace(tracingService, "GET /api/v1/vehicles/" + i, 0);
+            tracingService.complete(trace, false);
+            if (i == 0) {
+                firstId = trace.getId();
+            }
+        }
+
+        assertThat(tracingService.findTraces(0, null, 10)).extracting(TraceDTO::getName)
+                .containsExactly("GET /api/v1/vehicles/4", "GET /api/v1/vehicles/3", "GET /api/v1/vehicles/2");
+        assertThat(tracingService.findTraces(0, null, 2)).hasSize(2);
+        assertThat(tracingService.findTrace(firstId)).isEmpty();
+    }
+
+    @Test
+    void findTrace_ReturnsTheSpanTree() throws Exception {
+        TracingService tracingService = new TracingService(1, 0, 3, 100);
+        RequestTrace trace = tracingService.begin("GET /api/v1/repairs/7/total-cost", "/api/v1/repairs/7/total-cost");
+        try (RequestTrace.Span service = RequestTrace.span(RequestTrace.SERVICE, "RepairService.calculateTotalRepairCost")) {
+            RequestTrace.span(RequestTrace.REPOSITORY, "RepairRepository.findById").close();
+        }
+        trace.end("GET /api/v1/repairs/{id}/total-cost", 200);
+        tracingService.complete(trace, false);
+
+        TraceDTO found = tracingService.findTrace(trace.getId()).orElseThrow();
+        assertThat(found.getPath()).isEqualTo("/api/v1/repairs/7/total-cost");
+        assertThat(found.getStatus()).isEqualTo(200);
+        assertThat(found.getSpans()).singleElement().satisfies(service -> {
+            assertThat(service.getName()).isEqualTo("RepairService.calculateTotalRepairCost");
+            assertThat(service.getRows()).isNull();
+            assertThat(service.getChildren()).singleElement()
+                    .satisfies(repository -> assertThat(repository.getKind()).isEqualTo(RequestTrace.REPOSITORY));
+        });
+    }
+
+    @Test
+    void constructor_RejectsInvalidSampleRate() {
+        assertThatThrownBy(() -> new TracingService(1.5, 500, 10, 100)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RequestTrace trace(TracingService tracingService, String name, long sleepMillis) throws Exception {
+        RequestTrace trace = tracingService.begin(name, name.substring(name.indexOf(' ') + 1));
+        Thread.sleep(sleepMillis);
+        trace.end(name, 200);
+        return trace;
+    }
+}
@@ -0,0 +1,73 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.TurnaroundPercentilesDTO;
+import com.autofix.repairmanagementsystem.entities.RepairDailyRollupEntity;
+import com.autofix.repairmanagementsystem.entities.RepairTypeEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.repositories.RepairDailyRollupRepository;
+import com.autofix.repairmanagementsystem.utils.TurnaroundHistogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TurnaroundAnalyticsServiceTest {
+
+    @Mock
+    private RepairDailyRollupRepository rollupRepository;
+
+    @InjectMocks
+    private TurnaroundAnalyticsService turnaroundAnalyticsService;
+
+    @Test
+    void getTurnaroundPercentiles_MergesDailyHistogramsPerBrand() {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 1, 31);
+        RepairTypeEntity repairType = new RepairTypeEntity();
+        repairType.setDescription("Revisión de frenos");
+        when(rollupRepository.findForRange(start, end, null, null)).thenReturn(Arrays.asList(
+                rollup(LocalDate.of(2024, 1, 2), repairType, "Toyota", 2, 4, 6),
+                rollup(LocalDate.of(2024, 1, 9), repairType, "Toyota", 8, 10, 200),
+                rollup(LocalDate.of(2024, 1, 9), repairType, "Ford", 1)
+        ));
+
+        List<TurnaroundPercentilesDTO> result = turnaroundAnalyticsService.getTurnaroundPercentiles(start, end,
+                TurnaroundAnalyticsService.GroupBy.BRAND);
+
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getGroup()).isEqualTo("Ford");
+        TurnaroundPercentilesDTO toyota = result.get(1);
+        assertThat(toyota.getRepairCount()).isEqualTo(6);
+        assertThat(toyota.getP50Hours()).isEqualTo(6);
+        assertThat(toyota.getP99Hours()).isEqualTo(200);
+    }
+
+    @Test
+    void getTurnaroundPercentiles_RejectsInvertedRange() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> turnaroundAnalyticsService.getTurnaroundPercentiles(LocalDate.of(2024, 2, 1),
+                        LocalDate.of(2024, 1, 1), TurnaroundAnalyticsService.GroupBy.REPAIR_TYPE));
+    }
+
+    private RepairDailyRollupEntity rollup(LocalDate day, RepairTypeEntity repairType, String brand, long... hours) {
+        TurnaroundHistogram histogram = new TurnaroundHistogram();
+        long total = 0;
+        for (long value : hours) {
+            histogram.record(value);
+            total += value;
+        }
+        return new RepairDailyRollupEntity(null, day, repairType, brand, VehicleEntity.EngineType.GASOLINE, (long) hours.length,
+                BigDecimal.ZERO, (long) hours.length, total, histogram.toBytes());
+    }
+}
@@ -0,0 +1,96 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.VehicleFilterDTO;
+import com.autofix.repairmanagementsystem.dto.VehicleFilterResultDTO;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.events.VehicleChangedEvent;
+import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
+import com.autofix.repairmanagementsystem.utils.VehicleBitmapIndex;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class VehicleFilterServiceTest {
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private VehicleFilterService vehicleFilterService;
+
+    private VehicleEntity toyota;
+    private VehicleEntity kia;
+
+    @BeforeEach
+    void setUp() {
+        toyota = new VehicleEntity(1L, "ABC123", "Toyota", "Corolla", VehicleEntity.VehicleType.SEDAN, 2020, VehicleEntity.EngineType.GASOLINE, 15000, 5, null, null, null);
+        kia = new VehicleEntity(2L, "XYZ789", "Kia", "Sportage", VehicleEntity.VehicleType.SUV, 2019, VehicleEntity.EngineType.DIESEL, 42000, 5, null, null, null);
+    }
+
+    @Test
+    void rebuild_IndexesAllVehicles() {
+        when(vehicleRepository.findByVehicleIdGreaterThanOrderByVehicleIdAsc(eq(0L), any())).thenReturn(Arrays.asList(toyota, kia));
+
+        assertThat(vehicleFilterService.rebuild()).isEqualTo(2);
+    }
+
+    @Test
+    void rebuild_ReplaysChangesThatArriveWhileReading() {
+        // La lectura devuelve a Toyota aunque se eliminó mientras se reconstruía el índice
+        when(vehicleRepository.findByVehicleIdGreaterThanOrderByVehicleIdAsc(eq(0L), any())).thenAnswer(invocation -> {
+            vehicleFilterService.onVehicleChanged(new VehicleChangedEvent(toyota, true));
+            return Arrays.asList(toyota, kia);
+        });
+
+        assertThat(vehicleFilterService.rebuild()).isEqualTo(1);
+    }
+
+    @Test
+    void filter_FetchesOnlyTheMatchingPageById() {
+        vehicleFilterService.onVehicleChanged(new VehicleChangedEvent(toyota, false));
+        vehicleFilterService.onVehicleChanged(new VehicleChangedEvent(kia, false));
+        when(vehicleRepository.findAllById(List.of(2L))).thenReturn(List.of(kia));
+
+        VehicleFilterResultDTO result = vehicleFilterService.filter(new VehicleFilterDTO(
+                Map.of(VehicleBitmapIndex.Attribute.MILEAGE_BAND, List.of("40001+")), true), 0, 20);
+
+        assertThat(result.getTotalMatches()).isEqualTo(1);
+        assertThat(result.getVehicles()).containsExactly(kia);
+    }
+
+    @Test
+    void filter_SkipsDatabase_WhenNothingMatches() {
+        vehicleFilterService.onVehicleChanged(new VehicleChangedEvent(toyota, false));
+        vehicleFilterService.onVehicleChanged(new VehicleChangedEvent(toyota, true));
+
+        VehicleFilterResultDTO result = vehicleFilterService.filter(new VehicleFilterDTO(null, true), 0, 20);
+
+        assertThat(result.getTotalMatches()).isZero();
+        verify(vehicleRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void filter_RejectsOversizedPage() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> vehicleFilterService.filter(new VehicleFilterDTO(), 0, VehicleFilterService.MAX_PAGE_SIZE + 1));
+    }
+}
@@ -0,0 +1,75 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class VehicleHistoryServiceTest {
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @InjectMocks
+    private VehicleHistoryService vehicleHistoryService;
+
+    private RepairEntity repair;
+
+    @BeforeEach
+    void setUp() {
+        VehicleEntity vehicle = new VehicleEntity();
+        vehicle.setVehicleId(7L);
+
+        repair = new RepairEntity();
+        repair.setVehicle(vehicle);
+        repair.setEntryDate(LocalDate.of(2024, 3, 4));
+        repair.setRepairCost(new BigDecimal("120000"));
+    }
+
+    @Test
+    void addRepair_CountsRepairAsOpenUntilPickup() {
+        vehicleHistoryService.addRepair(repair);
+        verify(vehicleRepository).addRepairToHistory(7L, new BigDecimal("120000"), LocalDate.of(2024, 3, 4), 1);
+
+        repair.setCustomerPickupDate(LocalDate.of(2024, 3, 6));
+        vehicleHistoryService.addRepair(repair);
+        verify(vehicleRepository).addRepairToHistory(7L, new BigDecimal("120000"), LocalDate.of(2024, 3, 4), 0);
+    }
+
+    @Test
+    void removeRepair_UsesCapturedValues() {
+        vehicleHistoryService.removeRepair(7L, new BigDecimal("80000"), true);
+        verify(vehicleRepository).removeRepairFromHistory(7L, new BigDecimal("80000"), 1);
+    }
+
+    @Test
+    void reconcile_WalksVehicleIdRangesInBatches() {
+        when(vehicleRepository.findMaxVehicleId()).thenReturn(2500L);
+        when(vehicleRepository.reconcileHistory(anyLong(), anyLong())).thenReturn(1000, 1000, 500);
+
+        assertThat(vehicleHistoryService.reconcile()).isEqualTo(2500);
+        verify(vehicleRepository).reconcileHistory(0L, 1000L);
+        verify(vehicleRepository).reconcileHistory(1000L, 2000L);
+        verify(vehicleRepository).reconcileHistory(2000L, 3000L);
+    }
+
+    @Test
+    void reconcile_EmptyFleet_DoesNothing() {
+        when(vehicleRepository.findMaxVehicleId()).thenReturn(null);
+        assertThat(vehicleHistoryService.reconcile()).isZero();
+        verify(vehicleRepository, never()).reconcileHistory(anyLong(), anyLong());
+    }
+}
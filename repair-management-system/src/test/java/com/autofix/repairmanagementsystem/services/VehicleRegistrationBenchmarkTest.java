@@ -0,0 +1,83 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.config.ClockConfig;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.events.VehicleChangedEvent;
+import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compara el registro de placas nuevas con la guarda descartando la consulta y con la guarda forzando la consulta.
+// Se ejecuta con: mvn test -Pbenchmark
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({VehicleService.class, PlateRegistryService.class, ClockConfig.class})
+@Tag("benchmark")
+public class VehicleRegistrationBenchmarkTest {
+
+    private static final int REGISTERED_VEHICLES = 20000;
+    private static final int NEW_VEHICLES = 5000;
+
+    private static final Logger logger = LoggerFactory.getLogger(VehicleRegistrationBenchmarkTest.class);
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Autowired
+    private PlateRegistryService plateRegistryService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Test
+    void registerNewPlates_GuardSkipsLookups() throws Exception {
+        for (int i = 0; i < REGISTERED_VEHICLES; i++) {
+            vehicleRepository.save(vehicle("OLD" + i));
+        }
+        vehicleRepository.flush();
+        plateRegistryService.rebuild();
+
+        double guarded = registrationsPerSecond("NEW");
+
+        // Con todas las placas candidatas cargadas en la guarda, cada registro vuelve a consultar la base de datos
+        for (int i = 0; i < NEW_VEHICLES; i++) {
+            plateRegistryService.onVehicleChanged(
+                    new VehicleChangedEvent(vehicle("LOOKUP" + i), false));
+        }
+        double unguarded = registrationsPerSecond("LOOKUP");
+
+        logger.info("Vehicle registration: {} regs/s with plate guard, {} regs/s with database lookups",
+                Math.round(guarded), Math.round(unguarded));
+        assertThat(vehicleRepository.count()).isEqualTo(REGISTERED_VEHICLES + 2L * NEW_VEHICLES);
+    }
+
+    private double registrationsPerSecond(String platePrefix) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < NEW_VEHICLES; i++) {
+            vehicleService.registerOrUpdateVehicle(vehicle(platePrefix + i));
+        }
+        vehicleRepository.flush();
+        return NEW_VEHICLES / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private VehicleEntity vehicle(String plate) {
+        VehicleEntity vehicle = new VehicleEntity();
+        vehicle.setLicensePlateNumber(plate);
+        vehicle.setBrand("Toyota");
+        vehicle.setModel("Corolla");
+        vehicle.setType(VehicleEntity.VehicleType.SEDAN);
+        vehicle.setManufactureYear(2020);
+        vehicle.setEngineType(VehicleEntity.EngineType.GASOLINE);
+        vehicle.setMileage(10000);
+        vehicle.setSeatCount(5);
+        return vehicle;
+    }
+}
@@ -0,0 +1,80 @@
+package com.autofix.repairmanagementsystem.services;
+
+import com.autofix.repairmanagementsystem.dto.VehicleSearchResultDTO;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.events.VehicleChangedEvent;
+import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class VehicleSearchServiceTest {
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private VehicleSearchService vehicleSearchService;
+
+    private VehicleEntity toyota;
+    private VehicleEntity kia;
+
+    @BeforeEach
+    void setUp() {
+        toyota = new VehicleEntity(1L, "ABC123", "Toyota", "Corolla", VehicleEntity.VehicleType.SEDAN, 2020, VehicleEntity.EngineType.GASOLINE, 15000, 5, null, null, null);
+        kia = new VehicleEntity(2L, "XYZ789", "Kia", "Sportage", VehicleEntity.VehicleType.SUV, 2019, VehicleEntity.EngineType.DIESEL, 42000, 5, null, null, null);
+    }
+
+    @Test
+    void rebuild_IndexesAllVehicles() {
+        when(vehicleRepository.findByVehicleIdGreaterThanOrderByVehicleIdAsc(eq(0L), any())).thenReturn(Arrays.asList(toyota, kia));
+
+        assertThat(vehicleSearchService.rebuild()).isEqualTo(2);
+        List<VehicleSearchResultDTO> results = vehicleSearchService.search("xyz", 10);
+        assertThat(results).extracting(VehicleSearchResultDTO::getLicensePlateNumber).containsExactly("XYZ789");
+    }
+
+    @Test
+    void rebuild_KeepsVehiclesRegisteredWhileReading() {
+        // Kia se registra después de que la lectura tomó su instantánea, así que el lote no lo trae
+        when(vehicleRepository.findByVehicleIdGreaterThanOrderByVehicleIdAsc(eq(0L), any())).thenAnswer(invocation -> {
+            vehicleSearchService.onVehicleChanged(new VehicleChangedEvent(kia, false));
+            return Arrays.asList(toyota);
+        });
+
+        assertThat(vehicleSearchService.rebuild()).isEqualTo(2);
+        assertThat(vehicleSearchService.search("sport", 10)).extracting(VehicleSearchResultDTO::getVehicleId).containsExactly(2L);
+    }
+
+    @Test
+    void onVehicleChanged_UpdatesIndexIncrementally() {
+        vehicleSearchService.onVehicleChanged(new VehicleChangedEvent(toyota, false));
+        vehicleSearchService.onVehicleChanged(new VehicleChangedEvent(kia, false));
+        vehicleSearchService.onVehicleChanged(new VehicleChangedEvent(toyota, true));
+
+        assertThat(vehicleSearchService.search("toyota", 10)).isEmpty();
+        assertThat(vehicleSearchService.search("sport", 10)).extracting(VehicleSearchResultDTO::getVehicleId).containsExactly(2L);
+    }
+
+    @Test
+    void search_RejectsLimitAboveMaximum() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> vehicleSearchService.search("abc", VehicleSearchService.MAX_LIMIT + 1));
+    }
+}
@@ -1,19 +1,30 @@
 package com.autofix.repairmanagementsystem.services;
 
-import com.autofix.repairmanagementsystem.entities.RepairEntity;
 import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.events.VehicleChangedEvent;
+import com.autofix.repairmanagementsystem.repositories.RepairRepository;
 import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.sql.SQLIntegrityConstraintViolationException;
+
+import java.time.Clock;
+import java.time.Instant;
 import java.time.Year;
+import java.time.ZoneOffset;
 import java.util.Collections;
-import java.util.Optional;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.mockito.Mockito.*;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -22,31 +33,41 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 @ExtendWith(MockitoExtension.class)
 public class VehicleServiceTest {
 
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-04-10T12:00:00Z"), ZoneOffset.UTC);
+
     @Mock
     private VehicleRepository vehicleRepository;
+    @Mock
+    private RepairRepository repairRepository;
+    @Mock
+    private PlateRegistryService plateRegistryService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
 
-    @InjectMocks
     private VehicleService vehicleService;
 
     private VehicleEntity vehicle;
 
     @BeforeEach
     void setUp() {
+        vehicleService = new VehicleService(vehicleRepository, repairRepository, plateRegistryService, eventPublisher, jdbcTemplate, CLOCK);
         vehicle = new VehicleEntity();
         vehicle.setVehicleId(1L);
         vehicle.setLicensePlateNumber("ABC123");
         vehicle.setBrand("Toyota");
         vehicle.setModel("Corolla");
-        vehicle.setType("Sedan");
+        vehicle.setType(VehicleEntity.VehicleType.SEDAN);
         vehicle.setManufactureYear(2020);
-        vehicle.setEngineType("Gasoline");
+        vehicle.setEngineType(VehicleEntity.EngineType.GASOLINE);
         vehicle.setMileage(10000);
         vehicle.setSeatCount(5);
     }
 
     @Test
     void registerOrUpdateVehicle_WithFutureYear_ThrowsIllegalArgumentException() {
-        vehicle.setManufactureYear(Year.now().getValue() + 1);
+        vehicle.setManufactureYear(Year.now(CLOCK).getValue() + 1);
         assertThatExceptionOfType(IllegalArgumentException.class)
                 .isThrownBy(() -> vehicleService.registerOrUpdateVehicle(vehicle))
                 .withMessageContaining("fuera del rango permitido");
@@ -71,19 +92,52 @@ public class VehicleServiceTest {
 
     @Test
     void deleteVehicle_WithPendingRepairs_ThrowsException() {
-        vehicle.setRepairs(List.of(new RepairEntity()));
+        vehicle.getHistory().setRepairCount(1L);
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
         assertThatExceptionOfType(Exception.class)
                 .isThrownBy(() -> vehicleService.deleteVehicle(1L))
                 .withMessageContaining("reparaciones pendientes");
+        verify(repairRepository, never()).existsByVehicleVehicleId(anyLong());
+    }
+
+    @Test
+    void deleteVehicle_WithStaleHistory_ChecksTheRepairsTable() {
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+        when(repairRepository.existsByVehicleVehicleId(1L)).thenReturn(true);
+
+        assertThatExceptionOfType(Exception.class)
+                .isThrownBy(() -> vehicleService.deleteVehicle(1L))
+                .withMessageContaining("reparaciones pendientes");
+        verify(vehicleRepository, never()).deleteById(anyLong());
     }
 
     @Test
     void deleteVehicle_Success() throws Exception {
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(vehicle));
+        when(repairRepository.existsByVehicleVehicleId(1L)).thenReturn(false);
         doNothing().when(vehicleRepository).deleteById(1L);
         vehicleService.deleteVehicle(1L);
         verify(vehicleRepository).deleteById(1L);
+
+        ArgumentCaptor<VehicleChangedEvent> captor = ArgumentCaptor.forClass(VehicleChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().isDeleted()).isTrue();
+        assertThat(captor.getValue().getVehicle()).isEqualTo(vehicle);
+    }
+
+    @Test
+    void registerOrUpdateVehicle_NewVehicle_SavesAndPublishesEvent() throws Exception {
+        vehicle.setVehicleId(null);
+        when(plateRegistryService.mightBeRegistered("ABC123")).thenReturn(true);
+        when(vehicleRepository.findByLicensePlateNumber("ABC123")).thenReturn(Optional.empty());
+        when(vehicleRepository.save(vehicle)).thenReturn(vehicle);
+
+        VehicleEntity saved = vehicleService.registerOrUpdateVehicle(vehicle);
+
+        assertThat(saved).isEqualTo(vehicle);
+        ArgumentCaptor<VehicleChangedEvent> captor = ArgumentCaptor.forClass(VehicleChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertThat(captor.getValue().isDeleted()).isFalse();
     }
 
     @Test
@@ -95,4 +149,69 @@ public class VehicleServiceTest {
                 .isThrownBy(() -> vehicleService.registerOrUpdateVehicle(vehicle))
                 .withMessageContaining("El vehículo con ID 1 no existe.");
     }
+
+    @Test
+    void registerOrUpdateVehicle_DefinitelyNewPlate_SkipsLookup() throws Exception {
+        vehicle.setVehicleId(null);
+        when(plateRegistryService.mightBeRegistered("ABC123")).thenReturn(false);
+        when(vehicleRepository.save(vehicle)).thenReturn(vehicle);
+
+        vehicleService.registerOrUpdateVehicle(vehicle);
+
+        verify(vehicleRepository, never()).findByLicensePlateNumber(anyString());
+        verify(vehicleRepository).save(vehicle);
+    }
+
+    @Test
+    void registerOrUpdateVehicle_PossiblyRegisteredPlate_ThrowsWhenFound() {
+        vehicle.setVehicleId(null);
+        when(plateRegistryService.mightBeRegistered("ABC123")).thenReturn(true);
+        when(vehicleRepository.findByLicensePlateNumber("ABC123")).thenReturn(Optional.of(vehicle));
+
+        assertThatExceptionOfType(Exception.class)
+                .isThrownBy(() -> vehicleService.registerOrUpdateVehicle(vehicle))
+                .withMessageContaining("ya está registrado");
+        verify(vehicleRepository, never()).save(any());
+    }
+
+    @Test
+    void registerOrUpdateVehicle_UniqueConstraintViolation_ReportsDuplicatePlate() {
+        vehicle.setVehicleId(null);
+        when(plateRegistryService.mightBeRegistered("ABC123")).thenReturn(false);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(Set.of("uk_plate"));
+        when(vehicleRepository.save(vehicle)).thenThrow(integrityViolation(
+                "Duplicate entry 'ABC123' for key 'vehicles.UK_PLATE'", 1062));
+
+        assertThatExceptionOfType(Exception.class)
+                .isThrownBy(() -> vehicleService.registerOrUpdateVehicle(vehicle))
+                .withMessageContaining("ya está registrado");
+    }
+
+    @Test
+    void registerOrUpdateVehicle_OtherIntegrityViolation_IsRethrown() {
+        vehicle.setVehicleId(null);
+        when(plateRegistryService.mightBeRegistered("ABC123")).thenReturn(false);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(Set.of("uk_plate"));
+        DataIntegrityViolationException notNull = integrityViolation("Column 'brand' cannot be null", 1048);
+        when(vehicleRepository.save(vehicle)).thenThrow(notNull);
+
+        assertThatExceptionOfType(DataIntegrityViolationException.class)
+                .isThrownBy(() -> vehicleService.registerOrUpdateVehicle(vehicle))
+                .isSameAs(notNull);
+    }
+
+    @Test
+    void isDuplicateKeyOn_RequiresADuplicateKeyOnOneOfTheIndexes() {
+        Set<String> plateIndexes = Set.of("uk_plate");
+        assertThat(VehicleService.isDuplicateKeyOn(integrityViolation(
+                "Duplicate entry 'ABC123' for key 'vehicles.UK_PLATE'", 1062), plateIndexes)).isTrue();
+        assertThat(VehicleService.isDuplicateKeyOn(integrityViolation(
+                "Duplicate entry '7' for key 'vehicles.UK_OTHER'", 1062), plateIndexes)).isFalse();
+        assertThat(VehicleService.isDuplicateKeyOn(new DataIntegrityViolationException("duplicate"), plateIndexes)).isFalse();
+    }
+
+    private static DataIntegrityViolationException integrityViolation(String message, int errorCode) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException(message, "23000", errorCode));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkheadTest {
+
+    @Test
+    void tryEnter_AdmitsUpToMaxConcurrent() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("crud", 2, 0, 0);
+
+        assertThat(bulkhead.tryEnter()).isTrue();
+        assertThat(bulkhead.tryEnter()).isTrue();
+        assertThat(bulkhead.tryEnter()).isFalse();
+        assertThat(bulkhead.getInFlight()).isEqualTo(2);
+        assertThat(bulkhead.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void tryEnter_WaitsInTheQueueForAFreeSlot() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("reports", 1, 1, 5000);
+        bulkhead.tryEnter();
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            bulkhead.exit();
+        });
+        releaser.start();
+
+        assertThat(bulkhead.tryEnter()).isTrue();
+        releaser.join();
+        assertThat(bulkhead.getRejected()).isZero();
+    }
+
+    @Test
+    void tryEnter_RejectsImmediately_WhenTheQueueIsFull() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("reports", 1, 1, 5000);
+        bulkhead.tryEnter();
+        CountDownLatch queued = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            queued.countDown();
+            try {
+                bulkhead.tryEnter();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+        queued.await();
+        while (bulkhead.getQueued() == 0) {
+            Thread.sleep(1);
+        }
+
+        long start = System.nanoTime();
+        assertThat(bulkhead.tryEnter()).isFalse();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+
+        waiter.interrupt();
+        waiter.join();
+    }
+}
@@ -0,0 +1,88 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Statement;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CancellationTokenTest {
+
+    @AfterEach
+    void tearDown() {
+        QueryCancellation.unbind();
+        QueryCancellation.setTimeoutSeconds(null);
+    }
+
+    @Test
+    void cancel_CancelsEveryRegisteredStatement() {
+        CancellationToken token = new CancellationToken(60000);
+        AtomicInteger cancels = new AtomicInteger();
+        Statement running = statement(cancels);
+        Statement finished = statement(cancels);
+        token.register(running);
+        token.register(finished);
+        token.unregister(finished);
+
+        assertThat(token.cancel()).isEqualTo(1);
+        assertThat(cancels.get()).isEqualTo(1);
+        assertThat(token.isCancelled()).isTrue();
+    }
+
+    @Test
+    void register_CancelsImmediately_WhenTheTokenIsAlreadyCancelled() {
+        CancellationToken token = new CancellationToken(60000);
+        token.cancel();
+        AtomicInteger cancels = new AtomicInteger();
+
+        token.register(statement(cancels));
+
+        assertThat(cancels.get()).isEqualTo(1);
+    }
+
+    @Test
+    void checkpoint_ThrowsOnlyForACancelledRequest() {
+        QueryCancellation.checkpoint();
+
+        CancellationToken token = new CancellationToken(60000);
+        QueryCancellation.bind(token);
+        QueryCancellation.checkpoint();
+
+        token.cancel();
+        assertThatThrownBy(QueryCancellation::checkpoint).isInstanceOf(CancellationException.class);
+    }
+
+    @Test
+    void effectiveTimeoutSeconds_NeverExceedsTheRequestDeadline() {
+        // Fuera de una petición el timeout por defecto no aplica
+        assertThat(QueryCancellation.effectiveTimeoutSeconds(30)).isZero();
+
+        QueryCancellation.setTimeoutSeconds(20);
+        assertThat(QueryCancellation.effectiveTimeoutSeconds(30)).isEqualTo(20);
+
+        QueryCancellation.bind(new CancellationToken(5000));
+        assertThat(QueryCancellation.effectiveTimeoutSeconds(30)).isEqualTo(5);
+
+        QueryCancellation.setTimeoutSeconds(null);
+        assertThat(QueryCancellation.effectiveTimeoutSeconds(0)).isEqualTo(5);
+
+        QueryCancellation.bind(new CancellationToken(60000));
+        assertThat(QueryCancellation.effectiveTimeoutSeconds(30)).isEqualTo(30);
+    }
+
+    private static Statement statement(AtomicInteger cancels) {
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{Statement.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("cancel")) {
+                        cancels.incrementAndGet();
+                    }
+                    return method.getName().equals("hashCode") ? System.identityHashCode(proxy)
+                            : method.getName().equals("equals") ? proxy == args[0] : null;
+                });
+    }
+}
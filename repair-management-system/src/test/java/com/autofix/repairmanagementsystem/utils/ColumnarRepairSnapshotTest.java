@@ -0,0 +1,108 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import com.autofix.repairmanagementsystem.dto.AverageRepairTimeDTO;
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import com.autofix.repairmanagementsystem.dto.RepairTypeSummaryDTO;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ColumnarRepairSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void open_ReturnsEmptySnapshot_WhenNothingWasWritten() throws Exception {
+        ColumnarRepairSnapshot snapshot = ColumnarRepairSnapshot.open(directory);
+        assertThat(snapshot.getRowCount()).isZero();
+        assertThat(snapshot.repairTypeSummary()).isEmpty();
+    }
+
+    @Test
+    void append_ThenReopen_RunsReportAggregations() throws Exception {
+        ColumnarRepairSnapshotWriter writer = new ColumnarRepairSnapshotWriter(directory);
+        writer.append(Arrays.asList(
+                fact(1L, "Frenos", "Toyota", VehicleEntity.VehicleType.SEDAN, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 3), "120000.50"),
+                fact(2L, "Frenos", "Kia", VehicleEntity.VehicleType.SUV, LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 3), "80000"),
+                fact(3L, "Motor", "Toyota", VehicleEntity.VehicleType.SEDAN, LocalDate.of(2024, 3, 5), null, "350000")));
+
+        ColumnarRepairSnapshot snapshot = ColumnarRepairSnapshot.open(directory);
+
+        assertThat(snapshot.getRowCount()).isEqualTo(3);
+        assertThat(snapshot.getLastRepairId()).isEqualTo(3L);
+        List<RepairTypeSummaryDTO> summary = snapshot.repairTypeSummary();
+        assertThat(summary).extracting(RepairTypeSummaryDTO::getRepairType).containsExactly("Motor", "Frenos");
+        assertThat(summary.get(1).getVehicleTypeCount()).isEqualTo(2);
+        assertThat(summary.get(1).getTotalCost()).isEqualByComparingTo("200000.50");
+
+        List<AverageRepairTimeDTO> averages = snapshot.averageRepairTimeByBrand();
+        assertThat(averages).extracting(AverageRepairTimeDTO::getBrand).containsExactly("Kia", "Toyota");
+        assertThat(averages.get(1).getAverageTime()).isEqualTo(2.0);
+    }
+
+    @Test
+    void append_ContinuesFromExistingSnapshot() throws Exception {
+        new ColumnarRepairSnapshotWriter(directory).append(Arrays.asList(
+                fact(1L, "Frenos", "Toyota", VehicleEntity.VehicleType.SEDAN, LocalDate.of(2024, 3, 1), null, "1000")));
+        ColumnarRepairSnapshotWriter writer = new ColumnarRepairSnapshotWriter(directory);
+        writer.append(Arrays.asList(
+                fact(7L, "Frenos", "Kia", VehicleEntity.VehicleType.SEDAN, LocalDate.of(2024, 4, 1), null, "2000")));
+
+        ColumnarRepairSnapshot snapshot = ColumnarRepairSnapshot.open(directory);
+        assertThat(snapshot.getRowCount()).isEqualTo(2);
+        assertThat(snapshot.longColumn(ColumnarRepairSnapshot.Column.REPAIR_ID).get(1)).isEqualTo(7L);
+        assertThat(snapshot.repairTypeSummary().get(0).getTotalCost()).isEqualByComparingTo("3000");
+    }
+
+    @Test
+    void append_RejectsRepairsAlreadyInSnapshot() throws Exception {
+        ColumnarRepairSnapshotWriter writer = new ColumnarRepairSnapshotWriter(directory);
+        writer.append(Arrays.asList(fact(5L, "Frenos", "Toyota", VehicleEntity.VehicleType.SEDAN, LocalDate.of(2024, 3, 1), null, "1000")));
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> writer.append(Arrays.asList(
+                fact(5L, "Frenos", "Toyota", VehicleEntity.VehicleType.SEDAN, LocalDate.of(2024, 3, 1), null, "1000"))));
+    }
+
+    @Test
+    void open_IgnoresBytesFromInterruptedAppend() throws Exception {
+        new ColumnarRepairSnapshotWriter(directory).append(Arrays.asList(
+                fact(1L, "Frenos", "Toyota", VehicleEntity.VehicleType.SEDAN, LocalDate.of(2024, 3, 1), null, "1000")));
+        try (FileChannel channel = FileChannel.open(directory.resolve("repair_cost.col"), StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(8));
+        }
+
+        ColumnarRepairSnapshotWriter writer = new ColumnarRepairSnapshotWriter(directory);
+        writer.append(Arrays.asList(fact(2L, "Frenos", "Toyota", VehicleEntity.VehicleType.SEDAN, LocalDate.of(2024, 3, 2), null, "500")));
+
+        ColumnarRepairSnapshot snapshot = ColumnarRepairSnapshot.open(directory);
+        assertThat(snapshot.longColumn(ColumnarRepairSnapshot.Column.REPAIR_COST).get(1)).isEqualTo(50000L);
+    }
+
+    private RepairFactDTO fact(Long repairId, String repairType, String brand, VehicleEntity.VehicleType vehicleType,
+                               LocalDate entryDate, LocalDate exitDate, String cost) {
+        RepairFactDTO fact = new RepairFactDTO();
+        fact.setRepairId(repairId);
+        fact.setVehicleId(repairId * 10);
+        fact.setRepairType(repairType);
+        fact.setBrand(brand);
+        fact.setVehicleType(vehicleType);
+        fact.setEngineType(VehicleEntity.EngineType.GASOLINE);
+        fact.setEntryDate(entryDate);
+        fact.setExitDate(exitDate);
+        fact.setRepairCost(new BigDecimal(cost));
+        return fact;
+    }
+}
@@ -0,0 +1,69 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class CompressedBitmapTest {
+
+    @Test
+    void addRemoveContains_AcrossContainers() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        bitmap.add(3);
+        bitmap.add(70000);
+        bitmap.add(3);
+        assertThat(bitmap.cardinality()).isEqualTo(2);
+        assertThat(bitmap.contains(70000)).isTrue();
+
+        bitmap.remove(70000);
+        assertThat(bitmap.contains(70000)).isFalse();
+        assertThat(bitmap.page(0, 10)).containsExactly(3);
+    }
+
+    @Test
+    void andOr_MatchSetSemantics_ForSparseAndDenseContainers() {
+        Random random = new Random(42);
+        CompressedBitmap a = new CompressedBitmap();
+        CompressedBitmap b = new CompressedBitmap();
+        TreeSet<Integer> expectedA = new TreeSet<>();
+        TreeSet<Integer> expectedB = new TreeSet<>();
+        for (int i = 0; i < 20000; i++) {
+            // a es denso en el primer grupo de 65536 valores; b es disperso en varios grupos
+            int dense = random.nextInt(30000);
+            int sparse = random.nextInt(300000);
+            a.add(dense);
+            expectedA.add(dense);
+            if (i % 4 == 0) {
+                b.add(sparse);
+                expectedB.add(sparse);
+            }
+        }
+
+        TreeSet<Integer> expectedAnd = new TreeSet<>(expectedA);
+        expectedAnd.retainAll(expectedB);
+        TreeSet<Integer> expectedOr = new TreeSet<>(expectedA);
+        expectedOr.addAll(expectedB);
+
+        assertThat(CompressedBitmap.and(a, b).page(0, Integer.MAX_VALUE)).containsExactlyElementsOf(expectedAnd);
+        assertThat(CompressedBitmap.or(a, b).page(0, Integer.MAX_VALUE)).containsExactlyElementsOf(expectedOr);
+        assertThat(CompressedBitmap.or(a, b).cardinality()).isEqualTo(expectedOr.size());
+    }
+
+    @Test
+    void page_SkipsOffsetInAscendingOrder() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value = 0; value < 10000; value += 2) {
+            bitmap.add(value);
+        }
+        assertThat(bitmap.page(100, 3)).containsExactly(200, 202, 204);
+    }
+
+    @Test
+    void add_RejectsNegativeValues() {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> new CompressedBitmap().add(-1));
+    }
+}
@@ -0,0 +1,57 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConcurrencyLimiterTest {
+
+    @Test
+    void tryAcquire_GrantsUpToTheLimit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2);
+
+        assertThat(limiter.tryAcquire(0, TimeUnit.MILLISECONDS)).isTrue();
+        assertThat(limiter.tryAcquire(0, TimeUnit.MILLISECONDS)).isTrue();
+        assertThat(limiter.tryAcquire(10, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void release_FreesAPermit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1);
+        limiter.tryAcquire(0, TimeUnit.MILLISECONDS);
+
+        limiter.release();
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.tryAcquire(0, TimeUnit.MILLISECONDS)).isTrue();
+    }
+
+    @Test
+    void tryAcquire_WaitsForAReleasedPermit() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1);
+        limiter.tryAcquire(0, TimeUnit.MILLISECONDS);
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            limiter.release();
+        });
+        releaser.start();
+
+        assertThat(limiter.tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+        releaser.join();
+    }
+
+    @Test
+    void constructor_RejectsNonPositiveLimits() {
+        assertThatThrownBy(() -> new ConcurrencyLimiter(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
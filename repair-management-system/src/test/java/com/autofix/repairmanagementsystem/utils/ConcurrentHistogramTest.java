@@ -0,0 +1,71 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentHistogramTest {
+
+    @Test
+    void valueAtPercentile_IsExactForSmallValues() {
+        ConcurrentHistogram histogram = new ConcurrentHistogram();
+        for (int value = 1; value <= 20; value++) {
+            histogram.record(value);
+        }
+
+        assertThat(histogram.valueAtPercentile(50)).isEqualTo(10);
+        assertThat(histogram.valueAtPercentile(100)).isEqualTo(20);
+        assertThat(histogram.getCount()).isEqualTo(20);
+        assertThat(histogram.getSum()).isEqualTo(210);
+    }
+
+    @Test
+    void valueAtPercentile_StaysWithinTheBucketErrorForLargeValues() {
+        ConcurrentHistogram histogram = new ConcurrentHistogram();
+        for (int i = 0; i < 990; i++) {
+            histogram.record(1_000);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(250_000);
+        }
+
+        assertThat(histogram.valueAtPercentile(50)).isBetween(1_000L, 1_070L);
+        assertThat(histogram.valueAtPercentile(99.9)).isEqualTo(250_000);
+        assertThat(histogram.getMax()).isEqualTo(250_000);
+    }
+
+    @Test
+    void bucketUpperBound_CoversEveryValueOfItsBucket() {
+        for (long value : new long[]{0, 31, 32, 33, 63, 64, 1_000, 65_535, 1L << 30, (1L << 40) - 1}) {
+            int index = ConcurrentHistogram.bucketIndex(value);
+            assertThat(ConcurrentHistogram.bucketUpperBound(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(ConcurrentHistogram.bucketUpperBound(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    void record_CountsEveryValueFromConcurrentThreads() throws Exception {
+        ConcurrentHistogram histogram = new ConcurrentHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i % 100);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(40_000);
+        assertThat(histogram.getMax()).isEqualTo(99);
+    }
+}
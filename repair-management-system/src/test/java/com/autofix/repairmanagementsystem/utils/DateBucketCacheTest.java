@@ -0,0 +1,88 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DateBucketCacheTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 4, 10);
+
+    @Test
+    void get_ReusesValuesWithinTheSameDay() {
+        DateBucketCache<Integer, Integer> cache = new DateBucketCache<>(new DayClock(DAY));
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get(DAY, 2015, (date, year) -> loads.incrementAndGet())).isEqualTo(1);
+        assertThat(cache.get(2015, (date, year) -> loads.incrementAndGet())).isEqualTo(1);
+        assertThat(cache.get(DAY, 2020, (date, year) -> loads.incrementAndGet())).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void get_DropsEveryValue_WhenTheDayChanges() {
+        DayClock clock = new DayClock(DAY);
+        DateBucketCache<Integer, String> cache = new DateBucketCache<>(clock);
+        cache.get(2015, (date, year) -> "hoy");
+        cache.get(2020, (date, year) -> "hoy");
+
+        clock.day = DAY.plusDays(1);
+
+        assertThat(cache.get(2015, (date, year) -> "mañana")).isEqualTo("mañana");
+        assertThat(cache.getDate()).isEqualTo(DAY.plusDays(1));
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void get_DoesNotMemoizeOtherDays() {
+        DateBucketCache<Integer, String> cache = new DateBucketCache<>(new DayClock(DAY));
+        cache.get(2015, (date, year) -> "hoy");
+
+        assertThat(cache.get(DAY.minusYears(1), 2015, (date, year) -> "antes")).isEqualTo("antes");
+        // Una fecha futura pedida "a la fecha" tampoco desplaza el día en curso
+        assertThat(cache.get(DAY.plusYears(1), 2015, (date, year) -> "después")).isEqualTo("después");
+        assertThat(cache.get(DAY, 2015, (date, year) -> "otro")).isEqualTo("hoy");
+        assertThat(cache.getDate()).isEqualTo(DAY);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void get_PassesTheRequestedDateToTheLoader() {
+        DateBucketCache<Integer, LocalDate> cache = new DateBucketCache<>(new DayClock(DAY));
+
+        assertThat(cache.get(12, (date, months) -> date.minusMonths(months))).isEqualTo(LocalDate.of(2023, 4, 10));
+        assertThat(cache.get(LocalDate.of(2020, 1, 31), 1, (date, months) -> date.minusMonths(months)))
+                .isEqualTo(LocalDate.of(2019, 12, 31));
+    }
+
+    // Reloj en UTC cuyo día se puede cambiar durante la prueba
+    private static final class DayClock extends Clock {
+        private LocalDate day;
+
+        private DayClock(LocalDate day) {
+            this.day = day;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return day.atTime(12, 0).toInstant(ZoneOffset.UTC);
+        }
+    }
+}
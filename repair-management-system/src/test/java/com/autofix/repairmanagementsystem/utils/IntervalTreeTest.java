@@ -0,0 +1,77 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class IntervalTreeTest {
+
+    @Test
+    void overlapping_ReturnsIntervalsInStartOrder() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(10, 20, 1L, "a");
+        tree.insert(30, 40, 2L, "b");
+        tree.insert(15, 35, 3L, "c");
+
+        assertThat(tree.overlapping(18, 19)).extracting(IntervalTree.Interval::getValue).containsExactly("a", "c");
+        assertThat(tree.overlapping(20, 30)).extracting(IntervalTree.Interval::getValue).containsExactly("c");
+        assertThat(tree.overlaps(40, 50)).isFalse();
+        assertThat(tree.overlaps(0, 11)).isTrue();
+    }
+
+    @Test
+    void freeSlotsAndEarliestGap_SkipBusyRanges() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(10, 20, 1L, "a");
+        tree.insert(25, 40, 2L, "b");
+        tree.insert(42, 50, 3L, "c");
+
+        List<long[]> slots = tree.freeSlots(0, 60);
+        assertThat(slots).extracting(slot -> slot[0] + "-" + slot[1]).containsExactly("0-10", "20-25", "40-42", "50-60");
+        assertThat(tree.earliestGap(12, 5)).isEqualTo(20);
+        assertThat(tree.earliestGap(12, 6)).isEqualTo(50);
+        assertThat(tree.earliestGap(0, 10)).isEqualTo(0);
+    }
+
+    @Test
+    void remove_KeepsQueriesConsistentWithBruteForce() {
+        Random random = new Random(7);
+        IntervalTree<Long> tree = new IntervalTree<>();
+        List<long[]> intervals = new ArrayList<>();
+        for (long id = 0; id < 2000; id++) {
+            long start = random.nextInt(100_000);
+            long end = start + 1 + random.nextInt(500);
+            tree.insert(start, end, id, id);
+            intervals.add(new long[]{start, end, id});
+        }
+        for (int i = 0; i < 1000; i++) {
+            long[] removed = intervals.remove(random.nextInt(intervals.size()));
+            assertThat(tree.remove(removed[0], removed[2])).isTrue();
+        }
+        assertThat(tree.size()).isEqualTo(intervals.size());
+
+        for (int query = 0; query < 200; query++) {
+            long from = random.nextInt(100_000);
+            long to = from + 1 + random.nextInt(300);
+            long expected = intervals.stream().filter(interval -> interval[0] < to && from < interval[1]).count();
+            assertThat(tree.overlapping(from, to)).hasSize((int) expected);
+            assertThat(tree.overlaps(from, to)).isEqualTo(expected > 0);
+
+            long duration = 1 + random.nextInt(50);
+            long gap = tree.earliestGap(from, duration);
+            assertThat(tree.overlaps(gap, gap + duration)).isFalse();
+            assertThat(gap).isGreaterThanOrEqualTo(from);
+        }
+    }
+
+    @Test
+    void insert_RejectsEmptyInterval() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new IntervalTree<String>().insert(10, 10, 1L, "a"));
+    }
+}
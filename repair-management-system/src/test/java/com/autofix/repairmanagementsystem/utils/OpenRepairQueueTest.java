@@ -0,0 +1,103 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import com.autofix.repairmanagementsystem.dto.WorkQueueItemDTO;
+import com.autofix.repairmanagementsystem.entities.RepairEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OpenRepairQueueTest {
+
+    @Test
+    void put_PartitionsByStatusAndOrdersByArrival() {
+        OpenRepairQueue queue = new OpenRepairQueue();
+        queue.put(fact(1L, RepairEntity.Status.IN_PROGRESS, LocalDate.of(2024, 3, 5)));
+        queue.put(fact(2L, RepairEntity.Status.COMPLETED, LocalDate.of(2024, 3, 1)));
+        queue.put(fact(3L, null, LocalDate.of(2024, 3, 3)));
+
+        assertThat(queue.size()).isEqualTo(3);
+        assertThat(queue.count(RepairEntity.Status.PENDING)).isEqualTo(1);
+        assertThat(queue.count(RepairEntity.Status.IN_PROGRESS)).isEqualTo(1);
+        assertThat(queue.page(null, 0, 10)).extracting(WorkQueueItemDTO::getRepairId).containsExactly(2L, 3L, 1L);
+        assertThat(queue.page(null, 1, 2)).extracting(WorkQueueItemDTO::getRepairId).containsExactly(1L);
+        assertThat(queue.page(RepairEntity.Status.COMPLETED, 0, 10)).extracting(WorkQueueItemDTO::getRepairId).containsExactly(2L);
+    }
+
+    @Test
+    void put_MovesRepairBetweenPartitions_AndDropsItOnPickup() {
+        OpenRepairQueue queue = new OpenRepairQueue();
+        queue.put(fact(1L, RepairEntity.Status.IN_PROGRESS, LocalDate.of(2024, 3, 5)));
+
+        assertThat(queue.put(fact(1L, RepairEntity.Status.IN_PROGRESS, LocalDate.of(2024, 3, 5)))).isFalse();
+        assertThat(queue.put(fact(1L, RepairEntity.Status.COMPLETED, LocalDate.of(2024, 3, 5)))).isTrue();
+        assertThat(queue.count(RepairEntity.Status.IN_PROGRESS)).isZero();
+        assertThat(queue.count(RepairEntity.Status.COMPLETED)).isEqualTo(1);
+
+        RepairFactDTO pickedUp = fact(1L, RepairEntity.Status.COMPLETED, LocalDate.of(2024, 3, 5));
+        pickedUp.setCustomerPickupDate(LocalDate.of(2024, 3, 8));
+        assertThat(queue.put(pickedUp)).isTrue();
+        assertThat(queue.size()).isZero();
+        assertThat(queue.page(null, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void page_ReadsDeepPagesAndSeesLaterChanges() {
+        OpenRepairQueue queue = new OpenRepairQueue();
+        for (long id = 1; id <= 1000; id++) {
+            queue.put(fact(id, RepairEntity.Status.PENDING, LocalDate.of(2024, 1, 1).plusDays(id)));
+        }
+
+        assertThat(queue.page(null, 99, 10)).extracting(WorkQueueItemDTO::getRepairId)
+                .containsExactly(991L, 992L, 993L, 994L, 995L, 996L, 997L, 998L, 999L, 1000L);
+
+        queue.remove(991L);
+        queue.put(fact(2000L, RepairEntity.Status.PENDING, LocalDate.of(2020, 1, 1)));
+
+        assertThat(queue.page(null, 99, 10)).extracting(WorkQueueItemDTO::getRepairId)
+                .containsExactly(990L, 992L, 993L, 994L, 995L, 996L, 997L, 998L, 999L, 1000L);
+        assertThat(queue.page(RepairEntity.Status.PENDING, 0, 1)).extracting(WorkQueueItemDTO::getRepairId)
+                .containsExactly(2000L);
+    }
+
+    @Test
+    void version_DependsOnlyOnTheContent() {
+        OpenRepairQueue first = new OpenRepairQueue();
+        OpenRepairQueue second = new OpenRepairQueue();
+        assertThat(first.version()).isZero();
+
+        first.put(fact(1L, RepairEntity.Status.PENDING, LocalDate.of(2024, 3, 1)));
+        first.put(fact(2L, RepairEntity.Status.IN_PROGRESS, LocalDate.of(2024, 3, 2)));
+        second.put(fact(2L, RepairEntity.Status.PENDING, LocalDate.of(2024, 3, 2)));
+        second.put(fact(1L, RepairEntity.Status.PENDING, LocalDate.of(2024, 3, 1)));
+        assertThat(second.version()).isNotEqualTo(first.version());
+
+        second.put(fact(2L, RepairEntity.Status.IN_PROGRESS, LocalDate.of(2024, 3, 2)));
+
+        assertThat(second.version()).isEqualTo(first.version()).isLessThan(1L << 53);
+        first.remove(1L);
+        first.remove(2L);
+        assertThat(first.version()).isZero();
+    }
+
+    @Test
+    void isOpen_ExcludesDeliveredRepairs() {
+        assertThat(OpenRepairQueue.isOpen(fact(1L, RepairEntity.Status.DELIVERED, LocalDate.of(2024, 3, 5)))).isFalse();
+        assertThat(OpenRepairQueue.isOpen(fact(1L, RepairEntity.Status.OTHER, LocalDate.of(2024, 3, 5)))).isFalse();
+    }
+
+    private RepairFactDTO fact(Long repairId, RepairEntity.Status status, LocalDate entryDate) {
+        RepairFactDTO fact = new RepairFactDTO();
+        fact.setRepairId(repairId);
+        fact.setVehicleId(repairId * 10);
+        fact.setBrand("Toyota");
+        fact.setRepairType("Frenos");
+        fact.setStatus(status);
+        fact.setEntryDate(entryDate);
+        fact.setEntryTime(LocalTime.of(9, 0));
+        return fact;
+    }
+}
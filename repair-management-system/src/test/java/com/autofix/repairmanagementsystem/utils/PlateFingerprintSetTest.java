@@ -0,0 +1,56 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PlateFingerprintSetTest {
+
+    @Test
+    void mightContain_IgnoresCaseAndSeparators() {
+        PlateFingerprintSet plates = new PlateFingerprintSet();
+        plates.add("ab-cd 12");
+        assertThat(plates.mightContain("ABCD12")).isTrue();
+        assertThat(plates.mightContain("ABCD13")).isFalse();
+    }
+
+    @Test
+    void remove_KeepsPlatesSharingTheSameFingerprint() {
+        PlateFingerprintSet plates = new PlateFingerprintSet();
+        plates.add("AB-12");
+        plates.add("AB12");
+        plates.remove("AB12");
+        assertThat(plates.mightContain("AB-12")).isTrue();
+        plates.remove("AB-12");
+        assertThat(plates.mightContain("AB12")).isFalse();
+    }
+
+    @Test
+    void addAndRemove_ManyPlates_NeverReportsFalseNegatives() {
+        PlateFingerprintSet plates = new PlateFingerprintSet(16);
+        List<String> registered = new ArrayList<>();
+        for (int i = 0; i < 50000; i++) {
+            String plate = "P" + i;
+            plates.add(plate);
+            registered.add(plate);
+        }
+        for (int i = 0; i < 50000; i += 2) {
+            plates.remove("P" + i);
+        }
+
+        assertThat(plates.size()).isEqualTo(25000);
+        for (int i = 1; i < 50000; i += 2) {
+            assertThat(plates.mightContain(registered.get(i))).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 50000; i += 2) {
+            if (plates.mightContain("P" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isZero();
+    }
+}
@@ -0,0 +1,134 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import com.autofix.repairmanagementsystem.dto.RepairFactDTO;
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RepairCubeTest {
+
+    private RepairCube cube;
+
+    @BeforeEach
+    void setUp() {
+        cube = new RepairCube();
+        cube.add(fact(1L, "Toyota", VehicleEntity.EngineType.GASOLINE, LocalDate.of(2024, 7, 10), "120000"));
+        cube.add(fact(2L, "Toyota", VehicleEntity.EngineType.DIESEL, LocalDate.of(2024, 8, 2), "80000"));
+        cube.add(fact(3L, "Kia", VehicleEntity.EngineType.DIESEL, LocalDate.of(2024, 9, 15), "50000.50"));
+        cube.add(fact(4L, "Kia", VehicleEntity.EngineType.DIESEL, LocalDate.of(2024, 11, 1), "70000"));
+    }
+
+    @Test
+    void query_GroupsByEngineTypeWithinFilteredMonths() {
+        List<RepairCube.Row> rows = cube.query(Arrays.asList(RepairCube.Dimension.ENGINE_TYPE),
+                Map.of(RepairCube.Dimension.MONTH, Arrays.asList("2024-07", "2024-08", "2024-09")));
+
+        assertThat(rows).hasSize(2);
+        RepairCube.Row diesel = rows.stream().filter(row -> row.getValues()[0].equals("Diesel")).findFirst().orElseThrow();
+        assertThat(diesel.getRepairCount()).isEqualTo(2);
+        assertThat(diesel.getCostCents()).isEqualTo(13000050L);
+    }
+
+    @Test
+    void query_WithoutGroupBy_ReturnsGrandTotal() {
+        List<RepairCube.Row> rows = cube.query(Collections.emptyList(), null);
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getRepairCount()).isEqualTo(4);
+        assertThat(rows.get(0).getCostCents()).isEqualTo(32000050L);
+    }
+
+    @Test
+    void query_UnknownFilterValue_MatchesNothing() {
+        List<RepairCube.Row> rows = cube.query(Arrays.asList(RepairCube.Dimension.BRAND),
+                Map.of(RepairCube.Dimension.BRAND, Arrays.asList("Ferrari")));
+
+        assertThat(rows).isEmpty();
+    }
+
+    @Test
+    void remove_SubtractsMeasuresAndHidesEmptyCells() {
+        cube.remove(fact(1L, "Toyota", VehicleEntity.EngineType.GASOLINE, LocalDate.of(2024, 7, 10), "120000"));
+
+        List<RepairCube.Row> rows = cube.query(Arrays.asList(RepairCube.Dimension.ENGINE_TYPE, RepairCube.Dimension.BRAND), null);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows).allMatch(row -> row.getValues()[0].equals("Diesel"));
+    }
+
+    @Test
+    void remove_IgnoresFactsTheCubeDoesNotHave() {
+        RepairFactDTO toyota = fact(1L, "Toyota", VehicleEntity.EngineType.GASOLINE, LocalDate.of(2024, 7, 10), "120000");
+        assertThat(cube.remove(toyota)).isTrue();
+        assertThat(cube.remove(toyota)).isFalse();
+        assertThat(cube.remove(fact(9L, "Ferrari", VehicleEntity.EngineType.GASOLINE, LocalDate.of(2024, 7, 10), "1000"))).isFalse();
+
+        List<RepairCube.Row> rows = cube.query(Arrays.asList(RepairCube.Dimension.BRAND), null);
+
+        assertThat(rows).extracting(row -> row.getValues()[0]).containsExactlyInAnyOrder("Toyota", "Kia");
+        RepairCube.Row toyotaRow = rows.stream().filter(row -> row.getValues()[0].equals("Toyota")).findFirst().orElseThrow();
+        assertThat(toyotaRow.getRepairCount()).isEqualTo(1);
+        assertThat(toyotaRow.getCostCents()).isEqualTo(8000000L);
+    }
+
+    @Test
+    void add_MissingStatus_IsGroupedAsNotAvailable() {
+        List<RepairCube.Row> rows = cube.query(Arrays.asList(RepairCube.Dimension.STATUS), null);
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getValues()[0]).isEqualTo("N/A");
+    }
+
+    @Test
+    void add_GroupsNewValuesAsOthers_WhenADimensionRunsOutOfCodes() {
+        RepairCube large = new RepairCube();
+        int brands = (1 << 16) + 10;
+        for (int i = 0; i < brands; i++) {
+            large.add(fact((long) i, "Marca " + i, VehicleEntity.EngineType.DIESEL, LocalDate.of(2024, 7, 10), "1"));
+        }
+        // Un valor que cayó en el grupo de desborde también se puede descontar
+        assertThat(large.remove(fact(0L, "Marca " + (brands - 1), VehicleEntity.EngineType.DIESEL,
+                LocalDate.of(2024, 7, 10), "1"))).isTrue();
+
+        List<RepairCube.Row> rows = large.query(Arrays.asList(RepairCube.Dimension.BRAND),
+                Map.of(RepairCube.Dimension.BRAND, Collections.singletonList(RepairCube.OVERFLOW_VALUE)));
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.getValues()[0]).isEqualTo(RepairCube.OVERFLOW_VALUE);
+            assertThat(row.getRepairCount()).isEqualTo(10L);
+        });
+        assertThat(large.query(Collections.emptyList(), null).get(0).getRepairCount()).isEqualTo(brands - 1L);
+    }
+
+    @Test
+    void removeFromCell_SubtractsTheFactFromTheCellAddReturned() {
+        int cell = cube.add(fact(5L, "Kia", VehicleEntity.EngineType.DIESEL, LocalDate.of(2024, 11, 3), "30000"));
+
+        assertThat(cube.removeFromCell(cell, 3000000L)).isTrue();
+
+        List<RepairCube.Row> rows = cube.query(Collections.emptyList(), null);
+        assertThat(rows.get(0).getRepairCount()).isEqualTo(4L);
+        assertThat(rows.get(0).getCostCents()).isEqualTo(32000050L);
+    }
+
+    private RepairFactDTO fact(Long repairId, String brand, VehicleEntity.EngineType engineType, LocalDate entryDate, String cost) {
+        RepairFactDTO fact = new RepairFactDTO();
+        fact.setRepairId(repairId);
+        fact.setRepairType("Reparaciones del Motor");
+        fact.setBrand(brand);
+        fact.setVehicleType(VehicleEntity.VehicleType.SEDAN);
+        fact.setEngineType(engineType);
+        fact.setEntryDate(entryDate);
+        fact.setRepairCost(new BigDecimal(cost));
+        return fact;
+    }
+}
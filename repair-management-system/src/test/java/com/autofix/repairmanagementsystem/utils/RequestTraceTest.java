@@ -0,0 +1,62 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestTraceTest {
+
+    @Test
+    void span_WithoutTrace_ReturnsNull() {
+        assertThat(RequestTrace.isActive()).isFalse();
+        assertThat(RequestTrace.span(RequestTrace.SERVICE, "RepairService.calculateTotalRepairCost")).isNull();
+    }
+
+    @Test
+    void span_NestsUnderTheOpenSpan() {
+        RequestTrace trace = RequestTrace.begin("GET /api/v1/repairs/7/total-cost", "/api/v1/repairs/7/total-cost", 10);
+        try (RequestTrace.Span controller = RequestTrace.span(RequestTrace.CONTROLLER, "RepairController.getRepairTotalCost")) {
+            try (RequestTrace.Span repository = RequestTrace.span(RequestTrace.REPOSITORY, "RepairRepository.findById")) {
+                RequestTrace.span(RequestTrace.JDBC, "select * from repairs where repair_id=?").close();
+                repository.setRows(1);
+            }
+            RequestTrace.span(RequestTrace.SERVICE, "ChargeService.calculateCharges").close();
+        }
+        trace.end("GET /api/v1/repairs/{id}/total-cost", 200);
+
+        assertThat(RequestTrace.isActive()).isFalse();
+        assertThat(trace.getName()).isEqualTo("GET /api/v1/repairs/{id}/total-cost");
+        assertThat(trace.getSpanCount()).isEqualTo(4);
+        assertThat(trace.getSpans()).hasSize(1);
+        RequestTrace.Span controller = trace.getSpans().get(0);
+        assertThat(controller.getChildren()).extracting(RequestTrace.Span::getName)
+                .containsExactly("RepairRepository.findById", "ChargeService.calculateCharges");
+        RequestTrace.Span repository = controller.getChildren().get(0);
+        assertThat(repository.getRows()).isEqualTo(1);
+        assertThat(repository.getChildren()).singleElement()
+                .satisfies(jdbc -> assertThat(jdbc.getKind()).isEqualTo(RequestTrace.JDBC));
+        assertThat(controller.getDurationNanos()).isBetween(repository.getDurationNanos(), trace.getDurationNanos());
+    }
+
+    @Test
+    void span_BeyondTheLimit_IsDroppedAndCounted() {
+        RequestTrace trace = RequestTrace.begin("GET /api/v1/reports/repair-costs", "/api/v1/reports/repair-costs", 2);
+        for (int i = 0; i < 5; i++) {
+            RequestTrace.Span span = RequestTrace.span(RequestTrace.JDBC, "select * from vehicles where vehicle_id=?");
+            if (span != null) {
+                span.close();
+            }
+        }
+        trace.end("GET /api/v1/reports/repair-costs", 200);
+
+        assertThat(trace.getSpans()).hasSize(2);
+        assertThat(trace.getDroppedSpans()).isEqualTo(3);
+    }
+
+    @Test
+    void sqlName_CollapsesWhitespaceAndTruncates() {
+        assertThat(RequestTrace.sqlName("select r.cost\n  from repairs r where r.repair_id in (?, ?, ?)"))
+                .isEqualTo("select r.cost from repairs r where r.repair_id in (?...)");
+        assertThat(RequestTrace.sqlName("select " + "x, ".repeat(200) + "y from repairs")).hasSize(303).endsWith("...");
+    }
+}
@@ -0,0 +1,49 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import com.autofix.repairmanagementsystem.config.SqlBudget;
+import com.autofix.repairmanagementsystem.config.SqlBudgetPolicy;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import java.lang.reflect.Method;
+
+// Cuenta las sentencias SQL de cada prueba y falla si superan el @SqlBudget del método. La prueba puede recibir el
+// ámbito como parámetro y llamar a reset() después de preparar los datos, para medir solo la consulta probada.
+public class SqlStatementCountExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(SqlStatementCountExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put("scope", SqlStatementLog.open(context.getDisplayName()));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        SqlStatementLog.Scope scope = context.getStore(NAMESPACE).remove("scope", SqlStatementLog.Scope.class);
+        scope.close();
+        Method method = context.getRequiredTestMethod();
+        SqlBudget budget = method.getAnnotation(SqlBudget.class);
+        if (budget == null || context.getExecutionException().isPresent()) {
+            return;
+        }
+        String violation = SqlBudgetPolicy.violation(scope, budget.maxStatements(), budget.maxRepeats());
+        if (violation != null) {
+            throw new AssertionError(violation);
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == SqlStatementLog.Scope.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE).get("scope", SqlStatementLog.Scope.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlStatementLogTest {
+
+    @Test
+    void record_WithoutOpenScopes_DoesNothing() {
+        SqlStatementLog.record("select 1");
+
+        try (SqlStatementLog.Scope scope = SqlStatementLog.open("request")) {
+            assertThat(scope.getCount()).isZero();
+            assertThat(scope.getMostRepeatedShape()).isNull();
+        }
+    }
+
+    @Test
+    void record_CountsInEveryOpenScope() {
+        try (SqlStatementLog.Scope request = SqlStatementLog.open("request")) {
+            SqlStatementLog.record("select * from vehicles");
+            try (SqlStatementLog.Scope service = SqlStatementLog.open("service")) {
+                SqlStatementLog.record("select * from repairs");
+                assertThat(service.getCount()).isEqualTo(1);
+            }
+            SqlStatementLog.record("select * from bonuses");
+
+            assertThat(request.getCount()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void record_GroupsStatementsWithTheSameShape() {
+        try (SqlStatementLog.Scope scope = SqlStatementLog.open("report")) {
+            for (int i = 0; i < 5; i++) {
+                SqlStatementLog.record("select r.cost from repairs r\n  where r.vehicle_id=?");
+            }
+            SqlStatementLog.record("select v.brand from vehicles v where v.vehicle_id=?");
+
+            assertThat(scope.getMaxRepeats()).isEqualTo(5);
+            assertThat(scope.getMostRepeatedShape()).isEqualTo("select r.cost from repairs r where r.vehicle_id=?");
+
+            scope.reset();
+            assertThat(scope.getCount()).isZero();
+            assertThat(scope.getMaxRepeats()).isZero();
+        }
+    }
+
+    @Test
+    void shapeOf_TreatsInListsOfAnyLengthAsTheSameStatement() {
+        assertThat(SqlStatementLog.shapeOf("select * from repairs where vehicle_id in (?, ?, ?)"))
+                .isEqualTo(SqlStatementLog.shapeOf("select * from repairs where vehicle_id in (?,?)"))
+                .isEqualTo("select * from repairs where vehicle_id in (?...)");
+        assertThat(SqlStatementLog.shapeOf("select * from repairs where vehicle_id = (?)"))
+                .isEqualTo("select * from repairs where vehicle_id = (?)");
+    }
+}
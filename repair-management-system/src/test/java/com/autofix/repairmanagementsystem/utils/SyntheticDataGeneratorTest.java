@@ -0,0 +1,121 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import com.autofix.repairmanagementsystem.repositories.VehicleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// El generador confirma sus propias transacciones, así que las pruebas corren sin la transacción de @DataJpaTest
+// y limpian las tablas al terminar.
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SyntheticDataGeneratorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 14);
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGeneratorTest.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @AfterEach
+    void deleteGeneratedRows() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM bonuses");
+        jdbcTemplate.update("DELETE FROM repairs");
+        jdbcTemplate.update("DELETE FROM vehicles");
+        jdbcTemplate.update("DELETE FROM repair_types");
+    }
+
+    @Test
+    void generate_KeepsVehicleHistoryConsistentWithRepairs() throws Exception {
+        SyntheticDataGenerator.Summary summary = new SyntheticDataGenerator(7, TODAY, 2).generate(dataSource, 300, 3000);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        assertThat(summary.getRepairTypes()).isEqualTo(11);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM vehicles", Long.class)).isEqualTo(300);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM repairs", Long.class)).isEqualTo(3000);
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(repair_count) FROM vehicles", Long.class)).isEqualTo(3000);
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(total_base_cost) FROM vehicles", Long.class))
+                .isEqualTo(jdbcTemplate.queryForObject("SELECT SUM(repair_cost) FROM repairs", Long.class));
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(open_repair_count) FROM vehicles", Long.class))
+                .isEqualTo(jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM repairs WHERE customer_pickup_date IS NULL", Long.class));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM repairs WHERE entry_date > ?", Long.class, TODAY))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM repairs WHERE customer_pickup_date < exit_date OR exit_date < entry_date",
+                Long.class)).isZero();
+    }
+
+    @Test
+    void generate_WithTheSameSeed_ProducesTheSameRows() throws Exception {
+        new SyntheticDataGenerator(7, TODAY, 2).generate(dataSource, 200, 2000);
+        Map<String, Object> first = fingerprint();
+        deleteGeneratedRows();
+
+        new SyntheticDataGenerator(7, TODAY, 2).generate(dataSource, 200, 2000);
+        Map<String, Object> second = fingerprint();
+        deleteGeneratedRows();
+
+        new SyntheticDataGenerator(8, TODAY, 2).generate(dataSource, 200, 2000);
+        assertThat(second).isEqualTo(first);
+        assertThat(fingerprint()).isNotEqualTo(first);
+    }
+
+    @Test
+    void generate_LeavesIdentitiesReadyForNewRows() throws Exception {
+        new SyntheticDataGenerator(7, TODAY, 1).generate(dataSource, 50, 100);
+        long maxId = new JdbcTemplate(dataSource).queryForObject("SELECT MAX(vehicle_id) FROM vehicles", Long.class);
+
+        VehicleEntity vehicle = new VehicleEntity();
+        vehicle.setBrand("Toyota");
+        vehicle.setModel("Yaris");
+        vehicle.setEngineType(VehicleEntity.EngineType.GASOLINE);
+        vehicle.setLicensePlateNumber("AA1234");
+        vehicle.setManufactureYear(2020);
+        vehicle.setMileage(10000);
+        vehicle.setSeatCount(5);
+        vehicle.setType(VehicleEntity.VehicleType.SEDAN);
+
+        assertThat(vehicleRepository.save(vehicle).getVehicleId()).isGreaterThan(maxId);
+    }
+
+    // Se ejecuta con: mvn test -Pbenchmark
+    @Test
+    @Tag("benchmark")
+    void generate_InsertsAMillionRepairsAtOver100kRowsPerSecond() throws Exception {
+        SyntheticDataGenerator.Summary summary = new SyntheticDataGenerator(42, TODAY, 3)
+                .generate(dataSource, 100000, 1000000);
+
+        logger.info("Synthetic data: {} rows in {} ms ({} rows/s)", summary.getVehicles() + summary.getRepairs(),
+                summary.getElapsedMillis(), summary.getRowsPerSecond());
+        assertThat(summary.getRowsPerSecond()).isGreaterThan(100000);
+    }
+
+    private Map<String, Object> fingerprint() {
+        return new JdbcTemplate(dataSource).queryForMap("SELECT COUNT(*) AS repairs, SUM(r.repair_cost) AS cost, "
+                + "SUM(v.mileage) AS mileage, MIN(r.entry_date) AS first_entry, MAX(r.customer_pickup_date) AS last_pickup, "
+                + "SUM(CASE WHEN r.status = 'D' THEN 1 ELSE 0 END) AS delivered "
+                + "FROM repairs r JOIN vehicles v ON v.vehicle_id = r.vehicle_id");
+    }
+}
@@ -0,0 +1,35 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class TopKAccumulatorTest {
+
+    @Test
+    void offer_KeepsOnlyLargestElements() {
+        TopKAccumulator<Integer> topK = new TopKAccumulator<Integer>(3, Comparator.naturalOrder());
+        for (int value : new int[]{5, 1, 9, 3, 7, 2, 8}) {
+            topK.offer(value);
+        }
+        assertThat(topK.size()).isEqualTo(3);
+        assertThat(topK.toSortedList()).containsExactly(9, 8, 7);
+    }
+
+    @Test
+    void toSortedList_ReturnsAllElements_WhenFewerThanLimit() {
+        TopKAccumulator<Integer> topK = new TopKAccumulator<Integer>(5, Comparator.naturalOrder());
+        topK.offer(4);
+        topK.offer(6);
+        assertThat(topK.toSortedList()).containsExactly(6, 4);
+    }
+
+    @Test
+    void constructor_RejectsNonPositiveLimit() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new TopKAccumulator<Integer>(0, Comparator.naturalOrder()));
+    }
+}
@@ -0,0 +1,70 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TurnaroundHistogramTest {
+
+    @Test
+    void valueAtPercentile_IsExactInLinearRange() {
+        TurnaroundHistogram histogram = new TurnaroundHistogram();
+        for (int hours = 1; hours <= 100; hours++) {
+            histogram.record(hours);
+        }
+        assertThat(histogram.valueAtPercentile(50)).isEqualTo(50);
+        assertThat(histogram.valueAtPercentile(90)).isEqualTo(90);
+        assertThat(histogram.valueAtPercentile(99)).isEqualTo(99);
+    }
+
+    @Test
+    void valueAtPercentile_StaysWithinTwoPercentForLargeValues() {
+        TurnaroundHistogram histogram = new TurnaroundHistogram();
+        histogram.record(100_000);
+        assertThat(histogram.valueAtPercentile(100)).isBetween(98_000L, 100_000L);
+    }
+
+    @Test
+    void merge_CombinesCountsOfBothHistograms() {
+        TurnaroundHistogram monday = new TurnaroundHistogram();
+        monday.record(10);
+        monday.record(20);
+        TurnaroundHistogram tuesday = new TurnaroundHistogram();
+        tuesday.record(30);
+
+        monday.merge(tuesday);
+
+        assertThat(monday.getTotalCount()).isEqualTo(3);
+        assertThat(monday.valueAtPercentile(100)).isEqualTo(30);
+    }
+
+    @Test
+    void record_NegativeDeltaRemovesValue() {
+        TurnaroundHistogram histogram = new TurnaroundHistogram();
+        histogram.record(5);
+        histogram.record(500);
+        histogram.record(500, -1);
+        assertThat(histogram.getTotalCount()).isEqualTo(1);
+        assertThat(histogram.valueAtPercentile(99)).isEqualTo(5);
+    }
+
+    @Test
+    void toBytes_RoundTripsThroughFromBytes() {
+        TurnaroundHistogram histogram = new TurnaroundHistogram();
+        histogram.record(3);
+        histogram.record(48);
+        histogram.record(48);
+        histogram.record(5_000);
+
+        TurnaroundHistogram restored = TurnaroundHistogram.fromBytes(histogram.toBytes());
+
+        assertThat(restored.getTotalCount()).isEqualTo(4);
+        assertThat(restored.valueAtPercentile(50)).isEqualTo(48);
+        assertThat(restored.valueAtPercentile(100)).isEqualTo(histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    void fromBytes_NullReturnsEmptyHistogram() {
+        assertThat(TurnaroundHistogram.fromBytes(null).isEmpty()).isTrue();
+    }
+}
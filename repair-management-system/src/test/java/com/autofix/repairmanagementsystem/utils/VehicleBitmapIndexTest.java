@@ -0,0 +1,69 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VehicleBitmapIndexTest {
+
+    private VehicleBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new VehicleBitmapIndex();
+        index.put(vehicle(1L, "Toyota", VehicleEntity.VehicleType.SEDAN, 2018, VehicleEntity.EngineType.GASOLINE, 4000));
+        index.put(vehicle(2L, "Toyota", VehicleEntity.VehicleType.SUV, 2021, VehicleEntity.EngineType.HYBRID, 30000));
+        index.put(vehicle(3L, "Kia", VehicleEntity.VehicleType.SUV, 2016, VehicleEntity.EngineType.DIESEL, 50000));
+    }
+
+    @Test
+    void filter_CombinesValuesWithOrAndAttributesWithAnd() {
+        CompressedBitmap matches = index.filter(Map.of(
+                VehicleBitmapIndex.Attribute.BRAND, List.of("Toyota", "Kia"),
+                VehicleBitmapIndex.Attribute.TYPE, List.of("SUV")), true);
+
+        assertThat(index.page(matches, 0, 10)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void filter_WithMatchAny_CombinesAttributesWithOr() {
+        CompressedBitmap matches = index.filter(Map.of(
+                VehicleBitmapIndex.Attribute.YEAR_BAND, List.of("2015-2019"),
+                VehicleBitmapIndex.Attribute.MILEAGE_BAND, List.of("25001-40000")), false);
+
+        assertThat(index.page(matches, 0, 10)).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void put_ReplacesPreviousAttributeValues() {
+        index.put(vehicle(1L, "Toyota", VehicleEntity.VehicleType.SEDAN, 2018, VehicleEntity.EngineType.ELECTRIC, 4000));
+
+        assertThat(index.filter(Map.of(VehicleBitmapIndex.Attribute.ENGINE_TYPE, List.of("Gasoline")), true).isEmpty()).isTrue();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void remove_DropsVehicleFromAllBitmaps() {
+        index.remove(3L);
+
+        assertThat(index.filter(Map.of(VehicleBitmapIndex.Attribute.BRAND, List.of("Kia")), true).isEmpty()).isTrue();
+        assertThat(index.page(index.filter(null, true), 0, 10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void bands_FollowYearAndMileageRanges() {
+        assertThat(VehicleBitmapIndex.yearBand(2020)).isEqualTo("2020-2024");
+        assertThat(VehicleBitmapIndex.mileageBand(5001)).isEqualTo("5001-12000");
+        assertThat(VehicleBitmapIndex.mileageBand(40001)).isEqualTo("40001+");
+    }
+
+    private VehicleEntity vehicle(Long id, String brand, VehicleEntity.VehicleType type, int year,
+                                  VehicleEntity.EngineType engineType, int mileage) {
+        return new VehicleEntity(id, "PLATE" + id, brand, "Model", type, year, engineType, mileage, 5, null, null, null);
+    }
+}
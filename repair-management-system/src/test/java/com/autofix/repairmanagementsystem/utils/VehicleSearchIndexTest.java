@@ -0,0 +1,67 @@
+package com.autofix.repairmanagementsystem.utils;
+
+import com.autofix.repairmanagementsystem.entities.VehicleEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VehicleSearchIndexTest {
+
+    private VehicleSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new VehicleSearchIndex();
+        index.put(vehicle(1L, "ABC123", "Toyota", "Corolla"));
+        index.put(vehicle(2L, "ABC199", "Kia", "Sportage"));
+        index.put(vehicle(3L, "XYZ-789", "Citroën", "C4 Cactus"));
+    }
+
+    @Test
+    void search_ByPartialPlate_RanksCloserPlateFirst() {
+        index.put(vehicle(4L, "ABC1", "Fiat", "Uno"));
+
+        List<VehicleSearchIndex.Hit> hits = index.search("abc1", 10);
+
+        assertThat(hits).extracting(hit -> hit.getVehicle().getVehicleId()).containsExactly(4L, 1L, 2L);
+    }
+
+    @Test
+    void search_NormalizesAccentsAndSeparators() {
+        assertThat(index.search("citroen", 10)).extracting(hit -> hit.getVehicle().getVehicleId()).containsExactly(3L);
+        assertThat(index.search("XYZ 78", 10)).extracting(hit -> hit.getVehicle().getVehicleId()).containsExactly(3L);
+    }
+
+    @Test
+    void search_ToleratesTypos() {
+        assertThat(index.search("corola", 10)).extracting(hit -> hit.getVehicle().getVehicleId()).containsExactly(1L);
+    }
+
+    @Test
+    void search_RequiresEveryWordToMatch() {
+        assertThat(index.search("toyota cor", 10)).extracting(hit -> hit.getVehicle().getVehicleId()).containsExactly(1L);
+        assertThat(index.search("kia corolla", 10)).isEmpty();
+    }
+
+    @Test
+    void search_RespectsLimit() {
+        assertThat(index.search("ABC", 1)).hasSize(1);
+    }
+
+    @Test
+    void put_UpdatesTermsAndRemoveDropsVehicle() {
+        index.put(vehicle(1L, "ABC123", "Toyota", "Yaris"));
+        assertThat(index.search("corolla", 10)).isEmpty();
+
+        index.remove(2L);
+        assertThat(index.search("sportage", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    private VehicleEntity vehicle(Long id, String plate, String brand, String model) {
+        return new VehicleEntity(id, plate, brand, model, VehicleEntity.VehicleType.SEDAN, 2020, VehicleEntity.EngineType.GASOLINE, 10000, 5, null, null, null);
+    }
+}